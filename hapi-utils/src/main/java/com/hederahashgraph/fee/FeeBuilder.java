@@ -136,9 +136,11 @@ public class FeeBuilder {
     long nodeFee = getComponentFeeInTinyCents(feeData.getNodedata(), feeMatrices.getNodedata());
     long serviceFee = getComponentFeeInTinyCents(feeData.getServicedata(), feeMatrices.getServicedata());
     // convert the Fee to tiny hbars
-    networkFee = FeeBuilder.getTinybarsFromTinyCents(exchangeRate, networkFee) * multiplier;
-    nodeFee = FeeBuilder.getTinybarsFromTinyCents(exchangeRate, nodeFee) * multiplier;
-    serviceFee = FeeBuilder.getTinybarsFromTinyCents(exchangeRate, serviceFee) * multiplier;
+    long hbarEquiv = exchangeRate.getHbarEquiv();
+    long centEquiv = exchangeRate.getCentEquiv();
+    networkFee = getTinybarsFromTinyCents(hbarEquiv, centEquiv, networkFee) * multiplier;
+    nodeFee = getTinybarsFromTinyCents(hbarEquiv, centEquiv, nodeFee) * multiplier;
+    serviceFee = getTinybarsFromTinyCents(hbarEquiv, centEquiv, serviceFee) * multiplier;
     return new FeeObject(nodeFee, networkFee, serviceFee);
   }
 
@@ -295,8 +297,27 @@ public class FeeBuilder {
    * @return tinyHbars
    */
   public static long getTinybarsFromTinyCents(ExchangeRate exchangeRate, long tinyCentsFee) {
-    BigInteger hbarMultiplier = BigInteger.valueOf(Long.valueOf(exchangeRate.getHbarEquiv()));
-    BigInteger centsDivisor = BigInteger.valueOf(Long.valueOf(exchangeRate.getCentEquiv()));
+    return getTinybarsFromTinyCents(exchangeRate.getHbarEquiv(), exchangeRate.getCentEquiv(), tinyCentsFee);
+  }
+
+  /**
+   * Convert tinyCents to tinybars given the components of an exchange rate, using only
+   * {@code long} arithmetic unless the product of the fee and hbar equivalent overflows.
+   *
+   * @return tinyHbars
+   */
+  public static long getTinybarsFromTinyCents(long hbarEquiv, long centEquiv, long tinyCentsFee) {
+    long high = Math.multiplyHigh(tinyCentsFee, hbarEquiv);
+    long low = tinyCentsFee * hbarEquiv;
+    if ((high == 0L && low >= 0L) || (high == -1L && low < 0L)) {
+      return low / centEquiv;
+    }
+    return viaBigInteger(hbarEquiv, centEquiv, tinyCentsFee);
+  }
+
+  static long viaBigInteger(long hbarEquiv, long centEquiv, long tinyCentsFee) {
+    BigInteger hbarMultiplier = BigInteger.valueOf(hbarEquiv);
+    BigInteger centsDivisor = BigInteger.valueOf(centEquiv);
     BigInteger feeInBigInt = BigInteger.valueOf(tinyCentsFee);
     feeInBigInt = feeInBigInt.multiply(hbarMultiplier);
     feeInBigInt = feeInBigInt.divide(centsDivisor);
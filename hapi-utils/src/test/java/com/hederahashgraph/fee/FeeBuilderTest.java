@@ -0,0 +1,78 @@
+package com.hederahashgraph.fee;
+
+/*-
+ * ‌
+ * Hedera Services API Utilities
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeeBuilderTest {
+	@Test
+	void convertsTinycentsLikeBigIntegerArithmetic() {
+		// setup:
+		var r = new SplittableRandom(42L);
+
+		for (int i = 0; i < 10_000; i++) {
+			// given:
+			long hbarEquiv = r.nextInt(1, Integer.MAX_VALUE);
+			long centEquiv = r.nextInt(1, Integer.MAX_VALUE);
+			long tinycents = (i % 2 == 0) ? r.nextLong(1_000_000_000_000L) : r.nextLong();
+
+			// expect:
+			assertEquals(
+					FeeBuilder.viaBigInteger(hbarEquiv, centEquiv, tinycents),
+					FeeBuilder.getTinybarsFromTinyCents(hbarEquiv, centEquiv, tinycents));
+		}
+	}
+
+	@Test
+	void fallsBackToBigIntegerOnOverflow() {
+		// given:
+		long tinycents = Long.MAX_VALUE / 3;
+
+		// expect:
+		assertEquals(
+				FeeBuilder.viaBigInteger(30, 12, tinycents),
+				FeeBuilder.getTinybarsFromTinyCents(30, 12, tinycents));
+		assertEquals(
+				FeeBuilder.viaBigInteger(30, 12, -tinycents),
+				FeeBuilder.getTinybarsFromTinyCents(30, 12, -tinycents));
+	}
+
+	@Test
+	void delegatesFromExchangeRate() {
+		// given:
+		var rate = ExchangeRate.newBuilder().setHbarEquiv(1).setCentEquiv(12).build();
+
+		// expect:
+		assertEquals(100L, FeeBuilder.getTinybarsFromTinyCents(rate, 1_200L));
+	}
+
+	@Test
+	void rejectsZeroCentEquiv() {
+		// expect:
+		assertThrows(ArithmeticException.class, () -> FeeBuilder.getTinybarsFromTinyCents(1, 0, 1_200L));
+	}
+}
@@ -123,6 +123,7 @@ public class ServicesMain implements SwirldMain {
 
 	@Override
 	public void newSignedState(SwirldState signedState, Instant when, long round) {
+		ctx.signedStateViews().updateFrom((ServicesState) signedState, when);
 		if (ctx.platformStatus().get() == MAINTENANCE) {
 			((ServicesState) signedState).logSummary();
 		}
@@ -205,30 +206,36 @@ public class ServicesMain implements SwirldMain {
 	}
 
 	private void startNettyIfAppropriate() {
-		int port = ctx.nodeLocalProperties().port();
 		final int PORT_MODULUS = 1000;
-		int tlsPort = ctx.nodeLocalProperties().tlsPort();
 		log.info("TLS is turned on by default on node {}", ctx.id());
 		Profile activeProfile = ctx.nodeLocalProperties().activeProfile();
 		log.info("Active profile: {}", activeProfile);
 		if (activeProfile == DEV) {
 			if (ctx.nodeLocalProperties().devOnlyDefaultNodeListens()) {
 				if (thisNodeIsDefaultListener()) {
-					ctx.grpc().start(port, tlsPort, this::logInfoWithConsoleEcho);
+					startNetty(0);
 				}
 			} else {
 				int portOffset = thisNodeIsDefaultListener()
 						? 0
 						: ctx.addressBook().getAddress(ctx.id().getId()).getPortExternalIpv4() % PORT_MODULUS;
-				ctx.grpc().start(port + portOffset, tlsPort + portOffset, this::logInfoWithConsoleEcho);
+				startNetty(portOffset);
 			}
 		} else if (activeProfile == PROD) {
-			ctx.grpc().start(port, tlsPort, this::logInfoWithConsoleEcho);
+			startNetty(0);
 		} else {
 			log.warn("No Netty config for profile {}, skipping gRPC startup!", activeProfile);
 		}
 	}
 
+	private void startNetty(int portOffset) {
+		int port = ctx.nodeLocalProperties().port();
+		int tlsPort = ctx.nodeLocalProperties().tlsPort();
+		int adminPort = ctx.nodeLocalProperties().adminPort();
+		ctx.grpc().start(port + portOffset, tlsPort + portOffset, this::logInfoWithConsoleEcho);
+		ctx.nodeAdminServer().start(adminPort > 0 ? adminPort + portOffset : adminPort, this::logInfoWithConsoleEcho);
+	}
+
 	private boolean thisNodeIsDefaultListener() {
 		String myNodeAccount = ctx.addressBook().getAddress(ctx.id().getId()).getMemo();
 		String blessedNodeAccount = ctx.nodeLocalProperties().devListeningAccount();
@@ -252,10 +259,17 @@ public class ServicesMain implements SwirldMain {
 	}
 
 	private void validateLedgerState() {
-		ctx.ledgerValidator().assertIdsAreValid(ctx.accounts());
-		if (!ctx.ledgerValidator().hasExpectedTotalBalance(ctx.accounts())) {
-			log.error("Unexpected total balance in ledger, nodeId={}!", ctx.id());
-			throw new IllegalStateException("Invalid total tinyBar float!");
+		/* The accounts were already tallied by the startup scan of payer records */
+		var tally = ctx.expiries().lastLedgerTally();
+		try {
+			if (tally != null) {
+				ctx.ledgerValidator().validate(tally);
+			} else {
+				ctx.ledgerValidator().validate(ctx.accounts());
+			}
+		} catch (IllegalStateException invalid) {
+			log.error("Invalid ledger state, nodeId={}!", ctx.id());
+			throw invalid;
 		}
 		if (ctx.nodeAccount() == null) {
 			throw new IllegalStateException("Unknown ledger account!");
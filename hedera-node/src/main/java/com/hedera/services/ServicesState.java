@@ -22,6 +22,7 @@ package com.hedera.services;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.context.ServicesContext;
+import com.hedera.services.context.StartupPhases;
 import com.hedera.services.context.properties.BootstrapProperties;
 import com.hedera.services.context.properties.StandardizedPropertySources;
 import com.hedera.services.exceptions.ContextNotFoundException;
@@ -63,6 +64,7 @@ import java.io.File;
 import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -279,15 +281,26 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 		 * they are already constructed) to rebuild their auxiliary views of the state.
 		 * All the initialization that follows will be a function of the primitive state. */
 		ctx.update(this);
-		ctx.rebuildBackingStoresIfPresent();
-		ctx.rebuildStoreViewsIfPresent();
-
-		/* Use any payer records stored in state to rebuild the recent transaction
-		 * history. This history has two main uses: Purging expired records, and
-		 * classifying duplicate transactions. */
-		ctx.recordsHistorian().reviewExistingRecords();
-		/* Use any entities stored in state to rebuild queue of expired entities. */
-		ctx.expiries().restartEntitiesTracking();
+		/* The rebuilds below are mutually independent except that both the payer records
+		 * and the entities re-populate the same expiry queue, so only that pair is ordered.
+		 * (Lazily-constructed collaborators are resolved here, before going parallel.) */
+		var historian = ctx.recordsHistorian();
+		var expiries = ctx.expiries();
+		var tokenHolders = ctx.tokenHolders();
+		var runningAvgs = ctx.runningAvgs();
+		new StartupPhases(runningAvgs::recordStartupPhaseMs)
+				.add("backingStores", ctx::rebuildBackingStoresIfPresent)
+				.add("storeViews", ctx::rebuildStoreViewsIfPresent)
+				/* Build the token-to-holders index eagerly, so the first token
+				 * relationship commit does not pay for a scan on the handle thread. */
+				.add("tokenHolders", tokenHolders::rebuildViews)
+				/* Use any payer records stored in state to rebuild the recent transaction
+				 * history. This history has two main uses: Purging expired records, and
+				 * classifying duplicate transactions. */
+				.add("payerRecords", historian::reviewExistingRecords)
+				/* Use any entities stored in state to rebuild queue of expired entities. */
+				.add("entityExpiries", expiries::restartEntitiesTracking, "payerRecords")
+				.runOn(ForkJoinPool.commonPool());
 		/* Re-initialize the "observable" system files; that is, the files which have
 	 	associated callbacks managed by the SysFilesCallback object. We explicitly
 	 	re-mark the files are not loaded here, in case this is a reconnect. (During a
@@ -326,6 +339,7 @@ public class ServicesState extends AbstractNaryMerkleInternal implements SwirldS
 					ctx.lookupRetryingKeyOrder(),
 					new ScopedSigBytesProvider(accessor),
 					ctx.sigFactoryCreator()::createScopedFactory);
+			ctx.accessorHandoff().offer(accessor);
 		} catch (InvalidProtocolBufferException e) {
 			log.warn("expandSignatures called with non-gRPC txn!", e);
 		} catch (Exception race) {
@@ -29,6 +29,7 @@ import com.hedera.services.config.HederaNumbers;
 import com.hedera.services.context.domain.security.HapiOpPermissions;
 import com.hedera.services.context.domain.trackers.ConsensusStatusCounts;
 import com.hedera.services.context.domain.trackers.IssEventInfo;
+import com.hedera.services.context.primitives.SignedStateViews;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.NodeLocalProperties;
@@ -36,11 +37,16 @@ import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.context.properties.SemanticVersions;
 import com.hedera.services.context.properties.StandardizedPropertySources;
+import com.hedera.services.contracts.execution.EvmProfiler;
+import com.hedera.services.contracts.execution.LocalCallExecutor;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
 import com.hedera.services.contracts.execution.SoliditySigsVerifier;
 import com.hedera.services.contracts.execution.TxnAwareSoliditySigsVerifier;
 import com.hedera.services.contracts.persistence.BlobStoragePersistence;
 import com.hedera.services.contracts.sources.BlobStorageSource;
+import com.hedera.services.contracts.sources.BytecodeCache;
+import com.hedera.services.contracts.sources.PagedStorageMap;
+import com.hedera.services.contracts.sources.SnapshotBytecodeCaches;
 import com.hedera.services.contracts.sources.LedgerAccountsSource;
 import com.hedera.services.fees.AwareHbarCentExchange;
 import com.hedera.services.fees.FeeCalculator;
@@ -121,12 +127,14 @@ import com.hedera.services.files.sysfiles.ThrottlesCallback;
 import com.hedera.services.grpc.ConfigDrivenNettyFactory;
 import com.hedera.services.grpc.GrpcServerManager;
 import com.hedera.services.grpc.NettyGrpcServerManager;
+import com.hedera.services.grpc.NodeAdminServerManager;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.ContractController;
 import com.hedera.services.grpc.controllers.CryptoController;
 import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.services.grpc.controllers.FreezeController;
 import com.hedera.services.grpc.controllers.NetworkController;
+import com.hedera.services.grpc.controllers.NodeAdminController;
 import com.hedera.services.grpc.controllers.ScheduleController;
 import com.hedera.services.grpc.controllers.TokenController;
 import com.hedera.services.keys.CharacteristicsFactory;
@@ -134,6 +142,7 @@ import com.hedera.services.keys.InHandleActivationHelper;
 import com.hedera.services.keys.LegacyEd25519KeyReader;
 import com.hedera.services.keys.StandardSyncActivationCheck;
 import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.NumKeyedAccountsLedger;
 import com.hedera.services.ledger.TransactionalLedger;
 import com.hedera.services.ledger.accounts.BackingStore;
 import com.hedera.services.ledger.accounts.BackingTokenRels;
@@ -150,6 +159,7 @@ import com.hedera.services.legacy.handler.TransactionHandler;
 import com.hedera.services.legacy.services.state.AwareProcessLogic;
 import com.hedera.services.queries.AnswerFlow;
 import com.hedera.services.queries.answering.AnswerFunctions;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.queries.answering.QueryResponseHelper;
 import com.hedera.services.queries.answering.StakedAnswerFlow;
 import com.hedera.services.queries.answering.ZeroStakeAnswerFlow;
@@ -163,6 +173,7 @@ import com.hedera.services.queries.contract.GetContractInfoAnswer;
 import com.hedera.services.queries.contract.GetContractRecordsAnswer;
 import com.hedera.services.queries.crypto.CryptoAnswers;
 import com.hedera.services.queries.crypto.GetAccountBalanceAnswer;
+import com.hedera.services.queries.crypto.GetAccountBalancesAnswer;
 import com.hedera.services.queries.crypto.GetAccountInfoAnswer;
 import com.hedera.services.queries.crypto.GetAccountRecordsAnswer;
 import com.hedera.services.queries.crypto.GetLiveHashAnswer;
@@ -184,12 +195,14 @@ import com.hedera.services.records.AccountRecordsHistorian;
 import com.hedera.services.records.RecordCache;
 import com.hedera.services.records.RecordCacheFactory;
 import com.hedera.services.records.TxnAwareRecordsHistorian;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.records.TxnIdRecentHistory;
 import com.hedera.services.security.ops.SystemOpPolicies;
 import com.hedera.services.sigs.factories.SigFactoryCreator;
 import com.hedera.services.sigs.metadata.DelegatingSigMetadataLookup;
 import com.hedera.services.sigs.order.HederaSigningOrder;
 import com.hedera.services.sigs.sourcing.DefaultSigBytesProvider;
+import com.hedera.services.sigs.verification.CachingSyncVerifier;
 import com.hedera.services.sigs.verification.PrecheckKeyReqs;
 import com.hedera.services.sigs.verification.PrecheckVerifier;
 import com.hedera.services.sigs.verification.SyncVerifier;
@@ -234,6 +247,7 @@ import com.hedera.services.stats.SpeedometerFactory;
 import com.hedera.services.store.schedule.HederaScheduleStore;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.store.tokens.HederaTokenStore;
+import com.hedera.services.store.tokens.TokenHolders;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.throttling.DeterministicThrottling;
@@ -296,11 +310,11 @@ import com.hedera.services.utils.EntityIdUtils;
 import com.hedera.services.utils.MiscUtils;
 import com.hedera.services.utils.Pause;
 import com.hedera.services.utils.SleepingPause;
+import com.hedera.services.utils.TxnAccessorHandoff;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.TokenID;
 import com.hederahashgraph.api.proto.java.TransactionBody;
-import com.hederahashgraph.api.proto.java.TransactionID;
 import com.hederahashgraph.fee.CryptoFeeBuilder;
 import com.hederahashgraph.fee.FileFeeBuilder;
 import com.hederahashgraph.fee.SmartContractFeeBuilder;
@@ -328,6 +342,7 @@ import java.io.PrintStream;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -340,10 +355,9 @@ import java.util.function.Supplier;
 import static com.hedera.services.context.ServicesNodeType.STAKED_NODE;
 import static com.hedera.services.context.ServicesNodeType.ZERO_STAKE_NODE;
 import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.bytecodeMapFrom;
-import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.storageMapFrom;
+import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.pagedStorageMapFrom;
 import static com.hedera.services.files.interceptors.ConfigListUtils.uncheckedParse;
 import static com.hedera.services.files.interceptors.PureRatesValidation.isNormalIntradayChange;
-import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
 import static com.hedera.services.ledger.accounts.BackingTokenRels.REL_CMP;
 import static com.hedera.services.ledger.ids.ExceptionalEntityIdSource.NOOP_ID_SOURCE;
 import static com.hedera.services.records.NoopRecordsHistorian.NOOP_RECORDS_HISTORIAN;
@@ -429,9 +443,11 @@ public class ServicesContext {
 	private MetaAnswers metaAnswers;
 	private RecordCache recordCache;
 	private TokenStore tokenStore;
+	private TokenHolders tokenHolders;
 	private TokenAnswers tokenAnswers;
 	private HederaLedger ledger;
 	private SyncVerifier syncVerifier;
+	private TxnAccessorHandoff accessorHandoff;
 	private IssEventInfo issEventInfo;
 	private ProcessLogic logic;
 	private QueryFeeCheck queryFeeCheck;
@@ -442,6 +458,7 @@ public class ServicesContext {
 	private EntityNumbers entityNums;
 	private FreezeHandler freeze;
 	private CryptoAnswers cryptoAnswers;
+	private GetAccountBalancesAnswer accountBalancesAnswer;
 	private ScheduleStore scheduleStore;
 	private AccountNumbers accountNums;
 	private SubmissionFlow submissionFlow;
@@ -471,10 +488,15 @@ public class ServicesContext {
 	private SolidityLifecycle solidityLifecycle;
 	private ExpiringCreations creator;
 	private NetworkController networkGrpc;
+	private NodeAdminController nodeAdminGrpc;
 	private GrpcServerManager grpc;
+	private NodeAdminServerManager nodeAdminServer;
 	private TxnResponseHelper txnResponseHelper;
 	private SigFactoryCreator sigFactoryCreator;
 	private BlobStorageSource bytecodeDb;
+	private BytecodeCache bytecodeCache;
+	private PagedStorageMap contractStorage;
+	private SnapshotBytecodeCaches snapshotBytecodeCaches;
 	private HapiOpPermissions hapiOpPermissions;
 	private TransactionContext txnCtx;
 	private TransactionHandler txns;
@@ -488,6 +510,8 @@ public class ServicesContext {
 	private QueryResponseHelper queryResponseHelper;
 	private UsagePricesProvider usagePrices;
 	private Supplier<StateView> stateViews;
+	private SignedStateViews signedStateViews;
+	private QueryResponseCache queryResponseCache;
 	private FeeSchedulesManager feeSchedulesManager;
 	private RecordStreamManager recordStreamManager;
 	private ThrottleDefsManager throttleDefsManager;
@@ -521,7 +545,9 @@ public class ServicesContext {
 	private ValidatingCallbackInterceptor apiPermissionsReloading;
 	private ValidatingCallbackInterceptor applicationPropertiesReloading;
 	private Supplier<ServicesRepositoryRoot> newPureRepo;
-	private Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private LocalCallExecutor localCallExecutor;
+	private EvmProfiler evmProfiler;
+	private Map<TxnIdKey, TxnIdRecentHistory> txnHistories;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleTopic>> queryableTopics;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleToken>> queryableTokens;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleAccount>> queryableAccounts;
@@ -563,6 +589,16 @@ public class ServicesContext {
 		queryableTokens().set(tokens());
 		queryableTokenAssociations().set(tokenAssociations());
 		queryableSchedules().set(schedules());
+
+		if (queryResponseCache != null) {
+			queryResponseCache.reset(consensusTimeOfLastHandledTxn());
+		}
+		if (bytecodeCache != null) {
+			bytecodeCache.invalidateAll();
+		}
+		if (contractStorage != null) {
+			contractStorage.invalidateAll();
+		}
 	}
 
 	public void rebuildBackingStoresIfPresent() {
@@ -623,7 +659,7 @@ public class ServicesContext {
 
 	public FunctionalityThrottling hapiThrottling() {
 		if (hapiThrottling == null) {
-			hapiThrottling = new HapiThrottling(new DeterministicThrottling(() -> addressBook().getSize()));
+			hapiThrottling = new HapiThrottling(() -> addressBook().getSize());
 		}
 		return hapiThrottling;
 	}
@@ -657,12 +693,15 @@ public class ServicesContext {
 					},
 					nodeLocalProperties(),
 					MiscUtils::baseStatNameOf);
+			var accountsStore = backingAccounts();
+			var tokenRelsStore = backingTokenRels();
 			statsManager = new ServicesStatsManager(
 					opCounters(),
 					runningAvgs(),
 					speedometers(),
 					opSpeedometers,
-					nodeLocalProperties());
+					nodeLocalProperties(),
+					() -> accountsStore.idsFootprintBytes() + tokenRelsStore.idsFootprintBytes());
 		}
 		return statsManager;
 	}
@@ -720,6 +759,27 @@ public class ServicesContext {
 		return stateViews;
 	}
 
+	public SignedStateViews signedStateViews() {
+		if (signedStateViews == null) {
+			signedStateViews = new SignedStateViews(
+					stateViews(),
+					queryResponseCache(),
+					runningAvgs(),
+					speedometers(),
+					nodeLocalProperties());
+		}
+		return signedStateViews;
+	}
+
+	public QueryResponseCache queryResponseCache() {
+		if (queryResponseCache == null) {
+			queryResponseCache = new QueryResponseCache(
+					nodeLocalProperties().queryResponseCacheMaxEntries(),
+					runningAvgs());
+		}
+		return queryResponseCache;
+	}
+
 	public StateView currentView() {
 		if (currentView == null) {
 			currentView = new StateView(
@@ -815,7 +875,7 @@ public class ServicesContext {
 					new GetContractInfoAnswer(validator()),
 					new GetBySolidityIdAnswer(),
 					new GetContractRecordsAnswer(validator()),
-					new ContractCallLocalAnswer(contracts()::contractCallLocal, validator())
+					new ContractCallLocalAnswer(localCallExecutor()::perform, validator())
 			);
 		}
 		return contractAnswers;
@@ -834,7 +894,7 @@ public class ServicesContext {
 		if (metaAnswers == null) {
 			metaAnswers = new MetaAnswers(
 					new GetTxnRecordAnswer(recordCache(), validator(), answerFunctions()),
-					new GetTxnReceiptAnswer(recordCache()),
+					new GetTxnReceiptAnswer(recordCache(), queryResponseCache()),
 					new GetVersionInfoAnswer(semVers()),
 					new GetFastTxnRecordAnswer()
 			);
@@ -880,6 +940,17 @@ public class ServicesContext {
 		return cryptoAnswers;
 	}
 
+	public GetAccountBalancesAnswer accountBalancesAnswer() {
+		if (accountBalancesAnswer == null) {
+			accountBalancesAnswer = new GetAccountBalancesAnswer(
+					nodeLocalProperties().queryBulkBalancesMaxAccounts(),
+					nodeLocalProperties().queryBulkBalancesMaxAccountsPerSec(),
+					signedStateViews()::lease,
+					cryptoAnswers().getAccountBalance());
+		}
+		return accountBalancesAnswer;
+	}
+
 	public AnswerFunctions answerFunctions() {
 		if (answerFunctions == null) {
 			answerFunctions = new AnswerFunctions();
@@ -907,6 +978,8 @@ public class ServicesContext {
 					exchange(),
 					usagePrices(),
 					feeMultiplierSource(),
+					globalDynamicProperties(),
+					opCounters(),
 					List.of(
 							/* Meta */
 							new GetVersionInfoResourceUsage(),
@@ -924,7 +997,7 @@ public class ServicesContext {
 							new GetContractInfoResourceUsage(),
 							new GetContractRecordsResourceUsage(contractFees),
 							new ContractCallLocalResourceUsage(
-									contracts()::contractCallLocal, contractFees, globalDynamicProperties()),
+									localCallExecutor()::perform, contractFees, globalDynamicProperties()),
 							/* Token */
 							new GetTokenInfoResourceUsage(),
 							/* Schedule */
@@ -947,7 +1020,7 @@ public class ServicesContext {
 	) {
 		var props = globalDynamicProperties();
 
-		Map<HederaFunctionality, List<TxnResourceUsageEstimator>> estimatorsMap = Map.ofEntries(
+		Map<HederaFunctionality, List<TxnResourceUsageEstimator>> estimatorsMap = new EnumMap<>(Map.ofEntries(
 				/* Crypto */
 				entry(CryptoCreate, List.of(new CryptoCreateResourceUsage(cryptoOpsUsage))),
 				entry(CryptoDelete, List.of(new CryptoDeleteResourceUsage(cryptoFees))),
@@ -989,7 +1062,7 @@ public class ServicesContext {
 				entry(Freeze, List.of(new FreezeResourceUsage())),
 				entry(SystemDelete, List.of(new SystemDeleteFileResourceUsage(fileFees))),
 				entry(SystemUndelete, List.of(new SystemUndeleteFileResourceUsage(fileFees)))
-		);
+		));
 
 		return estimatorsMap::get;
 	}
@@ -1000,12 +1073,12 @@ public class ServicesContext {
 				answerFlow = new StakedAnswerFlow(
 						fees(),
 						txns(),
-						stateViews(),
+						signedStateViews()::lease,
 						usagePrices(),
 						hapiThrottling(),
 						submissionManager());
 			} else {
-				answerFlow = new ZeroStakeAnswerFlow(txns(), stateViews(), hapiThrottling());
+				answerFlow = new ZeroStakeAnswerFlow(txns(), signedStateViews()::lease, hapiThrottling());
 			}
 		}
 		return answerFlow;
@@ -1074,18 +1147,32 @@ public class ServicesContext {
 
 	public StoragePersistence storagePersistence() {
 		if (storagePersistence == null) {
-			storagePersistence = new BlobStoragePersistence(storageMapFrom(blobStore()));
+			storagePersistence = evmProfiler().timing(new BlobStoragePersistence(contractStorage()));
 		}
 		return storagePersistence;
 	}
 
+	public PagedStorageMap contractStorage() {
+		if (contractStorage == null) {
+			contractStorage = pagedStorageMapFrom(blobStore(), nodeLocalProperties().contractsStorageCacheMaxBytes());
+		}
+		return contractStorage;
+	}
+
 	public SyncVerifier syncVerifier() {
 		if (syncVerifier == null) {
-			syncVerifier = platform().getCryptography()::verifySync;
+			syncVerifier = new CachingSyncVerifier(platform().getCryptography()::verifySync, speedometers());
 		}
 		return syncVerifier;
 	}
 
+	public TxnAccessorHandoff accessorHandoff() {
+		if (accessorHandoff == null) {
+			accessorHandoff = new TxnAccessorHandoff();
+		}
+		return accessorHandoff;
+	}
+
 	public PrecheckVerifier precheckVerifier() {
 		if (precheckVerifier == null) {
 			Predicate<TransactionBody> isQueryPayment = queryPaymentTestFor(nodeAccount());
@@ -1104,7 +1191,9 @@ public class ServicesContext {
 			balancesExporter = new SignedStateBalancesExporter(
 					properties(),
 					platform()::sign,
-					globalDynamicProperties());
+					globalDynamicProperties(),
+					runningAvgs(),
+					speedometers());
 		}
 		return balancesExporter;
 	}
@@ -1298,7 +1387,7 @@ public class ServicesContext {
 		return txnCtx;
 	}
 
-	public Map<TransactionID, TxnIdRecentHistory> txnHistories() {
+	public Map<TxnIdKey, TxnIdRecentHistory> txnHistories() {
 		if (txnHistories == null) {
 			txnHistories = new ConcurrentHashMap<>();
 		}
@@ -1385,16 +1474,30 @@ public class ServicesContext {
 							new ChangeSummaryManager<>());
 			tokenRelsLedger.setKeyComparator(REL_CMP);
 			tokenRelsLedger.setKeyToString(BackingTokenRels::readableTokenRel);
-			tokenStore = new HederaTokenStore(
+			tokenRelsLedger.setCommitObserver(rel -> {
+				tokenHolders().onCommitted(rel);
+				queryResponseCache().invalidateAccount(rel.getLeft(), txnCtx().consensusTime());
+			});
+			var hederaTokenStore = new HederaTokenStore(
 					ids(),
 					validator(),
 					globalDynamicProperties(),
 					this::tokens,
 					tokenRelsLedger);
+			hederaTokenStore.setCommitObserver(id ->
+					queryResponseCache().invalidateToken(id, txnCtx().consensusTime()));
+			tokenStore = hederaTokenStore;
 		}
 		return tokenStore;
 	}
 
+	public TokenHolders tokenHolders() {
+		if (tokenHolders == null) {
+			tokenHolders = new TokenHolders(this::tokenAssociations);
+		}
+		return tokenHolders;
+	}
+
 	public ScheduleStore scheduleStore() {
 		if (scheduleStore == null) {
 			scheduleStore = new HederaScheduleStore(globalDynamicProperties(), ids(), txnCtx(), this::schedules);
@@ -1405,12 +1508,12 @@ public class ServicesContext {
 	public HederaLedger ledger() {
 		if (ledger == null) {
 			TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger =
-					new TransactionalLedger<>(
-							AccountProperty.class,
+					new NumKeyedAccountsLedger(
 							MerkleAccount::new,
 							backingAccounts(),
 							new ChangeSummaryManager<>());
-			accountsLedger.setKeyComparator(ACCOUNT_ID_COMPARATOR);
+			accountsLedger.setCommitObserver(id ->
+					queryResponseCache().invalidateAccount(id, txnCtx().consensusTime()));
 			ledger = new HederaLedger(
 					tokenStore(),
 					ids(),
@@ -1426,7 +1529,12 @@ public class ServicesContext {
 	public ExpiryManager expiries() {
 		if (expiries == null) {
 			var histories = txnHistories();
-			expiries = new ExpiryManager(recordCache(), histories, scheduleStore(), schedules());
+			expiries = new ExpiryManager(
+					histories,
+					scheduleStore(),
+					schedules(),
+					runningAvgs(),
+					ledgerValidator()::newTally);
 		}
 		return expiries;
 	}
@@ -1434,7 +1542,6 @@ public class ServicesContext {
 	public ExpiringCreations creator() {
 		if (creator == null) {
 			creator = new ExpiringCreations(expiries(), globalDynamicProperties());
-			creator.setRecordCache(recordCache());
 		}
 		return creator;
 	}
@@ -1511,6 +1618,7 @@ public class ServicesContext {
 			recordStreamManager = new RecordStreamManager(
 					platform,
 					runningAvgs(),
+					speedometers(),
 					nodeLocalProps,
 					nodeScopedRecordLogDir,
 					getRecordsInitialHash());
@@ -1554,6 +1662,13 @@ public class ServicesContext {
 		return networkGrpc;
 	}
 
+	public NodeAdminController nodeAdminGrpc() {
+		if (nodeAdminGrpc == null) {
+			nodeAdminGrpc = new NodeAdminController(accountBalancesAnswer(), tokenHolders());
+		}
+		return nodeAdminGrpc;
+	}
+
 	public FileController filesGrpc() {
 		if (fileGrpc == null) {
 			fileGrpc = new FileController(fileAnswers(), txnResponseHelper(), queryResponseHelper());
@@ -1633,6 +1748,15 @@ public class ServicesContext {
 		return grpc;
 	}
 
+	public NodeAdminServerManager nodeAdminServer() {
+		if (nodeAdminServer == null) {
+			nodeAdminServer = new NodeAdminServerManager(
+					Runtime.getRuntime()::addShutdownHook,
+					nodeAdminGrpc().serviceDefinition());
+		}
+		return nodeAdminServer;
+	}
+
 	public SmartContractRequestHandler contracts() {
 		if (contracts == null) {
 			contracts = new SmartContractRequestHandler(
@@ -1666,7 +1790,7 @@ public class ServicesContext {
 
 	public SolidityLifecycle solidityLifecycle() {
 		if (solidityLifecycle == null) {
-			solidityLifecycle = new SolidityLifecycle(globalDynamicProperties());
+			solidityLifecycle = new SolidityLifecycle(globalDynamicProperties(), evmProfiler());
 		}
 		return solidityLifecycle;
 	}
@@ -1711,20 +1835,7 @@ public class ServicesContext {
 
 	public Supplier<ServicesRepositoryRoot> newPureRepo() {
 		if (newPureRepo == null) {
-			TransactionalLedger<AccountID, AccountProperty, MerkleAccount> pureDelegate = new TransactionalLedger<>(
-					AccountProperty.class,
-					MerkleAccount::new,
-					new PureFCMapBackingAccounts(this::accounts),
-					new ChangeSummaryManager<>());
-			HederaLedger pureLedger = new HederaLedger(
-					NOOP_TOKEN_STORE,
-					NOOP_ID_SOURCE,
-					NOOP_EXPIRING_CREATIONS,
-					NOOP_RECORDS_HISTORIAN,
-					pureDelegate);
-			Source<byte[], AccountState> pureAccountSource = new LedgerAccountsSource(
-					pureLedger,
-					globalDynamicProperties());
+			Source<byte[], AccountState> pureAccountSource = pureAccountSourceOver(this::accounts);
 			newPureRepo = () -> {
 				var pureRepository = new ServicesRepositoryRoot(pureAccountSource, bytecodeDb());
 				pureRepository.setStoragePersistence(storagePersistence());
@@ -1734,6 +1845,61 @@ public class ServicesContext {
 		return newPureRepo;
 	}
 
+	public EvmProfiler evmProfiler() {
+		if (evmProfiler == null) {
+			evmProfiler = new EvmProfiler(
+					nodeLocalProperties().isContractsProfilerEnabled(),
+					nodeLocalProperties().contractsProfilerRingSize(),
+					nodeLocalProperties().contractsProfilerSummaryPeriodSecs());
+		}
+		return evmProfiler;
+	}
+
+	public LocalCallExecutor localCallExecutor() {
+		if (localCallExecutor == null) {
+			localCallExecutor = new LocalCallExecutor(
+					nodeLocalProperties().contractsLocalCallMaxConcurrent(),
+					nodeLocalProperties().contractsLocalCallMaxGasPerSec(),
+					nodeLocalProperties().contractsLocalCallDeadlineMs(),
+					() -> signedStateViews().lease(),
+					this::pureReposFor,
+					(query, now, snapshot, pureRepository) ->
+							contracts().contractCallLocal(query, now, pureRepository, snapshot.contracts()),
+					globalDynamicProperties());
+		}
+		return localCallExecutor;
+	}
+
+	private Supplier<ServicesRepositoryRoot> pureReposFor(StateView snapshot) {
+		var accountSource = pureAccountSourceOver(snapshot::accounts);
+		var bytecodeSource = new BlobStorageSource(
+				snapshot.contractBytecode(),
+				snapshotBytecodeCaches().cacheAsOf(snapshot.asOf()));
+		var storagePersistence = new BlobStoragePersistence(snapshot.contractStorage());
+		return () -> {
+			var pureRepository = new ServicesRepositoryRoot(accountSource, bytecodeSource);
+			pureRepository.setStoragePersistence(storagePersistence);
+			return pureRepository;
+		};
+	}
+
+	private Source<byte[], AccountState> pureAccountSourceOver(
+			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts
+	) {
+		TransactionalLedger<AccountID, AccountProperty, MerkleAccount> pureDelegate = new TransactionalLedger<>(
+				AccountProperty.class,
+				MerkleAccount::new,
+				new PureFCMapBackingAccounts(accounts),
+				new ChangeSummaryManager<>());
+		HederaLedger pureLedger = new HederaLedger(
+				NOOP_TOKEN_STORE,
+				NOOP_ID_SOURCE,
+				NOOP_EXPIRING_CREATIONS,
+				NOOP_RECORDS_HISTORIAN,
+				pureDelegate);
+		return new LedgerAccountsSource(pureLedger, globalDynamicProperties());
+	}
+
 	public ConsensusStatusCounts statusCounts() {
 		if (statusCounts == null) {
 			statusCounts = new ConsensusStatusCounts(new ObjectMapper());
@@ -1750,11 +1916,27 @@ public class ServicesContext {
 
 	public BlobStorageSource bytecodeDb() {
 		if (bytecodeDb == null) {
-			bytecodeDb = new BlobStorageSource(bytecodeMapFrom(blobStore()));
+			bytecodeDb = new BlobStorageSource(bytecodeMapFrom(blobStore()), bytecodeCache());
 		}
 		return bytecodeDb;
 	}
 
+	public BytecodeCache bytecodeCache() {
+		if (bytecodeCache == null) {
+			bytecodeCache = new BytecodeCache(
+					nodeLocalProperties().contractsBytecodeCacheMaxBytes(),
+					runningAvgs());
+		}
+		return bytecodeCache;
+	}
+
+	public SnapshotBytecodeCaches snapshotBytecodeCaches() {
+		if (snapshotBytecodeCaches == null) {
+			snapshotBytecodeCaches = new SnapshotBytecodeCaches(nodeLocalProperties().contractsBytecodeCacheMaxBytes());
+		}
+		return snapshotBytecodeCaches;
+	}
+
 	public TransactionHandler txns() {
 		if (txns == null) {
 			txns = new TransactionHandler(
@@ -2013,6 +2195,18 @@ public class ServicesContext {
 		this.tokenStore = tokenStore;
 	}
 
+	public void setTokenHolders(TokenHolders tokenHolders) {
+		this.tokenHolders = tokenHolders;
+	}
+
+	public void setBytecodeCache(BytecodeCache bytecodeCache) {
+		this.bytecodeCache = bytecodeCache;
+	}
+
+	public void setContractStorage(PagedStorageMap contractStorage) {
+		this.contractStorage = contractStorage;
+	}
+
 	public void setScheduleStore(ScheduleStore scheduleStore) {
 		this.scheduleStore = scheduleStore;
 	}
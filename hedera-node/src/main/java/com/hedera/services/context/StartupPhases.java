@@ -0,0 +1,169 @@
+package com.hedera.services.context;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * A small dependency graph of startup phases, each of which is run as soon as
+ * all the phases it depends on have finished. Since a phase can only depend on
+ * phases added before it, the graph is always acyclic.
+ *
+ * The phases are expected to be independent of each other except as declared; in
+ * particular, any lazily-constructed collaborators a phase uses should be resolved
+ * by the caller before the graph is run.
+ *
+ * The elapsed time of each phase (and of the whole graph, as {@link #ALL_PHASES}) is
+ * logged, and reported to the given observer as soon as it is known.
+ */
+public class StartupPhases {
+	private static final Logger log = LogManager.getLogger(StartupPhases.class);
+
+	public static final String ALL_PHASES = "allPhases";
+
+	private final Map<String, Phase> phases = new LinkedHashMap<>();
+	private final BiConsumer<String, Double> timingObserver;
+
+	public StartupPhases() {
+		this((phase, elapsedMs) -> { });
+	}
+
+	/**
+	 * Creates an empty graph whose timings are reported to the given observer.
+	 *
+	 * @param timingObserver the observer of each phase name and its elapsed millis
+	 */
+	public StartupPhases(BiConsumer<String, Double> timingObserver) {
+		this.timingObserver = timingObserver;
+	}
+
+	/**
+	 * Adds a phase to the graph.
+	 *
+	 * @param name the unique name of the phase
+	 * @param action the work done by the phase
+	 * @param dependencies the names of (already added) phases that must finish first
+	 * @return this graph
+	 * @throws IllegalArgumentException if the name is taken or a dependency is unknown
+	 */
+	public StartupPhases add(String name, Runnable action, String... dependencies) {
+		if (ALL_PHASES.equals(name)) {
+			throw new IllegalArgumentException(String.format("Phase name '%s' is reserved!", name));
+		}
+		if (phases.containsKey(name)) {
+			throw new IllegalArgumentException(String.format("Phase '%s' was already added!", name));
+		}
+		for (var dependency : dependencies) {
+			if (!phases.containsKey(dependency)) {
+				throw new IllegalArgumentException(
+						String.format("Phase '%s' depends on unknown phase '%s'!", name, dependency));
+			}
+		}
+		phases.put(name, new Phase(name, action, dependencies));
+		return this;
+	}
+
+	/**
+	 * Runs every phase on the given executor, blocking until all have finished. If any
+	 * phase fails, the phases depending on it are not run, and (once all other phases
+	 * have finished) the failure is rethrown on the calling thread.
+	 *
+	 * @param executor the executor to run the phases on
+	 */
+	public void runOn(Executor executor) {
+		long start = System.nanoTime();
+		Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+		for (var phase : phases.values()) {
+			CompletableFuture<Void> future;
+			if (phase.dependencies.length == 0) {
+				future = CompletableFuture.runAsync(phase::run, executor);
+			} else {
+				var prerequisites = new CompletableFuture<?>[phase.dependencies.length];
+				for (int i = 0; i < prerequisites.length; i++) {
+					prerequisites[i] = futures.get(phase.dependencies[i]);
+				}
+				future = CompletableFuture.allOf(prerequisites).thenRunAsync(phase::run, executor);
+			}
+			futures.put(phase.name, future);
+		}
+
+		try {
+			CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new)).join();
+		} catch (CompletionException e) {
+			var cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		double elapsedMs = msSince(start);
+		log.info("Finished {} startup phases in {}ms", phases.size(), elapsedMs);
+		timingObserver.accept(ALL_PHASES, elapsedMs);
+	}
+
+	/**
+	 * Returns how long the named phase took to run, or -1 if it has not (successfully) run.
+	 *
+	 * @param name the name of the phase
+	 * @return its elapsed time in milliseconds
+	 */
+	public double elapsedMs(String name) {
+		var phase = phases.get(name);
+		return (phase == null) ? -1 : phase.elapsedMs;
+	}
+
+	private static double msSince(long start) {
+		return (System.nanoTime() - start) / 1_000_000.0;
+	}
+
+	private class Phase {
+		private final String name;
+		private final Runnable action;
+		private final String[] dependencies;
+
+		private volatile double elapsedMs = -1;
+
+		Phase(String name, Runnable action, String[] dependencies) {
+			this.name = name;
+			this.action = action;
+			this.dependencies = dependencies;
+		}
+
+		void run() {
+			long start = System.nanoTime();
+			action.run();
+			elapsedMs = msSince(start);
+			log.info("Startup phase '{}' finished in {}ms", name, elapsedMs);
+			timingObserver.accept(name, elapsedMs);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package com.hedera.services.context.primitives;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.queries.answering.QueryResponseCache;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.store.schedule.ReadOnlyScheduleStore;
+import com.hedera.services.store.tokens.ReadOnlyTokenStore;
+import com.swirlds.common.merkle.MerkleNode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Leases {@link StateView}s for answering queries from the latest signed state,
+ * so that query threads never read the mutable working state while it is being
+ * changed by the handle thread.
+ *
+ * The replica is swapped atomically on each {@link #updateFrom(ServicesState, Instant)};
+ * when there is no replica, or it is older than {@code queries.signedState.maxStalenessMs},
+ * views fall back to the working state.
+ *
+ * The replica reads every entity type from the signed state, tokens and schedules
+ * included (through read-only stores over the signed state's maps). The platform releases
+ * a signed state as soon as it has no more use for it, so the replica takes its own
+ * reference on each child of the signed state it reads. It gives these references back
+ * only once it has been replaced and every lease on it is closed; and (so that reference
+ * counts are only ever changed by the thread delivering signed states) it does so on the
+ * next call to {@code updateFrom}.
+ */
+public class SignedStateViews {
+	private final Supplier<StateView> liveViews;
+	private final Supplier<Instant> now;
+	private final QueryResponseCache responseCache;
+	private final MiscRunningAvgs runningAvgs;
+	private final MiscSpeedometers speedometers;
+	private final NodeLocalProperties properties;
+
+	private final List<Replica> retired = new ArrayList<>();
+	private final AtomicReference<Replica> replica = new AtomicReference<>();
+
+	public SignedStateViews(
+			Supplier<StateView> liveViews,
+			QueryResponseCache responseCache,
+			MiscRunningAvgs runningAvgs,
+			MiscSpeedometers speedometers,
+			NodeLocalProperties properties
+	) {
+		this(liveViews, responseCache, runningAvgs, speedometers, properties, Instant::now);
+	}
+
+	SignedStateViews(
+			Supplier<StateView> liveViews,
+			QueryResponseCache responseCache,
+			MiscRunningAvgs runningAvgs,
+			MiscSpeedometers speedometers,
+			NodeLocalProperties properties,
+			Supplier<Instant> now
+	) {
+		this.now = now;
+		this.responseCache = responseCache;
+		this.liveViews = liveViews;
+		this.properties = properties;
+		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
+	}
+
+	/**
+	 * Replaces the current replica with a view of the given signed state, and lets the
+	 * response cache forget the modifications that state includes. Also releases any
+	 * earlier replica that no longer has an open lease.
+	 *
+	 * @param signedState the newly signed state
+	 * @param consensusTime the consensus time at which the state was signed
+	 */
+	public void updateFrom(ServicesState signedState, Instant consensusTime) {
+		responseCache.pruneThrough(consensusTime);
+		if (properties.querySignedStateMaxStalenessMs() <= 0) {
+			retire(replica.getAndSet(null));
+		} else {
+			retire(replica.getAndSet(replicaOf(signedState, consensusTime)));
+		}
+		retired.removeIf(Replica::releaseIfUnleased);
+	}
+
+	/**
+	 * Leases a view of the latest signed state if it is fresh enough, and of the working
+	 * state otherwise. The caller must close the lease once done with the view.
+	 *
+	 * @return the leased view
+	 */
+	public StateViewLease lease() {
+		var current = replica.get();
+		while (current != null && !current.tryLease()) {
+			current = replica.get();
+		}
+		if (current != null) {
+			long stalenessMs = now.get().toEpochMilli() - current.consensusTime.toEpochMilli();
+			if (stalenessMs <= properties.querySignedStateMaxStalenessMs()) {
+				speedometers.cycleSignedStateViewHits();
+				runningAvgs.recordSignedStateViewStalenessMs(Math.max(0L, stalenessMs));
+				return new StateViewLease(current.view, current::unlease);
+			}
+			current.unlease();
+		}
+		speedometers.cycleSignedStateViewMisses();
+		return StateViewLease.unmanaged(liveViews.get());
+	}
+
+	private Replica replicaOf(ServicesState signedState, Instant consensusTime) {
+		var topics = signedState.topics();
+		var accounts = signedState.accounts();
+		var storage = signedState.storage();
+		var tokens = signedState.tokens();
+		var tokenAssociations = signedState.tokenAssociations();
+		var schedules = signedState.scheduleTxs();
+		var diskFs = signedState.diskFs();
+		List<MerkleNode> children = List.of(topics, accounts, storage, tokens, tokenAssociations, schedules, diskFs);
+		children.forEach(MerkleNode::incrementReferenceCount);
+
+		var view = new StateView(
+				new ReadOnlyTokenStore(() -> tokens),
+				new ReadOnlyScheduleStore(() -> schedules),
+				() -> topics,
+				() -> accounts,
+				() -> storage,
+				() -> tokenAssociations,
+				() -> diskFs,
+				properties).withResponseCache(responseCache, consensusTime);
+		return new Replica(view, consensusTime, children);
+	}
+
+	private void retire(Replica previous) {
+		if (previous != null) {
+			previous.unlease();
+			retired.add(previous);
+		}
+	}
+
+	StateView replicaView() {
+		var current = replica.get();
+		return (current == null) ? null : current.view;
+	}
+
+	int numRetiredReplicas() {
+		return retired.size();
+	}
+
+	private static class Replica {
+		private final StateView view;
+		private final Instant consensusTime;
+		private final List<MerkleNode> children;
+		/* The replica holds one lease of its own for as long as it is current */
+		private final AtomicInteger leases = new AtomicInteger(1);
+
+		private Replica(StateView view, Instant consensusTime, List<MerkleNode> children) {
+			this.view = view;
+			this.children = children;
+			this.consensusTime = consensusTime;
+		}
+
+		private boolean tryLease() {
+			int n;
+			do {
+				n = leases.get();
+				if (n == 0) {
+					return false;
+				}
+			} while (!leases.compareAndSet(n, n + 1));
+			return true;
+		}
+
+		private void unlease() {
+			leases.decrementAndGet();
+		}
+
+		private boolean releaseIfUnleased() {
+			if (leases.get() > 0) {
+				return false;
+			}
+			children.forEach(MerkleNode::decrementReferenceCount);
+			return true;
+		}
+	}
+}
@@ -29,6 +29,7 @@ import com.hedera.services.files.store.FcBlobsBytesStore;
 import com.hedera.services.files.HFileMeta;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleDiskFs;
@@ -50,6 +51,7 @@ import com.hederahashgraph.api.proto.java.CryptoGetInfoResponse;
 import com.hederahashgraph.api.proto.java.Duration;
 import com.hederahashgraph.api.proto.java.FileGetInfoResponse;
 import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Key;
 import com.hederahashgraph.api.proto.java.KeyList;
 import com.hederahashgraph.api.proto.java.ScheduleID;
@@ -64,6 +66,7 @@ import com.swirlds.fcmap.FCMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +88,7 @@ import static com.hedera.services.utils.EntityIdUtils.asSolidityAddress;
 import static com.hedera.services.utils.EntityIdUtils.asSolidityAddressHex;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 import static com.hedera.services.utils.MiscUtils.asKeyUnchecked;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
 import static java.util.Collections.unmodifiableMap;
 
 public class StateView {
@@ -134,6 +138,9 @@ public class StateView {
 
 	private final NodeLocalProperties properties;
 
+	private Instant asOf = null;
+	private QueryResponseCache responseCache = null;
+
 	public StateView(
 			Supplier<FCMap<MerkleEntityId, MerkleTopic>> topics,
 			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
@@ -176,12 +183,54 @@ public class StateView {
 
 		fileContents = DataMapFactory.dataMapFrom(blobStore);
 		fileAttrs = MetadataMapFactory.metaMapFrom(blobStore);
-		contractStorage = AddressKeyedMapFactory.storageMapFrom(blobStore);
+		contractStorage = AddressKeyedMapFactory.pagedStorageMapFrom(blobStore);
 		contractBytecode = AddressKeyedMapFactory.bytecodeMapFrom(blobStore);
 		this.properties = properties;
 		this.diskFs = diskFs;
 	}
 
+	/**
+	 * Lets this view answer hot queries through the given cache, given that it reflects
+	 * the (immutable) state as of the given consensus time. Every source this view reads,
+	 * its token and schedule stores included, must then be part of that same state; or a
+	 * cached answer could hold data newer than its consensus time.
+	 *
+	 * @param responseCache the cache to use
+	 * @param asOf the consensus time of the state this view reflects
+	 * @return this view
+	 */
+	public StateView withResponseCache(QueryResponseCache responseCache, Instant asOf) {
+		this.asOf = asOf;
+		this.responseCache = responseCache;
+		return this;
+	}
+
+	/**
+	 * Returns the consensus time of the signed state this view reflects, if it was given one
+	 * along with a response cache.
+	 *
+	 * @return the consensus time of this view's state, or null if unknown
+	 */
+	public Instant asOf() {
+		return asOf;
+	}
+
+	/**
+	 * Returns the answer of the given type for the given entity, from the response cache if
+	 * this view has one; or computed directly otherwise.
+	 *
+	 * @param type the type of query being answered
+	 * @param id the id of the entity being queried
+	 * @param computation the computation of the answer from this view
+	 * @param <T> the type of the answer
+	 * @return the answer
+	 */
+	public <T> T cachedOrComputed(HederaFunctionality type, Object id, Supplier<T> computation) {
+		return (responseCache == null)
+				? computation.get()
+				: responseCache.getOrCompute(type, id, asOf, computation);
+	}
+
 	public static List<TokenRelationship> tokenRels(StateView view, AccountID id) {
 		var account = view.accounts().get(fromAccountId(id));
 		List<TokenRelationship> relationships = new ArrayList<>();
@@ -230,10 +279,14 @@ public class StateView {
 	}
 
 	public Optional<TokenInfo> infoForToken(TokenID tokenID) {
+		return Optional.ofNullable(cachedOrComputed(TokenGetInfo, tokenID, () -> computeInfoForToken(tokenID)));
+	}
+
+	private TokenInfo computeInfoForToken(TokenID tokenID) {
 		try {
 			var id = tokenStore.resolve(tokenID);
 			if (id == MISSING_TOKEN) {
-				return Optional.empty();
+				return null;
 			}
 			var token = tokenStore.get(id);
 			var info = TokenInfo.newBuilder()
@@ -272,13 +325,13 @@ public class StateView {
 				info.setAutoRenewPeriod(Duration.newBuilder().setSeconds(token.autoRenewPeriod()));
 			}
 
-			return Optional.of(info.build());
+			return info.build();
 		} catch (Exception unexpected) {
 			log.warn(
 					"Unexpected failure getting info for token {}!",
 					readableId(tokenID),
 					unexpected);
-			return Optional.empty();
+			return null;
 		}
 	}
 
@@ -448,4 +501,12 @@ public class StateView {
 	public Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> tokenAssociations() {
 		return tokenAssociations;
 	}
+
+	public Map<byte[], byte[]> contractStorage() {
+		return contractStorage;
+	}
+
+	public Map<byte[], byte[]> contractBytecode() {
+		return contractBytecode;
+	}
 }
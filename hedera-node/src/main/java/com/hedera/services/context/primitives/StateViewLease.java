@@ -0,0 +1,65 @@
+package com.hedera.services.context.primitives;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link StateView} that its holder promises to stop reading once the lease is closed;
+ * for a view of a signed state, this is what lets the state be released after it has
+ * been replaced by a newer one.
+ *
+ * Closing a lease more than once has no further effect.
+ */
+public final class StateViewLease implements AutoCloseable {
+	private static final Runnable NO_RELEASE = () -> { };
+
+	private final StateView view;
+	private final AtomicReference<Runnable> release;
+
+	StateViewLease(StateView view, Runnable release) {
+		this.view = view;
+		this.release = new AtomicReference<>(release);
+	}
+
+	/**
+	 * Returns a lease on a view whose underlying state need not be released, such
+	 * as a view of the working state.
+	 *
+	 * @param view the view to lease
+	 * @return a lease that releases nothing when closed
+	 */
+	public static StateViewLease unmanaged(StateView view) {
+		return new StateViewLease(view, NO_RELEASE);
+	}
+
+	public StateView view() {
+		return view;
+	}
+
+	@Override
+	public void close() {
+		var toRun = release.getAndSet(null);
+		if (toRun != null) {
+			toRun.run();
+		}
+	}
+}
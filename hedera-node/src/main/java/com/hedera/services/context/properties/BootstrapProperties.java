@@ -222,6 +222,7 @@ public class BootstrapProperties implements PropertySource {
 			"dev.defaultListeningNodeAccount",
 			"grpc.port",
 			"grpc.tlsPort",
+			"grpc.adminPort",
 			"hedera.accountsExportPath",
 			"hedera.exportAccountsOnStartup",
 			"hedera.profiles.active",
@@ -240,6 +241,18 @@ public class BootstrapProperties implements PropertySource {
 			"netty.tlsCrt.path",
 			"netty.tlsKey.path",
 			"queries.blob.lookupRetries",
+			"queries.signedState.maxStalenessMs",
+			"queries.responseCache.maxEntries",
+			"queries.bulkBalances.maxAccounts",
+			"queries.bulkBalances.maxAccountsPerSec",
+			"contracts.bytecodeCache.maxBytes",
+			"contracts.storageCache.maxBytes",
+			"contracts.localCall.deadlineMs",
+			"contracts.localCall.maxConcurrent",
+			"contracts.localCall.maxGasPerSec",
+			"contracts.profiler.isEnabled",
+			"contracts.profiler.ringSize",
+			"contracts.profiler.summaryPeriodSecs",
 			"precheck.account.maxLookupRetries",
 			"precheck.account.lookupRetryBackoffIncrementMs",
 			"stats.hapiOps.speedometerUpdateIntervalMs",
@@ -281,6 +294,7 @@ public class BootstrapProperties implements PropertySource {
 			entry("files.throttleDefinitions", AS_LONG),
 			entry("grpc.port", AS_INT),
 			entry("grpc.tlsPort", AS_INT),
+			entry("grpc.adminPort", AS_INT),
 			entry("hedera.exportAccountsOnStartup", AS_BOOLEAN),
 			entry("hedera.numReservedSystemEntities", AS_LONG),
 			entry("hedera.profiles.active", AS_PROFILE),
@@ -299,6 +313,18 @@ public class BootstrapProperties implements PropertySource {
 			entry("precheck.account.maxLookupRetries", AS_INT),
 			entry("precheck.account.lookupRetryBackoffIncrementMs", AS_INT),
 			entry("queries.blob.lookupRetries", AS_INT),
+			entry("queries.signedState.maxStalenessMs", AS_LONG),
+			entry("queries.responseCache.maxEntries", AS_INT),
+			entry("queries.bulkBalances.maxAccounts", AS_INT),
+			entry("queries.bulkBalances.maxAccountsPerSec", AS_LONG),
+			entry("contracts.bytecodeCache.maxBytes", AS_LONG),
+			entry("contracts.storageCache.maxBytes", AS_LONG),
+			entry("contracts.localCall.deadlineMs", AS_LONG),
+			entry("contracts.localCall.maxConcurrent", AS_INT),
+			entry("contracts.localCall.maxGasPerSec", AS_LONG),
+			entry("contracts.profiler.isEnabled", AS_BOOLEAN),
+			entry("contracts.profiler.ringSize", AS_INT),
+			entry("contracts.profiler.summaryPeriodSecs", AS_LONG),
 			entry("bootstrap.rates.currentHbarEquiv", AS_INT),
 			entry("bootstrap.rates.currentCentEquiv", AS_INT),
 			entry("bootstrap.rates.currentExpiry", AS_LONG),
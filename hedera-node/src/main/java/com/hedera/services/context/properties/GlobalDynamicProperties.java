@@ -63,6 +63,7 @@ public class GlobalDynamicProperties {
 	private Set<HederaFunctionality> schedulingWhitelist;
 	private CongestionMultipliers congestionMultipliers;
 	private int feesMinCongestionPeriod;
+	private volatile long generation = 0L;
 
 	public GlobalDynamicProperties(
 			HederaNumbers hederaNums,
@@ -111,6 +112,18 @@ public class GlobalDynamicProperties {
 		messageMaxBytesAllowed = properties.getIntProperty( "consensus.message.maxBytesAllowed");
 		congestionMultipliers = properties.getCongestionMultiplierProperty("fees.percentCongestionMultipliers");
 		feesMinCongestionPeriod = properties.getIntProperty("fees.minCongestionPeriod");
+		generation++;
+	}
+
+	/**
+	 * Returns the number of times these properties have been (re)loaded. Since this is
+	 * incremented only after a reload completes, a reader that sees a given generation
+	 * also sees every property value loaded in that generation.
+	 *
+	 * @return the current generation of the properties
+	 */
+	public long generation() {
+		return generation;
 	}
 
 	public int maxTokensPerAccount() {
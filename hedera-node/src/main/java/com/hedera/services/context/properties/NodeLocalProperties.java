@@ -25,6 +25,7 @@ public class NodeLocalProperties {
 
 	private int port;
 	private int tlsPort;
+	private int adminPort;
 	private int precheckLookupRetries;
 	private int precheckLookupRetryBackoffMs;
 	private long statsHapiOpsSpeedometerUpdateIntervalMs;
@@ -36,6 +37,18 @@ public class NodeLocalProperties {
 	private boolean recordStreamEnabled;
 	private int recordStreamQueueCapacity;
 	private int queryBlobLookupRetries;
+	private long querySignedStateMaxStalenessMs;
+	private int queryResponseCacheMaxEntries;
+	private int queryBulkBalancesMaxAccounts;
+	private long queryBulkBalancesMaxAccountsPerSec;
+	private long contractsBytecodeCacheMaxBytes;
+	private long contractsStorageCacheMaxBytes;
+	private int contractsLocalCallMaxConcurrent;
+	private long contractsLocalCallMaxGasPerSec;
+	private long contractsLocalCallDeadlineMs;
+	private boolean contractsProfilerIsEnabled;
+	private int contractsProfilerRingSize;
+	private long contractsProfilerSummaryPeriodSecs;
 	private long nettyProdKeepAliveTime;
 	private String nettyTlsCrtPath;
 	private String nettyTlsKeyPath;
@@ -60,6 +73,7 @@ public class NodeLocalProperties {
 	public void reload() {
 		port = properties.getIntProperty("grpc.port");
 		tlsPort = properties.getIntProperty("grpc.tlsPort");
+		adminPort = properties.getIntProperty("grpc.adminPort");
 		precheckLookupRetries = properties.getIntProperty("precheck.account.maxLookupRetries");
 		precheckLookupRetryBackoffMs = properties.getIntProperty("precheck.account.lookupRetryBackoffIncrementMs");
 		activeProfile = properties.getProfileProperty("hedera.profiles.active");
@@ -71,6 +85,19 @@ public class NodeLocalProperties {
 		recordStreamEnabled = properties.getBooleanProperty("hedera.recordStream.isEnabled");
 		recordStreamQueueCapacity = properties.getIntProperty("hedera.recordStream.queueCapacity");
 		queryBlobLookupRetries = properties.getIntProperty("queries.blob.lookupRetries");
+		querySignedStateMaxStalenessMs = properties.getLongProperty("queries.signedState.maxStalenessMs");
+		queryResponseCacheMaxEntries = properties.getIntProperty("queries.responseCache.maxEntries");
+		queryBulkBalancesMaxAccounts = properties.getIntProperty("queries.bulkBalances.maxAccounts");
+		queryBulkBalancesMaxAccountsPerSec =
+				properties.getLongProperty("queries.bulkBalances.maxAccountsPerSec");
+		contractsBytecodeCacheMaxBytes = properties.getLongProperty("contracts.bytecodeCache.maxBytes");
+		contractsStorageCacheMaxBytes = properties.getLongProperty("contracts.storageCache.maxBytes");
+		contractsLocalCallMaxConcurrent = properties.getIntProperty("contracts.localCall.maxConcurrent");
+		contractsLocalCallMaxGasPerSec = properties.getLongProperty("contracts.localCall.maxGasPerSec");
+		contractsLocalCallDeadlineMs = properties.getLongProperty("contracts.localCall.deadlineMs");
+		contractsProfilerIsEnabled = properties.getBooleanProperty("contracts.profiler.isEnabled");
+		contractsProfilerRingSize = properties.getIntProperty("contracts.profiler.ringSize");
+		contractsProfilerSummaryPeriodSecs = properties.getLongProperty("contracts.profiler.summaryPeriodSecs");
 		nettyProdKeepAliveTime = properties.getLongProperty("netty.prod.keepAliveTime");
 		nettyTlsCrtPath = properties.getStringProperty("netty.tlsCrt.path");
 		nettyTlsKeyPath = properties.getStringProperty("netty.tlsKey.path");
@@ -95,6 +122,10 @@ public class NodeLocalProperties {
 		return tlsPort;
 	}
 
+	public int adminPort() {
+		return adminPort;
+	}
+
 	public int precheckLookupRetries() {
 		return precheckLookupRetries;
 	}
@@ -139,6 +170,54 @@ public class NodeLocalProperties {
 		return queryBlobLookupRetries;
 	}
 
+	public long querySignedStateMaxStalenessMs() {
+		return querySignedStateMaxStalenessMs;
+	}
+
+	public int queryResponseCacheMaxEntries() {
+		return queryResponseCacheMaxEntries;
+	}
+
+	public int queryBulkBalancesMaxAccounts() {
+		return queryBulkBalancesMaxAccounts;
+	}
+
+	public long queryBulkBalancesMaxAccountsPerSec() {
+		return queryBulkBalancesMaxAccountsPerSec;
+	}
+
+	public long contractsBytecodeCacheMaxBytes() {
+		return contractsBytecodeCacheMaxBytes;
+	}
+
+	public long contractsStorageCacheMaxBytes() {
+		return contractsStorageCacheMaxBytes;
+	}
+
+	public int contractsLocalCallMaxConcurrent() {
+		return contractsLocalCallMaxConcurrent;
+	}
+
+	public long contractsLocalCallMaxGasPerSec() {
+		return contractsLocalCallMaxGasPerSec;
+	}
+
+	public long contractsLocalCallDeadlineMs() {
+		return contractsLocalCallDeadlineMs;
+	}
+
+	public boolean isContractsProfilerEnabled() {
+		return contractsProfilerIsEnabled;
+	}
+
+	public int contractsProfilerRingSize() {
+		return contractsProfilerRingSize;
+	}
+
+	public long contractsProfilerSummaryPeriodSecs() {
+		return contractsProfilerSummaryPeriodSecs;
+	}
+
 	public long nettyProdKeepAliveTime() {
 		return nettyProdKeepAliveTime;
 	}
@@ -0,0 +1,356 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.legacy.evm.SolidityExecutor;
+import com.hederahashgraph.api.proto.java.ContractID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ethereum.datasource.StoragePersistence;
+import org.ethereum.vm.OpCode;
+import org.ethereum.vm.hook.VMHook;
+import org.ethereum.vm.program.Program;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static com.hedera.services.utils.EntityIdUtils.readableId;
+
+/**
+ * An opt-in {@link VMHook} that profiles the EVM executions run on the handle thread.
+ *
+ * For each execution it counts the opcodes stepped, and charges to each opcode the
+ * nanoseconds until the next step of the same program (so time spent in a nested
+ * call is charged to the callee's opcodes, not to the {@code CALL} itself). It also
+ * times the contract storage loads and persists done through a {@link #timing(StoragePersistence)}
+ * decorator, and the total handle time of the execution, including the final flush.
+ *
+ * The most recent executions are kept in a bounded in-memory ring; the per-opcode
+ * histograms and per-contract handle times are accumulated over a window, and logged
+ * as a summary at the end of the first execution after the window has elapsed.
+ *
+ * Only one execution may be profiled at a time.
+ */
+public class EvmProfiler implements VMHook {
+	private static final Logger log = LogManager.getLogger(EvmProfiler.class);
+
+	static final int NUM_OPCODES = 256;
+	static final int NUM_SUMMARY_ENTRIES = 10;
+
+	private static final int NO_OPCODE = -1;
+	private static final long NANOS_PER_SEC = 1_000_000_000L;
+
+	private final boolean isEnabled;
+	private final int ringSize;
+	private final long summaryPeriodNanos;
+	private final LongSupplier nanoTime;
+
+	/* State of the current execution; only touched by the thread running it. */
+	private final long[] opCounts = new long[NUM_OPCODES];
+	private final long[] opNanos = new long[NUM_OPCODES];
+	private final int[] suspendedOps = new int[1025];
+	private Thread executingThread = null;
+	private int depth = 0;
+	private int lastOp = NO_OPCODE;
+	private long lastNanos;
+	private long startNanos;
+	private long steps;
+	private long storageNanos;
+
+	/* State of the current summary window, guarded by this. */
+	private final long[] windowOpCounts = new long[NUM_OPCODES];
+	private final long[] windowOpNanos = new long[NUM_OPCODES];
+	private final Map<ContractID, long[]> windowContractNanos = new HashMap<>();
+	private final ArrayDeque<ExecutionProfile> ring;
+	private long windowStartNanos;
+	private long windowExecutions;
+
+	private final LongAdder storageGets = new LongAdder();
+	private final LongAdder storageGetNanos = new LongAdder();
+	private final LongAdder storagePersists = new LongAdder();
+	private final LongAdder storagePersistNanos = new LongAdder();
+
+	public EvmProfiler(boolean isEnabled, int ringSize, long summaryPeriodSecs) {
+		this(isEnabled, ringSize, summaryPeriodSecs, System::nanoTime);
+	}
+
+	EvmProfiler(boolean isEnabled, int ringSize, long summaryPeriodSecs, LongSupplier nanoTime) {
+		this.isEnabled = isEnabled;
+		this.ringSize = Math.max(1, ringSize);
+		this.summaryPeriodNanos = summaryPeriodSecs * NANOS_PER_SEC;
+		this.nanoTime = nanoTime;
+		this.ring = new ArrayDeque<>(this.ringSize);
+		this.windowStartNanos = nanoTime.getAsLong();
+	}
+
+	public boolean isEnabled() {
+		return isEnabled;
+	}
+
+	/**
+	 * Starts profiling an execution, installing this profiler as the executor's VM hook.
+	 *
+	 * @param executor the executor about to run
+	 */
+	public void beginExecution(SolidityExecutor executor) {
+		executor.withVmHook(this);
+		Arrays.fill(opCounts, 0L);
+		Arrays.fill(opNanos, 0L);
+		depth = 0;
+		lastOp = NO_OPCODE;
+		steps = 0L;
+		storageNanos = 0L;
+		executingThread = Thread.currentThread();
+		startNanos = nanoTime.getAsLong();
+	}
+
+	/**
+	 * Finishes profiling the current execution, adding its profile to the ring and its
+	 * histograms to the current window; and logs a summary of the window if it is over.
+	 *
+	 * @param contract the contract that was executed
+	 * @param gasUsed the gas used by the execution
+	 */
+	public void endExecution(ContractID contract, long gasUsed) {
+		long now = nanoTime.getAsLong();
+		executingThread = null;
+		var profile = new ExecutionProfile(contract, gasUsed, now - startNanos, steps, storageNanos);
+		synchronized (this) {
+			if (ring.size() == ringSize) {
+				ring.pollFirst();
+			}
+			ring.addLast(profile);
+			for (int i = 0; i < NUM_OPCODES; i++) {
+				windowOpCounts[i] += opCounts[i];
+				windowOpNanos[i] += opNanos[i];
+			}
+			var contractNanos = windowContractNanos.computeIfAbsent(contract, ignore -> new long[2]);
+			contractNanos[0]++;
+			contractNanos[1] += profile.getElapsedNanos();
+			windowExecutions++;
+			if (now - windowStartNanos >= summaryPeriodNanos) {
+				log.info(summary(now - windowStartNanos));
+				resetWindow(now);
+			}
+		}
+	}
+
+	@Override
+	public void startPlay(Program program) {
+		if (executingThread != Thread.currentThread()) {
+			return;
+		}
+		long now = nanoTime.getAsLong();
+		chargeLastOp(now);
+		if (depth < suspendedOps.length) {
+			suspendedOps[depth] = lastOp;
+		}
+		depth++;
+		lastOp = NO_OPCODE;
+		lastNanos = now;
+	}
+
+	@Override
+	public void step(Program program, OpCode opcode) {
+		if (executingThread != Thread.currentThread()) {
+			return;
+		}
+		long now = nanoTime.getAsLong();
+		chargeLastOp(now);
+		lastOp = opcode.val() & 0xFF;
+		opCounts[lastOp]++;
+		steps++;
+		lastNanos = now;
+	}
+
+	@Override
+	public void stopPlay(Program program) {
+		if (executingThread != Thread.currentThread() || depth == 0) {
+			return;
+		}
+		long now = nanoTime.getAsLong();
+		chargeLastOp(now);
+		depth--;
+		lastOp = (depth < suspendedOps.length) ? suspendedOps[depth] : NO_OPCODE;
+		lastNanos = now;
+	}
+
+	/**
+	 * Returns a decorator of the given storage persistence that reports the latency of
+	 * its loads and persists to this profiler (or the persistence itself, if disabled).
+	 *
+	 * @param delegate the storage persistence to time
+	 * @return the timed storage persistence
+	 */
+	public StoragePersistence timing(StoragePersistence delegate) {
+		return isEnabled ? new TimedStoragePersistence(delegate) : delegate;
+	}
+
+	public synchronized List<ExecutionProfile> recentExecutions() {
+		return new ArrayList<>(ring);
+	}
+
+	public synchronized long[] windowOpCounts() {
+		return windowOpCounts.clone();
+	}
+
+	public synchronized long[] windowOpNanos() {
+		return windowOpNanos.clone();
+	}
+
+	private void chargeLastOp(long now) {
+		if (lastOp != NO_OPCODE) {
+			opNanos[lastOp] += now - lastNanos;
+		}
+	}
+
+	private void onStorageLoad(long nanos) {
+		storageGets.increment();
+		storageGetNanos.add(nanos);
+		if (executingThread == Thread.currentThread()) {
+			storageNanos += nanos;
+		}
+	}
+
+	private void onStoragePersist(long nanos) {
+		storagePersists.increment();
+		storagePersistNanos.add(nanos);
+		if (executingThread == Thread.currentThread()) {
+			storageNanos += nanos;
+		}
+	}
+
+	String summary(long windowNanos) {
+		var sb = new StringBuilder();
+		sb.append(String.format("EVM profile over last %ds: %d executions", windowNanos / NANOS_PER_SEC, windowExecutions));
+
+		sb.append("\n  Opcodes by total time :: ");
+		IntStream.range(0, NUM_OPCODES)
+				.filter(i -> windowOpCounts[i] > 0)
+				.boxed()
+				.sorted(Comparator.comparingLong((Integer i) -> windowOpNanos[i]).reversed())
+				.limit(NUM_SUMMARY_ENTRIES)
+				.forEach(i -> sb.append(String.format(
+						"%s (%d x %dns), ", nameOf(i), windowOpCounts[i], windowOpNanos[i] / windowOpCounts[i])));
+
+		long gets = storageGets.sum(), persists = storagePersists.sum();
+		sb.append(String.format(
+				"\n  Storage :: %d loads (avg %dns), %d persists (avg %dns)",
+				gets, (gets == 0) ? 0 : storageGetNanos.sum() / gets,
+				persists, (persists == 0) ? 0 : storagePersistNanos.sum() / persists));
+
+		sb.append("\n  Contracts by total handle time :: ");
+		windowContractNanos.entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<ContractID, long[]> e) -> e.getValue()[1]).reversed())
+				.limit(NUM_SUMMARY_ENTRIES)
+				.forEach(e -> sb.append(String.format(
+						"%s (%d x %dns), ", readableId(e.getKey()), e.getValue()[0], e.getValue()[1] / e.getValue()[0])));
+		return sb.toString();
+	}
+
+	private void resetWindow(long now) {
+		Arrays.fill(windowOpCounts, 0L);
+		Arrays.fill(windowOpNanos, 0L);
+		windowContractNanos.clear();
+		windowExecutions = 0L;
+		windowStartNanos = now;
+		storageGets.reset();
+		storageGetNanos.reset();
+		storagePersists.reset();
+		storagePersistNanos.reset();
+	}
+
+	static String nameOf(int opcode) {
+		var op = OpCode.code((byte) opcode);
+		return (op == null) ? String.format("0x%02x", opcode) : op.name();
+	}
+
+	public static class ExecutionProfile {
+		private final ContractID contract;
+		private final long gasUsed;
+		private final long elapsedNanos;
+		private final long steps;
+		private final long storageNanos;
+
+		ExecutionProfile(ContractID contract, long gasUsed, long elapsedNanos, long steps, long storageNanos) {
+			this.contract = contract;
+			this.gasUsed = gasUsed;
+			this.elapsedNanos = elapsedNanos;
+			this.steps = steps;
+			this.storageNanos = storageNanos;
+		}
+
+		public ContractID getContract() {
+			return contract;
+		}
+
+		public long getGasUsed() {
+			return gasUsed;
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		public long getSteps() {
+			return steps;
+		}
+
+		public long getStorageNanos() {
+			return storageNanos;
+		}
+	}
+
+	private class TimedStoragePersistence implements StoragePersistence {
+		private final StoragePersistence delegate;
+
+		private TimedStoragePersistence(StoragePersistence delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean storageExist(byte[] address) {
+			return delegate.storageExist(address);
+		}
+
+		@Override
+		public void persist(byte[] address, byte[] cache, long expiry, long now) {
+			long start = nanoTime.getAsLong();
+			delegate.persist(address, cache, expiry, now);
+			onStoragePersist(nanoTime.getAsLong() - start);
+		}
+
+		@Override
+		public byte[] get(byte[] address) {
+			long start = nanoTime.getAsLong();
+			var storage = delegate.get(address);
+			onStorageLoad(nanoTime.getAsLong() - start);
+			return storage;
+		}
+	}
+}
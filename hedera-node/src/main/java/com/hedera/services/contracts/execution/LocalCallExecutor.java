@@ -0,0 +1,220 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.google.protobuf.ByteString;
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.throttling.AtomicBucketThrottle;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.builder.RequestBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ethereum.db.ServicesRepositoryRoot;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
+
+/**
+ * Executes {@code ContractCallLocal} queries on a bounded pool of worker threads, each call
+ * running against a fresh read-only repository over reusable sources bound to an immutable
+ * state snapshot (normally the latest signed state), so that local calls neither contend with
+ * the handle thread nor pay to rebuild the sources every time. (The repository itself is never
+ * reused, since its caches keep whatever the last call wrote.)
+ *
+ * A call is answered with {@code BUSY} if its offered gas would exceed the node's local-call
+ * gas budget per second (any gas left unused is returned to the budget afterwards), if every
+ * worker is already occupied, or if it misses its deadline. (Since the EVM cannot be
+ * interrupted, a call that misses its deadline still runs to completion on its worker, but
+ * its result is discarded.) Each call to {@link #perform} is charged against the budget, so
+ * callers must perform a query at most once; and since a {@code BUSY} response is produced
+ * before the query's payment is submitted, a throttled call is never paid for.
+ */
+public class LocalCallExecutor {
+	private static final Logger log = LogManager.getLogger(LocalCallExecutor.class);
+
+	private static final long NANOS_PER_SEC = 1_000_000_000L;
+
+	@FunctionalInterface
+	public interface RepoBoundLocalCaller {
+		ContractCallLocalResponse perform(
+				ContractCallLocalQuery query,
+				long now,
+				StateView snapshot,
+				ServicesRepositoryRoot pureRepository) throws Exception;
+	}
+
+	private final long deadlineMs;
+	private final LongSupplier nanoTime;
+	private final ExecutorService workers;
+	private final RepoBoundLocalCaller delegate;
+	private final AtomicBucketThrottle gasThrottle;
+	private final Supplier<StateViewLease> snapshots;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final Function<StateView, Supplier<ServicesRepositoryRoot>> repoFactory;
+	private final BlockingQueue<BoundSources> idleSources;
+
+	public LocalCallExecutor(
+			int maxConcurrent,
+			long maxGasPerSec,
+			long deadlineMs,
+			Supplier<StateViewLease> snapshots,
+			Function<StateView, Supplier<ServicesRepositoryRoot>> repoFactory,
+			RepoBoundLocalCaller delegate,
+			GlobalDynamicProperties dynamicProperties
+	) {
+		this(
+				maxConcurrent,
+				maxGasPerSec,
+				deadlineMs,
+				snapshots,
+				repoFactory,
+				delegate,
+				dynamicProperties,
+				new ThreadPoolExecutor(
+						maxConcurrent, maxConcurrent,
+						0L, TimeUnit.MILLISECONDS,
+						new SynchronousQueue<>(),
+						daemonThreads("local-call")),
+				System::nanoTime);
+	}
+
+	LocalCallExecutor(
+			int maxConcurrent,
+			long maxGasPerSec,
+			long deadlineMs,
+			Supplier<StateViewLease> snapshots,
+			Function<StateView, Supplier<ServicesRepositoryRoot>> repoFactory,
+			RepoBoundLocalCaller delegate,
+			GlobalDynamicProperties dynamicProperties,
+			ExecutorService workers,
+			LongSupplier nanoTime
+	) {
+		this.workers = workers;
+		this.nanoTime = nanoTime;
+		this.delegate = delegate;
+		this.snapshots = snapshots;
+		this.deadlineMs = deadlineMs;
+		this.repoFactory = repoFactory;
+		this.dynamicProperties = dynamicProperties;
+		this.idleSources = new ArrayBlockingQueue<>(maxConcurrent);
+		this.gasThrottle = AtomicBucketThrottle.withTps("localCallGas", maxGasPerSec, NANOS_PER_SEC);
+	}
+
+	/**
+	 * Performs the given local call on a worker thread, waiting at most the configured
+	 * deadline for its response.
+	 *
+	 * @param query the local call to perform
+	 * @param now the (non-consensus) time of the call
+	 * @return the response to the call
+	 * @throws Exception if the call itself failed
+	 */
+	public ContractCallLocalResponse perform(ContractCallLocalQuery query, long now) throws Exception {
+		int gas = (int) Math.max(0L, Math.min(query.getGas(), dynamicProperties.maxGas()));
+		if (!gasThrottle.allow(gas, nanoTime.getAsLong())) {
+			return busyResponse();
+		}
+
+		Future<ContractCallLocalResponse> response;
+		try {
+			response = workers.submit(() -> performWithRepo(query, now));
+		} catch (RejectedExecutionException ignore) {
+			gasThrottle.reclaim(gas);
+			return busyResponse();
+		}
+
+		try {
+			var answer = response.get(deadlineMs, TimeUnit.MILLISECONDS);
+			long unusedGas = gas - answer.getFunctionResult().getGasUsed();
+			if (unusedGas > 0) {
+				gasThrottle.reclaim((int) unusedGas);
+			}
+			return answer;
+		} catch (TimeoutException ignore) {
+			response.cancel(true);
+			log.debug("Local call to {} missed its {}ms deadline", query.getContractID(), deadlineMs);
+			return busyResponse();
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
+		}
+	}
+
+	private ContractCallLocalResponse performWithRepo(ContractCallLocalQuery query, long now) throws Exception {
+		try (var lease = snapshots.get()) {
+			var snapshot = lease.view();
+			var bound = idleSources.poll();
+			if (bound == null || bound.snapshot != snapshot) {
+				bound = new BoundSources(snapshot, repoFactory.apply(snapshot));
+			}
+			try {
+				return delegate.perform(query, now, snapshot, bound.repositories.get());
+			} finally {
+				idleSources.offer(bound);
+			}
+		}
+	}
+
+	int numIdleSources() {
+		return idleSources.size();
+	}
+
+	private static ContractCallLocalResponse busyResponse() {
+		return ContractCallLocalResponse.newBuilder()
+				.setHeader(RequestBuilder.getResponseHeader(BUSY, 0L, ANSWER_ONLY, ByteString.EMPTY))
+				.build();
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		return runnable -> {
+			var thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static class BoundSources {
+		private final StateView snapshot;
+		private final Supplier<ServicesRepositoryRoot> repositories;
+
+		private BoundSources(StateView snapshot, Supplier<ServicesRepositoryRoot> repositories) {
+			this.snapshot = snapshot;
+			this.repositories = repositories;
+		}
+	}
+}
@@ -39,19 +39,29 @@ import java.util.Map;
 import java.util.Optional;
 
 public class SolidityLifecycle {
+	private final EvmProfiler profiler;
 	private final GlobalDynamicProperties properties;
 
 	public static final String OVERSIZE_RESULT_ERROR_MSG_TPL =
 			"Result size (%d bytes) exceeded maximum allowed size (%d bytes)";
 
 	public SolidityLifecycle(GlobalDynamicProperties properties) {
+		this(properties, null);
+	}
+
+	public SolidityLifecycle(GlobalDynamicProperties properties, EvmProfiler profiler) {
 		this.properties = properties;
+		this.profiler = profiler;
 	}
 
 	public Map.Entry<ContractFunctionResult, ResponseCodeEnum> run(
 			SolidityExecutor executor,
 			ServicesRepositoryRoot root
 	) {
+		boolean isProfiled = profiler != null && profiler.isEnabled();
+		if (isProfiled) {
+			profiler.beginExecution(executor);
+		}
 		cycle(executor);
 
 		var status = SUCCESS;
@@ -73,6 +83,10 @@ public class SolidityLifecycle {
 
 		root.flush();
 
+		if (isProfiled) {
+			profiler.endExecution(result.getContractID(), result.getGasUsed());
+		}
+
 		return new AbstractMap.SimpleImmutableEntry<>(result, status);
 	}
 
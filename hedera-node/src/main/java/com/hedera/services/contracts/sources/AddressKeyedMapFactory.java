@@ -59,6 +59,14 @@ public class AddressKeyedMapFactory {
 		return storageMap;
 	}
 
+	public static Map<byte[], byte[]> pagedStorageMapFrom(Map<String, byte[]> store) {
+		return new PagedStorageMap(store, storageMapFrom(store));
+	}
+
+	public static PagedStorageMap pagedStorageMapFrom(Map<String, byte[]> store, long cacheMaxBytes) {
+		return new PagedStorageMap(store, storageMapFrom(store), cacheMaxBytes);
+	}
+
 	static Predicate<String> toRelevancyPredicate(final Pattern legacyPathPattern) {
 		return key -> legacyPathPattern.matcher(key).matches();
 	}
@@ -30,24 +30,36 @@ public class BlobStorageSource implements DbSource<byte[]> {
 	private String name = "<N/A>";
 
 	private final Map<byte[], byte[]> blobDelegate;
+	private final BytecodeCache cache;
 
 	public BlobStorageSource(Map<byte[], byte[]> blobDelegate) {
+		this(blobDelegate, null);
+	}
+
+	public BlobStorageSource(Map<byte[], byte[]> blobDelegate, BytecodeCache cache) {
 		this.blobDelegate = blobDelegate;
+		this.cache = cache;
 	}
 
 	@Override
 	public byte[] get(byte[] address) {
-		return blobDelegate.get(address);
+		return (cache == null) ? blobDelegate.get(address) : cache.getOrLoad(address, blobDelegate::get);
 	}
 
 	@Override
 	public void put(byte[] address, byte[] storage) {
 		blobDelegate.put(address, storage);
+		if (cache != null) {
+			cache.invalidate(address);
+		}
 	}
 
 	@Override
 	public void delete(byte[] key) {
 		blobDelegate.remove(key);
+		if (cache != null) {
+			cache.invalidate(key);
+		}
 	}
 
 	@Override
@@ -0,0 +1,133 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.protobuf.ByteString;
+import com.hedera.services.stats.MiscRunningAvgs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A byte-bounded cache of contract bytecode, keyed by contract address, for EVM executions
+ * that load code through a {@link BlobStorageSource} over a single store. Consensus
+ * execution has its own instance, which only the handle thread populates; local calls use
+ * instances from {@link SnapshotBytecodeCaches}, each bound to one signed state. (Sharing
+ * one instance would let a local call cache code from a snapshot that consensus has
+ * already replaced.)
+ *
+ * Since a concurrent reader may load code from the blob store just before the handle
+ * thread replaces or deletes it, each invalidation bumps a generation counter, and a
+ * loaded value is only cached if no invalidation happened while it was being loaded.
+ */
+public class BytecodeCache {
+	private final boolean isEnabled;
+	private final Cache<ByteString, byte[]> codes;
+	private final MiscRunningAvgs runningAvgs;
+	private final AtomicLong bytesHeld = new AtomicLong(0L);
+	private final AtomicLong generation = new AtomicLong(0L);
+
+	/**
+	 * Returns a cache that records no stats; so the node's bytecode cache stats always
+	 * describe the consensus cache.
+	 *
+	 * @param maxBytes the maximum number of bytes to cache, or zero to disable caching
+	 * @return the unmetered cache
+	 */
+	public static BytecodeCache unmetered(long maxBytes) {
+		return new BytecodeCache(maxBytes, null);
+	}
+
+	public BytecodeCache(long maxBytes, MiscRunningAvgs runningAvgs) {
+		this.isEnabled = maxBytes > 0;
+		this.runningAvgs = runningAvgs;
+		this.codes = CacheBuilder.newBuilder()
+				.maximumWeight(Math.max(0L, maxBytes))
+				.weigher((ByteString address, byte[] code) -> code.length)
+				.removalListener(this::onRemoval)
+				.build();
+	}
+
+	/**
+	 * Returns the cached bytecode at the given address, if present; otherwise loads
+	 * it with the given loader, and caches it if it is non-null.
+	 *
+	 * @param address the contract address
+	 * @param loader the loader of the bytecode from its durable store
+	 * @return the cached or loaded bytecode, or null if there is none
+	 */
+	public byte[] getOrLoad(byte[] address, Function<byte[], byte[]> loader) {
+		if (!isEnabled) {
+			return loader.apply(address);
+		}
+
+		var key = ByteString.copyFrom(address);
+		var code = codes.getIfPresent(key);
+		if (code != null) {
+			recordHitRatio(1.0);
+			return code;
+		}
+
+		recordHitRatio(0.0);
+		long generationAtLoad = generation.get();
+		code = loader.apply(address);
+		if (code != null && codes.asMap().putIfAbsent(key, code) == null) {
+			bytesHeld.addAndGet(code.length);
+			if (generation.get() != generationAtLoad) {
+				/* The code at some address may have changed while we were loading. */
+				codes.asMap().remove(key, code);
+			}
+			if (runningAvgs != null) {
+				runningAvgs.recordBytecodeCacheBytes(bytesHeld.get());
+			}
+		}
+		return code;
+	}
+
+	private void recordHitRatio(double hit) {
+		if (runningAvgs != null) {
+			runningAvgs.recordBytecodeCacheHitRatio(hit);
+		}
+	}
+
+	public void invalidate(byte[] address) {
+		generation.incrementAndGet();
+		codes.invalidate(ByteString.copyFrom(address));
+	}
+
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		codes.invalidateAll();
+	}
+
+	long bytesHeld() {
+		return bytesHeld.get();
+	}
+
+	private void onRemoval(RemovalNotification<ByteString, byte[]> notification) {
+		var code = notification.getValue();
+		if (code != null) {
+			bytesHeld.addAndGet(-code.length);
+		}
+	}
+}
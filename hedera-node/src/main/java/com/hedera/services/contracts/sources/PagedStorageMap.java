@@ -0,0 +1,334 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.hedera.services.utils.EntityIdUtils.accountParsedFromSolidityAddress;
+import static com.hedera.services.utils.EntityIdUtils.asSolidityAddress;
+import static java.lang.Long.parseLong;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A map from contract address to serialized contract storage that keeps each contract's
+ * storage in the blob store as a sequence of pages, under the paths
+ * {@code /<realm>/d<num>/<id>}; plus a manifest at {@code /<realm>/d<num>/m} that lists
+ * the id and length of each page, in order.
+ *
+ * Since each page is its own leaf in the (copy-on-write) blobs {@code FCMap}, persisting
+ * the storage of a contract only adds---and so only hashes---the pages whose bytes are
+ * new; unchanged pages keep their id, leaf, and hash. The serialized storage is opaque
+ * here (its encoding belongs to ethereumj), so pages cannot follow slot boundaries.
+ * Instead they end where a rolling hash of the last 64 bytes hits a fixed pattern; so an
+ * edit that grows or shrinks the encoding only changes the pages around it, and the pages
+ * after it keep their contents (though not their offsets), and are reused by id.
+ *
+ * Assembled storage is cached (up to a maximum number of bytes) by contract, so a
+ * repeated read does not fetch and copy every page again; the cache is updated by each
+ * write through this map, and must be {@link #invalidateAll() invalidated} if the
+ * underlying store is replaced. Arrays given to or returned from this map are shared
+ * with the cache, and must not be modified.
+ *
+ * A contract whose storage is still in the legacy layout (a single blob at
+ * {@code /<realm>/d<num>}) is read from there, and migrated to the paged layout the
+ * first time its storage is written.
+ */
+public class PagedStorageMap extends AbstractMap<byte[], byte[]> {
+	static final int MIN_PAGE_SIZE = 1_024;
+	static final int MAX_PAGE_SIZE = 16_384;
+	/* Testing the top 12 bits of the rolling hash makes pages average about MIN_PAGE_SIZE + 4KiB */
+	static final long BOUNDARY_MASK = 0xFFF0_0000_0000_0000L;
+	static final String PAGES_PATH_TEMPLATE = "/%d/d%d/";
+	static final String MANIFEST_NAME = "m";
+	static final Pattern MANIFEST_PATH_PATTERN = Pattern.compile("/(\\d+)/d(\\d+)/m");
+
+	private static final int MANIFEST_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+	/* Fixed SplitMix64 outputs, so every node (on every JVM) cuts the same pages */
+	private static final long[] GEAR = new long[256];
+
+	static {
+		long seed = 0L;
+		for (int i = 0; i < GEAR.length; i++) {
+			long z = (seed += 0x9E37_79B9_7F4A_7C15L);
+			z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+			GEAR[i] = z ^ (z >>> 31);
+		}
+	}
+
+	private final Map<String, byte[]> store;
+	private final Map<byte[], byte[]> legacyStorage;
+	private final Cache<ByteString, byte[]> assembled;
+	private final AtomicLong generation = new AtomicLong(0L);
+
+	public PagedStorageMap(Map<String, byte[]> store, Map<byte[], byte[]> legacyStorage) {
+		this(store, legacyStorage, 0L);
+	}
+
+	/**
+	 * @param store the blob store holding the pages
+	 * @param legacyStorage the storage in the legacy (single blob) layout
+	 * @param cacheMaxBytes the maximum bytes of assembled storage to cache, or zero to disable caching
+	 */
+	public PagedStorageMap(Map<String, byte[]> store, Map<byte[], byte[]> legacyStorage, long cacheMaxBytes) {
+		this.store = store;
+		this.legacyStorage = legacyStorage;
+		this.assembled = (cacheMaxBytes > 0)
+				? CacheBuilder.newBuilder()
+						.maximumWeight(cacheMaxBytes)
+						.weigher((ByteString address, byte[] storage) -> storage.length)
+						.build()
+				: null;
+	}
+
+	@Override
+	public boolean containsKey(Object address) {
+		return store.containsKey(pagesPath((byte[]) address) + MANIFEST_NAME) || legacyStorage.containsKey(address);
+	}
+
+	@Override
+	public byte[] get(Object key) {
+		var address = (byte[]) key;
+		if (assembled == null) {
+			return load(address);
+		}
+
+		var cacheKey = ByteString.copyFrom(address);
+		var storage = assembled.getIfPresent(cacheKey);
+		if (storage != null) {
+			return storage;
+		}
+		long generationAtLoad = generation.get();
+		storage = load(address);
+		if (storage != null) {
+			assembled.put(cacheKey, storage);
+			if (generation.get() != generationAtLoad) {
+				/* The storage may have been written while we were loading. */
+				assembled.asMap().remove(cacheKey, storage);
+			}
+		}
+		return storage;
+	}
+
+	/**
+	 * Writes the given storage as pages; adding only the pages whose contents are not
+	 * already pages of this contract, replacing the manifest if it changed, and removing
+	 * any pages no longer listed.
+	 *
+	 * <B>NOTE:</B> This method breaks the standard {@code Map} contract,
+	 * and does not return the previous storage.
+	 *
+	 * @param address the address of the contract
+	 * @param storage the serialized storage of the contract
+	 * @return {@code null}
+	 */
+	@Override
+	public byte[] put(byte[] address, byte[] storage) {
+		var pagesPath = pagesPath(address);
+		var manifestPath = pagesPath + MANIFEST_NAME;
+
+		var oldManifest = store.get(manifestPath);
+		Map<ByteBuffer, Long> oldPages = new HashMap<>();
+		long nextId = 0;
+		if (oldManifest != null) {
+			var oldStorage = get(address);
+			int offset = 0;
+			for (var entries = ByteBuffer.wrap(oldManifest); entries.hasRemaining(); ) {
+				long id = entries.getLong();
+				int length = entries.getInt();
+				oldPages.putIfAbsent(ByteBuffer.wrap(oldStorage, offset, length), id);
+				nextId = Math.max(nextId, id + 1);
+				offset += length;
+			}
+		}
+
+		var pageEnds = pageEnds(storage);
+		var manifest = ByteBuffer.allocate(MANIFEST_ENTRY_BYTES * pageEnds.length);
+		Map<ByteBuffer, Long> newPages = new HashMap<>();
+		int start = 0;
+		for (int end : pageEnds) {
+			var page = ByteBuffer.wrap(storage, start, end - start);
+			var id = newPages.get(page);
+			if (id == null) {
+				id = oldPages.get(page);
+				if (id == null) {
+					id = nextId++;
+					store.put(pagesPath + id, Arrays.copyOfRange(storage, start, end));
+				}
+				newPages.put(page, id);
+			}
+			manifest.putLong(id).putInt(end - start);
+			start = end;
+		}
+		if (!Arrays.equals(manifest.array(), oldManifest)) {
+			store.put(manifestPath, manifest.array());
+		}
+		if (oldManifest != null) {
+			removePages(pagesPath, oldManifest, new HashSet<>(newPages.values()));
+		}
+		if (legacyStorage.containsKey(address)) {
+			legacyStorage.remove(address);
+		}
+
+		if (assembled != null) {
+			generation.incrementAndGet();
+			assembled.put(ByteString.copyFrom(address), storage);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all pages (and any legacy blob) of the given contract's storage.
+	 *
+	 * <B>NOTE:</B> This method breaks the standard {@code Map} contract,
+	 * and does not return the removed storage.
+	 *
+	 * @param key the address of the contract
+	 * @return {@code null}
+	 */
+	@Override
+	public byte[] remove(Object key) {
+		var address = (byte[]) key;
+		var pagesPath = pagesPath(address);
+		var manifestPath = pagesPath + MANIFEST_NAME;
+		var manifest = store.get(manifestPath);
+		if (manifest != null) {
+			removePages(pagesPath, manifest, Set.of());
+			store.remove(manifestPath);
+		}
+		legacyStorage.remove(address);
+
+		if (assembled != null) {
+			generation.incrementAndGet();
+			assembled.invalidate(ByteString.copyFrom(address));
+		}
+		return null;
+	}
+
+	/**
+	 * Drops all cached storage; for use when the underlying store is replaced.
+	 */
+	public void invalidateAll() {
+		if (assembled != null) {
+			generation.incrementAndGet();
+			assembled.invalidateAll();
+		}
+	}
+
+	@Override
+	public Set<Entry<byte[], byte[]>> entrySet() {
+		var pagedEntries = store.keySet()
+				.stream()
+				.map(MANIFEST_PATH_PATTERN::matcher)
+				.filter(Matcher::matches)
+				.map(matcher -> asSolidityAddress(0, parseLong(matcher.group(1)), parseLong(matcher.group(2))))
+				.map(address -> (Entry<byte[], byte[]>) new SimpleEntry<>(address, get(address)));
+		var legacyEntries = legacyStorage.entrySet().stream();
+		return Stream.concat(pagedEntries, legacyEntries).collect(toSet());
+	}
+
+	static String pagesPath(byte[] address) {
+		var id = accountParsedFromSolidityAddress(address);
+		return String.format(PAGES_PATH_TEMPLATE, id.getRealmNum(), id.getAccountNum());
+	}
+
+	/**
+	 * Returns the (exclusive) end offsets of the pages the given storage is cut into.
+	 * Every page but the last has between {@link #MIN_PAGE_SIZE} and {@link #MAX_PAGE_SIZE}
+	 * bytes, and ends early only where the rolling hash matches the boundary pattern; the
+	 * hash is restarted at each page's minimum size, and covers at most the last 64 bytes.
+	 *
+	 * @param storage the serialized storage
+	 * @return the end offsets of its pages
+	 */
+	static int[] pageEnds(byte[] storage) {
+		var ends = new int[storage.length / MIN_PAGE_SIZE + 1];
+		int n = 0;
+		for (int start = 0; start < storage.length; start = ends[n - 1]) {
+			ends[n++] = pageEnd(storage, start);
+		}
+		return Arrays.copyOf(ends, n);
+	}
+
+	private static int pageEnd(byte[] storage, int start) {
+		int limit = (int) Math.min(storage.length, (long) start + MAX_PAGE_SIZE);
+		long h = 0;
+		for (int i = start + MIN_PAGE_SIZE; i < limit; i++) {
+			h = (h << 1) + GEAR[storage[i] & 0xFF];
+			if ((h & BOUNDARY_MASK) == 0) {
+				return i + 1;
+			}
+		}
+		return limit;
+	}
+
+	private byte[] load(byte[] address) {
+		var pagesPath = pagesPath(address);
+		var manifest = store.get(pagesPath + MANIFEST_NAME);
+		if (manifest == null) {
+			return legacyStorage.get(address);
+		}
+
+		var entries = ByteBuffer.wrap(manifest);
+		int size = 0;
+		while (entries.hasRemaining()) {
+			entries.getLong();
+			size += entries.getInt();
+		}
+		var storage = new byte[size];
+		int offset = 0;
+		for (entries.rewind(); entries.hasRemaining(); ) {
+			long id = entries.getLong();
+			int length = entries.getInt();
+			var page = store.get(pagesPath + id);
+			if (page == null || page.length != length) {
+				throw new IllegalStateException(String.format("Storage page '%s%d' is missing or damaged!", pagesPath, id));
+			}
+			System.arraycopy(page, 0, storage, offset, length);
+			offset += length;
+		}
+		return storage;
+	}
+
+	private void removePages(String pagesPath, byte[] manifest, Set<Long> kept) {
+		Set<Long> removed = new HashSet<>();
+		for (var entries = ByteBuffer.wrap(manifest); entries.hasRemaining(); ) {
+			long id = entries.getLong();
+			entries.getInt();
+			if (!kept.contains(id) && removed.add(id)) {
+				store.remove(pagesPath + id);
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Provides the bytecode caches used by local calls, one per signed state; so a local call
+ * never shares cached code with consensus execution, nor with a call against a different
+ * signed state. Since a signed state is immutable, such a cache never needs invalidation.
+ *
+ * Only the cache for the newest signed state is retained. A call against an older state
+ * (leased just before a newer one arrived), or against a view with no consensus time,
+ * gets a cache that is disabled, and so loads its code directly.
+ */
+public class SnapshotBytecodeCaches {
+	private final long maxBytes;
+	private final AtomicReference<Versioned> newest =
+			new AtomicReference<>(new Versioned(Instant.MIN, BytecodeCache.unmetered(0L)));
+
+	public SnapshotBytecodeCaches(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the bytecode cache to use for a snapshot of the signed state with the given
+	 * consensus time.
+	 *
+	 * @param asOf the consensus time of the snapshot, or null if it has none
+	 * @return the cache for the snapshot
+	 */
+	public BytecodeCache cacheAsOf(Instant asOf) {
+		if (asOf == null) {
+			return BytecodeCache.unmetered(0L);
+		}
+		while (true) {
+			var current = newest.get();
+			if (asOf.equals(current.asOf)) {
+				return current.cache;
+			}
+			if (asOf.isBefore(current.asOf)) {
+				return BytecodeCache.unmetered(0L);
+			}
+			var next = new Versioned(asOf, BytecodeCache.unmetered(maxBytes));
+			if (newest.compareAndSet(current, next)) {
+				return next.cache;
+			}
+		}
+	}
+
+	private static class Versioned {
+		private final Instant asOf;
+		private final BytecodeCache cache;
+
+		private Versioned(Instant asOf, BytecodeCache cache) {
+			this.asOf = asOf;
+			this.cache = cache;
+		}
+	}
+}
@@ -41,6 +41,17 @@ public interface TxnResourceUsageEstimator {
 	 */
 	boolean applicableTo(TransactionBody txn);
 
+	/**
+	 * Flags whether the estimated resource usage of a txn is a function of only
+	 * the txn, its signature usage, and the global dynamic properties (that is,
+	 * whether it is independent of the state of the world), and may be reused.
+	 *
+	 * @return if the estimated usage is independent of the state
+	 */
+	default boolean hasStateIndependentUsage() {
+		return false;
+	}
+
 	/**
 	 * Returns the estimated resource usage for the given txn relative
 	 * to the given state of the world.
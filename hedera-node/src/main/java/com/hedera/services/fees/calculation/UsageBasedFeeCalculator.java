@@ -20,18 +20,24 @@ package com.hedera.services.fees.calculation;
  * ‍
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.FeeMultiplierSource;
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.keys.HederaKeyTraversal;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.stats.HapiOpCounters;
 import com.hedera.services.utils.TxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountAmount;
 import com.hederahashgraph.api.proto.java.ExchangeRate;
 import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.Query.QueryCase;
 import com.hederahashgraph.api.proto.java.ResponseType;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.exception.InvalidTxBodyException;
@@ -41,14 +47,16 @@ import com.hederahashgraph.fee.SigValueObj;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.function.Function;
 
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
 import static com.hedera.services.fees.calculation.AwareFcfsUsagePrices.DEFAULT_USAGE_PRICES;
+import static com.hedera.services.utils.MiscUtils.functionalityOfQuery;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCreate;
 import static com.hederahashgraph.fee.FeeBuilder.FEE_DIVISOR_FACTOR;
@@ -59,29 +67,54 @@ import static com.hederahashgraph.fee.FeeBuilder.getTinybarsFromTinyCents;
  * exchange rates, and collections of estimators which can infer the
  * resource usage of various transactions and queries.
  *
+ * Since the same transaction is usually priced once at precheck and again
+ * at consensus, the usage inferred by an estimator whose output does not
+ * depend on the state of the world is remembered, keyed by the hash of the
+ * signed transaction, its signature usage, and the generation of the dynamic
+ * properties; only the (cheap) pricing of that usage is then repeated.
+ *
+ * Query estimators are indexed by the {@link QueryCase} they apply to when
+ * the calculator is constructed, so that finding the estimator for a query
+ * is a single {@link EnumMap} lookup. The time spent estimating usage is
+ * accumulated per {@link HederaFunctionality} in the {@link HapiOpCounters}.
+ *
  * @author Michael Tinker
  */
 public class UsageBasedFeeCalculator implements FeeCalculator {
 	private static final Logger log = LogManager.getLogger(UsageBasedFeeCalculator.class);
 
+	static final int DEFAULT_MAX_USAGES = 16_384;
+
 	private final HbarCentExchange exchange;
 	private final FeeMultiplierSource feeMultiplierSource;
 	private final UsagePricesProvider usagePrices;
+	private final GlobalDynamicProperties dynamicProperties;
+	private final HapiOpCounters opCounters;
 	private final List<QueryResourceUsageEstimator> queryUsageEstimators;
+	private final EnumMap<QueryCase, QueryResourceUsageEstimator> queryUsageEstimatorsByCase;
 	private final Function<HederaFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators;
+	private final Cache<UsageKey, FeeData> usages;
 
 	public UsageBasedFeeCalculator(
 			HbarCentExchange exchange,
 			UsagePricesProvider usagePrices,
 			FeeMultiplierSource feeMultiplierSource,
+			GlobalDynamicProperties dynamicProperties,
+			HapiOpCounters opCounters,
 			List<QueryResourceUsageEstimator> queryUsageEstimators,
 			Function<HederaFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators
 	) {
 		this.exchange = exchange;
 		this.usagePrices = usagePrices;
 		this.feeMultiplierSource = feeMultiplierSource;
+		this.dynamicProperties = dynamicProperties;
+		this.opCounters = opCounters;
 		this.queryUsageEstimators = queryUsageEstimators;
+		this.queryUsageEstimatorsByCase = indexByQueryCase(queryUsageEstimators);
 		this.txnUsageEstimators = txnUsageEstimators;
+		this.usages = CacheBuilder.newBuilder()
+				.maximumSize(DEFAULT_MAX_USAGES)
+				.build();
 	}
 
 	@Override
@@ -118,7 +151,10 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 			Function<QueryResourceUsageEstimator, FeeData> usageFn
 	) {
 		var usageEstimator = getQueryUsageEstimator(query);
+		long start = System.nanoTime();
 		var queryUsage = usageFn.apply(usageEstimator);
+		long elapsed = System.nanoTime() - start;
+		functionalityOfQuery(query).ifPresent(function -> opCounters.countFeeEstimationNanos(function, elapsed));
 		return FeeBuilder.getFeeObject(usagePrices, queryUsage, exchange.rate(at));
 	}
 
@@ -201,7 +237,9 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 		var sigUsage = getSigUsage(accessor, payerKey);
 		var usageEstimator = getTxnUsageEstimator(accessor);
 		try {
-			FeeData metrics = usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
+			long start = System.nanoTime();
+			FeeData metrics = usageGiven(accessor, sigUsage, usageEstimator, view);
+			opCounters.countFeeEstimationNanos(accessor.getFunction(), System.nanoTime() - start);
 			return FeeBuilder.getFeeObject(prices, metrics, rate, feeMultiplierSource.currentMultiplier());
 		} catch (InvalidTxBodyException e) {
 			log.warn(
@@ -212,34 +250,124 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 		}
 	}
 
+	private FeeData usageGiven(
+			TxnAccessor accessor,
+			SigValueObj sigUsage,
+			TxnResourceUsageEstimator usageEstimator,
+			StateView view
+	) throws InvalidTxBodyException {
+		if (!usageEstimator.hasStateIndependentUsage()) {
+			return usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
+		}
+		/* Read the generation first, so a concurrent reload can only make the key stale, never the usage. */
+		var key = new UsageKey(accessor.getHash(), sigUsage, dynamicProperties.generation());
+		var usage = usages.getIfPresent(key);
+		if (usage == null) {
+			usage = usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
+			usages.put(key, usage);
+		}
+		return usage;
+	}
+
+	long numCachedUsages() {
+		return usages.size();
+	}
+
 	private QueryResourceUsageEstimator getQueryUsageEstimator(Query query) {
-		Optional<QueryResourceUsageEstimator> usageEstimator = queryUsageEstimators
-				.stream()
-				.filter(estimator -> estimator.applicableTo(query))
-				.findAny();
-		if (usageEstimator.isPresent()) {
-			return usageEstimator.get();
+		var indexed = queryUsageEstimatorsByCase.get(query.getQueryCase());
+		if (indexed != null) {
+			return indexed;
+		}
+		/* Only an estimator that can't be indexed by query case (if any) gets here */
+		for (QueryResourceUsageEstimator estimator : queryUsageEstimators) {
+			if (estimator.applicableTo(query)) {
+				return estimator;
+			}
 		}
 		throw new NoSuchElementException("No estimator exists for the given query");
 	}
 
 	private TxnResourceUsageEstimator getTxnUsageEstimator(TxnAccessor accessor) {
 		var txn = accessor.getTxn();
-		var estimators = Optional
-				.ofNullable(txnUsageEstimators.apply(accessor.getFunction()))
-				.orElse(Collections.emptyList());
-		for (TxnResourceUsageEstimator estimator : estimators) {
-			if (estimator.applicableTo(txn)) {
-				return estimator;
+		var estimators = txnUsageEstimators.apply(accessor.getFunction());
+		if (estimators != null) {
+			for (TxnResourceUsageEstimator estimator : estimators) {
+				if (estimator.applicableTo(txn)) {
+					return estimator;
+				}
 			}
 		}
 		throw new NoSuchElementException("No estimator exists for the given transaction");
 	}
 
+	/**
+	 * Probes the given estimators with a default query of each {@link QueryCase}, mapping
+	 * each case to the first estimator (in list order) that applies to it.
+	 *
+	 * @param estimators the estimators to index
+	 * @return the index of estimators by query case
+	 */
+	static EnumMap<QueryCase, QueryResourceUsageEstimator> indexByQueryCase(
+			List<QueryResourceUsageEstimator> estimators
+	) {
+		EnumMap<QueryCase, QueryResourceUsageEstimator> index = new EnumMap<>(QueryCase.class);
+		for (var field : Query.getDescriptor().getFields()) {
+			if (field.getContainingOneof() == null || field.getJavaType() != MESSAGE) {
+				continue;
+			}
+			var builder = Query.newBuilder();
+			var probe = builder.setField(field, builder.newBuilderForField(field).build()).build();
+			for (var estimator : estimators) {
+				if (estimator.applicableTo(probe)) {
+					index.put(probe.getQueryCase(), estimator);
+					break;
+				}
+			}
+		}
+		return index;
+	}
+
 	private SigValueObj getSigUsage(TxnAccessor accessor, JKey payerKey) {
 		return new SigValueObj(
 				FeeBuilder.getSignatureCount(accessor.getBackwardCompatibleSignedTxn()),
 				HederaKeyTraversal.numSimpleKeys(payerKey),
 				FeeBuilder.getSignatureSize(accessor.getBackwardCompatibleSignedTxn()));
 	}
+
+	static final class UsageKey {
+		private final ByteString txnHash;
+		private final int totalSigCount;
+		private final int payerAcctSigCount;
+		private final int signatureSize;
+		private final long propsGeneration;
+
+		UsageKey(ByteString txnHash, SigValueObj sigUsage, long propsGeneration) {
+			this.txnHash = txnHash;
+			this.totalSigCount = sigUsage.getTotalSigCount();
+			this.payerAcctSigCount = sigUsage.getPayerAcctSigCount();
+			this.signatureSize = sigUsage.getSignatureSize();
+			this.propsGeneration = propsGeneration;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || UsageKey.class != o.getClass()) {
+				return false;
+			}
+			var that = (UsageKey) o;
+			return this.totalSigCount == that.totalSigCount &&
+					this.payerAcctSigCount == that.payerAcctSigCount &&
+					this.signatureSize == that.signatureSize &&
+					this.propsGeneration == that.propsGeneration &&
+					this.txnHash.equals(that.txnHash);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(txnHash, totalSigCount, payerAcctSigCount, signatureSize, propsGeneration);
+		}
+	}
 }
@@ -25,6 +25,7 @@ import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.calculation.QueryResourceUsageEstimator;
 import com.hedera.services.queries.contract.ContractCallLocalAnswer;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
 import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
 import com.hederahashgraph.api.proto.java.ContractFunctionResult;
 import com.hederahashgraph.api.proto.java.ContractID;
@@ -42,6 +43,7 @@ import java.util.Optional;
 
 import static com.hedera.services.queries.AnswerService.NO_QUERY_CTX;
 import static com.hedera.services.queries.contract.ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
 public class ContractCallLocalResourceUsage implements QueryResourceUsageEstimator {
@@ -92,8 +94,11 @@ public class ContractCallLocalResourceUsage implements QueryResourceUsageEstimat
 			if (queryCtx.isEmpty()) {
 				response = dummyResponse(op.getContractID());
 			} else {
-				response = delegate.perform(op, Instant.now().getEpochSecond());
-				queryCtx.get().put(CONTRACT_CALL_LOCAL_CTX_KEY, response);
+				response = performOnce(op, queryCtx.get());
+				if (response.getHeader().getNodeTransactionPrecheckCode() == BUSY) {
+					/* The call never ran, so there is no real result to price. */
+					response = dummyResponse(op.getContractID());
+				}
 			}
 			var nonGasUsage = usageEstimator.getContractCallLocalFeeMatrices(
 					op.getFunctionParameters().size(),
@@ -108,6 +113,20 @@ public class ContractCallLocalResourceUsage implements QueryResourceUsageEstimat
 		}
 	}
 
+	/* Each local call is charged against the node's gas budget; so a query whose payment is
+	computed more than once must reuse the response cached in its context. */
+	private ContractCallLocalResponse performOnce(
+			ContractCallLocalQuery op,
+			Map<String, Object> queryCtx
+	) throws Exception {
+		var response = (ContractCallLocalResponse) queryCtx.get(CONTRACT_CALL_LOCAL_CTX_KEY);
+		if (response == null) {
+			response = delegate.perform(op, Instant.now().getEpochSecond());
+			queryCtx.put(CONTRACT_CALL_LOCAL_CTX_KEY, response);
+		}
+		return response;
+	}
+
 	ContractCallLocalResponse dummyResponse(ContractID target) {
 		return ContractCallLocalResponse.newBuilder()
 				.setFunctionResult(ContractFunctionResult.newBuilder()
@@ -40,6 +40,11 @@ public class ContractCallResourceUsage implements TxnResourceUsageEstimator {
 		return txn.hasContractCall();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(TransactionBody txn, SigValueObj sigUsage, StateView view) throws InvalidTxBodyException {
 		return usageEstimator.getContractCallTxFeeMatrices(txn, sigUsage);
@@ -40,6 +40,11 @@ public class ContractDeleteResourceUsage implements TxnResourceUsageEstimator {
 		return txn.hasContractDeleteInstance();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(TransactionBody txn, SigValueObj sigUsage, StateView view) throws InvalidTxBodyException {
 		return usageEstimator.getContractDeleteTxFeeMatrices(txn, sigUsage);
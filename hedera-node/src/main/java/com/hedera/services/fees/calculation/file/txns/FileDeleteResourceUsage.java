@@ -40,6 +40,11 @@ public class FileDeleteResourceUsage implements TxnResourceUsageEstimator {
 		return txn.hasFileDelete();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(TransactionBody txn, SigValueObj sigUsage, StateView view) throws InvalidTxBodyException {
 		return usageEstimator.getFileDeleteTxFeeMatrices(txn, sigUsage);
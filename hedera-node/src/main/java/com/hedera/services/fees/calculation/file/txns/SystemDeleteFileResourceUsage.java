@@ -41,6 +41,11 @@ public class SystemDeleteFileResourceUsage implements TxnResourceUsageEstimator
 		return txn.hasSystemDelete();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(TransactionBody txn, SigValueObj sigUsage, StateView view) throws InvalidTxBodyException {
 		return usageEstimator.getSystemDeleteFileTxFeeMatrices(txn, sigUsage);
@@ -33,6 +33,11 @@ public class FreezeResourceUsage implements TxnResourceUsageEstimator {
 		return txn.hasFreeze();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(TransactionBody txn, SigValueObj sigUsage, StateView view) throws InvalidTxBodyException {
 		return FeeData.getDefaultInstance();
@@ -39,6 +39,11 @@ public class TokenCreateResourceUsage implements TxnResourceUsageEstimator {
 		return txn.hasTokenCreation();
 	}
 
+	@Override
+	public boolean hasStateIndependentUsage() {
+		return true;
+	}
+
 	@Override
 	public FeeData usageGiven(
 			TransactionBody txn,
@@ -0,0 +1,94 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.NettyServerBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Serves the node-local administrative service on its own Netty server, bound only to the
+ * loopback interface; so unlike the HAPI services, it is never reachable on the node's
+ * public or TLS ports. A non-positive port leaves the service disabled.
+ */
+public class NodeAdminServerManager {
+	private static final Logger log = LogManager.getLogger(NodeAdminServerManager.class);
+
+	private static final long TIME_TO_AWAIT_TERMINATION = 5;
+	static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+	private Server server;
+	private final Consumer<Thread> hookAdder;
+	private final ServerServiceDefinition adminService;
+	private final Function<SocketAddress, NettyServerBuilder> builders;
+
+	public NodeAdminServerManager(Consumer<Thread> hookAdder, ServerServiceDefinition adminService) {
+		this(hookAdder, adminService, NettyServerBuilder::forAddress);
+	}
+
+	NodeAdminServerManager(
+			Consumer<Thread> hookAdder,
+			ServerServiceDefinition adminService,
+			Function<SocketAddress, NettyServerBuilder> builders
+	) {
+		this.hookAdder = hookAdder;
+		this.adminService = adminService;
+		this.builders = builders;
+	}
+
+	public void start(int port, Consumer<String> println) {
+		if (port <= 0) {
+			println.accept("Node admin service is disabled.");
+			return;
+		}
+		try {
+			println.accept(String.format("Starting node admin service on %s:%d...", LOOPBACK_ADDRESS, port));
+			var address = new InetSocketAddress(InetAddress.getByName(LOOPBACK_ADDRESS), port);
+			server = builders.apply(address).addService(adminService).build();
+			server.start();
+			hookAdder.accept(new Thread(() -> terminate(port, println)));
+			println.accept(String.format("...done starting node admin service on %s:%d.", LOOPBACK_ADDRESS, port));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void terminate(int port, Consumer<String> println) {
+		try {
+			println.accept(String.format("Terminating node admin service on port %d...", port));
+			server.shutdown();
+			server.awaitTermination(TIME_TO_AWAIT_TERMINATION, TimeUnit.SECONDS);
+			println.accept(String.format("...done terminating node admin service on port %d.", port));
+		} catch (InterruptedException ie) {
+			log.warn("Interrupted while waiting for node admin service to terminate on port {}!", port, ie);
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.hedera.services.grpc.controllers;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.queries.crypto.GetAccountBalancesAnswer;
+import com.hedera.services.store.tokens.TokenHolders;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceQuery;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceResponse;
+import com.hederahashgraph.api.proto.java.ResponseHeader;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
+import static io.grpc.MethodDescriptor.MethodType.BIDI_STREAMING;
+import static io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING;
+import static io.grpc.MethodDescriptor.generateFullMethodName;
+import static io.grpc.protobuf.ProtoUtils.marshaller;
+
+/**
+ * A node-local administrative gRPC service, which is served only by the
+ * {@link com.hedera.services.grpc.NodeAdminServerManager} on the loopback interface, and
+ * (as a second line of defense) answers only callers on the node's own host. Since the
+ * HAPI protobufs define no such service, its methods are described here in terms of
+ * existing HAPI messages.
+ *
+ * {@code getAccountBalances} is a bidirectional stream: the caller sends one balance query
+ * per account and then half-closes, after which the whole batch is answered by the
+ * {@link GetAccountBalancesAnswer}, one response per query in request order. If the batch
+ * is not answered, the only response is one whose header gives the reason.
+ *
+ * {@code getTokenHolders} streams one page of the holders of a token, with their balances,
+ * from the {@link TokenHolders} index; so it reflects the working state, which may be
+ * ahead of the latest signed state. The request is a {@link TokenTransferList} naming the
+ * token, and (after the first page) with a single transfer whose account is the last one
+ * streamed by the previous page. A page has at most as many holders as a batch of balance
+ * queries, and fewer only if it is the last. Like such a batch, it is first charged once
+ * per holder to the bulk balances throttle; if refused, the call fails with
+ * {@code RESOURCE_EXHAUSTED}.
+ */
+public class NodeAdminController implements ServerInterceptor {
+	private static final Logger log = LogManager.getLogger(NodeAdminController.class);
+
+	public static final String SERVICE_NAME = "proto.NodeAdminService";
+
+	static final MethodDescriptor<CryptoGetAccountBalanceQuery, CryptoGetAccountBalanceResponse> GET_ACCOUNT_BALANCES =
+			MethodDescriptor.<CryptoGetAccountBalanceQuery, CryptoGetAccountBalanceResponse>newBuilder()
+					.setType(BIDI_STREAMING)
+					.setFullMethodName(generateFullMethodName(SERVICE_NAME, "getAccountBalances"))
+					.setRequestMarshaller(marshaller(CryptoGetAccountBalanceQuery.getDefaultInstance()))
+					.setResponseMarshaller(marshaller(CryptoGetAccountBalanceResponse.getDefaultInstance()))
+					.build();
+	static final MethodDescriptor<TokenTransferList, AccountAmount> GET_TOKEN_HOLDERS =
+			MethodDescriptor.<TokenTransferList, AccountAmount>newBuilder()
+					.setType(SERVER_STREAMING)
+					.setFullMethodName(generateFullMethodName(SERVICE_NAME, "getTokenHolders"))
+					.setRequestMarshaller(marshaller(TokenTransferList.getDefaultInstance()))
+					.setResponseMarshaller(marshaller(AccountAmount.getDefaultInstance()))
+					.build();
+
+	private final TokenHolders tokenHolders;
+	private final GetAccountBalancesAnswer balancesAnswer;
+
+	public NodeAdminController(GetAccountBalancesAnswer balancesAnswer, TokenHolders tokenHolders) {
+		this.tokenHolders = tokenHolders;
+		this.balancesAnswer = balancesAnswer;
+	}
+
+	public ServerServiceDefinition serviceDefinition() {
+		var definition = ServerServiceDefinition.builder(SERVICE_NAME)
+				.addMethod(GET_ACCOUNT_BALANCES, ServerCalls.asyncBidiStreamingCall(this::getAccountBalances))
+				.addMethod(GET_TOKEN_HOLDERS, ServerCalls.asyncServerStreamingCall(this::getTokenHolders))
+				.build();
+		return ServerInterceptors.intercept(definition, this);
+	}
+
+	public StreamObserver<CryptoGetAccountBalanceQuery> getAccountBalances(
+			StreamObserver<CryptoGetAccountBalanceResponse> observer
+	) {
+		return new StreamObserver<>() {
+			/* Never keep more than one query past the limit, which is enough to reject the batch */
+			private final List<CryptoGetAccountBalanceQuery> ops = new ArrayList<>();
+
+			@Override
+			public void onNext(CryptoGetAccountBalanceQuery op) {
+				if (ops.size() <= balancesAnswer.maxAccounts()) {
+					ops.add(op);
+				}
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				log.debug("Bulk balances request was cancelled", t);
+			}
+
+			@Override
+			public void onCompleted() {
+				var status = balancesAnswer.answerFor(ops, observer::onNext);
+				if (status != OK) {
+					observer.onNext(CryptoGetAccountBalanceResponse.newBuilder()
+							.setHeader(ResponseHeader.newBuilder()
+									.setNodeTransactionPrecheckCode(status)
+									.setResponseType(ANSWER_ONLY))
+							.build());
+				}
+				observer.onCompleted();
+			}
+		};
+	}
+
+	public void getTokenHolders(TokenTransferList query, StreamObserver<AccountAmount> observer) {
+		AccountID after = (query.getTransfersCount() == 0) ? null : query.getTransfers(0).getAccountID();
+		var page = tokenHolders.holdersPage(query.getToken(), after, balancesAnswer.maxAccounts());
+		var status = balancesAnswer.admit(page.size());
+		if (status != OK) {
+			observer.onError(Status.RESOURCE_EXHAUSTED.withDescription(status.name()).asRuntimeException());
+			return;
+		}
+		page.forEach(observer::onNext);
+		observer.onCompleted();
+	}
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+			ServerCall<ReqT, RespT> call,
+			Metadata headers,
+			ServerCallHandler<ReqT, RespT> next
+	) {
+		if (!isLocal(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR))) {
+			call.close(Status.PERMISSION_DENIED.withDescription("Only available to local callers"), new Metadata());
+			return new ServerCall.Listener<>() { };
+		}
+		return next.startCall(call, headers);
+	}
+
+	private static boolean isLocal(SocketAddress remote) {
+		if (!(remote instanceof InetSocketAddress)) {
+			return false;
+		}
+		var address = ((InetSocketAddress) remote).getAddress();
+		return address != null && address.isLoopbackAddress();
+	}
+}
@@ -126,6 +126,8 @@ public class HederaLedger {
 	private final TransferList.Builder netTransfers = TransferList.newBuilder();
 	private final AccountRecordsHistorian historian;
 	private final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger;
+	/* Non-null iff the accounts ledger can read and write balances without boxing them */
+	private final NumKeyedAccountsLedger numKeyedAccountsLedger;
 
 	int numTouches = 0;
 	final TokenID[] tokensTouched = new TokenID[MAX_CONCEIVABLE_TOKENS_PER_TXN];
@@ -146,6 +148,9 @@ public class HederaLedger {
 		this.historian = historian;
 		this.tokenStore = tokenStore;
 		this.accountsLedger = accountsLedger;
+		this.numKeyedAccountsLedger = (accountsLedger instanceof NumKeyedAccountsLedger)
+				? (NumKeyedAccountsLedger) accountsLedger
+				: null;
 
 		creator.setLedger(this);
 		historian.setLedger(this);
@@ -235,6 +240,9 @@ public class HederaLedger {
 
 	/* -- CURRENCY MANIPULATION -- */
 	public long getBalance(AccountID id) {
+		if (numKeyedAccountsLedger != null) {
+			return numKeyedAccountsLedger.getBalance(id);
+		}
 		return (long) accountsLedger.get(id, BALANCE);
 	}
 
@@ -557,6 +565,10 @@ public class HederaLedger {
 	}
 
 	private void setBalance(AccountID id, long newBalance) {
+		if (numKeyedAccountsLedger != null) {
+			numKeyedAccountsLedger.setBalance(id, newBalance);
+			return;
+		}
 		accountsLedger.set(id, BALANCE, newBalance);
 	}
 
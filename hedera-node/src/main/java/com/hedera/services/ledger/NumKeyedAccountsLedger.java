@@ -0,0 +1,528 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.exceptions.MissingAccountException;
+import com.hedera.services.exceptions.NegativeAccountBalanceException;
+import com.hedera.services.ledger.accounts.BackingStore;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+import static com.hedera.services.utils.EntityIdUtils.readableId;
+import static com.hedera.services.utils.MiscUtils.readableProperty;
+
+/**
+ * A {@link TransactionalLedger} specialized to {@link AccountID} keys and the
+ * {@link AccountProperty} family. Pending changes are tracked in slot arrays
+ * indexed through an open-addressing table keyed by account number, with an
+ * unboxed balance slot and a bitmask of changed properties per account.
+ *
+ * All structures are reused across transactions, so that once they have grown
+ * to the largest change set seen, {@code begin()}, {@code set()} and {@code commit()}
+ * allocate nothing; and {@link #getBalance(AccountID)} and {@link #setBalance(AccountID, long)}
+ * let callers read and write balances without boxing them.
+ *
+ * Commits are ordered by the comparator given via {@link #setKeyComparator(Comparator)},
+ * defaulting to {@link HederaLedger#ACCOUNT_ID_COMPARATOR}. With the default comparator,
+ * a change set within a single shard and realm is simply committed in account number order.
+ */
+public class NumKeyedAccountsLedger extends TransactionalLedger<AccountID, AccountProperty, MerkleAccount> {
+	private static final Logger log = LogManager.getLogger(NumKeyedAccountsLedger.class);
+
+	private static final int DEFAULT_SLOT_CAPACITY = 64;
+	private static final AccountProperty[] PROPERTIES = AccountProperty.values();
+	private static final long BALANCE_MASK = 1L << BALANCE.ordinal();
+
+	private final Supplier<MerkleAccount> newAccount;
+	private final BackingStore<AccountID, MerkleAccount> accounts;
+
+	private boolean isInTransaction = false;
+	private Comparator<AccountID> keyComparator = ACCOUNT_ID_COMPARATOR;
+
+	/* Open-addressing index from an account number to (1 + its slot); zero marks an empty position */
+	private int[] index;
+	/* The number of slots in use by the active transaction */
+	int slotsUsed = 0;
+	private long[] nums;
+	private AccountID[] ids;
+	private int[] indexPos;
+	private long[] changedMask;
+	private long[] balances;
+	private Object[][] values;
+	private boolean[] isChanged;
+	private boolean[] isDead;
+	private long[] commitOrder;
+
+	public NumKeyedAccountsLedger(
+			Supplier<MerkleAccount> newAccount,
+			BackingStore<AccountID, MerkleAccount> accounts,
+			ChangeSummaryManager<MerkleAccount, AccountProperty> changeManager
+	) {
+		this(newAccount, accounts, changeManager, DEFAULT_SLOT_CAPACITY);
+	}
+
+	NumKeyedAccountsLedger(
+			Supplier<MerkleAccount> newAccount,
+			BackingStore<AccountID, MerkleAccount> accounts,
+			ChangeSummaryManager<MerkleAccount, AccountProperty> changeManager,
+			int slotCapacity
+	) {
+		super(AccountProperty.class, newAccount, accounts, changeManager);
+		this.newAccount = newAccount;
+		this.accounts = accounts;
+		allocate(Math.max(1, slotCapacity));
+	}
+
+	@Override
+	void begin() {
+		if (isInTransaction) {
+			throw new IllegalStateException("A transaction is already active!");
+		}
+		isInTransaction = true;
+	}
+
+	@Override
+	void rollback() {
+		if (!isInTransaction) {
+			throw new IllegalStateException("Cannot perform rollback, no transaction is active!");
+		}
+		accounts.flushMutableRefs();
+
+		clearSlots();
+
+		isInTransaction = false;
+	}
+
+	@Override
+	void commit() {
+		if (!isInTransaction) {
+			throw new IllegalStateException("Cannot perform commit, no transaction is active!");
+		}
+
+		log.debug("Changes to be committed: {}", this::changeSetSoFar);
+		try {
+			if (keyComparator == ACCOUNT_ID_COMPARATOR && isSingleShardAndRealm()) {
+				commitInNumOrder();
+			} else {
+				commitInComparatorOrder();
+			}
+
+			accounts.flushMutableRefs();
+
+			commitObserver.ifPresent(this::notifyCommitted);
+			clearSlots();
+
+			isInTransaction = false;
+		} catch (Exception e) {
+			String changeDesc = "<N/A>";
+			try {
+				changeDesc = changeSetSoFar();
+			} catch (Exception f) {
+				log.warn("Unable to describe pending change set!", f);
+			}
+			log.error("Catastrophic failure during commit of {}!", changeDesc);
+			throw e;
+		}
+	}
+
+	@Override
+	public void setKeyComparator(Comparator<AccountID> keyComparator) {
+		super.setKeyComparator(keyComparator);
+		this.keyComparator = keyComparator;
+	}
+
+	@Override
+	public String changeSetSoFar() {
+		var desc = new StringBuilder("{");
+		boolean isFirstChange = true;
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			if (!isChanged[slot]) {
+				continue;
+			}
+			if (!isFirstChange) {
+				desc.append(", ");
+			}
+			var id = ids[slot];
+			String prefix;
+			if (accounts.contains(id)) {
+				prefix = isDead[slot] ? "*DEAD* " : "";
+			} else {
+				prefix = isDead[slot] ? "*NEW -> DEAD* " : "*NEW* ";
+			}
+			desc.append(prefix).append(readableId(id)).append(": [");
+			boolean isFirstProperty = true;
+			for (long mask = changedMask[slot]; mask != 0; mask &= mask - 1) {
+				int ordinal = Long.numberOfTrailingZeros(mask);
+				if (!isFirstProperty) {
+					desc.append(", ");
+				}
+				desc.append(String.format(
+						"%s -> %s",
+						PROPERTIES[ordinal],
+						readableProperty(changedValue(slot, ordinal))));
+				isFirstProperty = false;
+			}
+			desc.append("]");
+			isFirstChange = false;
+		}
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			if (isDead[slot] && !isChanged[slot]) {
+				if (!isFirstChange) {
+					desc.append(", ");
+				}
+				desc.append("*DEAD* ").append(readableId(ids[slot]));
+				isFirstChange = false;
+			}
+		}
+		return desc.append("}").toString();
+	}
+
+	@Override
+	public boolean exists(AccountID id) {
+		int slot = slotOf(id);
+		return existsOrIsPendingCreation(id, slot) && !(slot >= 0 && isDead[slot]);
+	}
+
+	@Override
+	public boolean existsPending(AccountID id) {
+		return isPendingCreation(id, slotOf(id));
+	}
+
+	@Override
+	public void set(AccountID id, AccountProperty property, Object value) {
+		throwIfNotInTxn();
+		throwIfMissing(id);
+
+		if (property == BALANCE) {
+			setBalance(id, (long) value);
+			return;
+		}
+		int slot = slotFor(id);
+		isChanged[slot] = true;
+		int ordinal = property.ordinal();
+		values[slot][ordinal] = value;
+		changedMask[slot] |= 1L << ordinal;
+	}
+
+	/**
+	 * Equivalent to {@code set(id, BALANCE, balance)}, but without boxing the balance.
+	 *
+	 * @param id the account to change
+	 * @param balance its new pending balance
+	 */
+	public void setBalance(AccountID id, long balance) {
+		throwIfNotInTxn();
+		throwIfMissing(id);
+
+		int slot = slotFor(id);
+		isChanged[slot] = true;
+		balances[slot] = balance;
+		changedMask[slot] |= BALANCE_MASK;
+	}
+
+	/**
+	 * Equivalent to {@code (long) get(id, BALANCE)}, but without boxing the balance.
+	 *
+	 * @param id the account of interest
+	 * @return its balance, including any pending change
+	 */
+	public long getBalance(AccountID id) {
+		throwIfMissing(id);
+
+		int slot = slotOf(id);
+		if (slot >= 0 && isChanged[slot] && (changedMask[slot] & BALANCE_MASK) != 0) {
+			return balances[slot];
+		} else {
+			var target = isPendingCreation(id, slot) ? newAccount.get() : accounts.getRef(id);
+			return target.getBalance();
+		}
+	}
+
+	@Override
+	public MerkleAccount get(AccountID id) {
+		throwIfMissing(id);
+
+		int slot = slotOf(id);
+		MerkleAccount account = accounts.contains(id) ? accounts.getRef(id) : newAccount.get();
+		if (slot >= 0 && isChanged[slot]) {
+			persist(slot, account);
+		}
+
+		return account;
+	}
+
+	@Override
+	public Object get(AccountID id, AccountProperty property) {
+		throwIfMissing(id);
+
+		int slot = slotOf(id);
+		if (slot >= 0 && isChanged[slot] && (changedMask[slot] & (1L << property.ordinal())) != 0) {
+			return changedValue(slot, property.ordinal());
+		} else {
+			var target = isPendingCreation(id, slot) ? newAccount.get() : accounts.getRef(id);
+			return property.getter().apply(target);
+		}
+	}
+
+	@Override
+	public void create(AccountID id) {
+		throwIfNotInTxn();
+		if (existsOrIsPendingCreation(id, slotOf(id))) {
+			throw new IllegalArgumentException("An account already exists with key '" + id + "'!");
+		}
+
+		int slot = slotFor(id);
+		isChanged[slot] = true;
+		if (changedMask[slot] != 0) {
+			changedMask[slot] = 0;
+			Arrays.fill(values[slot], null);
+		}
+	}
+
+	@Override
+	public void destroy(AccountID id) {
+		throwIfNotInTxn();
+
+		isDead[slotFor(id)] = true;
+	}
+
+	@Override
+	boolean isInTransaction() {
+		return isInTransaction;
+	}
+
+	@Override
+	void throwIfNotInTxn() {
+		if (!isInTransaction) {
+			throw new IllegalStateException("No active transaction!");
+		}
+	}
+
+	private void commitInNumOrder() {
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			commitOrder[slot] = nums[slot];
+		}
+		Arrays.sort(commitOrder, 0, slotsUsed);
+		var shard = ids[0].getShardNum();
+		var realm = ids[0].getRealmNum();
+		for (int i = 0; i < slotsUsed; i++) {
+			int slot = slotOf(shard, realm, commitOrder[i]);
+			if (isChanged[slot] && !isDead[slot]) {
+				accounts.put(ids[slot], get(ids[slot]));
+			}
+		}
+		for (int i = 0; i < slotsUsed; i++) {
+			int slot = slotOf(shard, realm, commitOrder[i]);
+			if (isDead[slot]) {
+				accounts.remove(ids[slot]);
+			}
+		}
+	}
+
+	private void commitInComparatorOrder() {
+		List<AccountID> touched = new ArrayList<>(Arrays.asList(ids).subList(0, slotsUsed));
+		touched.sort(keyComparator);
+		for (var id : touched) {
+			int slot = slotOf(id);
+			if (isChanged[slot] && !isDead[slot]) {
+				accounts.put(id, get(id));
+			}
+		}
+		for (var id : touched) {
+			if (isDead[slotOf(id)]) {
+				accounts.remove(id);
+			}
+		}
+	}
+
+	private void notifyCommitted(Consumer<AccountID> observer) {
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			if (isChanged[slot] || isDead[slot]) {
+				observer.accept(ids[slot]);
+			}
+		}
+	}
+
+	private boolean isSingleShardAndRealm() {
+		if (slotsUsed == 0) {
+			return true;
+		}
+		var shard = ids[0].getShardNum();
+		var realm = ids[0].getRealmNum();
+		for (int slot = 1; slot < slotsUsed; slot++) {
+			if (ids[slot].getShardNum() != shard || ids[slot].getRealmNum() != realm) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void persist(int slot, MerkleAccount account) {
+		var values = this.values[slot];
+		for (long mask = changedMask[slot]; mask != 0; mask &= mask - 1) {
+			int ordinal = Long.numberOfTrailingZeros(mask);
+			if (ordinal == BALANCE.ordinal()) {
+				persistBalance(account, balances[slot]);
+			} else {
+				PROPERTIES[ordinal].setter().accept(account, values[ordinal]);
+			}
+		}
+	}
+
+	private void persistBalance(MerkleAccount account, long balance) {
+		try {
+			account.setBalance(balance);
+		} catch (NegativeAccountBalanceException nabe) {
+			throw new IllegalArgumentException(String.format(
+					"Argument 'v=%d' would cause account 'a=%s' to have a negative balance!", balance, account));
+		}
+	}
+
+	private Object changedValue(int slot, int ordinal) {
+		return (ordinal == BALANCE.ordinal()) ? balances[slot] : values[slot][ordinal];
+	}
+
+	private void throwIfMissing(AccountID id) {
+		if (!exists(id)) {
+			throw new MissingAccountException(id);
+		}
+	}
+
+	private boolean isPendingCreation(AccountID id, int slot) {
+		return slot >= 0 && isChanged[slot] && !accounts.contains(id);
+	}
+
+	private boolean existsOrIsPendingCreation(AccountID id, int slot) {
+		return (slot >= 0 && isChanged[slot]) || accounts.contains(id);
+	}
+
+	/* --- Slot management --- */
+
+	int slotOf(AccountID id) {
+		return slotOf(id.getShardNum(), id.getRealmNum(), id.getAccountNum());
+	}
+
+	private int slotOf(long shard, long realm, long num) {
+		int mask = index.length - 1;
+		for (int pos = mix(num) & mask; index[pos] != 0; pos = (pos + 1) & mask) {
+			int slot = index[pos] - 1;
+			if (nums[slot] == num && ids[slot].getRealmNum() == realm && ids[slot].getShardNum() == shard) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	private int slotFor(AccountID id) {
+		int slot = slotOf(id);
+		if (slot >= 0) {
+			return slot;
+		}
+		if (slotsUsed == nums.length) {
+			grow();
+		}
+		slot = slotsUsed++;
+		nums[slot] = id.getAccountNum();
+		ids[slot] = id;
+		place(slot);
+		return slot;
+	}
+
+	private void place(int slot) {
+		int mask = index.length - 1;
+		int pos = mix(nums[slot]) & mask;
+		while (index[pos] != 0) {
+			pos = (pos + 1) & mask;
+		}
+		index[pos] = slot + 1;
+		indexPos[slot] = pos;
+	}
+
+	private void clearSlots() {
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			index[indexPos[slot]] = 0;
+			ids[slot] = null;
+			if (changedMask[slot] != 0) {
+				changedMask[slot] = 0;
+				Arrays.fill(values[slot], null);
+			}
+			isChanged[slot] = false;
+			isDead[slot] = false;
+		}
+		slotsUsed = 0;
+	}
+
+	private void allocate(int slotCapacity) {
+		index = new int[Integer.highestOneBit(slotCapacity) << 2];
+		nums = new long[slotCapacity];
+		ids = new AccountID[slotCapacity];
+		indexPos = new int[slotCapacity];
+		changedMask = new long[slotCapacity];
+		balances = new long[slotCapacity];
+		values = new Object[slotCapacity][];
+		for (int slot = 0; slot < slotCapacity; slot++) {
+			values[slot] = new Object[PROPERTIES.length];
+		}
+		isChanged = new boolean[slotCapacity];
+		isDead = new boolean[slotCapacity];
+		commitOrder = new long[slotCapacity];
+	}
+
+	private void grow() {
+		int oldCapacity = nums.length;
+		int newCapacity = oldCapacity * 2;
+		nums = Arrays.copyOf(nums, newCapacity);
+		ids = Arrays.copyOf(ids, newCapacity);
+		indexPos = Arrays.copyOf(indexPos, newCapacity);
+		changedMask = Arrays.copyOf(changedMask, newCapacity);
+		balances = Arrays.copyOf(balances, newCapacity);
+		values = Arrays.copyOf(values, newCapacity);
+		for (int slot = oldCapacity; slot < newCapacity; slot++) {
+			values[slot] = new Object[PROPERTIES.length];
+		}
+		isChanged = Arrays.copyOf(isChanged, newCapacity);
+		isDead = Arrays.copyOf(isDead, newCapacity);
+		commitOrder = new long[newCapacity];
+
+		index = new int[index.length * 2];
+		for (int slot = 0; slot < slotsUsed; slot++) {
+			place(slot);
+		}
+	}
+
+	private static int mix(long num) {
+		long h = num * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -71,6 +72,8 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 
 	final Map<K, EnumMap<P, Object>> changes = new HashMap<>();
 
+	Optional<Consumer<K>> commitObserver = Optional.empty();
+
 	private boolean isInTransaction = false;
 	private Optional<Comparator<K>> keyComparator = Optional.empty();
 	private Optional<Function<K, String>> keyToString = Optional.empty();
@@ -96,6 +99,16 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		this.keyToString = Optional.of(keyToString);
 	}
 
+	/**
+	 * Sets an observer to be given the key of every entity changed or removed by a commit,
+	 * once the commit has reached the backing store.
+	 *
+	 * @param commitObserver the observer of committed keys
+	 */
+	public void setCommitObserver(Consumer<K> commitObserver) {
+		this.commitObserver = Optional.of(commitObserver);
+	}
+
 	void begin() {
 		if (isInTransaction) {
 			throw new IllegalStateException("A transaction is already active!");
@@ -128,16 +141,21 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 			changedKeys
 					.filter(id -> !deadEntities.contains(id))
 					.forEach(id -> entities.put(id, get(id)));
-			changes.clear();
 
 			Stream<K> deadKeys = keyComparator.isPresent()
 					? deadEntities.stream().sorted(keyComparator.get())
 					: deadEntities.stream();
 			deadKeys.forEach(entities::remove);
-			deadEntities.clear();
 
 			entities.flushMutableRefs();
 
+			commitObserver.ifPresent(observer -> {
+				changes.keySet().forEach(observer);
+				deadEntities.stream().filter(id -> !changes.containsKey(id)).forEach(observer);
+			});
+			changes.clear();
+			deadEntities.clear();
+
 			isInTransaction = false;
 		} catch (Exception e) {
 			String changeDesc = "<N/A>";
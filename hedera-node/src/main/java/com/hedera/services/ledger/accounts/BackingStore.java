@@ -92,4 +92,13 @@ public interface BackingStore<K, A> {
 	 * Returns the set of extant account ids.
 	 */
 	Set<K> idSet();
+
+	/**
+	 * Estimates the heap used to track which ids exist in the collection.
+	 *
+	 * @return the estimated footprint in bytes.
+	 */
+	default long idsFootprintBytes() {
+		return 0L;
+	}
 }
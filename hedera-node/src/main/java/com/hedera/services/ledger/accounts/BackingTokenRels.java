@@ -28,13 +28,13 @@ import com.swirlds.fcmap.FCMap;
 
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
 import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
 import static com.hedera.services.ledger.HederaLedger.TOKEN_ID_COMPARATOR;
+import static com.hedera.services.ledger.accounts.PackedIdSet.UNPACKABLE;
 import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 import org.apache.commons.lang3.tuple.Pair;
@@ -54,7 +54,12 @@ public class BackingTokenRels implements BackingStore<Pair<AccountID, TokenID>,
 	private static final Comparator<Map.Entry<Pair<AccountID, TokenID>, MerkleTokenRelStatus>> REL_ENTRY_CMP =
 			Comparator.comparing(Map.Entry::getKey, REL_CMP);
 
-	Set<Pair<AccountID, TokenID>> existingRels = new HashSet<>();
+	static final int ACCOUNT_NUM_BITS = 31;
+	static final int TOKEN_NUM_BITS = 32;
+
+	PackedIdSet<Pair<AccountID, TokenID>> existingRels = new PackedIdSet<>(
+			BackingTokenRels::packed,
+			BackingTokenRels::unpacked);
 	Map<Pair<AccountID, TokenID>, MerkleTokenRelStatus> cache = new HashMap<>();
 
 	private final Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> delegate;
@@ -66,10 +71,19 @@ public class BackingTokenRels implements BackingStore<Pair<AccountID, TokenID>,
 
 	@Override
 	public void rebuildFromSources() {
+		var rels = delegate.get();
 		existingRels.clear();
-		delegate.get().keySet().stream()
-				.map(MerkleEntityAssociation::asAccountTokenRel)
-				.forEach(existingRels::add);
+		existingRels.ensureCapacity(rels.size());
+		for (var rel : rels.keySet()) {
+			long v = packed(
+					rel.getFromShard(), rel.getFromRealm(), rel.getFromNum(),
+					rel.getToShard(), rel.getToRealm(), rel.getToNum());
+			if (v == UNPACKABLE) {
+				existingRels.add(rel.asAccountTokenRel());
+			} else {
+				existingRels.addPacked(v);
+			}
+		}
 	}
 
 	@Override
@@ -120,6 +134,39 @@ public class BackingTokenRels implements BackingStore<Pair<AccountID, TokenID>,
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public long idsFootprintBytes() {
+		return existingRels.footprintBytes();
+	}
+
+	/* --- Packing of (account, token) pairs in shard 0, realm 0 --- */
+
+	static long packed(Pair<AccountID, TokenID> rel) {
+		var account = rel.getLeft();
+		var token = rel.getRight();
+		return packed(
+				account.getShardNum(), account.getRealmNum(), account.getAccountNum(),
+				token.getShardNum(), token.getRealmNum(), token.getTokenNum());
+	}
+
+	static long packed(
+			long accountShard, long accountRealm, long accountNum,
+			long tokenShard, long tokenRealm, long tokenNum
+	) {
+		if ((accountShard | accountRealm | tokenShard | tokenRealm) != 0
+				|| accountNum < 0 || accountNum >= (1L << ACCOUNT_NUM_BITS)
+				|| tokenNum < 0 || tokenNum >= (1L << TOKEN_NUM_BITS)) {
+			return UNPACKABLE;
+		}
+		return (accountNum << TOKEN_NUM_BITS) | tokenNum;
+	}
+
+	static Pair<AccountID, TokenID> unpacked(long v) {
+		return asTokenRel(
+				AccountID.newBuilder().setAccountNum(v >>> TOKEN_NUM_BITS).build(),
+				TokenID.newBuilder().setTokenNum(v & ((1L << TOKEN_NUM_BITS) - 1)).build());
+	}
+
 	public static Pair<AccountID, TokenID> asTokenRel(AccountID account, TokenID token) {
 		return Pair.of(account, token);
 	}
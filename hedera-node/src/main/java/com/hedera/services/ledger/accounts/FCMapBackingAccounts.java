@@ -27,16 +27,25 @@ import com.hedera.services.state.merkle.MerkleAccount;
 import com.swirlds.fcmap.FCMap;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import static com.hedera.services.ledger.accounts.PackedIdSet.UNPACKABLE;
 import static com.hedera.services.state.merkle.MerkleEntityId.fromAccountId;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 
 public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccount> {
-	Set<AccountID> existingAccounts = new HashSet<>();
+	static final int SHARD_BITS = 7;
+	static final int REALM_BITS = 16;
+	static final int NUM_BITS = 40;
+
+	/* The packed form of an account id that cannot be packed into a non-negative long */
+	public static final long UNPACKABLE_ID = UNPACKABLE;
+
+	PackedIdSet<AccountID> existingAccounts = new PackedIdSet<>(
+			FCMapBackingAccounts::packed,
+			FCMapBackingAccounts::unpacked);
 	Map<AccountID, MerkleAccount> cache = new HashMap<>();
 
 	private final Supplier<FCMap<MerkleEntityId, MerkleAccount>> delegate;
@@ -48,10 +57,17 @@ public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccou
 
 	@Override
 	public void rebuildFromSources() {
+		var accounts = delegate.get();
 		existingAccounts.clear();
-		delegate.get().keySet().stream()
-				.map(MerkleEntityId::toAccountId)
-				.forEach(existingAccounts::add);
+		existingAccounts.ensureCapacity(accounts.size());
+		for (var id : accounts.keySet()) {
+			long v = packed(id.getShard(), id.getRealm(), id.getNum());
+			if (v == UNPACKABLE) {
+				existingAccounts.add(id.toAccountId());
+			} else {
+				existingAccounts.addPacked(v);
+			}
+		}
 	}
 
 	@Override
@@ -94,11 +110,37 @@ public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccou
 
 	@Override
 	public Set<AccountID> idSet() {
-		return existingAccounts;
+		return existingAccounts.asSet();
+	}
+
+	@Override
+	public long idsFootprintBytes() {
+		return existingAccounts.footprintBytes();
 	}
 
 	@Override
 	public MerkleAccount getUnsafeRef(AccountID id) {
 		return delegate.get().get(fromAccountId(id));
 	}
+
+	public static long packed(AccountID id) {
+		return packed(id.getShardNum(), id.getRealmNum(), id.getAccountNum());
+	}
+
+	public static long packed(long shard, long realm, long num) {
+		if (shard < 0 || shard >= (1L << SHARD_BITS)
+				|| realm < 0 || realm >= (1L << REALM_BITS)
+				|| num < 0 || num >= (1L << NUM_BITS)) {
+			return UNPACKABLE;
+		}
+		return (shard << (REALM_BITS + NUM_BITS)) | (realm << NUM_BITS) | num;
+	}
+
+	public static AccountID unpacked(long v) {
+		return AccountID.newBuilder()
+				.setShardNum(v >>> (REALM_BITS + NUM_BITS))
+				.setRealmNum((v >>> NUM_BITS) & ((1L << REALM_BITS) - 1))
+				.setAccountNum(v & ((1L << NUM_BITS) - 1))
+				.build();
+	}
 }
@@ -0,0 +1,109 @@
+package com.hedera.services.ledger.accounts;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.LongHashSet;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Tracks the existence of ids in a {@link LongHashSet}, using a boxed set only
+ * for the (in practice, absent) ids that cannot be packed into a non-negative
+ * {@code long}. Ids are re-created from their packed form only when the full
+ * set is requested.
+ *
+ * @param <K> the type of id tracked
+ */
+class PackedIdSet<K> {
+	static final long UNPACKABLE = -1L;
+	static final long UNPACKABLE_ENTRY_BYTES = 128L;
+
+	private final LongHashSet packed = new LongHashSet();
+	private final Set<K> unpackable = new HashSet<>();
+	private final ToLongFunction<K> packer;
+	private final LongFunction<K> unpacker;
+
+	/**
+	 * @param packer the packer of an id, returning {@link PackedIdSet#UNPACKABLE} if it cannot be packed
+	 * @param unpacker the inverse of the packer
+	 */
+	PackedIdSet(ToLongFunction<K> packer, LongFunction<K> unpacker) {
+		this.packer = packer;
+		this.unpacker = unpacker;
+	}
+
+	void add(K id) {
+		long v = packer.applyAsLong(id);
+		if (v == UNPACKABLE) {
+			unpackable.add(id);
+		} else {
+			packed.add(v);
+		}
+	}
+
+	void addPacked(long v) {
+		packed.add(v);
+	}
+
+	void ensureCapacity(int expectedSize) {
+		packed.ensureCapacity(expectedSize);
+	}
+
+	boolean contains(K id) {
+		long v = packer.applyAsLong(id);
+		return (v == UNPACKABLE) ? unpackable.contains(id) : packed.contains(v);
+	}
+
+	void remove(K id) {
+		long v = packer.applyAsLong(id);
+		if (v == UNPACKABLE) {
+			unpackable.remove(id);
+		} else {
+			packed.remove(v);
+		}
+	}
+
+	void clear() {
+		packed.clear();
+		unpackable.clear();
+	}
+
+	int size() {
+		return packed.size() + unpackable.size();
+	}
+
+	int numUnpackable() {
+		return unpackable.size();
+	}
+
+	long footprintBytes() {
+		return packed.footprintBytes() + UNPACKABLE_ENTRY_BYTES * unpackable.size();
+	}
+
+	Set<K> asSet() {
+		Set<K> ids = new HashSet<>(unpackable);
+		packed.forEach(v -> ids.add(unpacker.apply(v)));
+		return ids;
+	}
+}
@@ -127,6 +127,7 @@ public class SolidityExecutor {
 	private final Optional<TransactionContext> txnCtx;
 
 	private VM vm;
+	private VMHook vmHook = VMHook.EMPTY;
 	private String errorMessage;
 	private boolean readyToExecute = false;
 	private Program program;
@@ -194,6 +195,11 @@ public class SolidityExecutor {
 		blockchainConfig = config.getBlockchainConfig().getConfigForBlock(block.getNumber());
 	}
 
+	public SolidityExecutor withVmHook(VMHook vmHook) {
+		this.vmHook = vmHook;
+		return this;
+	}
+
 	public void init() {
 		if (localCall || payerIsSolvent()) {
 			readyToExecute = true;
@@ -273,14 +279,14 @@ public class SolidityExecutor {
 				var programInvoke = programInvokeFactory.createProgramInvoke(
 						solidityTxn, block, trackingRepository, repository, NULL_BLOCK_STORE);
 				((ProgramInvokeImpl) programInvoke).setStaticCall(localCall);
-				this.vm = new VM(config, VMHook.EMPTY);
+				this.vm = new VM(config, vmHook);
 				this.program = new Program(
 						repository.getCodeHash(targetAddress),
 						code,
 						programInvoke,
 						solidityTxn,
 						config,
-						VMHook.EMPTY,
+						vmHook,
 						contractCreateAdaptor,
 						fundingAddress,
 						rbh,
@@ -336,14 +342,14 @@ public class SolidityExecutor {
 			ProgramInvoke programInvoke = programInvokeFactory.createProgramInvoke(
 					solidityTxn, block, trackingRepository, repository, NULL_BLOCK_STORE);
 			((ProgramInvokeImpl) programInvoke).setStaticCall(localCall);
-			this.vm = new VM(config, VMHook.EMPTY);
+			this.vm = new VM(config, vmHook);
 			this.program = new Program(
 					null,
 					solidityTxn.getData(),
 					programInvoke,
 					solidityTxn,
 					config,
-					VMHook.EMPTY,
+					vmHook,
 					contractCreateAdaptor,
 					fundingAddress,
 					rbh,
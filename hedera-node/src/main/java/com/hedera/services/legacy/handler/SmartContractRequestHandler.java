@@ -293,10 +293,10 @@ public class SmartContractRequestHandler {
 	private ContractCallLocalResponse runPure(
 			Transaction solidityTxn,
 			Instant startTime,
-			long maxResultSize
+			long maxResultSize,
+			ServicesRepositoryRoot pureRepository
 	) {
 		var mockConsensusTime = Timestamp.newBuilder().setSeconds(startTime.getEpochSecond()).build();
-		var pureRepository = newPureRepo.get();
 		var executor = new SolidityExecutor(
 				solidityTxn,
 				pureRepository,
@@ -532,6 +532,32 @@ public class SmartContractRequestHandler {
 	 */
 	public ContractCallLocalResponse contractCallLocal(
 			ContractCallLocalQuery transactionContractCallLocal, long currentTimeMs) throws Exception {
+		return contractCallLocal(transactionContractCallLocal, currentTimeMs, newPureRepo.get(), accounts.get());
+	}
+
+	/**
+	 * Executes a smart contract function against the given read-only repository, without
+	 * changing its state; the target contract is validated against the accounts of the
+	 * same state the repository reads from.
+	 *
+	 * @param transactionContractCallLocal
+	 * 		API request to execute the contract method
+	 * @param currentTimeMs
+	 * 		Execution timestamp, not a platform consensus time
+	 * @param pureRepository
+	 * 		the read-only repository to execute against
+	 * @param pureAccounts
+	 * 		the accounts the read-only repository reads from
+	 * @return Details of local execution result
+	 * @throws Exception
+	 * 		Passes through lower-level exceptions; does not generate any.
+	 */
+	public ContractCallLocalResponse contractCallLocal(
+			ContractCallLocalQuery transactionContractCallLocal,
+			long currentTimeMs,
+			ServicesRepositoryRoot pureRepository,
+			FCMap<MerkleEntityId, MerkleAccount> pureAccounts
+	) throws Exception {
 		ContractCallLocalResponse responseToReturn;
 		Transaction tx;
 		TransactionBody body = com.hedera.services.legacy.proto.utils.CommonUtils
@@ -540,7 +566,8 @@ public class SmartContractRequestHandler {
 		String senderAccountEthAddress = asSolidityAddressHex(senderAccount);
 		AccountID receiverAccount = EntityIdUtils.asAccount(transactionContractCallLocal.getContractID());
 		String receiverAccountEthAddress = asSolidityAddressHex(receiverAccount);
-		ResponseCodeEnum callResponseStatus = validateContractExistence(transactionContractCallLocal.getContractID());
+		ResponseCodeEnum callResponseStatus =
+				PureValidation.queryableContractStatus(transactionContractCallLocal.getContractID(), pureAccounts);
 		if (callResponseStatus == ResponseCodeEnum.OK) {
 			BigInteger gas;
 			if (transactionContractCallLocal.getGas() <= dynamicProperties.maxGas()) {
@@ -563,7 +590,8 @@ public class SmartContractRequestHandler {
 			responseToReturn = runPure(
 					tx,
 					Instant.ofEpochMilli(currentTimeMs),
-					transactionContractCallLocal.getMaxResultSize());
+					transactionContractCallLocal.getMaxResultSize(),
+					pureRepository);
 		} else {
 			ResponseHeader responseHeader = RequestBuilder.getResponseHeader(callResponseStatus, 0l,
 					ANSWER_ONLY, ByteString.EMPTY);
@@ -23,6 +23,7 @@ package com.hedera.services.legacy.services.state;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.context.ServicesContext;
 import com.hedera.services.legacy.crypto.SignatureStatus;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.sigs.sourcing.ScopedSigBytesProvider;
 import com.hedera.services.state.logic.ServicesTxnManager;
 import com.hedera.services.stream.RecordStreamObject;
@@ -89,7 +90,7 @@ public class AwareProcessLogic implements ProcessLogic {
 	@Override
 	public void incorporateConsensusTxn(Transaction platformTxn, Instant consensusTime, long submittingMember) {
 		try {
-			PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
+			PlatformTxnAccessor accessor = ctx.accessorHandoff().accessorFor(platformTxn);
 			Instant timestamp = consensusTime;
 			if (accessor.canTriggerTxn()) {
 				timestamp = timestamp.minusNanos(1);
@@ -174,7 +175,6 @@ public class AwareProcessLogic implements ProcessLogic {
 	private void doProcess(TxnAccessor accessor, Instant consensusTime) {
 		ctx.networkCtxManager().advanceConsensusClockTo(consensusTime);
 		ctx.recordsHistorian().purgeExpiredRecords();
-		ctx.expiries().purgeExpiredEntitiesAt(consensusTime.getEpochSecond());
 
 		var sigStatus = rationalizeWithPreConsensusSigs(accessor);
 		if (hasActivePayerSig(accessor)) {
@@ -184,7 +184,7 @@ public class AwareProcessLogic implements ProcessLogic {
 
 		FeeObject fee = ctx.fees().computeFee(accessor, ctx.txnCtx().activePayerKey(), ctx.currentView());
 
-		var recentHistory = ctx.txnHistories().get(accessor.getTxnId());
+		var recentHistory = ctx.txnHistories().get(TxnIdKey.from(accessor.getTxnId()));
 		var duplicity = (recentHistory == null)
 				? BELIEVED_UNIQUE
 				: recentHistory.currentDuplicityFor(ctx.txnCtx().submittingSwirldsMember());
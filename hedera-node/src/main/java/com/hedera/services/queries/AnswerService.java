@@ -52,6 +52,17 @@ public interface AnswerService {
 		return responseGiven(query, view, validity, cost);
 	}
 	ResponseCodeEnum checkValidity(Query query, StateView view);
+	/**
+	 * Indicates if work done for the query while computing its payment (and cached in
+	 * the given context) was throttled; if so, the query should be answered {@code BUSY}
+	 * without submitting its payment.
+	 *
+	 * @param queryCtx the context populated while computing the payment
+	 * @return whether the prepared answer was throttled
+	 */
+	default boolean isThrottledGiven(Map<String, Object> queryCtx) {
+		return false;
+	}
 	HederaFunctionality canonicalFunction();
 	ResponseCodeEnum extractValidityFrom(Response response);
 	Optional<SignedTxnAccessor> extractPaymentFrom(Query query);
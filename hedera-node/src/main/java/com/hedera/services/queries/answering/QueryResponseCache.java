@@ -0,0 +1,253 @@
+package com.hedera.services.queries.answering;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.TokenID;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetAccountBalance;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TransactionGetReceipt;
+
+/**
+ * Caches the (immutable) answers to hot read-only queries, keyed by query type and entity id.
+ *
+ * State-derived answers are tagged with the consensus time of the state they were computed
+ * from, and are only cached if that state includes the entity's last modification as reported
+ * by {@link #invalidateAccount(AccountID, Instant)} or {@link #invalidateToken(TokenID, Instant)}
+ * from the ledger commit path. Each invalidation drops any cached answer for the entity. Since
+ * an answer is re-validated against the modification times after it is inserted, an answer
+ * computed from data read before a concurrent modification is never left in the cache.
+ *
+ * Only answers take up the bounded LRU capacity; the modification times are kept separately,
+ * and only until a signed state including them is reported to {@link #pruneThrough(Instant)}.
+ * Answers from states older than the latest such report are then simply not cached.
+ *
+ * Answers derived from some other (mutable) source are instead validated by the identity of
+ * the source object they were computed from.
+ */
+public class QueryResponseCache {
+	private final boolean isEnabled;
+	private final Cache<Key, Answer> answers;
+	private final Map<Key, Long> lastModified = new ConcurrentHashMap<>();
+	private final Map<HederaFunctionality, DoubleConsumer> hitRatios = new EnumMap<>(HederaFunctionality.class);
+
+	/* No modification at or before this consensus time (in nanos since the epoch) is still tracked. */
+	private final AtomicLong prunedThrough = new AtomicLong(Long.MIN_VALUE);
+
+	public QueryResponseCache(long maxEntries, MiscRunningAvgs runningAvgs) {
+		this.isEnabled = maxEntries > 0;
+		this.answers = CacheBuilder.newBuilder()
+				.maximumSize(Math.max(0L, maxEntries))
+				.build();
+
+		hitRatios.put(CryptoGetAccountBalance, runningAvgs::recordBalanceResponseCacheHitRatio);
+		hitRatios.put(TokenGetInfo, runningAvgs::recordTokenInfoResponseCacheHitRatio);
+		hitRatios.put(TransactionGetReceipt, runningAvgs::recordReceiptResponseCacheHitRatio);
+	}
+
+	/**
+	 * Returns the cached answer of the given type for the given entity, if present; otherwise
+	 * computes the answer from a state as of the given consensus time, and caches it if no
+	 * modification of the entity has been reported since then.
+	 *
+	 * @param type the type of query being answered
+	 * @param id the id of the entity being queried
+	 * @param asOf the consensus time of the state used by the computation
+	 * @param computation the computation of the answer, which may return null if there is no answer to cache
+	 * @param <T> the type of the answer
+	 * @return the cached or computed answer
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getOrCompute(HederaFunctionality type, Object id, Instant asOf, Supplier<T> computation) {
+		if (!isEnabled) {
+			return computation.get();
+		}
+
+		var key = new Key(type, id);
+		var cached = answers.getIfPresent(key);
+		if (cached != null && cached.source == null) {
+			hitRatios.get(type).accept(1.0);
+			return (T) cached.answer;
+		}
+
+		hitRatios.get(type).accept(0.0);
+		var answer = computation.get();
+		if (answer != null) {
+			long asOfNanos = nanosOf(asOf);
+			if (reflectsLastModification(key, asOfNanos)) {
+				var added = new Answer(null, answer);
+				answers.put(key, added);
+				if (!reflectsLastModification(key, asOfNanos)) {
+					/* This entity was modified (or pruned) while we were computing. */
+					answers.asMap().remove(key, added);
+				}
+			}
+		}
+		return answer;
+	}
+
+	private boolean reflectsLastModification(Key key, long asOfNanos) {
+		if (asOfNanos < prunedThrough.get()) {
+			return false;
+		}
+		var modified = lastModified.get(key);
+		return modified == null || asOfNanos >= modified;
+	}
+
+	/**
+	 * Returns the cached answer of the given type for the given entity, if it was computed from
+	 * the very same source object; otherwise computes (and caches) the answer from the source.
+	 *
+	 * @param type the type of query being answered
+	 * @param id the id of the entity being queried
+	 * @param source the current source of the answer
+	 * @param computation the computation of the answer from its source
+	 * @param <S> the type of the source
+	 * @param <T> the type of the answer
+	 * @return the cached or computed answer
+	 */
+	@SuppressWarnings("unchecked")
+	public <S, T> T getOrCompute(HederaFunctionality type, Object id, S source, Function<S, T> computation) {
+		if (!isEnabled) {
+			return computation.apply(source);
+		}
+
+		var key = new Key(type, id);
+		var cached = answers.getIfPresent(key);
+		if (cached != null && cached.source == source) {
+			hitRatios.get(type).accept(1.0);
+			return (T) cached.answer;
+		}
+
+		hitRatios.get(type).accept(0.0);
+		var answer = computation.apply(source);
+		answers.put(key, new Answer(source, answer));
+		return answer;
+	}
+
+	public void invalidateAccount(AccountID id, Instant modifiedAt) {
+		invalidate(new Key(CryptoGetAccountBalance, id), modifiedAt);
+	}
+
+	public void invalidateToken(TokenID id, Instant modifiedAt) {
+		invalidate(new Key(TokenGetInfo, id), modifiedAt);
+	}
+
+	/**
+	 * Stops tracking the modifications included in a signed state with the given consensus
+	 * time; from now on, answers computed from any older state will not be cached.
+	 *
+	 * @param signedAt the consensus time of the latest signed state
+	 */
+	public void pruneThrough(Instant signedAt) {
+		if (!isEnabled) {
+			return;
+		}
+		long through = prunedThrough.accumulateAndGet(nanosOf(signedAt), Math::max);
+		lastModified.values().removeIf(modified -> modified <= through);
+	}
+
+	/**
+	 * Drops every cached answer, for use when the working state is replaced wholesale
+	 * (for example, on reconnect) so that modifications may have been missed.
+	 *
+	 * @param modifiedAt the consensus time of the replacement state
+	 */
+	public void reset(Instant modifiedAt) {
+		pruneThrough(modifiedAt);
+		answers.invalidateAll();
+	}
+
+	private void invalidate(Key key, Instant modifiedAt) {
+		if (!isEnabled) {
+			return;
+		}
+		lastModified.merge(key, nanosOf(modifiedAt), Math::max);
+		answers.invalidate(key);
+	}
+
+	long size() {
+		return answers.size();
+	}
+
+	int numTrackedModifications() {
+		return lastModified.size();
+	}
+
+	static long nanosOf(Instant at) {
+		if (at == null) {
+			return Long.MIN_VALUE;
+		}
+		return at.getEpochSecond() * 1_000_000_000L + at.getNano();
+	}
+
+	private static final class Key {
+		private final HederaFunctionality type;
+		private final Object id;
+
+		private Key(HederaFunctionality type, Object id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || Key.class != o.getClass()) {
+				return false;
+			}
+			var that = (Key) o;
+			return type == that.type && id.equals(that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(type, id);
+		}
+	}
+
+	private static final class Answer {
+		private final Object source;
+		private final Object answer;
+
+		private Answer(Object source, Object answer) {
+			this.source = source;
+			this.answer = answer;
+		}
+	}
+}
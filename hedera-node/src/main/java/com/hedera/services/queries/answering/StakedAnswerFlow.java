@@ -21,6 +21,7 @@ package com.hedera.services.queries.answering;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.calculation.UsagePricesProvider;
 import com.hedera.services.queries.AnswerFlow;
@@ -56,7 +57,7 @@ public class StakedAnswerFlow implements AnswerFlow {
 
 	private final FeeCalculator fees;
 	private final TransactionHandler legacyHandler;
-	private final Supplier<StateView> stateViews;
+	private final Supplier<StateViewLease> stateViews;
 	private final UsagePricesProvider resourceCosts;
 	private final FunctionalityThrottling throttles;
 	private final PlatformSubmissionManager submissionManager;
@@ -64,7 +65,7 @@ public class StakedAnswerFlow implements AnswerFlow {
 	public StakedAnswerFlow(
 			FeeCalculator fees,
 			TransactionHandler legacyHandler,
-			Supplier<StateView> stateViews,
+			Supplier<StateViewLease> stateViews,
 			UsagePricesProvider resourceCosts,
 			FunctionalityThrottling throttles,
 			PlatformSubmissionManager submissionManager
@@ -79,7 +80,12 @@ public class StakedAnswerFlow implements AnswerFlow {
 
 	@Override
 	public Response satisfyUsing(AnswerService service, Query query) {
-		StateView view = stateViews.get();
+		try (var lease = stateViews.get()) {
+			return satisfyUsing(service, query, lease.view());
+		}
+	}
+
+	private Response satisfyUsing(AnswerService service, Query query, StateView view) {
 		SignedTxnAccessor accessor = service.extractPaymentFrom(query).orElse(defaultAccessor);
 
 		if (shouldThrottle(service, accessor)) {
@@ -101,6 +107,9 @@ public class StakedAnswerFlow implements AnswerFlow {
 		Map<String, Object> queryCtx = new HashMap<>();
 		if (service.requiresNodePayment(query)) {
 			cost = totalOf(fees.computePayment(query, usagePrices, view, at, queryCtx));
+			if (service.isThrottledGiven(queryCtx)) {
+				return service.responseGiven(query, view, BUSY);
+			}
 			validity = validatePayment(cost, accessor);
 			if (validity != OK) {
 				return service.responseGiven(query, view, validity, cost);
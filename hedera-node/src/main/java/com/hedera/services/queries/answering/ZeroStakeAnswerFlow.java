@@ -21,6 +21,7 @@ package com.hedera.services.queries.answering;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
 import com.hedera.services.legacy.handler.TransactionHandler;
 import com.hedera.services.queries.AnswerFlow;
 import com.hedera.services.queries.AnswerService;
@@ -39,12 +40,12 @@ public class ZeroStakeAnswerFlow implements AnswerFlow {
 	private static final Logger log = LogManager.getLogger(ZeroStakeAnswerFlow.class);
 
 	private final TransactionHandler legacyHandler;
-	private final Supplier<StateView> stateViews;
+	private final Supplier<StateViewLease> stateViews;
 	private final FunctionalityThrottling throttles;
 
 	public ZeroStakeAnswerFlow(
 			TransactionHandler legacyHandler,
-			Supplier<StateView> stateViews,
+			Supplier<StateViewLease> stateViews,
 			FunctionalityThrottling throttles
 	) {
 		this.legacyHandler = legacyHandler;
@@ -54,8 +55,12 @@ public class ZeroStakeAnswerFlow implements AnswerFlow {
 
 	@Override
 	public Response satisfyUsing(AnswerService service, Query query) {
-		var view = stateViews.get();
+		try (var lease = stateViews.get()) {
+			return satisfyUsing(service, query, lease.view());
+		}
+	}
 
+	private Response satisfyUsing(AnswerService service, Query query, StateView view) {
 		if (throttles.shouldThrottle(service.canonicalFunction())) {
 			return service.responseGiven(query, view, BUSY);
 		}
@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCallLocal;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_NEGATIVE_GAS;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
@@ -88,6 +89,12 @@ public class ContractCallLocalAnswer extends AbstractAnswer {
 		return responseFor(query, view, validity, cost, Optional.of(queryCtx));
 	}
 
+	@Override
+	public boolean isThrottledGiven(Map<String, Object> queryCtx) {
+		var response = (ContractCallLocalResponse) queryCtx.get(CONTRACT_CALL_LOCAL_CTX_KEY);
+		return response != null && response.getHeader().getNodeTransactionPrecheckCode() == BUSY;
+	}
+
 	private Response responseFor(
 			Query query,
 			StateView view,
@@ -74,15 +74,38 @@ public class GetAccountBalanceAnswer implements AnswerService {
 
 	@Override
 	public Response responseGiven(Query query, StateView view, ResponseCodeEnum validity, long cost) {
-		FCMap<MerkleEntityId, MerkleAccount> accounts = view.accounts();
 		CryptoGetAccountBalanceQuery op = query.getCryptogetAccountBalance();
 
-		AccountID id = targetOf(op);
+		return answerFor(targetOf(op), view, validity);
+	}
+
+	/**
+	 * Answers the given balance query from the given view, with the same validity a
+	 * standalone query would be given; but with no throttling or query-level checks.
+	 *
+	 * @param op the balance query to answer
+	 * @param view the view to answer from
+	 * @return the answer
+	 */
+	Response answerFor(CryptoGetAccountBalanceQuery op, StateView view) {
+		return answerFor(targetOf(op), view, validityOf(op, view.accounts()));
+	}
+
+	private Response answerFor(AccountID id, StateView view, ResponseCodeEnum validity) {
+		if (validity == OK) {
+			return view.cachedOrComputed(CryptoGetAccountBalance, id, () -> responseFor(id, view, OK));
+		} else {
+			return responseFor(id, view, validity);
+		}
+	}
+
+	private Response responseFor(AccountID id, StateView view, ResponseCodeEnum validity) {
 		CryptoGetAccountBalanceResponse.Builder opAnswer = CryptoGetAccountBalanceResponse.newBuilder()
 				.setHeader(answerOnlyHeader(validity))
 				.setAccountID(id);
 
 		if (validity == OK) {
+			FCMap<MerkleEntityId, MerkleAccount> accounts = view.accounts();
 			var key = MerkleEntityId.fromAccountId(id);
 			var account = accounts.get(key);
 			opAnswer.setBalance(account.getBalance());
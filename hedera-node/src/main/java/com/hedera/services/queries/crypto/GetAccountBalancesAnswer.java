@@ -0,0 +1,125 @@
+package com.hedera.services.queries.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.context.primitives.StateViewLease;
+import com.hedera.services.throttling.AtomicBucketThrottle;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceQuery;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceResponse;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.RESULT_SIZE_LIMIT_EXCEEDED;
+
+/**
+ * Answers many balance queries (including token balances) at once, for internal and
+ * administrative clients that would otherwise send one {@code CryptoGetAccountBalance}
+ * query per account.
+ *
+ * A batch is admitted by a dedicated bucket with capacity for
+ * {@code queries.bulkBalances.maxAccountsPerSec} accounts, charged once for every account
+ * in the batch; and all its balances are read from a single leased state view, so they
+ * are mutually consistent. The individual answers (including their validity) are exactly
+ * those of the {@link GetAccountBalanceAnswer}, and are streamed to the given observer
+ * in request order.
+ */
+public class GetAccountBalancesAnswer {
+	private static final long NANOS_PER_SEC = 1_000_000_000L;
+
+	private final int maxAccounts;
+	private final LongSupplier nanoTime;
+	private final AtomicBucketThrottle throttle;
+	private final Supplier<StateViewLease> stateViews;
+	private final GetAccountBalanceAnswer balanceAnswer;
+
+	public GetAccountBalancesAnswer(
+			int maxAccounts,
+			long maxAccountsPerSec,
+			Supplier<StateViewLease> stateViews,
+			GetAccountBalanceAnswer balanceAnswer
+	) {
+		this(maxAccounts, maxAccountsPerSec, stateViews, balanceAnswer, System::nanoTime);
+	}
+
+	GetAccountBalancesAnswer(
+			int maxAccounts,
+			long maxAccountsPerSec,
+			Supplier<StateViewLease> stateViews,
+			GetAccountBalanceAnswer balanceAnswer,
+			LongSupplier nanoTime
+	) {
+		this.nanoTime = nanoTime;
+		this.stateViews = stateViews;
+		this.maxAccounts = maxAccounts;
+		this.balanceAnswer = balanceAnswer;
+		this.throttle = AtomicBucketThrottle.withTps("bulkBalances", maxAccountsPerSec, NANOS_PER_SEC);
+	}
+
+	public int maxAccounts() {
+		return maxAccounts;
+	}
+
+	/**
+	 * Charges the bulk balances bucket for a response covering the given number of
+	 * accounts; so every bulk read of balances, not only a batch of balance queries, is
+	 * subject to the same per-account limits.
+	 *
+	 * @param numAccounts the number of accounts the response will cover
+	 * @return {@code OK} if the response may be given, or the reason it may not
+	 */
+	public ResponseCodeEnum admit(int numAccounts) {
+		if (numAccounts > maxAccounts) {
+			return RESULT_SIZE_LIMIT_EXCEEDED;
+		}
+		return throttle.allow(numAccounts, nanoTime.getAsLong()) ? OK : BUSY;
+	}
+
+	/**
+	 * Streams the answers to the given balance queries; a query for an account that is
+	 * missing or deleted is answered with the same precheck code it would get on its own.
+	 *
+	 * @param ops the balance queries to answer
+	 * @param observer the observer of the per-query answers
+	 * @return {@code OK} if the batch was answered, or the reason it was not
+	 */
+	public ResponseCodeEnum answerFor(
+			List<CryptoGetAccountBalanceQuery> ops,
+			Consumer<CryptoGetAccountBalanceResponse> observer
+	) {
+		var admission = admit(ops.size());
+		if (admission != OK) {
+			return admission;
+		}
+
+		try (var lease = stateViews.get()) {
+			var view = lease.view();
+			for (var op : ops) {
+				observer.accept(balanceAnswer.answerFor(op, view).getCryptogetAccountBalance());
+			}
+		}
+		return OK;
+	}
+}
@@ -22,7 +22,9 @@ package com.hedera.services.queries.meta;
 
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.records.RecordCache;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.utils.SignedTxnAccessor;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
@@ -42,9 +44,11 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.RECEIPT_NOT_FO
 public class GetTxnReceiptAnswer implements AnswerService {
 	private final TransactionID DEFAULT_TXN_ID = TransactionID.getDefaultInstance();
 	private final RecordCache recordCache;
+	private final QueryResponseCache responseCache;
 
-	public GetTxnReceiptAnswer(RecordCache recordCache) {
+	public GetTxnReceiptAnswer(RecordCache recordCache, QueryResponseCache responseCache) {
 		this.recordCache = recordCache;
+		this.responseCache = responseCache;
 	}
 
 	@Override
@@ -62,6 +66,15 @@ public class GetTxnReceiptAnswer implements AnswerService {
 		TransactionGetReceiptQuery op = query.getTransactionGetReceipt();
 		TransactionGetReceiptResponse.Builder opResponse = TransactionGetReceiptResponse.newBuilder();
 
+		if (validity == OK && !op.getIncludeDuplicates()) {
+			var txnId = op.getTransactionID();
+			var priorityRecord = recordCache.getPriorityExpirableRecord(txnId);
+			if (priorityRecord != null) {
+				return responseCache.getOrCompute(
+						TransactionGetReceipt, txnId, priorityRecord, this::responseFrom);
+			}
+		}
+
 		if (validity == OK) {
 			var txnId = op.getTransactionID();
 			var receipt = recordCache.getPriorityReceipt(txnId);
@@ -81,6 +94,14 @@ public class GetTxnReceiptAnswer implements AnswerService {
 				.build();
 	}
 
+	private Response responseFrom(ExpirableTxnRecord priorityRecord) {
+		return Response.newBuilder()
+				.setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+						.setHeader(answerOnlyHeader(OK))
+						.setReceipt(priorityRecord.getReceipt().toGrpc()))
+				.build();
+	}
+
 	@Override
 	public ResponseCodeEnum checkValidity(Query query, StateView view) {
 		boolean isOk = (!DEFAULT_TXN_ID.equals(query.getTransactionGetReceipt().getTransactionID()));
@@ -23,7 +23,6 @@ package com.hedera.services.records;
 import com.google.common.cache.Cache;
 import com.hedera.services.context.ServicesContext;
 import com.hedera.services.legacy.core.jproto.TxnReceipt;
-import com.hedera.services.state.expiry.MonotonicFullQueueExpiries;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.utils.TxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -52,14 +51,12 @@ public class RecordCache {
 
 	private ServicesContext ctx;
 	private Cache<TransactionID, Boolean> timedReceiptCache;
-	private Map<TransactionID, TxnIdRecentHistory> histories;
-
-	MonotonicFullQueueExpiries<TransactionID> recordExpiries = new MonotonicFullQueueExpiries<>();
+	private Map<TxnIdKey, TxnIdRecentHistory> histories;
 
 	public RecordCache(
 			ServicesContext ctx,
 			Cache<TransactionID, Boolean> timedReceiptCache,
-			Map<TransactionID, TxnIdRecentHistory> histories
+			Map<TxnIdKey, TxnIdRecentHistory> histories
 	) {
 		this.ctx = ctx;
 		this.histories = histories;
@@ -75,7 +72,7 @@ public class RecordCache {
 			ResponseCodeEnum status,
 			ExpirableTxnRecord record
 	) {
-		var recentHistory = histories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+		var recentHistory = histories.computeIfAbsent(TxnIdKey.from(txnId), ignore -> new TxnIdRecentHistory());
 		recentHistory.observe(record, status);
 	}
 
@@ -101,21 +98,33 @@ public class RecordCache {
 				grpc,
 				consensusTimestamp.getEpochSecond(),
 				submittingMember);
-		var recentHistory = histories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+		var recentHistory = histories.computeIfAbsent(TxnIdKey.from(txnId), ignore -> new TxnIdRecentHistory());
 		recentHistory.observe(record, FAIL_INVALID);
 	}
 
 	public boolean isReceiptPresent(TransactionID txnId) {
-		return histories.containsKey(txnId) || timedReceiptCache.getIfPresent(txnId) == MARKER;
+		return histories.containsKey(TxnIdKey.from(txnId)) || timedReceiptCache.getIfPresent(txnId) == MARKER;
 	}
 
 	public TransactionReceipt getPriorityReceipt(TransactionID txnId) {
-		var recentHistory = histories.get(txnId);
+		var recentHistory = histories.get(TxnIdKey.from(txnId));
 		return recentHistory != null
 				? receiptFrom(recentHistory)
 				: (timedReceiptCache.getIfPresent(txnId) == MARKER ? UNKNOWN_RECEIPT : null);
 	}
 
+	/**
+	 * Returns the (immutable) record whose receipt is the priority receipt for the given
+	 * transaction id, if it has reached consensus.
+	 *
+	 * @param txnId the transaction id of interest
+	 * @return the priority record, or null if there is none
+	 */
+	public ExpirableTxnRecord getPriorityExpirableRecord(TransactionID txnId) {
+		var recentHistory = histories.get(TxnIdKey.from(txnId));
+		return recentHistory != null ? recentHistory.priorityRecord() : null;
+	}
+
 	public List<TransactionRecord> getDuplicateRecords(TransactionID txnId) {
 		return duplicatesOf(txnId);
 	}
@@ -125,7 +134,7 @@ public class RecordCache {
 	}
 
 	private List<TransactionRecord> duplicatesOf(TransactionID txnId) {
-		var recentHistory = histories.get(txnId);
+		var recentHistory = histories.get(TxnIdKey.from(txnId));
 		if (recentHistory == null) {
 			return Collections.emptyList();
 		} else {
@@ -144,7 +153,7 @@ public class RecordCache {
 	}
 
 	public TransactionRecord getPriorityRecord(TransactionID txnId) {
-		var history = histories.get(txnId);
+		var history = histories.get(TxnIdKey.from(txnId));
 		if (history != null) {
 			return Optional.ofNullable(history.priorityRecord())
 					.map(ExpirableTxnRecord::asGrpc)
@@ -152,25 +161,4 @@ public class RecordCache {
 		}
 		return null;
 	}
-
-	public void forgetAnyOtherExpiredHistory(long now) {
-		while (recordExpiries.hasExpiringAt(now)) {
-			var txnId = recordExpiries.expireNextAt(now);
-			var history = histories.get(txnId);
-			if (history != null) {
-				history.forgetExpiredAt(now);
-				if (history.isForgotten()) {
-					histories.remove(txnId);
-				}
-			}
-		}
-	}
-
-	public void trackForExpiry(ExpirableTxnRecord record) {
-		recordExpiries.track(record.getTxnId().toGrpc(), record.getExpiry());
-	}
-
-	public void reset() {
-		recordExpiries.reset();
-	}
 }
@@ -0,0 +1,125 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.hedera.services.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.TransactionID;
+
+/**
+ * A fixed-width key for the recent history of a transaction id; that is, the payer
+ * account, the valid start seconds and nanos, and the scheduled flag, all as primitives.
+ *
+ * Unlike a gRPC {@link TransactionID}, hashing and equality here never touch a nested
+ * message, and an instance is a single small object.
+ */
+public final class TxnIdKey {
+	private final long payerShard;
+	private final long payerRealm;
+	private final long payerNum;
+	private final long validStartSecs;
+	private final int validStartNanos;
+	private final boolean scheduled;
+
+	TxnIdKey(long payerShard, long payerRealm, long payerNum, long validStartSecs, int validStartNanos, boolean scheduled) {
+		this.payerShard = payerShard;
+		this.payerRealm = payerRealm;
+		this.payerNum = payerNum;
+		this.validStartSecs = validStartSecs;
+		this.validStartNanos = validStartNanos;
+		this.scheduled = scheduled;
+	}
+
+	public static TxnIdKey from(TransactionID grpc) {
+		var payer = grpc.getAccountID();
+		var validStart = grpc.getTransactionValidStart();
+		return new TxnIdKey(
+				payer.getShardNum(),
+				payer.getRealmNum(),
+				payer.getAccountNum(),
+				validStart.getSeconds(),
+				validStart.getNanos(),
+				grpc.getScheduled());
+	}
+
+	public static TxnIdKey from(TxnId txnId) {
+		var payer = txnId.getPayerAccount();
+		var validStart = txnId.getValidStart();
+		return new TxnIdKey(
+				payer.shard(),
+				payer.realm(),
+				payer.num(),
+				validStart.getSeconds(),
+				validStart.getNanos(),
+				txnId.isScheduled());
+	}
+
+	public long getPayerNum() {
+		return payerNum;
+	}
+
+	public long getValidStartSecs() {
+		return validStartSecs;
+	}
+
+	public int getValidStartNanos() {
+		return validStartNanos;
+	}
+
+	public boolean isScheduled() {
+		return scheduled;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || TxnIdKey.class != o.getClass()) {
+			return false;
+		}
+		var that = (TxnIdKey) o;
+		return this.payerNum == that.payerNum &&
+				this.validStartSecs == that.validStartSecs &&
+				this.validStartNanos == that.validStartNanos &&
+				this.scheduled == that.scheduled &&
+				this.payerRealm == that.payerRealm &&
+				this.payerShard == that.payerShard;
+	}
+
+	@Override
+	public int hashCode() {
+		long h = payerNum * 0x9E3779B97F4A7C15L;
+		h = (h ^ validStartSecs) * 0x9E3779B97F4A7C15L;
+		h = (h ^ ((long) validStartNanos << 1) ^ (scheduled ? 1L : 0L)) * 0x9E3779B97F4A7C15L;
+		h = (h ^ payerRealm ^ (payerShard << 32)) * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(TxnIdKey.class)
+				.add("payer", String.format("%d.%d.%d", payerShard, payerRealm, payerNum))
+				.add("validStart", String.format("%d.%09d", validStartSecs, getValidStartNanos()))
+				.add("scheduled", isScheduled())
+				.toString();
+	}
+}
@@ -24,18 +24,14 @@ import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.state.submerkle.RichInstant;
 import com.hedera.services.txns.diligence.DuplicateClassification;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
-import org.ethereum.db.index.Index;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.ConcurrentModificationException;
 import java.util.EnumSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.NoSuchElementException;
 
 import static com.hedera.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
 import static com.hedera.services.txns.diligence.DuplicateClassification.DUPLICATE;
@@ -44,8 +40,20 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_NODE_A
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_PAYER_SIGNATURE;
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingLong;
-import static java.util.stream.Collectors.toList;
 
+/**
+ * The recent history of a single transaction id; that is, every record with this id
+ * that has not yet expired, split into records whose status lets them be classified
+ * as (node) duplicates and those whose status does not.
+ *
+ * Classifiable records are kept with one record from each distinct submitting member
+ * first, in arrival order, followed by any node duplicates. Both kinds are held in
+ * small arrays sized for the common case of a single record, so classifying a new
+ * submission never allocates.
+ *
+ * As before, the count of distinct submitting members is never reduced when records
+ * expire; it still covers the leading positions of the surviving classifiable records.
+ */
 public class TxnIdRecentHistory {
 	private static final Comparator<RichInstant> RI_CMP =
 			comparingLong(RichInstant::getSeconds).thenComparingInt(RichInstant::getNanos);
@@ -54,42 +62,39 @@ public class TxnIdRecentHistory {
 
 	int numDuplicates = 0;
 	List<ExpirableTxnRecord> memory = null;
-	List<ExpirableTxnRecord> classifiableRecords = null;
-	List<ExpirableTxnRecord> unclassifiableRecords = null;
+	ExpirableTxnRecord[] classifiableRecords = null;
+	int numClassifiable = 0;
+	ExpirableTxnRecord[] unclassifiableRecords = null;
+	int numUnclassifiable = 0;
 
 	public static final EnumSet<ResponseCodeEnum> UNCLASSIFIABLE_STATUSES = EnumSet.of(
 			INVALID_NODE_ACCOUNT,
 			INVALID_PAYER_SIGNATURE);
 
 	public ExpirableTxnRecord priorityRecord() {
-		if (areForgotten(classifiableRecords)) {
-			return areForgotten(unclassifiableRecords) ? null : unclassifiableRecords.get(0);
+		if (numClassifiable == 0) {
+			return numUnclassifiable == 0 ? null : unclassifiableRecords[0];
 		} else {
-			return classifiableRecords.get(0);
+			return classifiableRecords[0];
 		}
 	}
 
 	public List<ExpirableTxnRecord> duplicateRecords() {
-		return Stream.concat(classifiableDuplicates(), unclassifiableDuplicates())
-				.sorted(CONSENSUS_TIME_COMPARATOR)
-				.collect(toList());
-	}
-
-	private Stream<ExpirableTxnRecord> classifiableDuplicates() {
-		if (areForgotten(classifiableRecords) || classifiableRecords.size() == 1) {
-			return Stream.empty();
-		} else {
-			return classifiableRecords.subList(1, classifiableRecords.size()).stream();
+		int classifiableStart = Math.min(1, numClassifiable);
+		int unclassifiableStart = Math.min(numClassifiable == 0 ? 1 : 0, numUnclassifiable);
+		int n = (numClassifiable - classifiableStart) + (numUnclassifiable - unclassifiableStart);
+		if (n == 0) {
+			return Collections.emptyList();
 		}
-	}
-
-	private Stream<ExpirableTxnRecord> unclassifiableDuplicates() {
-		int startIndex = areForgotten(classifiableRecords) ? 1 : 0;
-		if (areForgotten(unclassifiableRecords) || unclassifiableRecords.size() <= startIndex) {
-			return Stream.empty();
-		} else {
-			return unclassifiableRecords.subList(startIndex, unclassifiableRecords.size()).stream();
+		List<ExpirableTxnRecord> duplicates = new ArrayList<>(n);
+		for (int i = classifiableStart; i < numClassifiable; i++) {
+			duplicates.add(classifiableRecords[i]);
 		}
+		for (int i = unclassifiableStart; i < numUnclassifiable; i++) {
+			duplicates.add(unclassifiableRecords[i]);
+		}
+		duplicates.sort(CONSENSUS_TIME_COMPARATOR);
+		return duplicates;
 	}
 
 	public boolean isStagePending() {
@@ -97,11 +102,7 @@ public class TxnIdRecentHistory {
 	}
 
 	public boolean isForgotten() {
-		return areForgotten(classifiableRecords) && areForgotten(unclassifiableRecords);
-	}
-
-	private boolean areForgotten(List<ExpirableTxnRecord> records) {
-		return records == null || records.isEmpty();
+		return numClassifiable == 0 && numUnclassifiable == 0;
 	}
 
 	public void observe(ExpirableTxnRecord record, ResponseCodeEnum status) {
@@ -126,54 +127,66 @@ public class TxnIdRecentHistory {
 	}
 
 	private void addClassifiable(ExpirableTxnRecord record) {
-		if (classifiableRecords == null) {
-			classifiableRecords = new LinkedList<>();
-		}
-		int i = 0;
-		long submittingMember = record.getSubmittingMember();
-		var iter = classifiableRecords.listIterator();
-		boolean isNodeDuplicate = false;
-		while (i < numDuplicates) {
-			if (submittingMember == iter.next().getSubmittingMember()) {
-				isNodeDuplicate = true;
-				break;
-			}
-			i++;
-		}
-		if (isNodeDuplicate) {
-			classifiableRecords.add(record);
+		classifiableRecords = ensureRoomIn(classifiableRecords, numClassifiable);
+		if (isFromDuplicateMember(record.getSubmittingMember())) {
+			classifiableRecords[numClassifiable++] = record;
 		} else {
-			numDuplicates++;
-			iter.add(record);
+			System.arraycopy(
+					classifiableRecords, numDuplicates,
+					classifiableRecords, numDuplicates + 1,
+					numClassifiable - numDuplicates);
+			classifiableRecords[numDuplicates++] = record;
+			numClassifiable++;
 		}
 	}
 
 	private void addUnclassifiable(ExpirableTxnRecord record) {
-		if (unclassifiableRecords == null) {
-			unclassifiableRecords = new LinkedList<>();
+		unclassifiableRecords = ensureRoomIn(unclassifiableRecords, numUnclassifiable);
+		unclassifiableRecords[numUnclassifiable++] = record;
+	}
+
+	private static ExpirableTxnRecord[] ensureRoomIn(ExpirableTxnRecord[] records, int n) {
+		if (records == null) {
+			return new ExpirableTxnRecord[1];
 		}
-		unclassifiableRecords.add(record);
+		return (n < records.length) ? records : Arrays.copyOf(records, 2 * records.length);
 	}
 
 	public void forgetExpiredAt(long now) {
-		Optional.ofNullable(classifiableRecords).ifPresent(l -> forgetFromList(l, now));
-		Optional.ofNullable(unclassifiableRecords).ifPresent(l -> forgetFromList(l, now));
+		numClassifiable = forgetExpiredIn(classifiableRecords, numClassifiable, now);
+		numUnclassifiable = forgetExpiredIn(unclassifiableRecords, numUnclassifiable, now);
 	}
 
-	private void forgetFromList(List<ExpirableTxnRecord> records, long now) {
-		records.removeIf(record -> record.getExpiry() <= now);
+	private static int forgetExpiredIn(ExpirableTxnRecord[] records, int n, long now) {
+		int kept = 0;
+		for (int i = 0; i < n; i++) {
+			var record = records[i];
+			if (record.getExpiry() > now) {
+				records[kept++] = record;
+			}
+		}
+		if (kept < n) {
+			Arrays.fill(records, kept, n, null);
+		}
+		return kept;
 	}
 
 	public DuplicateClassification currentDuplicityFor(long submittingMember) {
 		if (numDuplicates == 0) {
 			return BELIEVED_UNIQUE;
 		}
-		var iter = classifiableRecords.listIterator();
+		return isFromDuplicateMember(submittingMember) ? NODE_DUPLICATE : DUPLICATE;
+	}
+
+	private boolean isFromDuplicateMember(long submittingMember) {
 		for (int i = 0; i < numDuplicates; i++) {
-			if (iter.next().getSubmittingMember() == submittingMember) {
-				return NODE_DUPLICATE;
+			if (i == numClassifiable) {
+				throw new NoSuchElementException();
+			}
+			if (classifiableRecords[i].getSubmittingMember() == submittingMember) {
+				return true;
 			}
 		}
-		return DUPLICATE;
+		return false;
 	}
 }
@@ -35,6 +35,8 @@ import com.swirlds.common.crypto.TransactionSignature;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -49,6 +51,7 @@ class Expansion {
 	private final HederaSigningOrder keyOrderer;
 	private final PubKeyToSigBytesProvider sigsProvider;
 	private final TxnScopedPlatformSigFactory sigFactory;
+	private final List<TransactionSignature> expandedSigs = new ArrayList<>();
 
 	public Expansion(
 			PlatformTxnAccessor txnAccessor,
@@ -84,6 +87,9 @@ class Expansion {
 						otherStatus);
 			}
 		}
+		if (!expandedSigs.isEmpty()) {
+			txnAccessor.getPlatformTxn().addAll(expandedSigs.toArray(new TransactionSignature[0]));
+		}
 		return otherStatus;
 	}
 
@@ -99,7 +105,7 @@ class Expansion {
 		var creationResult = createEd25519PlatformSigsFrom(
 				orderResult.getOrderedKeys(), sigsFn.apply(txnAccessor.getBackwardCompatibleSignedTxn()), sigFactory);
 		if (!creationResult.hasFailed()) {
-			txnAccessor.getPlatformTxn().addAll(creationResult.getPlatformSigs().toArray(new TransactionSignature[0]));
+			expandedSigs.addAll(creationResult.getPlatformSigs());
 		}
 		/* Ignore sig creation failures. */
 		return successFor(false, txnAccessor);
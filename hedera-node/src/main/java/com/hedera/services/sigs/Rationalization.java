@@ -61,6 +61,8 @@ public class Rationalization {
 	private final PubKeyToSigBytesProvider sigsProvider;
 	private final TxnScopedPlatformSigFactory sigFactory;
 
+	private boolean txnSigsObserved = false;
+
 	public Rationalization(
 			TxnAccessor txnAccessor,
 			SyncVerifier syncVerifier,
@@ -120,6 +122,11 @@ public class Rationalization {
 			}
 		} catch (IndexOutOfBoundsException ignore) {
 		}
+		if (!txnSigsObserved) {
+			/* Let the verifier reuse any outcomes of the platform's async verification */
+			syncVerifier.observeVerified(txnSigs);
+			txnSigsObserved = true;
+		}
 		syncVerifier.verifySync(realSigs);
 		return realSigs;
 	}
@@ -25,8 +25,6 @@ import com.hederahashgraph.api.proto.java.SignatureMap;
 import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
 import java.util.Arrays;
-import java.util.List;
-import static java.util.stream.Collectors.toList;
 
 /**
  * A source of cryptographic signatures backed by a {@link SignatureMap} instance.
@@ -43,7 +41,10 @@ import static java.util.stream.Collectors.toList;
  * @author Michael Tinker
  */
 public class SigMapPubKeyToSigBytes implements PubKeyToSigBytes {
+	static final int MAX_PAIRS_TO_SCAN = 8;
+
 	private final SignatureMap sigMap;
+	private SortedPrefixes index = null;
 
 	SigMapPubKeyToSigBytes(SignatureMap sigMap) {
 		this.sigMap = sigMap;
@@ -51,15 +52,30 @@ public class SigMapPubKeyToSigBytes implements PubKeyToSigBytes {
 
 	@Override
 	public byte[] sigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
-		List<byte[]> matchingSigs = sigMap.getSigPairList()
-				.stream()
-				.filter(sp -> beginsWith(pubKey, sp.getPubKeyPrefix().toByteArray()))
-				.map(this::sigBytesFor)
-				.collect(toList());
-		if (matchingSigs.size() > 1) {
-			throw new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
+		var match = (sigMap.getSigPairCount() <= MAX_PAIRS_TO_SCAN)
+				? scannedMatchFor(pubKey)
+				: index().matchFor(pubKey);
+		return (match == null) ? EMPTY_SIG : sigBytesFor(match);
+	}
+
+	private SignaturePair scannedMatchFor(byte[] pubKey) throws KeyPrefixMismatchException {
+		SignaturePair match = null;
+		for (var sp : sigMap.getSigPairList()) {
+			if (beginsWith(pubKey, sp.getPubKeyPrefix())) {
+				if (match != null) {
+					throw ambiguityFor();
+				}
+				match = sp;
+			}
+		}
+		return match;
+	}
+
+	private SortedPrefixes index() {
+		if (index == null) {
+			index = new SortedPrefixes(sigMap);
 		}
-		return matchingSigs.isEmpty() ? EMPTY_SIG : matchingSigs.get(0);
+		return index;
 	}
 
 	private byte[] sigBytesFor(SignaturePair sp) {
@@ -76,4 +92,96 @@ public class SigMapPubKeyToSigBytes implements PubKeyToSigBytes {
 		int n = prefix.length;
 		return Arrays.equals(prefix, 0, n, pubKey, 0, n);
 	}
+
+	private static boolean beginsWith(byte[] pubKey, ByteString prefix) {
+		int n = prefix.size();
+		if (n > pubKey.length) {
+			return false;
+		}
+		for (int i = 0; i < n; i++) {
+			if (prefix.byteAt(i) != pubKey[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static KeyPrefixMismatchException ambiguityFor() {
+		return new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
+	}
+
+	/**
+	 * The prefixes of a (larger) signature map in unsigned lexicographic order. Every
+	 * prefix of a key sorts at or before the key itself, so the candidate matches for
+	 * a key can be found by repeatedly taking the greatest prefix not after some
+	 * (shrinking) leading part of the key.
+	 */
+	private static final class SortedPrefixes {
+		private final byte[][] prefixes;
+		private final SignaturePair[] pairs;
+
+		private SortedPrefixes(SignatureMap sigMap) {
+			int n = sigMap.getSigPairCount();
+			var unsorted = new byte[n][];
+			var order = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				unsorted[i] = sigMap.getSigPair(i).getPubKeyPrefix().toByteArray();
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(unsorted[a], unsorted[b]));
+			prefixes = new byte[n][];
+			pairs = new SignaturePair[n];
+			for (int i = 0; i < n; i++) {
+				prefixes[i] = unsorted[order[i]];
+				pairs[i] = sigMap.getSigPair(order[i]);
+			}
+		}
+
+		private SignaturePair matchFor(byte[] pubKey) throws KeyPrefixMismatchException {
+			SignaturePair match = null;
+			int len = pubKey.length;
+			while (len >= 0) {
+				int i = floorOf(pubKey, len);
+				if (i < 0) {
+					break;
+				}
+				var prefix = prefixes[i];
+				int common = commonLength(prefix, pubKey, len);
+				if (common == prefix.length) {
+					if (match != null || (i > 0 && Arrays.equals(prefixes[i - 1], prefix))) {
+						throw ambiguityFor();
+					}
+					match = pairs[i];
+					len = prefix.length - 1;
+				} else {
+					len = common;
+				}
+			}
+			return match;
+		}
+
+		/* Returns the index of the greatest prefix not after the first len bytes of key, or -1 if none. */
+		private int floorOf(byte[] key, int len) {
+			int lo = 0, hi = prefixes.length - 1, floor = -1;
+			while (lo <= hi) {
+				int mid = (lo + hi) >>> 1;
+				if (Arrays.compareUnsigned(prefixes[mid], 0, prefixes[mid].length, key, 0, len) <= 0) {
+					floor = mid;
+					lo = mid + 1;
+				} else {
+					hi = mid - 1;
+				}
+			}
+			return floor;
+		}
+
+		private static int commonLength(byte[] prefix, byte[] key, int len) {
+			int n = Math.min(prefix.length, len);
+			int i = 0;
+			while (i < n && prefix[i] == key[i]) {
+				i++;
+			}
+			return i;
+		}
+	}
 }
@@ -0,0 +1,179 @@
+package com.hedera.services.sigs.verification;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+
+/**
+ * A {@link SyncVerifier} that remembers the outcome of every Ed25519 verification it
+ * performs or observes, in a bounded concurrent cache keyed by the exact public key
+ * and signature, and the SHA-384 digest of the signed message. This lets the outcomes
+ * of precheck, of the platform's asynchronous verification of expanded signatures, and
+ * of earlier handle-time verifications all be reused, instead of re-verified on the
+ * handle thread.
+ */
+public class CachingSyncVerifier implements SyncVerifier {
+	static final int DEFAULT_MAX_SIGS = 16_384;
+
+	private final SyncVerifier delegate;
+	private final MiscSpeedometers speedometers;
+	private final Cache<SigMaterial, VerificationStatus> outcomes;
+
+	public CachingSyncVerifier(SyncVerifier delegate, MiscSpeedometers speedometers) {
+		this(delegate, speedometers, DEFAULT_MAX_SIGS);
+	}
+
+	CachingSyncVerifier(SyncVerifier delegate, MiscSpeedometers speedometers, int maxSigs) {
+		this.delegate = delegate;
+		this.speedometers = speedometers;
+		this.outcomes = CacheBuilder.newBuilder()
+				.maximumSize(maxSigs)
+				.build();
+	}
+
+	@Override
+	public void verifySync(List<TransactionSignature> unknownSigs) {
+		int n = unknownSigs.size();
+		int[] missIndices = null;
+		int numMisses = 0;
+		for (int i = 0; i < n; i++) {
+			var sig = unknownSigs.get(i);
+			var known = outcomes.getIfPresent(new SigMaterial(sig));
+			if (known != null) {
+				sig.setSignatureStatus(known);
+			} else {
+				if (missIndices == null) {
+					missIndices = new int[n - i];
+				}
+				missIndices[numMisses++] = i;
+			}
+		}
+
+		speedometers.cycleSigCacheHits(n - numMisses);
+		if (numMisses == 0) {
+			return;
+		}
+		speedometers.cycleSigCacheMisses(numMisses);
+		if (numMisses == n) {
+			delegate.verifySync(unknownSigs);
+			observeVerified(unknownSigs);
+		} else {
+			List<TransactionSignature> misses = new ArrayList<>(numMisses);
+			for (int i = 0; i < numMisses; i++) {
+				misses.add(unknownSigs.get(missIndices[i]));
+			}
+			delegate.verifySync(misses);
+			observeVerified(misses);
+			/* The delegate may have replaced, rather than updated, the sigs in the list */
+			for (int i = 0; i < numMisses; i++) {
+				unknownSigs.set(missIndices[i], misses.get(i));
+			}
+		}
+	}
+
+	@Override
+	public void observeVerified(List<TransactionSignature> sigs) {
+		for (var sig : sigs) {
+			var status = sig.getSignatureStatus();
+			if (status == VALID || status == INVALID) {
+				outcomes.put(new SigMaterial(sig), status);
+			}
+		}
+	}
+
+	long numCached() {
+		return outcomes.size();
+	}
+
+	/**
+	 * The public key and signature of a {@link TransactionSignature}, with the SHA-384
+	 * digest of its signed message; all copied out of the signature, so that a cached
+	 * entry never pins the (much larger) contents buffer it was verified against.
+	 */
+	static final class SigMaterial {
+		private static final int DIGEST_LEN = 48;
+		private static final ThreadLocal<MessageDigest> SHA384 = ThreadLocal.withInitial(SigMaterial::sha384);
+
+		private final byte[] material;
+		private final int pubKeyLen;
+		private final int hash;
+
+		SigMaterial(TransactionSignature sig) {
+			var pubKey = sig.getExpandedPublicKeyDirect();
+			var contents = sig.getContentsDirect();
+			int sigOffset = sig.getSignatureOffset(), sigLen = sig.getSignatureLength();
+
+			pubKeyLen = pubKey.length;
+			material = new byte[pubKeyLen + sigLen + DIGEST_LEN];
+			System.arraycopy(pubKey, 0, material, 0, pubKey.length);
+			System.arraycopy(contents, sigOffset, material, pubKey.length, sigLen);
+			var digest = SHA384.get();
+			digest.update(contents, sig.getMessageOffset(), sig.getMessageLength());
+			try {
+				digest.digest(material, pubKey.length + sigLen, DIGEST_LEN);
+			} catch (DigestException impossible) {
+				throw new IllegalStateException("SHA-384 digest did not fit in 48 bytes!", impossible);
+			}
+			hash = 31 * pubKeyLen + Arrays.hashCode(material);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || SigMaterial.class != o.getClass()) {
+				return false;
+			}
+			var that = (SigMaterial) o;
+			return this.hash == that.hash &&
+					this.pubKeyLen == that.pubKeyLen &&
+					Arrays.equals(this.material, that.material);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		private static MessageDigest sha384() {
+			try {
+				return MessageDigest.getInstance("SHA-384");
+			} catch (NoSuchAlgorithmException impossible) {
+				throw new IllegalStateException("SHA-384 not supported by Java API!");
+			}
+		}
+	}
+}
@@ -39,4 +39,14 @@ public interface SyncVerifier {
 	 * 		the sigs to verify.
 	 */
 	void verifySync(List<TransactionSignature> unknownSigs);
+
+	/**
+	 * Offers a list of {@link TransactionSignature} objects whose statuses were resolved
+	 * elsewhere (e.g., asynchronously by the platform), in case this verifier can reuse them.
+	 *
+	 * @param verifiedSigs
+	 * 		the sigs with known statuses.
+	 */
+	default void observeVerified(List<TransactionSignature> verifiedSigs) {
+	}
 }
@@ -21,14 +21,12 @@ package com.hedera.services.state;
  */
 
 import com.hedera.services.ledger.HederaLedger;
-import com.hedera.services.records.RecordCache;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
 
 public interface EntityCreator {
 	void setLedger(HederaLedger ledger);
-	void setRecordCache(RecordCache recordCache);
 
 	ExpirableTxnRecord createExpiringRecord(AccountID id, TransactionRecord record, long now, long submittingMember);
 }
@@ -22,14 +22,13 @@ package com.hedera.services.state.expiry;
 
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.HederaLedger;
-import com.hedera.services.records.RecordCache;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.state.EntityCreator;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
 
 public class ExpiringCreations implements EntityCreator {
-	private RecordCache recordCache;
 	private HederaLedger ledger;
 	private final ExpiryManager expiries;
 	private final GlobalDynamicProperties dynamicProperties;
@@ -42,11 +41,6 @@ public class ExpiringCreations implements EntityCreator {
 		this.dynamicProperties = dynamicProperties;
 	}
 
-	@Override
-	public void setRecordCache(RecordCache recordCache) {
-		this.recordCache = recordCache;
-	}
-
 	@Override
 	public void setLedger(HederaLedger ledger) {
 		this.ledger = ledger;
@@ -75,7 +69,7 @@ public class ExpiringCreations implements EntityCreator {
 			ledger.addRecord(owner, record);
 			expiries.trackRecord(owner, record.getExpiry());
 		} else {
-			recordCache.trackForExpiry(record);
+			expiries.trackHistory(TxnIdKey.from(record.getTxnId()), record.getExpiry());
 		}
 	}
 
@@ -21,139 +21,210 @@ package com.hedera.services.state.expiry;
  */
 
 import com.hedera.services.ledger.HederaLedger;
-import com.hedera.services.records.RecordCache;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.records.TxnIdRecentHistory;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleSchedule;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.state.validation.LedgerTally;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hederahashgraph.api.proto.java.AccountID;
-import com.hederahashgraph.api.proto.java.TransactionID;
 import com.swirlds.fcmap.FCMap;
-import com.swirlds.fcqueue.FCQueue;
 import javafx.util.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static com.hedera.services.state.expiry.PayerRecordsScan.packed;
+
+/**
+ * Tracks everything that expires by consensus second&mdash;payer records in state,
+ * the recent history of transaction ids whose records are not kept in state,
+ * and expiring entities such as schedules&mdash;in a single shared {@link TimerWheelExpiries}.
+ *
+ * Each id in the wheel carries its kind in its high {@code 64 - KIND_SHIFT} bits. Payer
+ * records are identified directly by account number; kinds that need an object payload
+ * refer to it through a reusable handle table.
+ */
 public class ExpiryManager {
-	private final RecordCache recordCache;
-	private final Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private static final Logger log = LogManager.getLogger(ExpiryManager.class);
+
+	static final int KIND_SHIFT = 56;
+	static final long PAYLOAD_MASK = (1L << KIND_SHIFT) - 1;
+	static final long PAYER_RECORDS = 0L;
+	static final long TXN_ID_HISTORY = 1L;
+	static final long EXPIRING_ENTITY = 2L;
+
+	private static final int INITIAL_HANDLES = 1024;
+
+	private final Map<TxnIdKey, TxnIdRecentHistory> txnHistories;
 	private final FCMap<MerkleEntityId, MerkleSchedule> schedules;
+	private final Consumer<ExpirableTxnRecord> historyUpdater = this::updateHistory;
 
 	private final ScheduleStore scheduleStore;
+	private final MiscRunningAvgs runningAvgs;
+	private final Supplier<LedgerTally> ledgerTallies;
+
+	private LedgerTally lastLedgerTally = null;
 
 	long sharedNow;
-	MonotonicFullQueueExpiries<Long> payerExpiries = new MonotonicFullQueueExpiries<>();
-	MonotonicFullQueueExpiries<Pair<Long, Consumer<EntityId>>> entityExpiries = new MonotonicFullQueueExpiries<>();
+	PayerRecordsScan payerRecordsScan = new PayerRecordsScan(ForkJoinPool.commonPool());
+	TimerWheelExpiries expiries = new TimerWheelExpiries();
+
+	Object[] payloads = new Object[INITIAL_HANDLES];
+	int[] freeHandles = new int[INITIAL_HANDLES];
+	int numFreeHandles = 0;
+	int handlesUsed = 0;
 
 	public ExpiryManager(
-			RecordCache recordCache,
-			Map<TransactionID, TxnIdRecentHistory> txnHistories,
+			Map<TxnIdKey, TxnIdRecentHistory> txnHistories,
 			ScheduleStore scheduleStore,
-			FCMap<MerkleEntityId, MerkleSchedule> schedules
+			FCMap<MerkleEntityId, MerkleSchedule> schedules,
+			MiscRunningAvgs runningAvgs,
+			Supplier<LedgerTally> ledgerTallies
 	) {
-		this.recordCache = recordCache;
 		this.txnHistories = txnHistories;
 		this.scheduleStore = scheduleStore;
+		this.runningAvgs = runningAvgs;
+		this.ledgerTallies = ledgerTallies;
 
 		this.schedules = schedules;
 	}
 
 	public void trackRecord(AccountID owner, long expiry) {
-		payerExpiries.track(owner.getAccountNum(), expiry);
+		expiries.trackNum(tagged(PAYER_RECORDS, owner.getAccountNum()), expiry);
+	}
+
+	/**
+	 * Tracks the expiry of the recent history of a transaction id whose record is not kept in state.
+	 *
+	 * @param txnId the id of the transaction with the record
+	 * @param expiry the consensus second at which the record expires
+	 */
+	public void trackHistory(TxnIdKey txnId, long expiry) {
+		expiries.trackNum(tagged(TXN_ID_HISTORY, handleFor(txnId)), expiry);
 	}
 
+	/**
+	 * Clears all tracked expiries and rebuilds the payer record expiries and recent
+	 * transaction history from the given accounts. Since this resets the shared expiry
+	 * wheel, it must be followed by {@link ExpiryManager#restartEntitiesTracking()}.
+	 *
+	 * The accounts are scanned in parallel partitions by a {@link PayerRecordsScan}, so
+	 * they must not be modified until this method returns. The same scan tallies them for
+	 * ledger validation; the result is then available from {@link #lastLedgerTally()}.
+	 *
+	 * @param accounts the accounts whose records should be tracked
+	 */
 	public void restartTrackingFrom(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		recordCache.reset();
+		long start = System.nanoTime();
 		txnHistories.clear();
-		payerExpiries.reset();
-
-		var _payerExpiries = new ArrayList<Map.Entry<Long, Long>>();
-		accounts.forEach((id, account) -> {
-			addUniqueExpiries(id.getNum(), account.records(), _payerExpiries);
-		});
+		resetExpiries();
 
-		var cmp = Comparator.comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey);
-		_payerExpiries.sort(cmp);
-		_payerExpiries.forEach(entry -> payerExpiries.track(entry.getKey(), entry.getValue()));
+		var tally = ledgerTallies.get();
+		payerRecordsScan.scan(
+				accounts,
+				this::stage,
+				(num, expiry) -> expiries.trackNum(tagged(PAYER_RECORDS, num), expiry),
+				tally);
+		lastLedgerTally = tally;
 
 		txnHistories.values().forEach(TxnIdRecentHistory::observeStaged);
+
+		double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+		runningAvgs.recordExpiryRestartMs(elapsedMs);
+		log.info("Restarted tracking of {} payer expiries ({} txn ids) from {} partitions in {}ms",
+				payerRecordsScan.numExpiries, txnHistories.size(), payerRecordsScan.numPartitions, elapsedMs);
 	}
 
 	/**
-	 * Invites the expiry manager to build any auxiliary data structures later needed to purge expired entities.
+	 * Returns the ledger tally of the accounts from the last restart of tracking, if any.
+	 *
+	 * @return the tally of the accounts last scanned, or null if none have been
 	 */
-	public void restartEntitiesTracking() {
-		entityExpiries.reset();
-
-		var expiries = new ArrayList<Map.Entry<Pair<Long, Consumer<EntityId>>, Long>>();
-		schedules.forEach((id, schedule) -> {
-			var pair = new Pair<Long, Consumer<EntityId>>(id.getNum(), scheduleStore::expire);
-			expiries.add(new AbstractMap.SimpleImmutableEntry<>(pair, schedule.expiry()));
-		});
-
-		var cmp = Comparator
-				.comparing(Map.Entry<Pair<Long, Consumer<EntityId>>, Long>::getValue)
-				.thenComparing(entry -> entry.getKey().getKey());
-		expiries.sort(cmp);
-		expiries.forEach(entry -> entityExpiries.track(entry.getKey(), entry.getValue()));
+	public LedgerTally lastLedgerTally() {
+		return lastLedgerTally;
 	}
 
-	private void addUniqueExpiries(
-			Long num,
-			FCQueue<ExpirableTxnRecord> records,
-			List<Map.Entry<Long, Long>> expiries
-	) {
-		long lastAdded = -1;
-		for (ExpirableTxnRecord record : records) {
-			stage(record);
-			var expiry = record.getExpiry();
-			if (expiry != lastAdded) {
-				expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
-				lastAdded = expiry;
+	/**
+	 * Invites the expiry manager to build any auxiliary data structures later needed to purge expired entities.
+	 * Must be called after {@link ExpiryManager#restartTrackingFrom(FCMap)}, which resets the shared expiry wheel.
+	 */
+	public void restartEntitiesTracking() {
+		long[] entityExpiries = new long[schedules.size()];
+		int n = 0;
+		List<long[]> outliers = new ArrayList<>();
+		for (var entry : schedules.entrySet()) {
+			long num = entry.getKey().getNum();
+			long expiry = entry.getValue().expiry();
+			if (PayerRecordsScan.isPackable(num, expiry)) {
+				entityExpiries[n++] = packed(num, expiry);
+			} else {
+				outliers.add(new long[] { num, expiry });
 			}
 		}
+
+		Arrays.sort(entityExpiries, 0, n);
+		PayerRecordsScan.merge(
+				List.of(entityExpiries),
+				new int[] { n },
+				outliers,
+				(num, expiry) -> trackEntity(new Pair<>(num, scheduleStore::expire), expiry));
 	}
 
-	void stage(ExpirableTxnRecord record) {
-		var txnId = record.getTxnId().toGrpc();
+	void stage(TxnIdKey txnId, ExpirableTxnRecord record) {
 		txnHistories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory()).stage(record);
 	}
 
-	public void purgeExpiredRecordsAt(long now, HederaLedger ledger) {
-		sharedNow = now;
-		while (payerExpiries.hasExpiringAt(now)) {
-			ledger.purgeExpiredRecords(accountWith(payerExpiries.expireNextAt(now)), now, this::updateHistory);
-		}
-		recordCache.forgetAnyOtherExpiredHistory(now);
+	void stage(ExpirableTxnRecord record) {
+		stage(TxnIdKey.from(record.getTxnId()), record);
 	}
 
 	/**
-	 * Marks expired entities as deleted before given timestamp in seconds. Not that for
-	 * this to be done efficiently, the expiry manager will need the opportunity to scan
-	 * the ledger and build an auxiliary data structure of expiration times
-	 * @param now the time in seconds used to expire entities
+	 * Expires everything tracked as due at or before the given consensus second; that is,
+	 * purges expired payer records, forgets expired transaction history, and expires any
+	 * entities (such as schedules) whose expiration time has passed.
+	 *
+	 * @param now the time in seconds used to expire records and entities
+	 * @param ledger the ledger to purge expired payer records from
 	 */
-	public void purgeExpiredEntitiesAt(long now) {
-		while (entityExpiries.hasExpiringAt(now)) {
-			var current = entityExpiries.expireNextAt(now);
-			current.getValue().accept(entityWith(current.getKey()));
+	public void purgeExpiredRecordsAt(long now, HederaLedger ledger) {
+		sharedNow = now;
+		while (expiries.hasExpiringAt(now)) {
+			long id = expiries.expireNextNumAt(now);
+			long kind = id >>> KIND_SHIFT;
+			long payload = id & PAYLOAD_MASK;
+			if (kind == PAYER_RECORDS) {
+				ledger.purgeExpiredRecords(accountWith(payload), now, historyUpdater);
+			} else if (kind == TXN_ID_HISTORY) {
+				forgetExpiredHistoryOf((TxnIdKey) release((int) payload));
+			} else {
+				@SuppressWarnings("unchecked")
+				var entity = (Pair<Long, Consumer<EntityId>>) release((int) payload);
+				entity.getValue().accept(entityWith(entity.getKey()));
+			}
 		}
 	}
 
 	public void trackEntity(Pair<Long, Consumer<EntityId>> entity, long expiry) {
-		entityExpiries.track(entity, expiry);
+		expiries.trackNum(tagged(EXPIRING_ENTITY, handleFor(entity)), expiry);
 	}
 
 	void updateHistory(ExpirableTxnRecord record) {
-		var txnId = record.getTxnId().toGrpc();
+		forgetExpiredHistoryOf(TxnIdKey.from(record.getTxnId()));
+	}
+
+	private void forgetExpiredHistoryOf(TxnIdKey txnId) {
 		var history = txnHistories.get(txnId);
 		if (history != null) {
 			history.forgetExpiredAt(sharedNow);
@@ -163,6 +234,39 @@ public class ExpiryManager {
 		}
 	}
 
+	private void resetExpiries() {
+		expiries.reset();
+		Arrays.fill(payloads, 0, handlesUsed, null);
+		numFreeHandles = 0;
+		handlesUsed = 0;
+	}
+
+	private int handleFor(Object payload) {
+		int handle;
+		if (numFreeHandles > 0) {
+			handle = freeHandles[--numFreeHandles];
+		} else {
+			if (handlesUsed == payloads.length) {
+				payloads = Arrays.copyOf(payloads, 2 * payloads.length);
+				freeHandles = Arrays.copyOf(freeHandles, 2 * freeHandles.length);
+			}
+			handle = handlesUsed++;
+		}
+		payloads[handle] = payload;
+		return handle;
+	}
+
+	private Object release(int handle) {
+		var payload = payloads[handle];
+		payloads[handle] = null;
+		freeHandles[numFreeHandles++] = handle;
+		return payload;
+	}
+
+	static long tagged(long kind, long payload) {
+		return (kind << KIND_SHIFT) | payload;
+	}
+
 	AccountID accountWith(long num) {
 		return AccountID.newBuilder()
 				.setShardNum(0)
@@ -21,7 +21,6 @@ package com.hedera.services.state.expiry;
  */
 
 import com.hedera.services.ledger.HederaLedger;
-import com.hedera.services.records.RecordCache;
 import com.hedera.services.state.EntityCreator;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -33,9 +32,6 @@ public enum NoopExpiringCreations implements EntityCreator {
 	@Override
 	public void setLedger(HederaLedger ledger) { }
 
-	@Override
-	public void setRecordCache(RecordCache recordCache) { }
-
 	@Override
 	public ExpirableTxnRecord createExpiringRecord(
 			AccountID id,
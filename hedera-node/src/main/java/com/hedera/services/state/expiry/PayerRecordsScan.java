@@ -0,0 +1,319 @@
+package com.hedera.services.state.expiry;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.records.TxnIdKey;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.state.validation.LedgerTally;
+import com.swirlds.fcmap.FCMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scans the accounts in a (quiescent) state for the expiries of their payer records.
+ *
+ * Accounts are handed off in fixed-size partitions to a {@link ForkJoinPool} while the
+ * map is still being traversed. Each partition produces a sorted run of packed
+ * {@code (expiry, account number)} pairs, along with the records it found; the runs are
+ * finally k-way merged so that expiries are reported in {@code (expiry, number)} order
+ * without ever materializing a boxed entry per record. (Any expiry or number that cannot
+ * be packed into a single {@code long} is kept as a pair and merged into the same
+ * order.) The same pass can also tally the accounts for ledger validation.
+ */
+public class PayerRecordsScan {
+	static final int DEFAULT_PARTITION_SIZE = 4096;
+
+	private static final Comparator<long[]> OUTLIER_ORDER =
+			Comparator.<long[]>comparingLong(outlier -> outlier[1]).thenComparingLong(outlier -> outlier[0]);
+
+	@FunctionalInterface
+	public interface ExpiryObserver {
+		void observe(long num, long expiry);
+	}
+
+	@FunctionalInterface
+	public interface RecordObserver {
+		void observe(TxnIdKey txnId, ExpirableTxnRecord record);
+	}
+
+	private final int partitionSize;
+	private final ForkJoinPool pool;
+
+	int numPartitions = 0;
+	int numExpiries = 0;
+
+	public PayerRecordsScan(ForkJoinPool pool) {
+		this(pool, DEFAULT_PARTITION_SIZE);
+	}
+
+	PayerRecordsScan(ForkJoinPool pool, int partitionSize) {
+		this.pool = pool;
+		this.partitionSize = partitionSize;
+	}
+
+	/**
+	 * Scans the given accounts, passing every payer record to the record observer on
+	 * the calling thread (in account iteration order), and then every distinct per-account
+	 * expiry to the expiry observer in {@code (expiry, number)} order.
+	 *
+	 * @param accounts the accounts to scan
+	 * @param recordObserver the observer of each payer record
+	 * @param expiryObserver the observer of each distinct payer expiry
+	 */
+	public void scan(
+			FCMap<MerkleEntityId, MerkleAccount> accounts,
+			RecordObserver recordObserver,
+			ExpiryObserver expiryObserver
+	) {
+		scan(accounts, recordObserver, expiryObserver, null);
+	}
+
+	/**
+	 * Scans the given accounts as above, while also adding every account to the given
+	 * ledger tally; so the same pass over the accounts can validate the ledger.
+	 *
+	 * @param accounts the accounts to scan
+	 * @param recordObserver the observer of each payer record
+	 * @param expiryObserver the observer of each distinct payer expiry
+	 * @param tally the tally to add every account to, or null to skip tallying
+	 */
+	public void scan(
+			FCMap<MerkleEntityId, MerkleAccount> accounts,
+			RecordObserver recordObserver,
+			ExpiryObserver expiryObserver,
+			LedgerTally tally
+	) {
+		List<ForkJoinTask<Partition>> tasks = new ArrayList<>();
+		var current = new Partition(partitionSize, tally);
+		for (var entry : accounts.entrySet()) {
+			current.add(entry.getKey(), entry.getValue());
+			if (current.isFull()) {
+				tasks.add(pool.submit(current::scan));
+				current = new Partition(partitionSize, tally);
+			}
+		}
+		if (current.size > 0) {
+			tasks.add(pool.submit(current::scan));
+		}
+		numPartitions = tasks.size();
+
+		List<long[]> runs = new ArrayList<>(tasks.size());
+		int[] runSizes = new int[tasks.size()];
+		List<long[]> outliers = new ArrayList<>();
+		for (int i = 0, n = tasks.size(); i < n; i++) {
+			var partition = tasks.get(i).join();
+			for (int j = 0; j < partition.numRecords; j++) {
+				recordObserver.observe(partition.txnIds[j], partition.records[j]);
+			}
+			runs.add(partition.run);
+			runSizes[i] = partition.runSize;
+			outliers.addAll(partition.outliers);
+			if (tally != null) {
+				tally.addAll(partition.tally);
+			}
+		}
+
+		numExpiries = merge(runs, runSizes, outliers, expiryObserver);
+	}
+
+	/**
+	 * Merges the given sorted runs of packed expiries with the given unpackable
+	 * {@code (number, expiry)} pairs, passing each to the observer in {@code (expiry, number)}
+	 * order.
+	 *
+	 * @param runs the sorted runs
+	 * @param sizes the number of packed expiries in each run
+	 * @param outliers the unpackable pairs, in any order
+	 * @param observer the observer of the merged expiries
+	 * @return the number of expiries merged
+	 */
+	static int merge(List<long[]> runs, int[] sizes, List<long[]> outliers, ExpiryObserver observer) {
+		outliers.sort(OUTLIER_ORDER);
+		int nextOutlier = 0;
+
+		int k = runs.size();
+		int[] heap = new int[k];
+		int[] positions = new int[k];
+		int heapSize = 0;
+		for (int r = 0; r < k; r++) {
+			if (sizes[r] > 0) {
+				heap[heapSize++] = r;
+			}
+		}
+		for (int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(heap, heapSize, i, runs, positions);
+		}
+
+		int n = 0;
+		while (heapSize > 0) {
+			int r = heap[0];
+			long packed = head(r, runs, positions);
+			if (nextOutlier < outliers.size() && precedes(outliers.get(nextOutlier), packed)) {
+				var outlier = outliers.get(nextOutlier++);
+				observer.observe(outlier[0], outlier[1]);
+				n++;
+				continue;
+			}
+			positions[r]++;
+			observer.observe(numOf(packed), expiryOf(packed));
+			n++;
+			if (positions[r] == sizes[r]) {
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0, runs, positions);
+		}
+		for (int i = nextOutlier, m = outliers.size(); i < m; i++) {
+			var outlier = outliers.get(i);
+			observer.observe(outlier[0], outlier[1]);
+			n++;
+		}
+		return n;
+	}
+
+	private static boolean precedes(long[] outlier, long packed) {
+		long expiry = expiryOf(packed);
+		return outlier[1] != expiry ? outlier[1] < expiry : outlier[0] < numOf(packed);
+	}
+
+	private static void siftDown(int[] heap, int heapSize, int i, List<long[]> runs, int[] positions) {
+		while (true) {
+			int least = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < heapSize && head(heap[left], runs, positions) < head(heap[least], runs, positions)) {
+				least = left;
+			}
+			if (right < heapSize && head(heap[right], runs, positions) < head(heap[least], runs, positions)) {
+				least = right;
+			}
+			if (least == i) {
+				return;
+			}
+			int tmp = heap[i];
+			heap[i] = heap[least];
+			heap[least] = tmp;
+			i = least;
+		}
+	}
+
+	private static long head(int r, List<long[]> runs, int[] positions) {
+		return runs.get(r)[positions[r]];
+	}
+
+	/* --- Packing of (expiry, num) pairs that sort as signed longs --- */
+
+	static boolean isPackable(long num, long expiry) {
+		return num >= 0 && num <= 0xFFFF_FFFFL && expiry >= 0 && expiry <= 0xFFFF_FFFFL;
+	}
+
+	static long packed(long num, long expiry) {
+		return ((expiry << 32) | num) ^ Long.MIN_VALUE;
+	}
+
+	static long numOf(long packed) {
+		return (packed ^ Long.MIN_VALUE) & 0xFFFF_FFFFL;
+	}
+
+	static long expiryOf(long packed) {
+		return (packed ^ Long.MIN_VALUE) >>> 32;
+	}
+
+	static class Partition {
+		private final MerkleEntityId[] ids;
+		private final MerkleAccount[] accounts;
+		private final LedgerTally tally;
+		private int size = 0;
+
+		private long[] run;
+		private int runSize = 0;
+		private TxnIdKey[] txnIds;
+		private ExpirableTxnRecord[] records;
+		private int numRecords = 0;
+		private final List<long[]> outliers = new ArrayList<>();
+
+		Partition(int capacity, LedgerTally tally) {
+			ids = new MerkleEntityId[capacity];
+			accounts = new MerkleAccount[capacity];
+			this.tally = (tally == null) ? null : tally.fresh();
+		}
+
+		void add(MerkleEntityId id, MerkleAccount account) {
+			ids[size] = id;
+			accounts[size++] = account;
+		}
+
+		boolean isFull() {
+			return size == ids.length;
+		}
+
+		Partition scan() {
+			run = new long[size];
+			txnIds = new TxnIdKey[size];
+			records = new ExpirableTxnRecord[size];
+			for (int i = 0; i < size; i++) {
+				if (tally != null) {
+					tally.add(ids[i], accounts[i]);
+				}
+				long num = ids[i].getNum();
+				long lastAdded = -1;
+				for (var record : accounts[i].records()) {
+					addRecord(record);
+					long expiry = record.getExpiry();
+					if (expiry != lastAdded) {
+						addExpiry(num, expiry);
+						lastAdded = expiry;
+					}
+				}
+				ids[i] = null;
+				accounts[i] = null;
+			}
+			Arrays.sort(run, 0, runSize);
+			return this;
+		}
+
+		private void addRecord(ExpirableTxnRecord record) {
+			if (numRecords == records.length) {
+				txnIds = Arrays.copyOf(txnIds, 2 * txnIds.length + 1);
+				records = Arrays.copyOf(records, 2 * records.length + 1);
+			}
+			txnIds[numRecords] = TxnIdKey.from(record.getTxnId());
+			records[numRecords++] = record;
+		}
+
+		private void addExpiry(long num, long expiry) {
+			if (!isPackable(num, expiry)) {
+				outliers.add(new long[] { num, expiry });
+				return;
+			}
+			if (runSize == run.length) {
+				run = Arrays.copyOf(run, 2 * run.length + 1);
+			}
+			run[runSize++] = packed(num, expiry);
+		}
+	}
+}
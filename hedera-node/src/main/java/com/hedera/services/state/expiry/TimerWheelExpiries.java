@@ -0,0 +1,272 @@
+package com.hedera.services.state.expiry;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * A hierarchical timer wheel of {@code long} ids with one-second granularity.
+ *
+ * Level 0 has one bucket per second of the window containing the cursor and
+ * of the window after that; level 1 has one bucket per window beyond those,
+ * up to {@link #NUM_WINDOWS} windows out; and anything further is kept in an
+ * overflow map. Buckets cascade down a level as the cursor enters each new
+ * window. Ids expiring in the same second are returned in the order they were
+ * tracked: a second is only ever tracked directly into a level-0 bucket once
+ * its window (and any overflow before it) has already cascaded there, so ids
+ * arriving from higher levels always precede those tracked directly. Bucket
+ * storage is reused so that steady-state tracking and expiration allocate nothing.
+ *
+ * Tracked expiries need not be monotonic; an expiry earlier than the cursor
+ * is treated as already due.
+ */
+public class TimerWheelExpiries implements KeyedExpirations<Long> {
+	static final int WINDOW_BITS = 9;
+	static final int SECONDS_PER_WINDOW = 1 << WINDOW_BITS;
+	static final int NUM_WINDOWS = 1 << 9;
+
+	private static final int SECOND_MASK = 2 * SECONDS_PER_WINDOW - 1;
+	private static final int WINDOW_MASK = NUM_WINDOWS - 1;
+
+	private final LongBucket[] seconds = new LongBucket[2 * SECONDS_PER_WINDOW];
+	private final LongBucket[] windows = new LongBucket[NUM_WINDOWS];
+	private final TreeMap<Long, LongBucket> overflow = new TreeMap<>();
+
+	long cursor = 0L;
+	int numInSeconds = 0;
+	int numInWindows = 0;
+	int numInOverflow = 0;
+
+	public TimerWheelExpiries() {
+		for (int i = 0; i < seconds.length; i++) {
+			seconds[i] = new LongBucket();
+		}
+		for (int i = 0; i < windows.length; i++) {
+			windows[i] = new LongBucket();
+		}
+	}
+
+	@Override
+	public void reset() {
+		for (var bucket : seconds) {
+			bucket.clear();
+		}
+		for (var bucket : windows) {
+			bucket.clear();
+		}
+		overflow.clear();
+		cursor = 0L;
+		numInSeconds = numInWindows = numInOverflow = 0;
+	}
+
+	@Override
+	public void track(Long id, long expiry) {
+		trackNum(id, expiry);
+	}
+
+	@Override
+	public boolean hasExpiringAt(long now) {
+		while (true) {
+			if (size() == 0) {
+				cursor = Math.max(cursor, now);
+				return false;
+			}
+			if (!seconds[(int) cursor & SECOND_MASK].isEmpty()) {
+				return cursor <= now;
+			}
+			if (cursor >= now) {
+				return false;
+			}
+			if (numInSeconds == 0 && numInWindows == 0) {
+				jumpTo(now);
+			} else if (numInSeconds == 0) {
+				long nextWindowStart = (windowOf(cursor) + 1) << WINDOW_BITS;
+				if (nextWindowStart > now) {
+					cursor = now;
+					return false;
+				}
+				cursor = nextWindowStart;
+				cascade();
+			} else {
+				cursor++;
+				if ((cursor & (SECONDS_PER_WINDOW - 1)) == 0) {
+					cascade();
+				}
+			}
+		}
+	}
+
+	@Override
+	public Long expireNextAt(long now) {
+		return expireNextNumAt(now);
+	}
+
+	/**
+	 * Primitive form of {@link KeyedExpirations#track(Object, long)}.
+	 *
+	 * @param id the id to track
+	 * @param expiry the consensus second at which the id expires
+	 */
+	public void trackNum(long id, long expiry) {
+		long second = Math.max(cursor, expiry);
+		long window = windowOf(second);
+		long cursorWindow = windowOf(cursor);
+		if (window <= cursorWindow + 1) {
+			seconds[(int) second & SECOND_MASK].add(id);
+			numInSeconds++;
+		} else if (window <= cursorWindow + 1 + NUM_WINDOWS) {
+			windows[(int) window & WINDOW_MASK].add(id, second);
+			numInWindows++;
+		} else {
+			overflow.computeIfAbsent(window, ignore -> new LongBucket()).add(id, second);
+			numInOverflow++;
+		}
+	}
+
+	/**
+	 * Primitive form of {@link KeyedExpirations#expireNextAt(long)}.
+	 *
+	 * @param now the current consensus second
+	 * @return the next id expiring at or before {@code now}
+	 */
+	public long expireNextNumAt(long now) {
+		if (size() == 0) {
+			throw new IllegalStateException("No ids are queued for expiration!");
+		}
+		if (!hasExpiringAt(now)) {
+			throw new IllegalArgumentException(String.format("Argument 'now=%d' is earlier than the next expiry!", now));
+		}
+		numInSeconds--;
+		return seconds[(int) cursor & SECOND_MASK].poll();
+	}
+
+	/**
+	 * Expires every id due at or before the given second, passing each to the
+	 * given consumer one full second's bucket at a time.
+	 *
+	 * @param now the current consensus second
+	 * @param expired the consumer of expired ids
+	 * @return the number of ids expired
+	 */
+	public int expireAllAt(long now, LongConsumer expired) {
+		int n = 0;
+		while (hasExpiringAt(now)) {
+			var bucket = seconds[(int) cursor & SECOND_MASK];
+			while (!bucket.isEmpty()) {
+				numInSeconds--;
+				expired.accept(bucket.poll());
+				n++;
+			}
+		}
+		return n;
+	}
+
+	public int size() {
+		return numInSeconds + numInWindows + numInOverflow;
+	}
+
+	private void cascade() {
+		long cursorWindow = windowOf(cursor);
+
+		var next = windows[(int) (cursorWindow + 1) & WINDOW_MASK];
+		while (!next.isEmpty()) {
+			long id = next.poll();
+			long second = next.poll();
+			seconds[(int) second & SECOND_MASK].add(id);
+			numInWindows--;
+			numInSeconds++;
+		}
+
+		pullOverflowThrough(cursorWindow + 1 + NUM_WINDOWS);
+	}
+
+	private void jumpTo(long now) {
+		cursor = now;
+		pullOverflowThrough(windowOf(cursor) + 1 + NUM_WINDOWS);
+	}
+
+	private void pullOverflowThrough(long horizon) {
+		while (!overflow.isEmpty() && overflow.firstKey() <= horizon) {
+			var farthest = overflow.pollFirstEntry().getValue();
+			while (!farthest.isEmpty()) {
+				long id = farthest.poll();
+				long second = farthest.poll();
+				numInOverflow--;
+				trackNum(id, second);
+			}
+		}
+	}
+
+	private static long windowOf(long second) {
+		return second >> WINDOW_BITS;
+	}
+
+	/**
+	 * A reusable FIFO of {@code long} values backed by a growable array.
+	 */
+	static final class LongBucket {
+		private static final int INITIAL_CAPACITY = 4;
+
+		private long[] values = new long[INITIAL_CAPACITY];
+		private int head = 0;
+		private int tail = 0;
+
+		void add(long v) {
+			if (tail == values.length) {
+				if (head > 0) {
+					System.arraycopy(values, head, values, 0, tail - head);
+					tail -= head;
+					head = 0;
+				} else {
+					values = Arrays.copyOf(values, 2 * values.length);
+				}
+			}
+			values[tail++] = v;
+		}
+
+		void add(long v, long w) {
+			add(v);
+			add(w);
+		}
+
+		long poll() {
+			long v = values[head++];
+			if (head == tail) {
+				head = tail = 0;
+			}
+			return v;
+		}
+
+		boolean isEmpty() {
+			return head == tail;
+		}
+
+		void clear() {
+			head = tail = 0;
+		}
+
+		int size() {
+			return tail - head;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.hedera.services.state.exports;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedOutputStream;
+import com.hedera.services.stream.proto.AllAccountBalances;
+import com.hedera.services.stream.proto.SingleAccountBalances;
+import com.hederahashgraph.api.proto.java.Timestamp;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+import static com.hedera.services.state.exports.SignedStateBalancesExporter.b64Encode;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Streams account balances, one at a time, to a balances file through a buffered
+ * {@link FileChannel}, computing the SHA-384 hash of the file as it is written.
+ */
+abstract class BalancesSink implements Closeable {
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	private final String loc;
+	private final DigestOutputStream out;
+
+	private byte[] hash;
+	private boolean failed = false;
+
+	BalancesSink(String loc) throws IOException {
+		this.loc = loc;
+		var channel = FileChannel.open(Paths.get(loc), CREATE, TRUNCATE_EXISTING, WRITE);
+		out = new DigestOutputStream(
+				new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE),
+				sha384());
+	}
+
+	/**
+	 * Returns a sink that writes a serialized {@link AllAccountBalances} byte-for-byte
+	 * identical to the one built from the same balances in memory; that is, the
+	 * consensus timestamp field followed by one length-delimited record per account.
+	 */
+	static BalancesSink protoAt(String loc, Instant when) throws IOException {
+		return new ProtoSink(loc, when);
+	}
+
+	/**
+	 * Returns a sink that writes one CSV row per account, in either the legacy or
+	 * the release 0.9.0 format.
+	 */
+	static BalancesSink csvAt(String loc, Instant when, boolean withTokenBalances) throws IOException {
+		return new CsvSink(loc, when, withTokenBalances);
+	}
+
+	abstract void write(SingleAccountBalances balances) throws IOException;
+
+	abstract void flush() throws IOException;
+
+	/**
+	 * Flushes and closes the file, returning the SHA-384 hash of everything written to it.
+	 *
+	 * @return the hash of the finished file
+	 * @throws IOException if the file cannot be flushed
+	 */
+	byte[] finish() throws IOException {
+		flush();
+		out.close();
+		hash = out.getMessageDigest().digest();
+		return hash;
+	}
+
+	String getLoc() {
+		return loc;
+	}
+
+	boolean hasFailed() {
+		return failed;
+	}
+
+	void markFailed() {
+		failed = true;
+	}
+
+	DigestOutputStream out() {
+		return out;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (hash == null) {
+			out.close();
+		}
+	}
+
+	private static MessageDigest sha384() {
+		try {
+			return MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException impossible) {
+			throw new IllegalStateException("SHA-384 not supported by Java API!");
+		}
+	}
+
+	private static class ProtoSink extends BalancesSink {
+		private final CodedOutputStream coded;
+
+		ProtoSink(String loc, Instant when) throws IOException {
+			super(loc);
+			coded = CodedOutputStream.newInstance(out(), BUFFER_SIZE);
+			coded.writeMessage(AllAccountBalances.CONSENSUSTIMESTAMP_FIELD_NUMBER, Timestamp.newBuilder()
+					.setSeconds(when.getEpochSecond())
+					.setNanos(when.getNano())
+					.build());
+		}
+
+		@Override
+		void write(SingleAccountBalances balances) throws IOException {
+			coded.writeMessage(AllAccountBalances.ALLACCOUNTS_FIELD_NUMBER, balances);
+		}
+
+		@Override
+		void flush() throws IOException {
+			coded.flush();
+		}
+	}
+
+	private static class CsvSink extends BalancesSink {
+		private final Writer writer;
+		private final boolean withTokenBalances;
+		private final StringBuilder row = new StringBuilder();
+
+		CsvSink(String loc, Instant when, boolean withTokenBalances) throws IOException {
+			super(loc);
+			this.withTokenBalances = withTokenBalances;
+			writer = new BufferedWriter(new OutputStreamWriter(out(), StandardCharsets.UTF_8), BUFFER_SIZE);
+			if (withTokenBalances) {
+				writer.write("# " + SignedStateBalancesExporter.CURRENT_VERSION + LINE_SEPARATOR);
+				writer.write("# TimeStamp:" + when + LINE_SEPARATOR);
+				writer.write("shardNum,realmNum,accountNum,balance,tokenBalances" + LINE_SEPARATOR);
+			} else {
+				writer.write("TimeStamp:" + when + LINE_SEPARATOR);
+				writer.write("shardNum,realmNum,accountNum,balance" + LINE_SEPARATOR);
+			}
+		}
+
+		@Override
+		void write(SingleAccountBalances balances) throws IOException {
+			var id = balances.getAccountID();
+			row.setLength(0);
+			row.append(id.getShardNum()).append(',')
+					.append(id.getRealmNum()).append(',')
+					.append(id.getAccountNum()).append(',')
+					.append(balances.getHbarBalance());
+			if (withTokenBalances) {
+				row.append(',');
+				if (balances.getTokenUnitBalancesCount() > 0) {
+					row.append(b64Encode(balances));
+				}
+			}
+			row.append(LINE_SEPARATOR);
+			writer.append(row);
+		}
+
+		@Override
+		void flush() throws IOException {
+			writer.flush();
+		}
+	}
+}
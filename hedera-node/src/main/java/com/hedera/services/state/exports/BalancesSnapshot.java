@@ -0,0 +1,179 @@
+package com.hedera.services.state.exports;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stream.proto.SingleAccountBalances;
+import com.hedera.services.stream.proto.TokenUnitBalance;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TokenID;
+
+import java.util.Arrays;
+
+/**
+ * A compact, self-contained copy of the balances to export from a signed state, so
+ * the export itself can proceed after the platform has released that state.
+ *
+ * Each account is a row in a few parallel primitive arrays, with its token balances
+ * in a shared run of further arrays; so the snapshot costs a fixed few dozen bytes per
+ * account and per token balance, no matter how many accounts are captured, and holds
+ * no references into the state.
+ */
+class BalancesSnapshot {
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private int n = 0;
+	private long[] shards, realms, nums, hbarBalances;
+	private int[] tokenStarts;
+
+	private int numTokenBalances = 0;
+	private long[] tokenShards, tokenRealms, tokenNums, tokenBalances;
+
+	BalancesSnapshot() {
+		this(INITIAL_CAPACITY);
+	}
+
+	BalancesSnapshot(int expectedAccounts) {
+		int capacity = Math.max(1, expectedAccounts);
+		shards = new long[capacity];
+		realms = new long[capacity];
+		nums = new long[capacity];
+		hbarBalances = new long[capacity];
+		tokenStarts = new int[capacity + 1];
+
+		tokenShards = new long[INITIAL_CAPACITY];
+		tokenRealms = new long[INITIAL_CAPACITY];
+		tokenNums = new long[INITIAL_CAPACITY];
+		tokenBalances = new long[INITIAL_CAPACITY];
+	}
+
+	void addAccount(long shard, long realm, long num, long hbarBalance) {
+		if (n == nums.length) {
+			int capacity = 2 * n;
+			shards = Arrays.copyOf(shards, capacity);
+			realms = Arrays.copyOf(realms, capacity);
+			nums = Arrays.copyOf(nums, capacity);
+			hbarBalances = Arrays.copyOf(hbarBalances, capacity);
+			tokenStarts = Arrays.copyOf(tokenStarts, capacity + 1);
+		}
+		shards[n] = shard;
+		realms[n] = realm;
+		nums[n] = num;
+		hbarBalances[n] = hbarBalance;
+		tokenStarts[n] = numTokenBalances;
+		n++;
+		tokenStarts[n] = numTokenBalances;
+	}
+
+	/**
+	 * Adds a token balance to the most recently added account.
+	 */
+	void addTokenBalance(long shard, long realm, long num, long balance) {
+		if (n == 0) {
+			throw new IllegalStateException("No account to add a token balance to!");
+		}
+		if (numTokenBalances == tokenNums.length) {
+			int capacity = 2 * numTokenBalances;
+			tokenShards = Arrays.copyOf(tokenShards, capacity);
+			tokenRealms = Arrays.copyOf(tokenRealms, capacity);
+			tokenNums = Arrays.copyOf(tokenNums, capacity);
+			tokenBalances = Arrays.copyOf(tokenBalances, capacity);
+		}
+		tokenShards[numTokenBalances] = shard;
+		tokenRealms[numTokenBalances] = realm;
+		tokenNums[numTokenBalances] = num;
+		tokenBalances[numTokenBalances] = balance;
+		numTokenBalances++;
+		tokenStarts[n] = numTokenBalances;
+	}
+
+	int size() {
+		return n;
+	}
+
+	/**
+	 * Returns the rows of this snapshot in the order of their account ids, as given by
+	 * {@link com.hedera.services.ledger.HederaLedger#ACCOUNT_ID_COMPARATOR}.
+	 *
+	 * @return the sorted row indices
+	 */
+	int[] sortedRows() {
+		int[] rows = new int[n];
+		for (int i = 0; i < n; i++) {
+			rows[i] = i;
+		}
+		mergeSort(rows, new int[n], 0, n);
+		return rows;
+	}
+
+	/**
+	 * Builds the balances for the given row, re-using the given builder.
+	 *
+	 * @param row the row of interest
+	 * @param builder a builder to clear and re-use
+	 * @return the balances for the row
+	 */
+	SingleAccountBalances balancesAt(int row, SingleAccountBalances.Builder builder) {
+		builder.clear()
+				.setAccountID(AccountID.newBuilder()
+						.setShardNum(shards[row])
+						.setRealmNum(realms[row])
+						.setAccountNum(nums[row]))
+				.setHbarBalance(hbarBalances[row]);
+		for (int i = tokenStarts[row], end = tokenStarts[row + 1]; i < end; i++) {
+			builder.addTokenUnitBalances(TokenUnitBalance.newBuilder()
+					.setTokenId(TokenID.newBuilder()
+							.setShardNum(tokenShards[i])
+							.setRealmNum(tokenRealms[i])
+							.setTokenNum(tokenNums[i]))
+					.setBalance(tokenBalances[i]));
+		}
+		return builder.build();
+	}
+
+	private void mergeSort(int[] rows, int[] scratch, int from, int to) {
+		if (to - from < 2) {
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		mergeSort(rows, scratch, from, mid);
+		mergeSort(rows, scratch, mid, to);
+		if (compare(rows[mid - 1], rows[mid]) <= 0) {
+			return;
+		}
+		System.arraycopy(rows, from, scratch, from, to - from);
+		for (int i = from, l = from, r = mid; i < to; i++) {
+			if (r >= to || (l < mid && compare(scratch[l], scratch[r]) <= 0)) {
+				rows[i] = scratch[l++];
+			} else {
+				rows[i] = scratch[r++];
+			}
+		}
+	}
+
+	private int compare(int a, int b) {
+		int order = Long.compare(nums[a], nums[b]);
+		if (order != 0) {
+			return order;
+		}
+		order = Long.compare(shards[a], shards[b]);
+		return (order != 0) ? order : Long.compare(realms[a], realms[b]);
+	}
+}
@@ -20,7 +20,6 @@ package com.hedera.services.state.exports;
  * ‍
  */
 
-import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hedera.services.ServicesState;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
@@ -29,9 +28,12 @@ import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hedera.services.utils.JvmSystemExits;
 import com.hedera.services.utils.MiscUtils;
+import com.hedera.services.utils.SystemExits;
 import com.hederahashgraph.api.proto.java.AccountID;
-import com.hedera.services.stream.proto.AllAccountBalances;
 import com.hedera.services.stream.proto.SingleAccountBalances;
 import com.hedera.services.stream.proto.TokenUnitBalance;
 import com.hederahashgraph.api.proto.java.TokenBalance;
@@ -42,72 +44,104 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.Writer;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
 
 import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
 import static com.hedera.services.state.merkle.MerkleEntityId.fromTokenId;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
-import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
 
+/**
+ * Exports the balances of all non-deleted accounts in a signed state to a protobuf and/or
+ * CSV file, and signs each file.
+ *
+ * The calling thread only retains the accounts, tokens, and token associations of the
+ * signed state, and hands them to a dedicated export thread; so no account is visited on
+ * the calling thread. The export thread takes a compact {@link BalancesSnapshot} of the
+ * retained maps (checking the total float, whose failure is fatal), releases them, and
+ * then walks the snapshot once in account id order, writing each batch of balances to the
+ * proto and CSV files in parallel while the next batch is being built. The hash of each
+ * file is computed as it is written.
+ *
+ * At most one export waits behind the one in progress; if a signed state arrives while
+ * both slots are taken, its export is skipped (and its maps released at once) rather
+ * than delaying the platform.
+ */
 public class SignedStateBalancesExporter implements BalancesExporter {
 	private static final Logger log = LogManager.getLogger(SignedStateBalancesExporter.class);
 
-	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 	private static final String UNKNOWN_EXPORT_DIR = "";
 	private static final String BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL = "Could not export to '%s'!";
 	private static final String BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL = "Could not sign balance file '%s'!";
 	static final String BAD_EXPORT_DIR_ERROR_MSG_TPL = "Cannot ensure existence of export dir '%s'!";
 	static final String LOW_NODE_BALANCE_WARN_MSG_TPL = "Node '%s' has unacceptably low balance %d!";
 	static final String GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL = "Created balance signature file '%s'.";
+	static final String INVALID_FLOAT_ERROR_MSG_TPL = "Signed state @ %s had total balance %d not %d, exiting!";
+	static final String SKIPPED_EXPORT_WARN_MSG_TPL = "Skipping balances export @ %s, previous exports still pending!";
 	static final String CURRENT_VERSION = "version:2";
 
 	private static final String PROTO_FILE_EXTENSION = ".pb";
 	private static final String CSV_FILE_EXTENSION = ".csv";
 
+	static final int BATCH_SIZE = 1024;
+	static final int MAX_PENDING_EXPORTS = 1;
+	static final int NUM_WRITER_THREADS = 2;
+
 	static final Instant NEVER = null;
 	private static final Base64.Encoder encoder = Base64.getEncoder();
 
 	final long expectedFloat;
 	private final UnaryOperator<byte[]> signer;
 	private final GlobalDynamicProperties dynamicProperties;
+	private final MiscRunningAvgs runningAvgs;
+	private final MiscSpeedometers speedometers;
 
 	/* Used to toggle output for testing. */
 	boolean exportCsv = true, exportProto = true;
 	SigFileWriter sigFileWriter = new StandardSigFileWriter();
-	FileHashReader hashReader = new Sha384HashReader();
 	DirectoryAssurance directories = loc -> Files.createDirectories(Paths.get(loc));
+	SystemExits systemExits = new JvmSystemExits();
+	Executor exportExecutor = new ThreadPoolExecutor(
+			1, 1,
+			0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(MAX_PENDING_EXPORTS),
+			daemonThreads("balances-export"));
+	Executor writerExecutor = Executors.newFixedThreadPool(NUM_WRITER_THREADS, daemonThreads("balances-writer"));
 
 	private String lastUsedExportDir = UNKNOWN_EXPORT_DIR;
-	private BalancesSummary summary;
 
 	Instant periodBegin = NEVER;
 	private final int exportPeriod;
 
-	static final Comparator<SingleAccountBalances> SINGLE_ACCOUNT_BALANCES_COMPARATOR =
-			Comparator.comparing(SingleAccountBalances::getAccountID, ACCOUNT_ID_COMPARATOR);
-
 	public SignedStateBalancesExporter(
 			PropertySource properties,
 			UnaryOperator<byte[]> signer,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			MiscRunningAvgs runningAvgs,
+			MiscSpeedometers speedometers
 	) {
 		this.signer = signer;
 		this.expectedFloat = properties.getLongProperty("ledger.totalTinyBarFloat");
 		this.dynamicProperties = dynamicProperties;
+		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
 		exportPeriod = dynamicProperties.balancesExportPeriodSecs();
 	}
 
@@ -128,166 +162,207 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
 	@Override
 	public void exportBalancesFrom(ServicesState signedState, Instant when) {
-		if (!ensureExportDir(signedState.getNodeAccountId())) {
-			return;
+		var retained = RetainedBalances.retainedFrom(signedState);
+		try {
+			exportExecutor.execute(() -> summarizeAndExport(retained, when));
+		} catch (RejectedExecutionException e) {
+			retained.release();
+			speedometers.cycleSkippedBalancesExports();
+			log.warn(String.format(SKIPPED_EXPORT_WARN_MSG_TPL, when));
 		}
+	}
+
+	private void summarizeAndExport(RetainedBalances retained, Instant when) {
+		BalancesSummary summary;
 		var watch = StopWatch.createStarted();
-		summary = summarized(signedState);
+		try {
+			summary = summarized(retained);
+		} finally {
+			retained.release();
+		}
+		runningAvgs.recordBalancesSnapshotMs(watch.getTime(TimeUnit.MILLISECONDS));
+		log.info("Took {}ms to snapshot signed state balances", watch.getTime(TimeUnit.MILLISECONDS));
+
 		var expected = BigInteger.valueOf(expectedFloat);
 		if (!expected.equals(summary.getTotalFloat())) {
-			throw new IllegalStateException(String.format(
-					"Signed state @ %s had total balance %d not %d!",
-					when, summary.getTotalFloat(), expectedFloat)); }
-		log.info("Took {}ms to summarize signed state balances", watch.getTime(TimeUnit.MILLISECONDS));
+			log.error(String.format(INVALID_FLOAT_ERROR_MSG_TPL, when, summary.getTotalFloat(), expectedFloat));
+			systemExits.fail(1);
+			return;
+		}
+		export(summary.getSnapshot(), retained.node, when);
+	}
 
-		// .pb account balances file is our focus, process it first to let its timestamp to stay close to
-		// epoch export period boundary
+	private void export(BalancesSnapshot snapshot, AccountID node, Instant when) {
+		if (!ensureExportDir(node)) {
+			return;
+		}
+		var watch = StopWatch.createStarted();
+		/* The .pb file is our focus, so open it first to keep its timestamp close to the period boundary */
+		List<BalancesSink> sinks = new ArrayList<>();
 		if (exportProto) {
-			toProtoFile(when);
+			openSink(sinks, exportLoc(when, PROTO_FILE_EXTENSION), loc -> BalancesSink.protoAt(loc, when));
 		}
 		if (exportCsv) {
-			toCsvFile(when);
+			boolean withTokenBalances = dynamicProperties.shouldExportTokenBalances();
+			openSink(sinks, exportLoc(when, CSV_FILE_EXTENSION), loc -> BalancesSink.csvAt(loc, when, withTokenBalances));
 		}
-	}
-
-	private void toCsvFile(Instant exportTimeStamp) {
-		var watch = StopWatch.createStarted();
-
-		var csvLoc = lastUsedExportDir
-				+ exportTimeStamp.toString().replace(":", "_") + "_Balances" + CSV_FILE_EXTENSION;
-		boolean exportSucceeded = exportBalancesFile(summary, csvLoc, exportTimeStamp);
-		if (exportSucceeded) {
-			tryToSign(csvLoc);
+		if (!sinks.isEmpty()) {
+			streamTo(sinks, snapshot);
 		}
+		var hashes = new byte[sinks.size()][];
+		for (int i = 0; i < hashes.length; i++) {
+			hashes[i] = finish(sinks.get(i));
+		}
+		runningAvgs.recordBalancesWriteMs(watch.getTime(TimeUnit.MILLISECONDS));
+		log.info(" -> Took {}ms to export balances files at {}", watch.getTime(TimeUnit.MILLISECONDS), when);
 
-		log.info(" -> Took {}ms to export and sign CSV balances file at {}", watch.getTime(TimeUnit.MILLISECONDS), exportTimeStamp);
+		watch = StopWatch.createStarted();
+		for (int i = 0; i < hashes.length; i++) {
+			if (hashes[i] != null) {
+				tryToSign(sinks.get(i).getLoc(), hashes[i]);
+			}
+		}
+		runningAvgs.recordBalancesSignMs(watch.getTime(TimeUnit.MILLISECONDS));
 	}
 
-	private void toProtoFile(Instant exportTimeStamp) {
-		var watch = StopWatch.createStarted();
+	@FunctionalInterface
+	private interface SinkOpener {
+		BalancesSink openAt(String loc) throws IOException;
+	}
 
-		var builder = AllAccountBalances.newBuilder();
-		summarizeAsProto(exportTimeStamp, builder);
-		var protoLoc = lastUsedExportDir
-				+ exportTimeStamp.toString().replace(":", "_") + "_Balances" + PROTO_FILE_EXTENSION;
-		boolean exportSucceeded = exportBalancesProtoFile(builder, protoLoc);
-		if (exportSucceeded) {
-			tryToSign(protoLoc);
+	private void openSink(List<BalancesSink> sinks, String loc, SinkOpener opener) {
+		try {
+			sinks.add(opener.openAt(loc));
+		} catch (IOException e) {
+			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, loc), e);
 		}
-
-		log.info(" -> Took {}ms to export and sign proto balances file at {}", watch.getTime(TimeUnit.MILLISECONDS), exportTimeStamp);
 	}
 
-	private void tryToSign(String csvLoc) {
-		try {
-			var hash = hashReader.readHash(csvLoc);
-			var sig = signer.apply(hash);
-			var sigFileLoc = sigFileWriter.writeSigFile(csvLoc, sig, hash);
-			if (log.isDebugEnabled()) {
-				log.debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc));
+	/**
+	 * Walks the snapshot in account id order, building each batch of balances while
+	 * the sinks are still writing the previous batch (each sink on its own writer).
+	 */
+	private void streamTo(List<BalancesSink> sinks, BalancesSnapshot snapshot) {
+		var rows = snapshot.sortedRows();
+		var builder = SingleAccountBalances.newBuilder();
+		SingleAccountBalances[][] batches = {
+				new SingleAccountBalances[BATCH_SIZE],
+				new SingleAccountBalances[BATCH_SIZE]
+		};
+		CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+		for (int from = 0, b = 0; from < rows.length; from += BATCH_SIZE, b ^= 1) {
+			var batch = batches[b];
+			int n = Math.min(BATCH_SIZE, rows.length - from);
+			for (int i = 0; i < n; i++) {
+				batch[i] = snapshot.balancesAt(rows[from + i], builder);
 			}
-		} catch (Exception e) {
-			log.error(String.format(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, csvLoc), e);
+			inFlight.join();
+			var writes = new CompletableFuture<?>[sinks.size()];
+			for (int j = 0; j < writes.length; j++) {
+				var sink = sinks.get(j);
+				writes[j] = CompletableFuture.runAsync(() -> write(sink, batch, n), writerExecutor);
+			}
+			inFlight = CompletableFuture.allOf(writes);
 		}
+		inFlight.join();
 	}
 
-	private boolean exportBalancesFile(BalancesSummary summary, String csvLoc, Instant when) {
-		try (BufferedWriter fout = Files.newBufferedWriter(Paths.get(csvLoc))) {
-			if (dynamicProperties.shouldExportTokenBalances()) {
-				addRelease090Header(fout, when);
-			} else {
-				addLegacyHeader(fout, when);
-			}
-			for (SingleAccountBalances singleAccountBalances : summary.getOrderedBalances()) {
-				fout.write(String.format(
-						"%d,%d,%d,%d",
-						singleAccountBalances.getAccountID().getShardNum(),
-						singleAccountBalances.getAccountID().getRealmNum(),
-						singleAccountBalances.getAccountID().getAccountNum(),
-						singleAccountBalances.getHbarBalance()));
-				if (dynamicProperties.shouldExportTokenBalances()) {
-					if (singleAccountBalances.getTokenUnitBalancesList().size() > 0) {
-						fout.write("," + b64Encode(singleAccountBalances));
-					} else {
-						fout.write(",");
-					}
-				}
-				fout.write(LINE_SEPARATOR);
+	private void write(BalancesSink sink, SingleAccountBalances[] batch, int n) {
+		if (sink.hasFailed()) {
+			return;
+		}
+		try {
+			for (int i = 0; i < n; i++) {
+				sink.write(batch[i]);
 			}
 		} catch (IOException e) {
-			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, csvLoc), e);
-			return false;
+			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, sink.getLoc()), e);
+			sink.markFailed();
+			closeQuietly(sink);
 		}
-		return true;
 	}
 
-	private void summarizeAsProto(Instant exportTimeStamp, AllAccountBalances.Builder builder) {
-		builder.setConsensusTimestamp(Timestamp.newBuilder()
-				.setSeconds(exportTimeStamp.getEpochSecond())
-				.setNanos(exportTimeStamp.getNano()));
-		builder.addAllAllAccounts(summary.getOrderedBalances());
+	private byte[] finish(BalancesSink sink) {
+		if (sink.hasFailed()) {
+			return null;
+		}
+		try {
+			return sink.finish();
+		} catch (IOException e) {
+			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, sink.getLoc()), e);
+			closeQuietly(sink);
+			return null;
+		}
 	}
 
-	private boolean exportBalancesProtoFile(AllAccountBalances.Builder allAccountsBuilder, String protoLoc) {
-		try (FileOutputStream fout = new FileOutputStream(protoLoc)) {
-			allAccountsBuilder.build().writeTo(fout);
-		} catch (IOException e) {
-			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, protoLoc), e);
-			return false;
+	private void tryToSign(String loc, byte[] hash) {
+		try {
+			var sig = signer.apply(hash);
+			var sigFileLoc = sigFileWriter.writeSigFile(loc, sig, hash);
+			if (log.isDebugEnabled()) {
+				log.debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc));
+			}
+		} catch (Exception e) {
+			log.error(String.format(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, loc), e);
 		}
-		return true;
 	}
 
-	private void addLegacyHeader(Writer writer, Instant at) throws IOException {
-		writer.write(String.format("TimeStamp:%s%s", at, LINE_SEPARATOR));
-		writer.write("shardNum,realmNum,accountNum,balance" + LINE_SEPARATOR);
+	private void closeQuietly(BalancesSink sink) {
+		try {
+			sink.close();
+		} catch (IOException ignore) { }
 	}
 
-	private void addRelease090Header(Writer writer, Instant at) throws IOException {
-		writer.write("# " + CURRENT_VERSION + LINE_SEPARATOR);
-		writer.write(String.format("# TimeStamp:%s%s", at, LINE_SEPARATOR));
-		writer.write("shardNum,realmNum,accountNum,balance,tokenBalances" + LINE_SEPARATOR);
+	private String exportLoc(Instant when, String extension) {
+		return lastUsedExportDir + when.toString().replace(":", "_") + "_Balances" + extension;
 	}
 
 	BalancesSummary summarized(ServicesState signedState) {
-		long nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
-		BigInteger totalFloat = BigInteger.valueOf(0L);
-		List<SingleAccountBalances> accountBalances = new ArrayList<>();
+		return summarized(new RetainedBalances(signedState));
+	}
 
-		var nodeIds = MiscUtils.getNodeAccounts(signedState.addressBook());
-		var tokens = signedState.tokens();
-		var accounts = signedState.accounts();
-		var tokenAssociations = signedState.tokenAssociations();
+	private BalancesSummary summarized(RetainedBalances signedState) {
+		long nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
+		boolean withTokenBalances = dynamicProperties.shouldExportTokenBalances();
+		long totalFloat = 0L;
+		BigInteger overflowedFloat = BigInteger.ZERO;
+
+		var nodeIds = signedState.nodeIds;
+		var tokens = signedState.tokens;
+		var accounts = signedState.accounts;
+		var tokenAssociations = signedState.tokenAssociations;
+		var snapshot = new BalancesSnapshot(accounts.size());
 		for (var entry : accounts.entrySet()) {
 			var id = entry.getKey();
 			var account = entry.getValue();
 			if (!account.isDeleted()) {
-				var accountId = id.toAccountId();
 				var balance = account.getBalance();
-				if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
+				var accountId = id.toAccountId();
+				if (balance < nodeBalanceWarnThreshold && nodeIds.contains(accountId)) {
 					log.warn(String.format(
 							LOW_NODE_BALANCE_WARN_MSG_TPL,
 							readableId(accountId),
 							balance));
 				}
-				totalFloat = totalFloat.add(BigInteger.valueOf(account.getBalance()));
-				SingleAccountBalances.Builder sabBuilder = SingleAccountBalances.newBuilder();
-				sabBuilder.setHbarBalance(balance)
-						.setAccountID(accountId);
-				if (dynamicProperties.shouldExportTokenBalances()) {
-					addTokenBalances(accountId, account, sabBuilder, tokens, tokenAssociations);
+				try {
+					totalFloat = Math.addExact(totalFloat, balance);
+				} catch (ArithmeticException overflow) {
+					overflowedFloat = overflowedFloat.add(BigInteger.valueOf(totalFloat));
+					totalFloat = balance;
+				}
+				snapshot.addAccount(id.getShard(), id.getRealm(), id.getNum(), balance);
+				if (withTokenBalances) {
+					addTokenBalances(accountId, account, snapshot, tokens, tokenAssociations);
 				}
-				accountBalances.add(sabBuilder.build());
 			}
 		}
-		accountBalances.sort(SINGLE_ACCOUNT_BALANCES_COMPARATOR);
-		return new BalancesSummary(totalFloat, accountBalances);
+		return new BalancesSummary(overflowedFloat.add(BigInteger.valueOf(totalFloat)), snapshot);
 	}
 
 	private void addTokenBalances(
 			AccountID id,
 			MerkleAccount account,
-			SingleAccountBalances.Builder sabBuilder,
+			BalancesSnapshot snapshot,
 			FCMap<MerkleEntityId, MerkleToken> tokens,
 			FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations
 	) {
@@ -296,15 +371,15 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 			var token = tokens.get(fromTokenId(tokenId));
 			if (token != null && !token.isDeleted()) {
 				var relationship = tokenAssociations.get(fromAccountTokenRel(id, tokenId));
-				sabBuilder.addTokenUnitBalances(tb(tokenId, relationship.getBalance()));
+				snapshot.addTokenBalance(
+						tokenId.getShardNum(),
+						tokenId.getRealmNum(),
+						tokenId.getTokenNum(),
+						relationship.getBalance());
 			}
 		}
 	}
 
-	private TokenUnitBalance tb(TokenID id, long balance) {
-		return TokenUnitBalance.newBuilder().setTokenId(id).setBalance(balance).build();
-	}
-
 	static String b64Encode(SingleAccountBalances accountBalances) {
 		var wrapper = TokenBalances.newBuilder();
 		for (TokenUnitBalance tokenUnitBalance : accountBalances.getTokenUnitBalancesList()) {
@@ -335,25 +410,66 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 		return true;
 	}
 
+	private static ThreadFactory daemonThreads(String name) {
+		return runnable -> {
+			var thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The parts of a signed state an export reads; once retained, they stay valid after the
+	 * platform is done with the state, until released.
+	 */
+	private static class RetainedBalances {
+		private final AccountID node;
+		private final Set<AccountID> nodeIds;
+		private final FCMap<MerkleEntityId, MerkleToken> tokens;
+		private final FCMap<MerkleEntityId, MerkleAccount> accounts;
+		private final FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations;
+
+		private RetainedBalances(ServicesState signedState) {
+			this.node = signedState.getNodeAccountId();
+			this.nodeIds = MiscUtils.getNodeAccounts(signedState.addressBook());
+			this.tokens = signedState.tokens();
+			this.accounts = signedState.accounts();
+			this.tokenAssociations = signedState.tokenAssociations();
+		}
+
+		private static RetainedBalances retainedFrom(ServicesState signedState) {
+			var retained = new RetainedBalances(signedState);
+			retained.accounts.incrementReferenceCount();
+			retained.tokens.incrementReferenceCount();
+			retained.tokenAssociations.incrementReferenceCount();
+			return retained;
+		}
+
+		private void release() {
+			accounts.decrementReferenceCount();
+			tokens.decrementReferenceCount();
+			tokenAssociations.decrementReferenceCount();
+		}
+	}
+
 	static class BalancesSummary {
 		private final BigInteger totalFloat;
-		private final List<SingleAccountBalances> orderedBalances;
+		private final BalancesSnapshot snapshot;
 
 		BalancesSummary(
 				BigInteger totalFloat,
-				List<SingleAccountBalances> orderedBalances
+				BalancesSnapshot snapshot
 		) {
 			this.totalFloat = totalFloat;
-			this.orderedBalances = orderedBalances;
+			this.snapshot = snapshot;
 		}
 
 		public BigInteger getTotalFloat() {
 			return totalFloat;
 		}
 
-		public List<SingleAccountBalances> getOrderedBalances() {
-			return orderedBalances;
+		public BalancesSnapshot getSnapshot() {
+			return snapshot;
 		}
 	}
 }
-
@@ -79,6 +79,30 @@ public class MerkleEntityAssociation extends AbstractMerkleLeaf implements FCMKe
 						.build());
 	}
 
+	public long getFromShard() {
+		return fromShard;
+	}
+
+	public long getFromRealm() {
+		return fromRealm;
+	}
+
+	public long getFromNum() {
+		return fromNum;
+	}
+
+	public long getToShard() {
+		return toShard;
+	}
+
+	public long getToRealm() {
+		return toRealm;
+	}
+
+	public long getToNum() {
+		return toNum;
+	}
+
 	/* --- MerkleLeaf --- */
 	@Override
 	public long getClassId() {
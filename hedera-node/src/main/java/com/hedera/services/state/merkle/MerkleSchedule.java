@@ -42,15 +42,16 @@ import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
 import org.apache.commons.codec.binary.Hex;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
-import static com.google.protobuf.ByteString.copyFrom;
 import static com.hedera.services.utils.MiscUtils.asTimestamp;
 import static com.hedera.services.utils.MiscUtils.describe;
 import static com.swirlds.common.CommonUtils.hex;
@@ -84,8 +85,12 @@ public class MerkleSchedule extends AbstractMerkleLeaf implements FCMValue {
 	private TransactionBody ordinaryScheduledTxn;
 	private SchedulableTransactionBody scheduledTxn;
 
-	private Set<ByteString> notary = ConcurrentHashMap.newKeySet();
+	private static final byte[][] NO_SIGNATORIES = new byte[0][];
+
+	/* The witnessed keys in unsigned lexicographic order; replaced (never mutated) on each new witness */
+	private volatile byte[][] notary = NO_SIGNATORIES;
 	private List<byte[]> signatories = new ArrayList<>();
+	private ByteString contentHash;
 
 	public MerkleSchedule() {
 	}
@@ -101,14 +106,19 @@ public class MerkleSchedule extends AbstractMerkleLeaf implements FCMValue {
 
 	/* Notary functions */
 	public boolean witnessValidEd25519Signature(byte[] key) {
-		var usableKey = copyFrom(key);
-		if (notary.contains(usableKey)) {
+		var witnessed = notary;
+		int i = Arrays.binarySearch(witnessed, key, Arrays::compareUnsigned);
+		if (i >= 0) {
 			return false;
-		} else {
-			signatories.add(key);
-			notary.add(usableKey);
-			return true;
 		}
+		int at = -(i + 1);
+		var updated = new byte[witnessed.length + 1][];
+		System.arraycopy(witnessed, 0, updated, 0, at);
+		updated[at] = key;
+		System.arraycopy(witnessed, at, updated, at + 1, witnessed.length - at);
+		signatories.add(key);
+		notary = updated;
+		return true;
 	}
 
 	public Transaction asSignedTxn() {
@@ -138,7 +148,42 @@ public class MerkleSchedule extends AbstractMerkleLeaf implements FCMValue {
 	}
 
 	public boolean hasValidEd25519Signature(byte[] key) {
-		return notary.contains(copyFrom(key));
+		return Arrays.binarySearch(notary, key, Arrays::compareUnsigned) >= 0;
+	}
+
+	/**
+	 * Returns the SHA-384 digest of the canonical encoding of the fields that
+	 * determine this schedule's identity (as in {@link #equals(Object)}); that is,
+	 * the bytes of the scheduled transaction, the memo, and the admin key, each
+	 * prefixed with its length (or {@code -1} if absent).
+	 *
+	 * @return the fixed-size content hash of this schedule
+	 */
+	public ByteString contentHash() {
+		if (contentHash == null) {
+			var digest = sha384();
+			update(digest, scheduledTxn == null ? null : scheduledTxn.toByteArray());
+			update(digest, memo == null ? null : memo.getBytes(StandardCharsets.UTF_8));
+			update(digest, grpcAdminKey == null ? null : grpcAdminKey.toByteArray());
+			contentHash = ByteString.copyFrom(digest.digest());
+		}
+		return contentHash;
+	}
+
+	private static void update(MessageDigest digest, byte[] field) {
+		int len = (field == null) ? -1 : field.length;
+		digest.update(new byte[] { (byte) (len >>> 24), (byte) (len >>> 16), (byte) (len >>> 8), (byte) len });
+		if (field != null) {
+			digest.update(field);
+		}
+	}
+
+	private static MessageDigest sha384() {
+		try {
+			return MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException impossible) {
+			throw new IllegalStateException("SHA-384 not supported by Java API!");
+		}
 	}
 
 	/* Object */
@@ -250,31 +295,22 @@ public class MerkleSchedule extends AbstractMerkleLeaf implements FCMValue {
 		fc.scheduledTxn = scheduledTxn;
 		fc.ordinaryScheduledTxn = ordinaryScheduledTxn;
 		fc.resolutionTime = resolutionTime;
+		fc.contentHash = contentHash;
+		fc.notary = notary;
 
-		/* Signatories are mutable */
-		for (byte[] signatory : signatories) {
-			fc.witnessValidEd25519Signature(signatory);
-		}
+		/* Signatories are mutable (but the notary is copied-on-write, so can be shared) */
+		fc.signatories = new ArrayList<>(signatories);
 
 		return fc;
 	}
 
-	public MerkleSchedule toContentAddressableView() {
-		var cav = new MerkleSchedule();
-
-		cav.memo = memo;
-		cav.grpcAdminKey = grpcAdminKey;
-		cav.scheduledTxn = scheduledTxn;
-
-		return cav;
-	}
-
 	public Optional<String> memo() {
 		return Optional.ofNullable(this.memo);
 	}
 
 	public void setMemo(String memo) {
 		this.memo = memo;
+		this.contentHash = null;
 	}
 
 	public boolean hasAdminKey() {
@@ -23,7 +23,6 @@ package com.hedera.services.state.merkle;
 import com.google.common.base.MoreObjects;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.core.jproto.JKeyList;
-import com.hedera.services.legacy.proto.utils.CommonUtils;
 import com.hedera.services.state.serdes.DomainSerdes;
 import com.hedera.services.state.serdes.TopicSerde;
 import com.hedera.services.state.submerkle.EntityId;
@@ -40,9 +39,7 @@ import org.apache.logging.log4j.Logger;
 import org.spongycastle.util.encoders.Hex;
 
 import javax.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -261,24 +258,15 @@ public final class MerkleTopic extends AbstractMerkleLeaf implements FCMValue {
 			consensusTimestamp = Instant.ofEpochSecond(0);
 		}
 
-		var boas = new ByteArrayOutputStream();
-		try (var out = new ObjectOutputStream(boas)) {
-			out.writeObject(getRunningHash());
-			out.writeLong(RUNNING_HASH_VERSION);
-			out.writeLong(payer.getShardNum());
-			out.writeLong(payer.getRealmNum());
-			out.writeLong(payer.getAccountNum());
-			out.writeLong(topicId.getShardNum());
-			out.writeLong(topicId.getRealmNum());
-			out.writeLong(topicId.getTopicNum());
-			out.writeLong(consensusTimestamp.getEpochSecond());
-			out.writeInt(consensusTimestamp.getNano());
-			++sequenceNumber;
-			out.writeLong(sequenceNumber);
-			out.writeObject(CommonUtils.noThrowSha384HashOf(message));
-			out.flush();
-			runningHash = CommonUtils.noThrowSha384HashOf(boas.toByteArray());
-		}
+		++sequenceNumber;
+		runningHash = TopicRunningHashEngine.current().nextRunningHash(
+				getRunningHash(),
+				RUNNING_HASH_VERSION,
+				payer.getShardNum(), payer.getRealmNum(), payer.getAccountNum(),
+				topicId.getShardNum(), topicId.getRealmNum(), topicId.getTopicNum(),
+				consensusTimestamp.getEpochSecond(), consensusTimestamp.getNano(),
+				sequenceNumber,
+				message);
 	}
 
 	public static class KeySerializationException extends RuntimeException {
@@ -0,0 +1,136 @@
+package com.hedera.services.state.merkle;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the next running hash of a topic from exactly the bytes the legacy implementation
+ * produced by writing its inputs to an {@link java.io.ObjectOutputStream}; but writes those bytes
+ * into a reusable buffer and hashes them with a reusable {@link MessageDigest}.
+ *
+ * The legacy layout is the Java serialization stream header; the previous running hash as a
+ * {@code byte[]} object (with a full class descriptor); a single block of primitive data holding the
+ * running hash version, payer and topic ids, consensus timestamp and sequence number; and finally the
+ * SHA-384 hash of the message as a second {@code byte[]} object (with a back-reference to the class
+ * descriptor already written).
+ *
+ * Each instance is thread-confined; use {@link TopicRunningHashEngine#current()}.
+ */
+final class TopicRunningHashEngine {
+	static final int HASH_SIZE = 48;
+
+	/* Stream magic and version, then TC_ARRAY and the class descriptor of byte[]. */
+	private static final byte[] STREAM_PREFIX = {
+			(byte) 0xAC, (byte) 0xED, 0x00, 0x05,
+			0x75, 0x72, 0x00, 0x02, '[', 'B',
+			(byte) 0xAC, (byte) 0xF3, 0x17, (byte) 0xF8, 0x06, 0x08, 0x54, (byte) 0xE0,
+			0x02, 0x00, 0x00, 0x78, 0x70
+	};
+	/* TC_BLOCKDATA with the length of the ten primitives written between the two arrays. */
+	private static final byte[] BLOCK_PREFIX = { 0x77, 8 * 9 + 4 };
+	/* TC_ARRAY with a TC_REFERENCE to the first handle, the byte[] class descriptor. */
+	private static final byte[] SECOND_ARRAY_PREFIX = { 0x75, 0x71, 0x00, 0x7E, 0x00, 0x00 };
+
+	private static final int MIN_BUFFER_SIZE = 256;
+	private static final int FIXED_SIZE = STREAM_PREFIX.length + Integer.BYTES
+			+ BLOCK_PREFIX.length + BLOCK_PREFIX[1]
+			+ SECOND_ARRAY_PREFIX.length + Integer.BYTES + HASH_SIZE;
+
+	private static final ThreadLocal<TopicRunningHashEngine> ENGINES =
+			ThreadLocal.withInitial(TopicRunningHashEngine::new);
+
+	private final MessageDigest digest;
+	private ByteBuffer buffer = ByteBuffer.allocate(MIN_BUFFER_SIZE);
+
+	static TopicRunningHashEngine current() {
+		return ENGINES.get();
+	}
+
+	TopicRunningHashEngine() {
+		try {
+			digest = MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+	}
+
+	/**
+	 * Returns the next running hash given the previous running hash and the (non-null) inputs.
+	 *
+	 * @return the next running hash
+	 */
+	byte[] nextRunningHash(
+			byte[] prevRunningHash,
+			long version,
+			long payerShard, long payerRealm, long payerNum,
+			long topicShard, long topicRealm, long topicNum,
+			long consensusSecond, int consensusNano,
+			long sequenceNumber,
+			byte[] message
+	) {
+		ensureCapacity(FIXED_SIZE + prevRunningHash.length);
+		var buf = buffer;
+		buf.clear();
+
+		buf.put(STREAM_PREFIX);
+		buf.putInt(prevRunningHash.length);
+		buf.put(prevRunningHash);
+
+		buf.put(BLOCK_PREFIX);
+		buf.putLong(version);
+		buf.putLong(payerShard);
+		buf.putLong(payerRealm);
+		buf.putLong(payerNum);
+		buf.putLong(topicShard);
+		buf.putLong(topicRealm);
+		buf.putLong(topicNum);
+		buf.putLong(consensusSecond);
+		buf.putInt(consensusNano);
+		buf.putLong(sequenceNumber);
+
+		buf.put(SECOND_ARRAY_PREFIX);
+		buf.putInt(HASH_SIZE);
+		int messageHashPos = buf.position();
+		digest.update(message);
+		try {
+			digest.digest(buf.array(), messageHashPos, HASH_SIZE);
+		} catch (DigestException impossible) {
+			throw new IllegalStateException(impossible);
+		}
+
+		digest.update(buf.array(), 0, messageHashPos + HASH_SIZE);
+		return digest.digest();
+	}
+
+	int bufferCapacity() {
+		return buffer.capacity();
+	}
+
+	private void ensureCapacity(int size) {
+		if (buffer.capacity() < size) {
+			buffer = ByteBuffer.allocate(Math.max(size, 2 * buffer.capacity()));
+		}
+	}
+}
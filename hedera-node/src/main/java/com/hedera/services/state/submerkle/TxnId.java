@@ -66,6 +66,10 @@ public class TxnId implements SelfSerializable {
 		this.payerAccount = payerAccount;
 	}
 
+	public boolean isScheduled() {
+		return scheduled;
+	}
+
 	public EntityId getPayerAccount() {
 		return payerAccount;
 	}
@@ -27,8 +27,25 @@ import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.swirlds.fcmap.FCMap;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Validates the ledger in one pass over the accounts, handing them off in fixed-size
+ * partitions to a {@link ForkJoinPool} while the map is still being traversed; each
+ * partition checks its ids and sums its balances in its own {@link LedgerTally}.
+ *
+ * A scan of the accounts already done for another purpose can instead tally them in a
+ * {@link #newTally()}, and have the result checked by {@link #validate(LedgerTally)}.
+ */
 public class BasedLedgerValidator implements LedgerValidator {
+	static final int DEFAULT_PARTITION_SIZE = 4096;
+
 	private final long expectedFloat;
+	private final int partitionSize;
+	private final ForkJoinPool pool;
 
 	private final HederaNumbers hederaNums;
 	private final GlobalDynamicProperties dynamicProperties;
@@ -37,30 +54,101 @@ public class BasedLedgerValidator implements LedgerValidator {
 			HederaNumbers hederaNums,
 			PropertySource properties,
 			GlobalDynamicProperties dynamicProperties
+	) {
+		this(hederaNums, properties, dynamicProperties, ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+	}
+
+	BasedLedgerValidator(
+			HederaNumbers hederaNums,
+			PropertySource properties,
+			GlobalDynamicProperties dynamicProperties,
+			ForkJoinPool pool,
+			int partitionSize
 	) {
 		this.expectedFloat = properties.getLongProperty("ledger.totalTinyBarFloat");
 
 		this.hederaNums = hederaNums;
 		this.dynamicProperties = dynamicProperties;
+		this.pool = pool;
+		this.partitionSize = partitionSize;
 	}
 
 	@Override
-	public void assertIdsAreValid(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		for (MerkleEntityId id : accounts.keySet()) {
-			if (id.getRealm() != hederaNums.realm()) {
-				throw new IllegalStateException(String.format("Invalid realm in account %s", id.toAbbrevString()));
-			}
-			if (id.getShard() != hederaNums.shard()) {
-				throw new IllegalStateException(String.format("Invalid shard in account %s", id.toAbbrevString()));
-			}
-			if (id.getNum() < 1 || id.getNum() > dynamicProperties.maxAccountNum()) {
-				throw new IllegalStateException(String.format("Invalid num in account %s", id.toAbbrevString()));
+	public void validate(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		List<ForkJoinTask<Partition>> tasks = new ArrayList<>();
+		var current = new Partition(partitionSize);
+		for (var entry : accounts.entrySet()) {
+			current.add(entry.getKey(), entry.getValue());
+			if (current.isFull()) {
+				tasks.add(pool.submit(current::validate));
+				current = new Partition(partitionSize);
 			}
 		}
+		if (current.size > 0) {
+			tasks.add(pool.submit(current::validate));
+		}
+
+		var tally = newTally();
+		for (var task : tasks) {
+			tally.addAll(task.join().tally);
+		}
+		validate(tally);
 	}
 
 	@Override
-	public boolean hasExpectedTotalBalance(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		return expectedFloat == accounts.values().stream().mapToLong(MerkleAccount::getBalance).sum();
+	public LedgerTally newTally() {
+		return new LedgerTally(this::problemWith);
+	}
+
+	@Override
+	public void validate(LedgerTally tally) {
+		if (tally.problem() != null) {
+			throw new IllegalStateException(tally.problem());
+		}
+		if (tally.total() != expectedFloat) {
+			throw new IllegalStateException(
+					String.format("Invalid total tinyBar float %d (expected %d)!", tally.total(), expectedFloat));
+		}
+	}
+
+	private String problemWith(MerkleEntityId id) {
+		if (id.getRealm() != hederaNums.realm()) {
+			return String.format("Invalid realm in account %s", id.toAbbrevString());
+		}
+		if (id.getShard() != hederaNums.shard()) {
+			return String.format("Invalid shard in account %s", id.toAbbrevString());
+		}
+		if (id.getNum() < 1 || id.getNum() > dynamicProperties.maxAccountNum()) {
+			return String.format("Invalid num in account %s", id.toAbbrevString());
+		}
+		return null;
+	}
+
+	private class Partition {
+		private final MerkleEntityId[] ids;
+		private final MerkleAccount[] accounts;
+		private final LedgerTally tally = newTally();
+		private int size = 0;
+
+		Partition(int capacity) {
+			ids = new MerkleEntityId[capacity];
+			accounts = new MerkleAccount[capacity];
+		}
+
+		void add(MerkleEntityId id, MerkleAccount account) {
+			ids[size] = id;
+			accounts[size++] = account;
+		}
+
+		boolean isFull() {
+			return size == ids.length;
+		}
+
+		Partition validate() {
+			for (int i = 0; i < size; i++) {
+				tally.add(ids[i], accounts[i]);
+			}
+			return this;
+		}
 	}
 }
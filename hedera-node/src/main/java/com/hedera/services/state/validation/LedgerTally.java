@@ -0,0 +1,81 @@
+package com.hedera.services.state.validation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+
+import java.util.function.Function;
+
+/**
+ * A running tally of the accounts checked for ledger validation; that is, the first
+ * invalid account id seen, and the sum of all balances. This lets a scan of the accounts
+ * done for another purpose also validate the ledger, instead of walking them again.
+ *
+ * A tally is not thread-safe; each partition of a parallel scan should add its accounts
+ * to its own {@link #fresh()} tally, and the partition tallies be merged in order.
+ */
+public class LedgerTally {
+	private final Function<MerkleEntityId, String> idCheck;
+
+	private long total = 0;
+	private String problem = null;
+
+	public LedgerTally(Function<MerkleEntityId, String> idCheck) {
+		this.idCheck = idCheck;
+	}
+
+	/**
+	 * Returns an empty tally with the same id check as this one.
+	 *
+	 * @return the empty tally
+	 */
+	public LedgerTally fresh() {
+		return new LedgerTally(idCheck);
+	}
+
+	public void add(MerkleEntityId id, MerkleAccount account) {
+		if (problem == null) {
+			problem = idCheck.apply(id);
+		}
+		total += account.getBalance();
+	}
+
+	/**
+	 * Merges the given tally (of accounts scanned after this one's) into this tally.
+	 *
+	 * @param later the tally to merge
+	 */
+	public void addAll(LedgerTally later) {
+		if (problem == null) {
+			problem = later.problem;
+		}
+		total += later.total;
+	}
+
+	public long total() {
+		return total;
+	}
+
+	public String problem() {
+		return problem;
+	}
+}
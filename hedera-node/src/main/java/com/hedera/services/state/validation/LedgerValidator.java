@@ -25,6 +25,29 @@ import com.hedera.services.state.merkle.MerkleAccount;
 import com.swirlds.fcmap.FCMap;
 
 public interface LedgerValidator {
-	void assertIdsAreValid(FCMap<MerkleEntityId, MerkleAccount> accounts);
-	boolean hasExpectedTotalBalance(FCMap<MerkleEntityId, MerkleAccount> accounts);
+	/**
+	 * Checks in a single pass that every account id in the given map is valid for this
+	 * network, and that the account balances sum to the expected total float.
+	 *
+	 * @param accounts the accounts to validate
+	 * @throws IllegalStateException if an id is invalid or the float is wrong
+	 */
+	void validate(FCMap<MerkleEntityId, MerkleAccount> accounts);
+
+	/**
+	 * Returns an empty tally to which a scan of the accounts can add each account it visits,
+	 * for validation by {@link #validate(LedgerTally)} once the scan is done.
+	 *
+	 * @return the empty tally
+	 */
+	LedgerTally newTally();
+
+	/**
+	 * Checks that the given tally of every account saw only valid ids, and summed to the
+	 * expected total float.
+	 *
+	 * @param tally the tally of all accounts
+	 * @throws IllegalStateException if an id was invalid or the float is wrong
+	 */
+	void validate(LedgerTally tally);
 }
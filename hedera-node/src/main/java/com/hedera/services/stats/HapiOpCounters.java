@@ -33,6 +33,8 @@ import java.util.function.Supplier;
 
 import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_ANSWERED_DESC_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_ANSWERED_NAME_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_FEE_ESTIMATION_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_FEE_ESTIMATION_NAME_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_HANDLED_DESC_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.COUNTER_HANDLED_NAME_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.IGNORED_FUNCTIONS;
@@ -55,6 +57,7 @@ public class HapiOpCounters {
 	EnumMap<HederaFunctionality, AtomicLong> handledTxns = new EnumMap<>(HederaFunctionality.class);
 	EnumMap<HederaFunctionality, AtomicLong> submittedTxns = new EnumMap<>(HederaFunctionality.class);
 	EnumMap<HederaFunctionality, AtomicLong> answeredQueries = new EnumMap<>(HederaFunctionality.class);
+	EnumMap<HederaFunctionality, AtomicLong> feeEstimationNanos = new EnumMap<>(HederaFunctionality.class);
 
 	public HapiOpCounters(
 			CounterFactory counter,
@@ -71,6 +74,7 @@ public class HapiOpCounters {
 				.filter(function -> !IGNORED_FUNCTIONS.contains(function))
 				.forEach(function -> {
 			receivedOps.put(function, new AtomicLong());
+			feeEstimationNanos.put(function, new AtomicLong());
 			if (QUERY_FUNCTIONS.contains(function)) {
 				answeredQueries.put(function, new AtomicLong());
 			} else {
@@ -85,6 +89,14 @@ public class HapiOpCounters {
 		registerCounters(platform, submittedTxns, COUNTER_SUBMITTED_NAME_TPL, COUNTER_SUBMITTED_DESC_TPL);
 		registerCounters(platform, handledTxns, COUNTER_HANDLED_NAME_TPL, COUNTER_HANDLED_DESC_TPL);
 		registerCounters(platform, answeredQueries, COUNTER_ANSWERED_NAME_TPL, COUNTER_ANSWERED_DESC_TPL);
+		for (var entry : feeEstimationNanos.entrySet()) {
+			var baseName = statNameFn.apply(entry.getKey());
+			var nanos = entry.getValue();
+			platform.addAppStatEntry(counter.from(
+					String.format(COUNTER_FEE_ESTIMATION_NAME_TPL, baseName),
+					String.format(COUNTER_FEE_ESTIMATION_DESC_TPL, baseName),
+					() -> nanos.get() / 1_000L));
+		}
 	}
 
 	private void registerCounters(
@@ -137,6 +149,16 @@ public class HapiOpCounters {
 		return IGNORED_FUNCTIONS.contains(query) ? 0 : answeredQueries.get(query).get();
 	}
 
+	public void countFeeEstimationNanos(HederaFunctionality op, long nanos) {
+		if (!IGNORED_FUNCTIONS.contains(op)) {
+			feeEstimationNanos.get(op).getAndAdd(nanos);
+		}
+	}
+
+	public long feeEstimationMicrosSoFar(HederaFunctionality op) {
+		return IGNORED_FUNCTIONS.contains(op) ? 0 : feeEstimationNanos.get(op).get() / 1_000L;
+	}
+
 	private void safeIncrement(
 			Map<HederaFunctionality, AtomicLong> counters,
 			HederaFunctionality function
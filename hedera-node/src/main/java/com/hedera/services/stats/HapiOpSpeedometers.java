@@ -35,6 +35,8 @@ import java.util.function.Supplier;
 import static com.hedera.services.stats.ServicesStatsConfig.IGNORED_FUNCTIONS;
 import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_ANSWERED_DESC_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_ANSWERED_NAME_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_FEE_ESTIMATION_DESC_TPL;
+import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_FEE_ESTIMATION_NAME_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_HANDLED_DESC_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_HANDLED_NAME_TPL;
 import static com.hedera.services.stats.ServicesStatsConfig.SPEEDOMETER_RECEIVED_DESC_TPL;
@@ -54,11 +56,13 @@ public class HapiOpSpeedometers {
 	final Map<HederaFunctionality, Long> lastHandledTxnsCount = new HashMap<>();
 	final Map<HederaFunctionality, Long> lastSubmittedTxnsCount = new HashMap<>();
 	final Map<HederaFunctionality, Long> lastAnsweredQueriesCount = new HashMap<>();
+	final Map<HederaFunctionality, Long> lastFeeEstimationMicros = new HashMap<>();
 
 	final EnumMap<HederaFunctionality, StatsSpeedometer> receivedOps = new EnumMap<>(HederaFunctionality.class);
 	final EnumMap<HederaFunctionality, StatsSpeedometer> handledTxns = new EnumMap<>(HederaFunctionality.class);
 	final EnumMap<HederaFunctionality, StatsSpeedometer> submittedTxns = new EnumMap<>(HederaFunctionality.class);
 	final EnumMap<HederaFunctionality, StatsSpeedometer> answeredQueries = new EnumMap<>(HederaFunctionality.class);
+	final EnumMap<HederaFunctionality, StatsSpeedometer> feeEstimationTime = new EnumMap<>(HederaFunctionality.class);
 
 	public HapiOpSpeedometers(
 			HapiOpCounters counters,
@@ -76,6 +80,8 @@ public class HapiOpSpeedometers {
 				.forEach(function -> {
 			receivedOps.put(function, new StatsSpeedometer(halfLife));
 			lastReceivedOpsCount.put(function, 0L);
+			feeEstimationTime.put(function, new StatsSpeedometer(halfLife));
+			lastFeeEstimationMicros.put(function, 0L);
 			if (QUERY_FUNCTIONS.contains(function)) {
 				answeredQueries.put(function, new StatsSpeedometer(halfLife));
 				lastAnsweredQueriesCount.put(function, 0L);
@@ -93,6 +99,11 @@ public class HapiOpSpeedometers {
 		registerSpeedometers(platform, submittedTxns, SPEEDOMETER_SUBMITTED_NAME_TPL, SPEEDOMETER_SUBMITTED_DESC_TPL);
 		registerSpeedometers(platform, handledTxns, SPEEDOMETER_HANDLED_NAME_TPL, SPEEDOMETER_HANDLED_DESC_TPL);
 		registerSpeedometers(platform, answeredQueries, SPEEDOMETER_ANSWERED_NAME_TPL, SPEEDOMETER_ANSWERED_DESC_TPL);
+		registerSpeedometers(
+				platform,
+				feeEstimationTime,
+				SPEEDOMETER_FEE_ESTIMATION_NAME_TPL,
+				SPEEDOMETER_FEE_ESTIMATION_DESC_TPL);
 	}
 
 	private void registerSpeedometers(
@@ -114,6 +125,7 @@ public class HapiOpSpeedometers {
 		updateSpeedometers(submittedTxns, lastSubmittedTxnsCount, counters::submittedSoFar);
 		updateSpeedometers(handledTxns, lastHandledTxnsCount, counters::handledSoFar);
 		updateSpeedometers(answeredQueries, lastAnsweredQueriesCount, counters::answeredSoFar);
+		updateSpeedometers(feeEstimationTime, lastFeeEstimationMicros, counters::feeEstimationMicrosSoFar);
 	}
 
 	private void updateSpeedometers(
@@ -24,7 +24,12 @@ import com.hedera.services.context.properties.NodeLocalProperties;
 import com.swirlds.common.Platform;
 import com.swirlds.platform.StatsRunningAverage;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class MiscRunningAvgs {
+	private final double halfLife;
 	private final RunningAvgFactory runningAvg;
 
 	StatsRunningAverage accountRetryWaitMs;
@@ -33,11 +38,30 @@ public class MiscRunningAvgs {
 
 	StatsRunningAverage writeQueueSizeRecordStream;
 	StatsRunningAverage hashQueueSizeRecordStream;
+	StatsRunningAverage recordStreamStallMs;
+	StatsRunningAverage recordStreamBatchSize;
+
+	StatsRunningAverage expiryRestartMs;
+	/* Populated as phases finish; since the first state is loaded before stats are
+	 * registered, every startup phase has an entry by then. */
+	final Map<String, StatsRunningAverage> startupPhaseMs = new ConcurrentHashMap<>();
+
+	StatsRunningAverage balancesSnapshotMs;
+	StatsRunningAverage balancesWriteMs;
+	StatsRunningAverage balancesSignMs;
+
+	StatsRunningAverage signedStateViewStalenessMs;
+
+	StatsRunningAverage balanceResponseCacheHitRatio;
+	StatsRunningAverage tokenInfoResponseCacheHitRatio;
+	StatsRunningAverage receiptResponseCacheHitRatio;
+	StatsRunningAverage bytecodeCacheHitRatio;
+	StatsRunningAverage bytecodeCacheBytes;
 
 	public MiscRunningAvgs(RunningAvgFactory runningAvg, NodeLocalProperties properties) {
 		this.runningAvg = runningAvg;
 
-		double halfLife = properties.statsRunningAvgHalfLifeSecs();
+		halfLife = properties.statsRunningAvgHalfLifeSecs();
 
 		accountRetryWaitMs = new StatsRunningAverage(halfLife);
 		accountLookupRetries = new StatsRunningAverage(halfLife);
@@ -45,6 +69,22 @@ public class MiscRunningAvgs {
 
 		writeQueueSizeRecordStream = new StatsRunningAverage(halfLife);
 		hashQueueSizeRecordStream = new StatsRunningAverage(halfLife);
+		recordStreamStallMs = new StatsRunningAverage(halfLife);
+		recordStreamBatchSize = new StatsRunningAverage(halfLife);
+
+		expiryRestartMs = new StatsRunningAverage(halfLife);
+
+		signedStateViewStalenessMs = new StatsRunningAverage(halfLife);
+
+		balanceResponseCacheHitRatio = new StatsRunningAverage(halfLife);
+		tokenInfoResponseCacheHitRatio = new StatsRunningAverage(halfLife);
+		receiptResponseCacheHitRatio = new StatsRunningAverage(halfLife);
+		bytecodeCacheHitRatio = new StatsRunningAverage(halfLife);
+		bytecodeCacheBytes = new StatsRunningAverage(halfLife);
+
+		balancesSnapshotMs = new StatsRunningAverage(halfLife);
+		balancesWriteMs = new StatsRunningAverage(halfLife);
+		balancesSignMs = new StatsRunningAverage(halfLife);
 	}
 
 	public void registerWith(Platform platform) {
@@ -75,6 +115,71 @@ public class MiscRunningAvgs {
 						hashQueueSizeRecordStream
 				)
 		);
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.RECORD_STREAM_STALL_MS,
+						Descriptions.RECORD_STREAM_STALL_MS,
+						recordStreamStallMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.RECORD_STREAM_BATCH_SIZE,
+						Descriptions.RECORD_STREAM_BATCH_SIZE,
+						recordStreamBatchSize));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.EXPIRY_RESTART_MS,
+						Descriptions.EXPIRY_RESTART_MS,
+						expiryRestartMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.SIGNED_STATE_VIEW_STALENESS_MS,
+						Descriptions.SIGNED_STATE_VIEW_STALENESS_MS,
+						signedStateViewStalenessMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BALANCE_RESPONSE_CACHE_HIT_RATIO,
+						Descriptions.BALANCE_RESPONSE_CACHE_HIT_RATIO,
+						balanceResponseCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO,
+						Descriptions.TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO,
+						tokenInfoResponseCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.RECEIPT_RESPONSE_CACHE_HIT_RATIO,
+						Descriptions.RECEIPT_RESPONSE_CACHE_HIT_RATIO,
+						receiptResponseCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_HIT_RATIO,
+						Descriptions.BYTECODE_CACHE_HIT_RATIO,
+						bytecodeCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_BYTES,
+						Descriptions.BYTECODE_CACHE_BYTES,
+						bytecodeCacheBytes));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BALANCES_SNAPSHOT_MS,
+						Descriptions.BALANCES_SNAPSHOT_MS,
+						balancesSnapshotMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BALANCES_WRITE_MS,
+						Descriptions.BALANCES_WRITE_MS,
+						balancesWriteMs));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BALANCES_SIGN_MS,
+						Descriptions.BALANCES_SIGN_MS,
+						balancesSignMs));
+		new TreeMap<>(startupPhaseMs).forEach((phase, phaseMs) -> platform.addAppStatEntry(
+				runningAvg.from(
+						Names.startupPhaseMs(phase),
+						Descriptions.startupPhaseMs(phase),
+						phaseMs)));
 	}
 
 	public void recordAccountLookupRetries(int num) {
@@ -97,6 +202,58 @@ public class MiscRunningAvgs {
 		hashQueueSizeRecordStream.recordValue(num);
 	}
 
+	public void recordRecordStreamStallMs(double time) {
+		recordStreamStallMs.recordValue(time);
+	}
+
+	public void recordRecordStreamBatchSize(int num) {
+		recordStreamBatchSize.recordValue(num);
+	}
+
+	public void recordExpiryRestartMs(double time) {
+		expiryRestartMs.recordValue(time);
+	}
+
+	public void recordStartupPhaseMs(String phase, double time) {
+		startupPhaseMs.computeIfAbsent(phase, ignore -> new StatsRunningAverage(halfLife)).recordValue(time);
+	}
+
+	public void recordSignedStateViewStalenessMs(double time) {
+		signedStateViewStalenessMs.recordValue(time);
+	}
+
+	public void recordBalanceResponseCacheHitRatio(double hit) {
+		balanceResponseCacheHitRatio.recordValue(hit);
+	}
+
+	public void recordTokenInfoResponseCacheHitRatio(double hit) {
+		tokenInfoResponseCacheHitRatio.recordValue(hit);
+	}
+
+	public void recordReceiptResponseCacheHitRatio(double hit) {
+		receiptResponseCacheHitRatio.recordValue(hit);
+	}
+
+	public void recordBytecodeCacheHitRatio(double hit) {
+		bytecodeCacheHitRatio.recordValue(hit);
+	}
+
+	public void recordBytecodeCacheBytes(long bytes) {
+		bytecodeCacheBytes.recordValue(bytes);
+	}
+
+	public void recordBalancesSnapshotMs(double time) {
+		balancesSnapshotMs.recordValue(time);
+	}
+
+	public void recordBalancesWriteMs(double time) {
+		balancesWriteMs.recordValue(time);
+	}
+
+	public void recordBalancesSignMs(double time) {
+		balancesSignMs.recordValue(time);
+	}
+
 	static class Names {
 		public static final String ACCOUNT_RETRY_WAIT_MS = "avgAcctRetryWaitMs";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "avgAcctLookupRetryAttempts";
@@ -104,6 +261,26 @@ public class MiscRunningAvgs {
 
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM = "writeQueueSizeRecordStream";
 		public static final String HASH_QUEUE_SIZE_RECORD_STREAM = "hashQueueSizeRecordStream";
+		public static final String RECORD_STREAM_STALL_MS = "recordStreamStallMs";
+		public static final String RECORD_STREAM_BATCH_SIZE = "recordStreamBatchSize";
+
+		public static final String EXPIRY_RESTART_MS = "expiryRestartMs";
+
+		public static String startupPhaseMs(String phase) {
+			return "startup" + Character.toUpperCase(phase.charAt(0)) + phase.substring(1) + "Ms";
+		}
+
+		public static final String BALANCES_SNAPSHOT_MS = "balancesSnapshotMs";
+		public static final String BALANCES_WRITE_MS = "balancesWriteMs";
+		public static final String BALANCES_SIGN_MS = "balancesSignMs";
+
+		public static final String SIGNED_STATE_VIEW_STALENESS_MS = "signedStateViewStalenessMs";
+
+		public static final String BALANCE_RESPONSE_CACHE_HIT_RATIO = "getAccountBalanceCacheHitRatio";
+		public static final String TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO = "getTokenInfoCacheHitRatio";
+		public static final String RECEIPT_RESPONSE_CACHE_HIT_RATIO = "getReceiptCacheHitRatio";
+		public static final String BYTECODE_CACHE_HIT_RATIO = "bytecodeCacheHitRatio";
+		public static final String BYTECODE_CACHE_BYTES = "bytecodeCacheBytes";
 	}
 
 	static class Descriptions {
@@ -117,5 +294,40 @@ public class MiscRunningAvgs {
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM =
 				"size of the queue from which we take records and write to RecordStream file";
 		public static final String HASH_QUEUE_SIZE_RECORD_STREAM = "size of working queue for calculating hash and runningHash";
+		public static final String RECORD_STREAM_STALL_MS =
+				"time in millis handleTransaction was blocked because the record stream handoff queue was full";
+		public static final String RECORD_STREAM_BATCH_SIZE =
+				"number of records serialized and passed to the record stream in each batch";
+
+		public static final String EXPIRY_RESTART_MS =
+				"time in millis spent rebuilding expiry tracking from a loaded or reconnected state";
+
+		public static String startupPhaseMs(String phase) {
+			return String.format(
+					"time in millis spent in startup phase '%s' when initializing a loaded or reconnected state",
+					phase);
+		}
+
+		public static final String BALANCES_SNAPSHOT_MS =
+				"time in millis spent snapshotting balances from a signed state for export";
+		public static final String BALANCES_WRITE_MS =
+				"time in millis spent writing the balances files of an export";
+		public static final String BALANCES_SIGN_MS =
+				"time in millis spent signing the balances files of an export";
+
+		public static final String SIGNED_STATE_VIEW_STALENESS_MS =
+				"age in millis of the signed state from which a query was answered";
+
+		public static final String BALANCE_RESPONSE_CACHE_HIT_RATIO =
+				"fraction of account balance queries answered from the response cache";
+		public static final String TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO =
+				"fraction of token info lookups answered from the response cache";
+		public static final String RECEIPT_RESPONSE_CACHE_HIT_RATIO =
+				"fraction of transaction receipt queries answered from the response cache";
+
+		public static final String BYTECODE_CACHE_HIT_RATIO =
+				"fraction of contract bytecode loads served from the bytecode cache";
+		public static final String BYTECODE_CACHE_BYTES =
+				"bytes of contract bytecode held in the bytecode cache";
 	}
 }
@@ -31,6 +31,12 @@ public class MiscSpeedometers {
 	StatsSpeedometer asyncVerifications;
 	StatsSpeedometer accountLookupRetries;
 	StatsSpeedometer platformTxnRejections;
+	StatsSpeedometer sigCacheHits;
+	StatsSpeedometer sigCacheMisses;
+	StatsSpeedometer skippedBalancesExports;
+	StatsSpeedometer recordStreamBytes;
+	StatsSpeedometer signedStateViewHits;
+	StatsSpeedometer signedStateViewMisses;
 
 	public MiscSpeedometers(SpeedometerFactory speedometer, NodeLocalProperties properties) {
 		this.speedometer = speedometer;
@@ -39,6 +45,12 @@ public class MiscSpeedometers {
 		asyncVerifications = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		accountLookupRetries = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		platformTxnRejections = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		sigCacheHits = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		sigCacheMisses = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		skippedBalancesExports = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		recordStreamBytes = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		signedStateViewHits = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		signedStateViewMisses = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 	}
 
 	public void registerWith(Platform platform) {
@@ -62,6 +74,36 @@ public class MiscSpeedometers {
 						Names.PLATFORM_TXN_REJECTIONS,
 						Descriptions.PLATFORM_TXN_REJECTIONS,
 						platformTxnRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIG_CACHE_HITS,
+						Descriptions.SIG_CACHE_HITS,
+						sigCacheHits));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIG_CACHE_MISSES,
+						Descriptions.SIG_CACHE_MISSES,
+						sigCacheMisses));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SKIPPED_BALANCES_EXPORTS,
+						Descriptions.SKIPPED_BALANCES_EXPORTS,
+						skippedBalancesExports));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.RECORD_STREAM_BYTES,
+						Descriptions.RECORD_STREAM_BYTES,
+						recordStreamBytes));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIGNED_STATE_VIEW_HITS,
+						Descriptions.SIGNED_STATE_VIEW_HITS,
+						signedStateViewHits));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIGNED_STATE_VIEW_MISSES,
+						Descriptions.SIGNED_STATE_VIEW_MISSES,
+						signedStateViewMisses));
 	}
 
 	public void cycleSyncVerifications() {
@@ -80,11 +122,41 @@ public class MiscSpeedometers {
 		platformTxnRejections.update(1);
 	}
 
+	public void cycleSigCacheHits(int n) {
+		sigCacheHits.update(n);
+	}
+
+	public void cycleSigCacheMisses(int n) {
+		sigCacheMisses.update(n);
+	}
+
+	public void cycleSkippedBalancesExports() {
+		skippedBalancesExports.update(1);
+	}
+
+	public void cycleRecordStreamBytes(long n) {
+		recordStreamBytes.update(n);
+	}
+
+	public void cycleSignedStateViewHits() {
+		signedStateViewHits.update(1);
+	}
+
+	public void cycleSignedStateViewMisses() {
+		signedStateViewMisses.update(1);
+	}
+
 	static class Names {
 		public static final String SYNC_VERIFICATIONS = "sigVerifySync/sec";
 		public static final String ASYNC_VERIFICATIONS = "sigVerifyAsync/sec";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "acctLookupRetries/sec";
 		public static final String PLATFORM_TXN_REJECTIONS = "platformTxnNotCreated/sec";
+		public static final String SIG_CACHE_HITS = "sigCacheHits/sec";
+		public static final String SIG_CACHE_MISSES = "sigCacheMisses/sec";
+		public static final String SKIPPED_BALANCES_EXPORTS = "balancesExportsSkipped/sec";
+		public static final String RECORD_STREAM_BYTES = "recordStreamBytes/sec";
+		public static final String SIGNED_STATE_VIEW_HITS = "signedStateViewHits/sec";
+		public static final String SIGNED_STATE_VIEW_MISSES = "signedStateViewMisses/sec";
 	}
 
 	static class Descriptions {
@@ -96,5 +168,17 @@ public class MiscSpeedometers {
 				"number of times per second that an account lookup must be retried";
 		public static final String PLATFORM_TXN_REJECTIONS =
 				"number of platform transactions not created per second";
+		public static final String SIG_CACHE_HITS =
+				"number of signatures per second whose synchronous verification was answered from the verified-sig cache";
+		public static final String SIG_CACHE_MISSES =
+				"number of signatures per second that had to be verified synchronously despite the verified-sig cache";
+		public static final String SKIPPED_BALANCES_EXPORTS =
+				"number of balances exports per second skipped because earlier exports were still pending";
+		public static final String RECORD_STREAM_BYTES =
+				"number of serialized record stream bytes per second passed on for hashing and writing";
+		public static final String SIGNED_STATE_VIEW_HITS =
+				"number of queries per second answered from the latest signed state";
+		public static final String SIGNED_STATE_VIEW_MISSES =
+				"number of queries per second answered from the working state, since no fresh signed state was available";
 	}
 }
@@ -44,6 +44,8 @@ public class ServicesStatsConfig {
 	static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv/sec";
 	static final String SPEEDOMETER_ANSWERED_NAME_TPL = "%sSub/sec";
 	static final String SPEEDOMETER_SUBMITTED_NAME_TPL = "%sSub/sec";
+	static final String COUNTER_FEE_ESTIMATION_NAME_TPL = "%sFeeEstUs";
+	static final String SPEEDOMETER_FEE_ESTIMATION_NAME_TPL = "%sFeeEstUs/sec";
 
 	static final String COUNTER_HANDLED_DESC_TPL = "number of %s handled";
 	static final String COUNTER_RECEIVED_DESC_TPL = "number of %s received";
@@ -53,6 +55,9 @@ public class ServicesStatsConfig {
 	static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
 	static final String SPEEDOMETER_ANSWERED_DESC_TPL = "number of %s answered per second";
 	static final String SPEEDOMETER_SUBMITTED_DESC_TPL = "number of %s submitted per second";
+	static final String COUNTER_FEE_ESTIMATION_DESC_TPL = "microseconds spent estimating the resource usage of %s";
+	static final String SPEEDOMETER_FEE_ESTIMATION_DESC_TPL =
+			"microseconds per second spent estimating the resource usage of %s";
 
 	public static final String SYSTEM_DELETE_METRIC = "systemDelete";
 	public static final String SYSTEM_UNDELETE_METRIC = "systemUndelete";
@@ -25,6 +25,7 @@ import com.hedera.services.utils.Pause;
 import com.swirlds.common.Platform;
 
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 import static com.hedera.services.utils.SleepingPause.SLEEPING_PAUSE;
 
@@ -37,21 +38,27 @@ public class ServicesStatsManager {
 	});
 
 	static final String SPEEDOMETER_UPDATE_THREAD_NAME_TPL = "SpeedometerUpdateThread%d";
+	static final String IDS_FOOTPRINT_STAT_NAME = "backingStoresIdsKb";
+	static final String IDS_FOOTPRINT_STAT_DESC =
+			"estimated heap used to track extant account ids and token relationships, in KB";
 
 	private final HapiOpCounters opCounters;
 	private final MiscRunningAvgs runningAvgs;
 	private final MiscSpeedometers speedometers;
 	private final HapiOpSpeedometers opSpeedometers;
 	private final NodeLocalProperties properties;
+	private final LongSupplier idsFootprintBytes;
 
 	public ServicesStatsManager(
 			HapiOpCounters opCounters,
 			MiscRunningAvgs runningAvgs,
 			MiscSpeedometers speedometers,
 			HapiOpSpeedometers opSpeedometers,
-			NodeLocalProperties properties
+			NodeLocalProperties properties,
+			LongSupplier idsFootprintBytes
 	) {
 		this.properties = properties;
+		this.idsFootprintBytes = idsFootprintBytes;
 		this.opCounters = opCounters;
 		this.runningAvgs = runningAvgs;
 		this.speedometers = speedometers;
@@ -63,6 +70,8 @@ public class ServicesStatsManager {
 		runningAvgs.registerWith(platform);
 		speedometers.registerWith(platform);
 		opSpeedometers.registerWith(platform);
+		platform.addAppStatEntry(new CounterFactory() {
+		}.from(IDS_FOOTPRINT_STAT_NAME, IDS_FOOTPRINT_STAT_DESC, () -> idsFootprintBytes.getAsLong() / 1024));
 
 		platform.appStatInit();
 
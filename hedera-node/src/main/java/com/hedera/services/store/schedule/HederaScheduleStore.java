@@ -20,6 +20,7 @@ package com.hedera.services.store.schedule;
  * ‍
  */
 
+import com.google.protobuf.ByteString;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.ids.EntityIdSource;
@@ -34,9 +35,10 @@ import com.hederahashgraph.api.proto.java.ScheduleID;
 import com.swirlds.fcmap.FCMap;
 import org.apache.commons.lang3.tuple.Pair;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -67,7 +69,7 @@ public class HederaScheduleStore extends HederaStore implements ScheduleStore {
 	ScheduleID pendingId = NO_PENDING_ID;
 	MerkleSchedule pendingCreation;
 	TransactionContext txnCtx;
-	Map<MerkleSchedule, MerkleEntityId> extantSchedules = new HashMap<>();
+	Map<ByteString, MerkleEntityId> extantSchedules = new ConcurrentHashMap<>();
 
 	public HederaScheduleStore(
 			GlobalDynamicProperties properties,
@@ -79,7 +81,7 @@ public class HederaScheduleStore extends HederaStore implements ScheduleStore {
 		this.txnCtx = txnCtx;
 		this.schedules = schedules;
 		this.properties = properties;
-		buildContentAddressableViewOfExtantSchedules();
+		buildContentHashIndexOfExtantSchedules();
 	}
 
 	@Override
@@ -156,7 +158,7 @@ public class HederaScheduleStore extends HederaStore implements ScheduleStore {
 
 		var id = fromScheduleId(pendingId);
 		schedules.get().put(id, pendingCreation);
-		extantSchedules.put(pendingCreation.toContentAddressableView(), id);
+		extantSchedules.put(pendingCreation.contentHash(), id);
 		resetPendingCreation();
 	}
 
@@ -183,27 +185,29 @@ public class HederaScheduleStore extends HederaStore implements ScheduleStore {
 		}
 	}
 
-	private void buildContentAddressableViewOfExtantSchedules() {
-		schedules.get().forEach((key, value) -> extantSchedules.put(value.toContentAddressableView(), key));
+	private void buildContentHashIndexOfExtantSchedules() {
+		var entries = new ArrayList<>(schedules.get().entrySet());
+		entries.parallelStream().forEach(entry -> extantSchedules.put(entry.getValue().contentHash(), entry.getKey()));
 	}
 
 	@Override
 	public void rebuildViews() {
 		extantSchedules.clear();
-		buildContentAddressableViewOfExtantSchedules();
+		buildContentHashIndexOfExtantSchedules();
 	}
 
 	@Override
 	public Pair<Optional<ScheduleID>, MerkleSchedule> lookupSchedule(byte[] bodyBytes) {
 		var schedule = MerkleSchedule.from(bodyBytes, 0L);
+		var contentHash = schedule.contentHash();
 
 		if (isCreationPending()) {
-			if (schedule.equals(pendingCreation)) {
+			if (contentHash.equals(pendingCreation.contentHash())) {
 				return Pair.of(Optional.of(pendingId), pendingCreation);
 			}
 		}
-		if (extantSchedules.containsKey(schedule)) {
-			var extantId = extantSchedules.get(schedule);
+		var extantId = extantSchedules.get(contentHash);
+		if (extantId != null) {
 			return Pair.of(Optional.of(extantId.toScheduleId()), schedules.get().get(extantId));
 		}
 
@@ -230,10 +234,10 @@ public class HederaScheduleStore extends HederaStore implements ScheduleStore {
 		}
 		var schedule = get(id);
 		schedules.get().remove(entityId.asMerkle());
-		extantSchedules.remove(schedule);
+		extantSchedules.remove(schedule.contentHash());
 	}
 
-	public Map<MerkleSchedule, MerkleEntityId> getExtantSchedules() {
+	public Map<ByteString, MerkleEntityId> getExtantSchedules() {
 		return extantSchedules;
 	}
 
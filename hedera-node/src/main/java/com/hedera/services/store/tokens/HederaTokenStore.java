@@ -120,6 +120,8 @@ public class HederaTokenStore extends HederaStore implements TokenStore {
 	TokenID pendingId = NO_PENDING_ID;
 	MerkleToken pendingCreation;
 
+	private Consumer<TokenID> commitObserver = ignore -> { };
+
 	public HederaTokenStore(
 			EntityIdSource ids,
 			OptionValidator validator,
@@ -146,6 +148,16 @@ public class HederaTokenStore extends HederaStore implements TokenStore {
 				addKnownTreasury(value.treasury().toGrpcAccountId(), key.toTokenId()));
 	}
 
+	/**
+	 * Sets an observer to be given the id of every token whose creation is committed or
+	 * rolled back, or which is changed via {@link #apply(TokenID, Consumer)}.
+	 *
+	 * @param commitObserver the observer of changed token ids
+	 */
+	public void setCommitObserver(Consumer<TokenID> commitObserver) {
+		this.commitObserver = commitObserver;
+	}
+
 	@Override
 	public boolean isCreationPending() {
 		return pendingId != NO_PENDING_ID;
@@ -263,6 +275,7 @@ public class HederaTokenStore extends HederaStore implements TokenStore {
 			throw new IllegalArgumentException("Token change failed unexpectedly!", internal);
 		} finally {
 			tokens.get().replace(key, token);
+			commitObserver.accept(id);
 		}
 	}
 
@@ -484,6 +497,7 @@ public class HederaTokenStore extends HederaStore implements TokenStore {
 
 		tokens.get().put(fromTokenId(pendingId), pendingCreation);
 		addKnownTreasury(pendingCreation.treasury().toGrpcAccountId(), pendingId);
+		commitObserver.accept(pendingId);
 
 		resetPendingCreation();
 	}
@@ -493,6 +507,7 @@ public class HederaTokenStore extends HederaStore implements TokenStore {
 		throwIfNoCreationPending();
 
 		ids.reclaimLastId();
+		commitObserver.accept(pendingId);
 		resetPendingCreation();
 	}
 
@@ -0,0 +1,180 @@
+package com.hedera.services.store.tokens;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.store.CreationResult;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TokenCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenUpdateTransactionBody;
+import com.swirlds.fcmap.FCMap;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hedera.services.state.merkle.MerkleEntityId.fromTokenId;
+import static com.hedera.services.utils.EntityIdUtils.readableId;
+
+/**
+ * A {@link TokenStore} that can only look up tokens, in a map it never changes (for
+ * example, the tokens of a signed state); every other operation is unsupported.
+ */
+public class ReadOnlyTokenStore implements TokenStore {
+	private final Supplier<FCMap<MerkleEntityId, MerkleToken>> tokens;
+
+	public ReadOnlyTokenStore(Supplier<FCMap<MerkleEntityId, MerkleToken>> tokens) {
+		this.tokens = tokens;
+	}
+
+	@Override
+	public boolean exists(TokenID id) {
+		return tokens.get().containsKey(fromTokenId(id));
+	}
+
+	@Override
+	public MerkleToken get(TokenID id) {
+		var token = tokens.get().get(fromTokenId(id));
+		if (token == null) {
+			throw new IllegalArgumentException(String.format(
+					"Argument 'id=%s' does not refer to a known token!",
+					readableId(id)));
+		}
+		return token;
+	}
+
+	@Override
+	public void apply(TokenID id, Consumer<MerkleToken> change) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum delete(TokenID id) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isKnownTreasury(AccountID id) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean associationExists(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isTreasuryForToken(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum burn(TokenID tId, long amount) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum mint(TokenID tId, long amount) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum wipe(AccountID aId, TokenID tId, long wipingAmount, boolean skipKeyCheck) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum freeze(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum update(TokenUpdateTransactionBody changes, long now) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum unfreeze(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum grantKyc(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum revokeKyc(AccountID aId, TokenID tId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum associate(AccountID aId, List<TokenID> tokens) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum dissociate(AccountID aId, List<TokenID> tokens) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseCodeEnum adjustBalance(AccountID aId, TokenID tId, long adjustment) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public CreationResult<TokenID> createProvisionally(TokenCreateTransactionBody request, AccountID sponsor, long now) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void commitCreation() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void rollbackCreation() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isCreationPending() {
+		return false;
+	}
+
+	@Override
+	public void setHederaLedger(HederaLedger ledger) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setAccountsLedger(TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger) {
+		throw new UnsupportedOperationException();
+	}
+}
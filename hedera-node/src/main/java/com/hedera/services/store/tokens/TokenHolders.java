@@ -0,0 +1,229 @@
+package com.hedera.services.store.tokens;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.state.merkle.MerkleEntityAssociation;
+import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.utils.SortedLongLongMap;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.swirlds.fcmap.FCMap;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
+import static com.hedera.services.ledger.accounts.FCMapBackingAccounts.UNPACKABLE_ID;
+import static com.hedera.services.ledger.accounts.FCMapBackingAccounts.packed;
+import static com.hedera.services.ledger.accounts.FCMapBackingAccounts.unpacked;
+import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
+
+/**
+ * A secondary index from each token to the accounts associated with it, and their
+ * balances of the token; the inverse of the account-to-tokens navigation offered by
+ * {@link com.hedera.services.state.merkle.MerkleAccountTokens}.
+ *
+ * The index is rebuilt from the token associations in state as a startup phase, into
+ * a new instance that replaces the old one only once complete; and is then maintained
+ * incrementally by passing it each account-token relationship committed by the token
+ * relationships ledger. It may be read concurrently with these updates, a page at a time.
+ *
+ * Each token's holders are kept in a {@link SortedLongLongMap} from their packed account
+ * ids (as in the backing accounts) to their balances, with a boxed fallback for the (in
+ * practice, absent) ids that cannot be packed. Holders are therefore ordered first by
+ * shard, realm, and number; and then, for unpackable ids, by {@code ACCOUNT_ID_COMPARATOR}.
+ */
+public class TokenHolders {
+	private static final Comparator<MerkleEntityAssociation> ASSOCIATION_ORDER = Comparator
+			.comparingLong(MerkleEntityAssociation::getToShard)
+			.thenComparingLong(MerkleEntityAssociation::getToRealm)
+			.thenComparingLong(MerkleEntityAssociation::getToNum)
+			.thenComparingLong(TokenHolders::packedHolder);
+	private static final Comparator<Map.Entry<MerkleEntityAssociation, MerkleTokenRelStatus>> REBUILD_ORDER =
+			Map.Entry.comparingByKey(ASSOCIATION_ORDER);
+
+	private final Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> tokenAssociations;
+
+	private volatile Map<TokenID, Holders> holders = new ConcurrentHashMap<>();
+
+	public TokenHolders(Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> tokenAssociations) {
+		this.tokenAssociations = tokenAssociations;
+	}
+
+	/**
+	 * Replaces the index with one built from the token associations in state. The
+	 * associations are sorted (in parallel) by token and then holder, so that each
+	 * token's holders are built by appending in order.
+	 */
+	@SuppressWarnings("unchecked")
+	public void rebuildViews() {
+		Map.Entry<MerkleEntityAssociation, MerkleTokenRelStatus>[] entries =
+				tokenAssociations.get().entrySet().toArray(new Map.Entry[0]);
+		Arrays.parallelSort(entries, REBUILD_ORDER);
+
+		Map<TokenID, Holders> rebuilt = new ConcurrentHashMap<>();
+		Holders tokenHolders = null;
+		MerkleEntityAssociation prevKey = null;
+		for (var entry : entries) {
+			var key = entry.getKey();
+			if (prevKey == null || !isSameToken(prevKey, key)) {
+				tokenHolders = new Holders();
+				rebuilt.put(tokenOf(key), tokenHolders);
+			}
+			long balance = entry.getValue().getBalance();
+			long v = packedHolder(key);
+			if (v == UNPACKABLE_ID) {
+				tokenHolders.unpackable.put(key.asAccountTokenRel().getLeft(), balance);
+			} else {
+				tokenHolders.put(v, balance);
+			}
+			prevKey = key;
+		}
+		holders = rebuilt;
+	}
+
+	/**
+	 * Brings the index up to date with the committed state of the given relationship;
+	 * that is, records its current balance, or drops it if it no longer exists.
+	 *
+	 * @param rel the account-token relationship that was committed
+	 */
+	public void onCommitted(Pair<AccountID, TokenID> rel) {
+		var status = tokenAssociations.get().get(fromAccountTokenRel(rel));
+		if (status != null) {
+			holders.computeIfAbsent(rel.getRight(), ignore -> new Holders()).put(rel.getLeft(), status.getBalance());
+		} else {
+			var tokenHolders = holders.get(rel.getRight());
+			if (tokenHolders != null) {
+				tokenHolders.remove(rel.getLeft());
+			}
+		}
+	}
+
+	/**
+	 * Returns up to {@code limit} holders of the given token, with their balances, in
+	 * holder order starting just after the given account (or from the first holder if
+	 * the given account is {@code null}). A page shorter than the limit is the last.
+	 *
+	 * @param token the token whose holders are wanted
+	 * @param after the last account of the previous page, or {@code null} for the first page
+	 * @param limit the maximum number of holders to return
+	 * @return the page of holders
+	 */
+	public List<AccountAmount> holdersPage(TokenID token, AccountID after, int limit) {
+		List<AccountAmount> page = new ArrayList<>();
+		var tokenHolders = holders.get(token);
+		if (tokenHolders == null || limit <= 0) {
+			return page;
+		}
+
+		long afterV = (after == null) ? UNPACKABLE_ID : packed(after);
+		var unpackable = tokenHolders.unpackable;
+		if (after == null || afterV != UNPACKABLE_ID) {
+			tokenHolders.pageInto(page, after == null, afterV, limit);
+		} else {
+			unpackable = unpackable.tailMap(after, false);
+		}
+		for (var entry : unpackable.entrySet()) {
+			if (page.size() == limit) {
+				break;
+			}
+			page.add(holding(entry.getKey(), entry.getValue()));
+		}
+		return page;
+	}
+
+	public int numHolders(TokenID token) {
+		var tokenHolders = holders.get(token);
+		return (tokenHolders == null) ? 0 : tokenHolders.size();
+	}
+
+	private static boolean isSameToken(MerkleEntityAssociation a, MerkleEntityAssociation b) {
+		return a.getToNum() == b.getToNum() && a.getToRealm() == b.getToRealm() && a.getToShard() == b.getToShard();
+	}
+
+	private static TokenID tokenOf(MerkleEntityAssociation key) {
+		return TokenID.newBuilder()
+				.setShardNum(key.getToShard())
+				.setRealmNum(key.getToRealm())
+				.setTokenNum(key.getToNum())
+				.build();
+	}
+
+	private static long packedHolder(MerkleEntityAssociation key) {
+		return packed(key.getFromShard(), key.getFromRealm(), key.getFromNum());
+	}
+
+	private static AccountAmount holding(AccountID id, long balance) {
+		return AccountAmount.newBuilder().setAccountID(id).setAmount(balance).build();
+	}
+
+	private static class Holders {
+		private final SortedLongLongMap packed = new SortedLongLongMap();
+		private final ConcurrentNavigableMap<AccountID, Long> unpackable =
+				new ConcurrentSkipListMap<>(ACCOUNT_ID_COMPARATOR);
+
+		private void put(AccountID id, long balance) {
+			long v = packed(id);
+			if (v == UNPACKABLE_ID) {
+				unpackable.put(id, balance);
+			} else {
+				put(v, balance);
+			}
+		}
+
+		private synchronized void put(long v, long balance) {
+			packed.put(v, balance);
+		}
+
+		private void remove(AccountID id) {
+			long v = packed(id);
+			if (v == UNPACKABLE_ID) {
+				unpackable.remove(id);
+			} else {
+				synchronized (this) {
+					packed.remove(v);
+				}
+			}
+		}
+
+		private synchronized void pageInto(List<AccountAmount> page, boolean fromFirst, long afterV, int limit) {
+			SortedLongLongMap.EntryConsumer adder = (v, balance) -> page.add(holding(unpacked(v), balance));
+			if (fromFirst) {
+				packed.forEach(limit, adder);
+			} else {
+				packed.forEachAfter(afterV, limit, adder);
+			}
+		}
+
+		private synchronized int size() {
+			return packed.size() + unpackable.size();
+		}
+	}
+}
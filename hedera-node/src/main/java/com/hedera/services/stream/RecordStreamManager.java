@@ -22,6 +22,7 @@ package com.hedera.services.stream;
 
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
 import com.swirlds.common.Platform;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
@@ -38,18 +39,38 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.swirlds.common.Units.SECONDS_TO_MILLISECONDS;
 
 /**
  * This class is used for generating record stream files when record streaming is enabled,
- * and for calculating runningHash for {@link RecordStreamObject}s
+ * and for calculating runningHash for {@link RecordStreamObject}s.
+ *
+ * The handle thread only hands each {@link RecordStreamObject} off to a bounded queue; a feeder thread
+ * drains that queue in batches, serializes each object once (so the hash calculator and the stream file
+ * writer reuse the same bytes), and passes the batch on to the multiStream in consensus order. So the
+ * running hash is computed exactly as before, but the handle thread is blocked only if the feeder falls
+ * a full queue behind. If the multiStream rejects an object, the failure is rethrown on the handle
+ * thread's next call, just as it would have been had the handle thread passed the object on itself.
  */
 public class RecordStreamManager {
 	/** use this for all logging, as controlled by the optional data/log4j2.xml file */
 	private static final Logger log = LogManager.getLogger(RecordStreamManager.class);
 
+	/** the maximum number of {@link RecordStreamObject}s the feeder thread passes on at once */
+	static final int MAX_BATCH_SIZE = 256;
+	/** the capacity of the handoff queue if none is configured */
+	static final int DEFAULT_HANDOFF_CAPACITY = 5000;
+	static final String FEEDER_THREAD_NAME = "recordStreamFeeder";
+	/** how long {@link #close()} waits for the feeder thread to pass on what was already handed off */
+	static final long CLOSE_TIMEOUT_MS = 5_000L;
+
 	/**
 	 * receives {@link RecordStreamObject}s from {@link com.hedera.services.legacy.services.state.AwareProcessLogic}
 	 * 	 * .addForStreaming,
@@ -94,11 +115,29 @@ public class RecordStreamManager {
 	 */
 	private final MiscRunningAvgs runningAvgs;
 
+	/** an instance for recording the serialized bytes per second passed on to the multiStream */
+	private final MiscSpeedometers speedometers;
+
+	/** receives {@link RecordStreamObject}s from the handle thread, then passes them to the feeder thread */
+	private final BlockingQueue<RecordStreamObject> handoff;
+
+	/** the number of {@link RecordStreamObject}s handed off, and the number passed on by the feeder thread */
+	private final AtomicLong numHandedOff = new AtomicLong();
+	private volatile long numFed = 0;
+
+	/** the feeder thread, which passes on everything handed off until this manager is closed */
+	private Thread feeder;
+	private volatile boolean closed = false;
+	/** a failure to pass on an object, not yet rethrown on the handle thread */
+	private final AtomicReference<RuntimeException> unreportedFailure = new AtomicReference<>();
+
 	/**
 	 * @param platform
 	 * 		the platform which initializes this RecordStreamManager instance
 	 * @param runningAvgs
 	 * 		an instance for recording the average value of recordStream queue size
+	 * @param speedometers
+	 * 		an instance for recording the serialized bytes per second passed on to the multiStream
 	 * @param nodeLocalProperties
 	 * 		the node-local property source, which says four things: (1) is the record stream enabled?,
 	 * 	    (2) what directory to write record files to, (3) how many seconds should elapse before
@@ -112,6 +151,7 @@ public class RecordStreamManager {
 	public RecordStreamManager(
 			final Platform platform,
 			final MiscRunningAvgs runningAvgs,
+			final MiscSpeedometers speedometers,
 			final NodeLocalProperties nodeLocalProperties,
 			final String nodeScopedRecordLogDir,
 			final Hash initialHash
@@ -129,6 +169,7 @@ public class RecordStreamManager {
 		}
 
 		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
 
 		// receives {@link RecordStreamObject}s from hashCalculator, calculates and set runningHash for this object
 		final RunningHashCalculatorForStream<RecordStreamObject> runningHashCalculator =
@@ -147,6 +188,9 @@ public class RecordStreamManager {
 		this.initialHash = initialHash;
 		multiStream.setRunningHash(initialHash);
 
+		handoff = new ArrayBlockingQueue<>(handoffCapacity(nodeLocalProperties.recordStreamQueueCapacity()));
+		startFeeder();
+
 		log.info("Finish initializing RecordStreamManager with: enableRecordStreaming: {}, recordStreamDir: {}, " +
 						"recordsLogPeriod: {} secs, recordStreamQueueCapacity: {}, initialHash: {}",
 				nodeLocalProperties::isRecordStreamEnabled,
@@ -165,15 +209,153 @@ public class RecordStreamManager {
 	 * 		receives {@link RecordStreamObject}s from multiStream, then passes to streamFileWriter
 	 * @param runningAvgs
 	 * 		an instance for recording the average value of recordStream queue size
+	 * @param speedometers
+	 * 		an instance for recording the serialized bytes per second passed on to the multiStream
+	 * @param handoffCapacity
+	 * 		the capacity of the queue between the handle thread and the feeder thread
 	 */
 	RecordStreamManager(
 			final MultiStream<RecordStreamObject> multiStream,
 			final QueueThread<RecordStreamObject> writeQueueThread,
-			final MiscRunningAvgs runningAvgs) {
+			final MiscRunningAvgs runningAvgs,
+			final MiscSpeedometers speedometers,
+			final int handoffCapacity) {
 		this.multiStream = multiStream;
 		this.writeQueueThread = writeQueueThread;
 		multiStream.setRunningHash(initialHash);
 		this.runningAvgs = runningAvgs;
+		this.speedometers = speedometers;
+		handoff = new ArrayBlockingQueue<>(handoffCapacity(handoffCapacity));
+		startFeeder();
+	}
+
+	private static int handoffCapacity(int configured) {
+		return configured > 0 ? configured : DEFAULT_HANDOFF_CAPACITY;
+	}
+
+	private void startFeeder() {
+		feeder = new Thread(this::feed, FEEDER_THREAD_NAME);
+		feeder.setDaemon(true);
+		feeder.start();
+	}
+
+	/**
+	 * Drains the handoff queue in batches until this manager is closed (and everything handed off
+	 * has been passed on), serializing the contents of each {@link RecordStreamObject} and then
+	 * passing it to the multiStream in the order received.
+	 */
+	void feed() {
+		final List<RecordStreamObject> batch = new ArrayList<>(MAX_BATCH_SIZE);
+		try {
+			while (!closed || !handoff.isEmpty()) {
+				try {
+					batch.add(handoff.take());
+				} catch (InterruptedException ignore) {
+					/* Only close() interrupts the feeder, and it is checked above */
+					continue;
+				}
+				handoff.drainTo(batch, MAX_BATCH_SIZE - 1);
+				feedBatch(batch);
+				batch.clear();
+			}
+		} catch (Error fatal) {
+			log.error("Record stream feeder stopped with {} handed-off objects not passed on",
+					numHandedOff.get() - numFed, fatal);
+			throw fatal;
+		}
+	}
+
+	private void feedBatch(final List<RecordStreamObject> batch) {
+		long numBytes = 0;
+		for (final RecordStreamObject recordStreamObject : batch) {
+			try {
+				numBytes += recordStreamObject.serializeContents();
+			} catch (RuntimeException ex) {
+				/* Still passed on below, so the multiStream fails (or not) exactly as if never pre-serialized */
+				log.warn("Unable to pre-serialize {}", recordStreamObject.toShortString(), ex);
+			}
+		}
+		for (final RecordStreamObject recordStreamObject : batch) {
+			try {
+				passOn(recordStreamObject);
+			} catch (RuntimeException ex) {
+				log.error("Unable to pass {} to the record stream", recordStreamObject.toShortString(), ex);
+				unreportedFailure.compareAndSet(null, ex);
+			}
+			numFed++;
+		}
+		runningAvgs.recordRecordStreamBatchSize(batch.size());
+		speedometers.cycleRecordStreamBytes(numBytes);
+	}
+
+	/* Once handed off, an object is passed on even if close() interrupts the feeder meanwhile */
+	private void passOn(final RecordStreamObject recordStreamObject) {
+		while (true) {
+			try {
+				multiStream.add(recordStreamObject);
+				return;
+			} catch (InterruptedException ignore) {
+				/* Retry; only close() interrupts the feeder */
+			}
+		}
+	}
+
+	private void rethrowUnreportedFailure() {
+		final RuntimeException failure = unreportedFailure.getAndSet(null);
+		if (failure != null) {
+			throw new IllegalStateException("Record stream feeder could not pass on an object", failure);
+		}
+	}
+
+	private void assertFeederRunning() {
+		if (!feeder.isAlive()) {
+			throw new IllegalStateException(String.format(
+					"Record stream feeder is not running (%d handed-off objects not passed on)",
+					numHandedOff.get() - numFed));
+		}
+	}
+
+	/**
+	 * Waits until the feeder thread has passed every {@link RecordStreamObject} handed off so far
+	 * to the multiStream, so that a change to the multiStream is ordered after all of them. Gives
+	 * up (with an error) if the feeder thread has stopped.
+	 */
+	private void awaitFeederCaughtUp() {
+		final long target = numHandedOff.get();
+		while (numFed < target) {
+			if (!feeder.isAlive()) {
+				log.error("Record stream feeder stopped with {} handed-off objects not passed on", target - numFed);
+				return;
+			}
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				log.error("Interrupted while waiting for the record stream feeder to catch up", ex);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stops the feeder thread once it has passed on everything already handed off (waiting at most
+	 * {@link #CLOSE_TIMEOUT_MS}); no more {@link RecordStreamObject}s may be added afterwards.
+	 */
+	public void close() {
+		closed = true;
+		feeder.interrupt();
+		try {
+			feeder.join(CLOSE_TIMEOUT_MS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		if (feeder.isAlive()) {
+			log.error("Record stream feeder did not stop within {}ms", CLOSE_TIMEOUT_MS);
+		}
+	}
+
+	boolean isFeederRunning() {
+		return feeder.isAlive();
 	}
 
 	/**
@@ -184,9 +366,19 @@ public class RecordStreamManager {
 	 * 		the {@link RecordStreamObject} object to be added
 	 */
 	public void addRecordStreamObject(final RecordStreamObject recordStreamObject) {
+		rethrowUnreportedFailure();
 		if (!inFreeze) {
+			if (closed) {
+				throw new IllegalStateException("Record stream manager is closed");
+			}
+			assertFeederRunning();
 			try {
-				multiStream.add(recordStreamObject);
+				if (!handoff.offer(recordStreamObject)) {
+					final long start = System.nanoTime();
+					handoff.put(recordStreamObject);
+					runningAvgs.recordRecordStreamStallMs((System.nanoTime() - start) / 1_000_000.0);
+				}
+				numHandedOff.incrementAndGet();
 			} catch (InterruptedException ex) {
 				log.error("thread interruption ignored in addRecordStreamObject: {}", ex, ex);
 			}
@@ -204,6 +396,7 @@ public class RecordStreamManager {
 		this.inFreeze = inFreeze;
 		log.info("RecordStream inFreeze is set to be {} ", inFreeze);
 		if (inFreeze) {
+			awaitFeederCaughtUp();
 			multiStream.close();
 		}
 	}
@@ -217,6 +410,7 @@ public class RecordStreamManager {
 	public void setInitialHash(final Hash initialHash) {
 		this.initialHash = initialHash;
 		log.info("RecordStreamManager::setInitialHash: {}", () -> initialHash);
+		awaitFeederCaughtUp();
 		multiStream.setRunningHash(initialHash);
 	}
 
@@ -253,6 +447,15 @@ public class RecordStreamManager {
 		return writeQueueThread == null ? 0 : writeQueueThread.getQueueSize();
 	}
 
+	/**
+	 * returns current size of the queue between the handle thread and the feeder thread
+	 *
+	 * @return current size of the handoff queue
+	 */
+	int getHandoffQueueSize() {
+		return handoff.size();
+	}
+
 	/**
 	 * for unit testing
 	 *
@@ -70,6 +70,13 @@ public class RecordStreamObject extends AbstractSerializableHashable implements
 	 */
 	private RunningHash runningHash;
 
+	/**
+	 * the serialized record and transaction, if already computed by {@link RecordStreamObject#serializeContents()};
+	 * these are reused by both the hash calculator and the stream file writer
+	 */
+	private byte[] recordBytes;
+	private byte[] transactionBytes;
+
 	public RecordStreamObject() {
 	}
 
@@ -82,16 +89,32 @@ public class RecordStreamObject extends AbstractSerializableHashable implements
 		runningHash = new RunningHash();
 	}
 
+	/**
+	 * Serializes the record and transaction (once), so that every later serialization of
+	 * this object reuses the same bytes.
+	 *
+	 * @return the number of serialized bytes
+	 */
+	public int serializeContents() {
+		if (recordBytes == null) {
+			recordBytes = transactionRecord.toByteArray();
+			transactionBytes = transaction.toByteArray();
+		}
+		return recordBytes.length + transactionBytes.length;
+	}
+
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
-		out.writeByteArray(transactionRecord.toByteArray());
-		out.writeByteArray(transaction.toByteArray());
+		out.writeByteArray(recordBytes != null ? recordBytes : transactionRecord.toByteArray());
+		out.writeByteArray(transactionBytes != null ? transactionBytes : transaction.toByteArray());
 	}
 
 	@Override
 	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
-		transactionRecord = TransactionRecord.parseFrom(in.readByteArray(MAX_RECORD_LENGTH));
-		transaction = Transaction.parseFrom(in.readByteArray(MAX_TRANSACTION_LENGTH));
+		recordBytes = in.readByteArray(MAX_RECORD_LENGTH);
+		transactionBytes = in.readByteArray(MAX_TRANSACTION_LENGTH);
+		transactionRecord = TransactionRecord.parseFrom(recordBytes);
+		transaction = Transaction.parseFrom(transactionBytes);
 		final Timestamp timestamp = transactionRecord.getConsensusTimestamp();
 		consensusTimestamp = Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
 	}
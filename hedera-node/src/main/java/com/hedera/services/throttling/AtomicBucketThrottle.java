@@ -0,0 +1,123 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.throttles.DeterministicThrottle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free equivalent of a {@link DeterministicThrottle}'s leaky bucket, for use by
+ * many threads deciding against a shared (non-consensus) clock.
+ *
+ * Instead of the capacity used and the time of the last decision, the bucket state is
+ * the single nanosecond timestamp at which it will next be empty; so every decision is
+ * one compare-and-set. An allowed use of {@code n} transactions pushes this timestamp
+ * {@code n * 10^12 / mtps} nanos further out, and is permitted only if the bucket would
+ * then still drain within the burst period. A decision made with a slightly stale
+ * {@code now} can only be more conservative, so the callers' clock readings need not
+ * be ordered.
+ */
+public class AtomicBucketThrottle {
+	private static final long CAPACITY_UNITS_PER_TXN = DeterministicThrottle.capacityRequiredFor(1);
+
+	private final String name;
+	private final long mtps;
+	private final long burstNanos;
+	private final AtomicLong emptyAtNanos = new AtomicLong(Long.MIN_VALUE);
+
+	public static AtomicBucketThrottle from(DeterministicThrottle throttle) {
+		return new AtomicBucketThrottle(throttle.name(), throttle.mtps(), throttle.capacity() / throttle.mtps());
+	}
+
+	/**
+	 * Creates a bucket that drains at the given (possibly very large) number of units
+	 * per second, and admits a burst of at most the given duration's worth of units.
+	 *
+	 * @param name the name of the bucket
+	 * @param tps the units drained per second
+	 * @param burstNanos the burst period, in nanos
+	 * @return the new bucket
+	 */
+	public static AtomicBucketThrottle withTps(String name, long tps, long burstNanos) {
+		return new AtomicBucketThrottle(name, tps * 1_000L, burstNanos);
+	}
+
+	AtomicBucketThrottle(String name, long mtps, long burstNanos) {
+		this.name = name;
+		this.mtps = mtps;
+		this.burstNanos = burstNanos;
+	}
+
+	/**
+	 * Decides if {@code n} transactions may be accepted at the given time, reserving
+	 * their capacity if so.
+	 *
+	 * @param n the number of transactions
+	 * @param nowNanos the current time, in nanos from an arbitrary origin
+	 * @return whether the transactions are allowed
+	 */
+	public boolean allow(int n, long nowNanos) {
+		long costNanos = costNanos(n);
+		if (costNanos < 0) {
+			return false;
+		}
+		while (true) {
+			long emptyAt = emptyAtNanos.get();
+			long newEmptyAt = Math.max(emptyAt, nowNanos) + costNanos;
+			if (newEmptyAt - nowNanos > burstNanos) {
+				return false;
+			}
+			if (emptyAtNanos.compareAndSet(emptyAt, newEmptyAt)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the capacity reserved by a previous {@code allow(n, ...)} to the bucket.
+	 *
+	 * @param n the number of transactions previously allowed
+	 */
+	public void reclaim(int n) {
+		emptyAtNanos.addAndGet(-costNanos(n));
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public long mtps() {
+		return mtps;
+	}
+
+	long burstNanos() {
+		return burstNanos;
+	}
+
+	private long costNanos(int n) {
+		long requiredUnits = n * CAPACITY_UNITS_PER_TXN;
+		if (requiredUnits < 0) {
+			return -1;
+		}
+		return (requiredUnits + mtps - 1) / mtps;
+	}
+}
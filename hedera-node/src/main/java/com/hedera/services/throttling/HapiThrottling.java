@@ -26,21 +26,46 @@ import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
+/**
+ * Throttles HAPI ingest and queries on every gRPC worker thread at once.
+ *
+ * Unlike the throttling applied while handling consensus transactions, these decisions
+ * need not be deterministic; so each bucket is an {@link AtomicBucketThrottle}, and the
+ * current requirements are published through a volatile reference on rebuild. No
+ * decision takes a lock or allocates.
+ */
 public class HapiThrottling implements FunctionalityThrottling {
 	private static final Logger log = LogManager.getLogger(HapiThrottling.class);
 
-	private final TimedFunctionalityThrottling delegate;
+	private final LongSupplier nanoClock;
+	private final IntSupplier capacitySplitSource;
+
+	volatile EnumMap<HederaFunctionality, ThrottleReqs> functionReqs = new EnumMap<>(HederaFunctionality.class);
+
+	public HapiThrottling(IntSupplier capacitySplitSource) {
+		this(capacitySplitSource, System::nanoTime);
+	}
 
-	public HapiThrottling(TimedFunctionalityThrottling delegate) {
-		this.delegate = delegate;
+	HapiThrottling(IntSupplier capacitySplitSource, LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+		this.capacitySplitSource = capacitySplitSource;
 	}
 
 	@Override
-	public synchronized boolean shouldThrottle(HederaFunctionality function) {
-		return delegate.shouldThrottle(function, Instant.now());
+	public boolean shouldThrottle(HederaFunctionality function) {
+		var reqs = functionReqs.get(function);
+		if (reqs == null) {
+			return true;
+		}
+		return !reqs.allMetAt(nanoClock.getAsLong());
 	}
 
 	@Override
@@ -55,6 +80,50 @@ public class HapiThrottling implements FunctionalityThrottling {
 
 	@Override
 	public void rebuildFor(ThrottleDefinitions defs) {
-		delegate.rebuildFor(defs);
+		Map<DeterministicThrottle, AtomicBucketThrottle> buckets = new IdentityHashMap<>();
+		EnumMap<HederaFunctionality, List<AtomicBucketThrottle>> throttleLists = new EnumMap<>(HederaFunctionality.class);
+		EnumMap<HederaFunctionality, List<Integer>> opsLists = new EnumMap<>(HederaFunctionality.class);
+
+		int n = capacitySplitSource.getAsInt();
+		for (var bucket : defs.getBuckets()) {
+			var mapping = bucket.asThrottleMapping(n);
+			var throttle = buckets.computeIfAbsent(mapping.getLeft(), AtomicBucketThrottle::from);
+			for (var req : mapping.getRight()) {
+				throttleLists.computeIfAbsent(req.getLeft(), ignore -> new ArrayList<>()).add(throttle);
+				opsLists.computeIfAbsent(req.getLeft(), ignore -> new ArrayList<>()).add(req.getRight());
+			}
+		}
+		EnumMap<HederaFunctionality, ThrottleReqs> newFunctionReqs = new EnumMap<>(HederaFunctionality.class);
+		throttleLists.forEach((function, throttles) ->
+				newFunctionReqs.put(function, new ThrottleReqs(throttles, opsLists.get(function))));
+
+		functionReqs = newFunctionReqs;
+		log.info("Rebuilt HAPI throttling from {} buckets for {} operations", buckets.size(), newFunctionReqs.size());
+	}
+
+	static class ThrottleReqs {
+		private final int[] opsReqd;
+		private final AtomicBucketThrottle[] throttles;
+
+		ThrottleReqs(List<AtomicBucketThrottle> throttles, List<Integer> opsReqd) {
+			this.throttles = throttles.toArray(new AtomicBucketThrottle[0]);
+			this.opsReqd = opsReqd.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		boolean allMetAt(long nowNanos) {
+			for (int i = 0; i < throttles.length; i++) {
+				if (!throttles[i].allow(opsReqd[i], nowNanos)) {
+					for (int j = 0; j < i; j++) {
+						throttles[j].reclaim(opsReqd[j]);
+					}
+					return false;
+				}
+			}
+			return true;
+		}
+
+		AtomicBucketThrottle[] throttles() {
+			return throttles;
+		}
 	}
 }
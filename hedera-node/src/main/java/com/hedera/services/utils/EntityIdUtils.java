@@ -53,6 +53,9 @@ public class EntityIdUtils {
 		} else if (o instanceof TokenID) {
 			TokenID id = (TokenID)o;
 			return String.format("%d.%d.%d", id.getShardNum(), id.getRealmNum(), id.getTokenNum());
+		} else if (o instanceof ContractID) {
+			ContractID id = (ContractID) o;
+			return String.format("%d.%d.%d", id.getShardNum(), id.getRealmNum(), id.getContractNum());
 		} else if (o instanceof ScheduleID) {
 			ScheduleID id = (ScheduleID) o;
 			return String.format("%d.%d.%d", id.getShardNum(), id.getRealmNum(), id.getScheduleNum());
@@ -0,0 +1,215 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An open-addressing set of primitive {@code long} values with linear probing
+ * and backward-shift deletion, so that membership costs about eight to twelve
+ * bytes per element instead of a boxed entry per element.
+ *
+ * This class is <b>not</b> thread-safe.
+ */
+public class LongHashSet {
+	static final int MIN_CAPACITY = 16;
+
+	private static final long EMPTY = 0L;
+	private static final long ARRAY_OVERHEAD_BYTES = 16L;
+
+	private long[] slots;
+	private int mask;
+	private int size = 0;
+	private boolean hasEmptyValue = false;
+
+	public LongHashSet() {
+		this(MIN_CAPACITY);
+	}
+
+	public LongHashSet(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Adds the given value to the set.
+	 *
+	 * @param v the value to add
+	 * @return whether the set did not already contain the value
+	 */
+	public boolean add(long v) {
+		if (v == EMPTY) {
+			if (hasEmptyValue) {
+				return false;
+			}
+			hasEmptyValue = true;
+			size++;
+			return true;
+		}
+		int i = slotOf(v);
+		while (slots[i] != EMPTY) {
+			if (slots[i] == v) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		slots[i] = v;
+		if (++size > maxLoad()) {
+			allocate(2 * slots.length);
+		}
+		return true;
+	}
+
+	public boolean contains(long v) {
+		if (v == EMPTY) {
+			return hasEmptyValue;
+		}
+		int i = slotOf(v);
+		while (slots[i] != EMPTY) {
+			if (slots[i] == v) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the given value from the set, shifting back any later entries of
+	 * its probe run so that no tombstones are needed.
+	 *
+	 * @param v the value to remove
+	 * @return whether the set contained the value
+	 */
+	public boolean remove(long v) {
+		if (v == EMPTY) {
+			if (!hasEmptyValue) {
+				return false;
+			}
+			hasEmptyValue = false;
+			size--;
+			return true;
+		}
+		int i = slotOf(v);
+		while (slots[i] != v) {
+			if (slots[i] == EMPTY) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		int gap = i;
+		int j = (i + 1) & mask;
+		while (slots[j] != EMPTY) {
+			int home = slotOf(slots[j]);
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				slots[gap] = slots[j];
+				gap = j;
+			}
+			j = (j + 1) & mask;
+		}
+		slots[gap] = EMPTY;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Grows the set (if necessary) so it can hold the given number of values without resizing.
+	 *
+	 * @param expectedSize the number of values expected
+	 */
+	public void ensureCapacity(int expectedSize) {
+		int capacity = capacityFor(expectedSize);
+		if (capacity > slots.length) {
+			allocate(capacity);
+		}
+	}
+
+	/**
+	 * Removes every value from the set, keeping its current capacity.
+	 */
+	public void clear() {
+		Arrays.fill(slots, EMPTY);
+		hasEmptyValue = false;
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void forEach(LongConsumer action) {
+		if (hasEmptyValue) {
+			action.accept(EMPTY);
+		}
+		for (long v : slots) {
+			if (v != EMPTY) {
+				action.accept(v);
+			}
+		}
+	}
+
+	/**
+	 * Estimates the heap used by this set, in bytes.
+	 *
+	 * @return the estimated footprint
+	 */
+	public long footprintBytes() {
+		return ARRAY_OVERHEAD_BYTES + (long) Long.BYTES * slots.length;
+	}
+
+	int capacity() {
+		return slots.length;
+	}
+
+	private int maxLoad() {
+		return slots.length / 4 * 3;
+	}
+
+	private int slotOf(long v) {
+		long h = v * 0x9E37_79B9_7F4A_7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		var old = slots;
+		slots = new long[capacity];
+		mask = capacity - 1;
+		if (old != null) {
+			for (long v : old) {
+				if (v != EMPTY) {
+					int i = slotOf(v);
+					while (slots[i] != EMPTY) {
+						i = (i + 1) & mask;
+					}
+					slots[i] = v;
+				}
+			}
+		}
+	}
+
+	static int capacityFor(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity / 4 * 3 < expectedSize) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+}
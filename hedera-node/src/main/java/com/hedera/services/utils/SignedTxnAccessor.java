@@ -21,7 +21,9 @@ package com.hedera.services.utils;
  */
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
 import com.hedera.services.exceptions.UnknownHederaFunctionality;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
@@ -32,8 +34,11 @@ import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionID;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.function.Function;
 
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
 import static com.hedera.services.legacy.proto.utils.CommonUtils.sha384HashOf;
 import static com.hedera.services.utils.MiscUtils.functionOf;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.NONE;
@@ -41,10 +46,19 @@ import static com.hederahashgraph.api.proto.java.HederaFunctionality.NONE;
 /**
  * Encapsulates access to several commonly referenced parts of a gRPC {@link Transaction}.
  *
+ * The given bytes are parsed with aliasing enabled, so the {@code signedTransactionBytes},
+ * {@code bodyBytes}, and every {@code bytes} field of the parsed messages are views into
+ * the original array rather than copies; the array must therefore never be mutated after
+ * construction. The (rarely needed) standalone copy of the body bytes and the txn hash are
+ * only computed on first request.
+ *
  * @author Michael Tinker
  */
 public class SignedTxnAccessor implements TxnAccessor {
+	private static final String SHA_384 = "SHA-384";
+
 	private byte[] txnBytes;
+	private ByteString bodyBytes;
 	private byte[] backwardCompatibleSignedTxnBytes;
 	private Transaction backwardCompatibleSignedTxn;
 	private SignatureMap sigMap;
@@ -70,20 +84,23 @@ public class SignedTxnAccessor implements TxnAccessor {
 
 	public SignedTxnAccessor(byte[] backwardCompatibleSignedTxnBytes) throws InvalidProtocolBufferException {
 		this.backwardCompatibleSignedTxnBytes = backwardCompatibleSignedTxnBytes;
-		backwardCompatibleSignedTxn = Transaction.parseFrom(backwardCompatibleSignedTxnBytes);
+		backwardCompatibleSignedTxn = aliasedParse(
+				Transaction.parser(),
+				aliasingInputFor(unsafeWrap(backwardCompatibleSignedTxnBytes)));
 
 		if (!backwardCompatibleSignedTxn.getSignedTransactionBytes().isEmpty()) {
-			var signedTxn = SignedTransaction.parseFrom(backwardCompatibleSignedTxn.getSignedTransactionBytes());
-			txnBytes = signedTxn.getBodyBytes().toByteArray();
+			var signedTxn = aliasedParse(
+					SignedTransaction.parser(),
+					aliasingInputFor(backwardCompatibleSignedTxn.getSignedTransactionBytes()));
+			bodyBytes = signedTxn.getBodyBytes();
 			sigMap = signedTxn.getSigMap();
 		} else {
-			txnBytes = backwardCompatibleSignedTxn.getBodyBytes().toByteArray();
+			bodyBytes = backwardCompatibleSignedTxn.getBodyBytes();
 			sigMap = backwardCompatibleSignedTxn.getSigMap();
 		}
 
-		txn = TransactionBody.parseFrom(txnBytes);
+		txn = aliasedParse(TransactionBody.parser(), aliasingInputFor(bodyBytes));
 		txnId = txn.getTransactionID();
-		hash = sha384HashOf(backwardCompatibleSignedTxn);
 	}
 
 	public SignedTxnAccessor(Transaction backwardCompatibleSignedTxn) throws InvalidProtocolBufferException {
@@ -106,6 +123,9 @@ public class SignedTxnAccessor implements TxnAccessor {
 	}
 
 	public byte[] getTxnBytes() {
+		if (txnBytes == null) {
+			txnBytes = bodyBytes.toByteArray();
+		}
 		return txnBytes;
 	}
 
@@ -129,7 +149,21 @@ public class SignedTxnAccessor implements TxnAccessor {
 		return backwardCompatibleSignedTxnBytes;
 	}
 
+	/**
+	 * Returns the SHA-384 hash of the txn, computed exactly as
+	 * {@link com.hedera.services.legacy.proto.utils.CommonUtils#sha384HashOf(Transaction)}
+	 * would; but for a txn with {@code signedTransactionBytes}, digesting those bytes in
+	 * place instead of first copying them.
+	 *
+	 * @return the hash of the txn
+	 */
 	public ByteString getHash() {
+		if (hash == null) {
+			var signedTxnBytes = backwardCompatibleSignedTxn.getSignedTransactionBytes();
+			hash = signedTxnBytes.isEmpty()
+					? sha384HashOf(backwardCompatibleSignedTxn)
+					: ByteString.copyFrom(sha384DigestOf(signedTxnBytes));
+		}
 		return hash;
 	}
 
@@ -143,4 +177,25 @@ public class SignedTxnAccessor implements TxnAccessor {
 	public ScheduleID getScheduleRef() {
 		throw new UnsupportedOperationException("Only the TriggeredTxnAccessor implementation can refer to a schedule");
 	}
+
+	static <T> T aliasedParse(Parser<T> parser, CodedInputStream input) throws InvalidProtocolBufferException {
+		var message = parser.parseFrom(input);
+		input.checkLastTagWas(0);
+		return message;
+	}
+
+	static CodedInputStream aliasingInputFor(ByteString bytes) {
+		var input = bytes.newCodedInput();
+		input.enableAliasing(true);
+		return input;
+	}
+
+	static byte[] sha384DigestOf(ByteString bytes) {
+		try {
+			var digest = MessageDigest.getInstance(SHA_384);
+			digest.update(bytes.asReadOnlyByteBuffer());
+			return digest.digest();
+		} catch (NoSuchAlgorithmException ignoreToReturnEmptyByteArray) { }
+		return new byte[0];
+	}
 }
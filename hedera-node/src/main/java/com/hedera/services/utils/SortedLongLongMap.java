@@ -0,0 +1,138 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive {@code long} keys to primitive {@code long} values, kept in
+ * ascending key order in a pair of parallel arrays; so each entry costs sixteen bytes
+ * instead of a boxed key, a boxed value, and a tree node. Lookups are by binary search,
+ * and inserting or removing a key shifts the entries after it; so the map suits key
+ * sets that mostly have their values updated, and that are read in key order.
+ *
+ * This class is <b>not</b> thread-safe.
+ */
+public class SortedLongLongMap {
+	static final int MIN_CAPACITY = 4;
+
+	@FunctionalInterface
+	public interface EntryConsumer {
+		void accept(long key, long value);
+	}
+
+	private long[] keys;
+	private long[] values;
+	private int size = 0;
+
+	public SortedLongLongMap() {
+		keys = new long[MIN_CAPACITY];
+		values = new long[MIN_CAPACITY];
+	}
+
+	/**
+	 * Maps the given key to the given value, replacing any previous value. Keys put
+	 * in ascending order are simply appended.
+	 *
+	 * @param key the key to map
+	 * @param value its new value
+	 * @return whether the map did not already contain the key
+	 */
+	public boolean put(long key, long value) {
+		int i = indexOf(key);
+		if (i >= 0) {
+			values[i] = value;
+			return false;
+		}
+		i = -i - 1;
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, 2 * size);
+			values = Arrays.copyOf(values, 2 * size);
+		}
+		System.arraycopy(keys, i, keys, i + 1, size - i);
+		System.arraycopy(values, i, values, i + 1, size - i);
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		return true;
+	}
+
+	public long getOrDefault(long key, long defaultValue) {
+		int i = indexOf(key);
+		return (i >= 0) ? values[i] : defaultValue;
+	}
+
+	public boolean remove(long key) {
+		int i = indexOf(key);
+		if (i < 0) {
+			return false;
+		}
+		System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+		System.arraycopy(values, i + 1, values, i, size - i - 1);
+		size--;
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gives up to {@code limit} entries to the given consumer, in key order from the first.
+	 *
+	 * @param limit the maximum number of entries to give
+	 * @param consumer the consumer of each key and value
+	 * @return the number of entries given
+	 */
+	public int forEach(int limit, EntryConsumer consumer) {
+		return forEachFrom(0, limit, consumer);
+	}
+
+	/**
+	 * Gives up to {@code limit} entries with keys greater than the given key to the
+	 * given consumer, in key order.
+	 *
+	 * @param key the key after which to start
+	 * @param limit the maximum number of entries to give
+	 * @param consumer the consumer of each key and value
+	 * @return the number of entries given
+	 */
+	public int forEachAfter(long key, int limit, EntryConsumer consumer) {
+		int i = indexOf(key);
+		return forEachFrom((i >= 0) ? (i + 1) : (-i - 1), limit, consumer);
+	}
+
+	private int forEachFrom(int from, int limit, EntryConsumer consumer) {
+		int to = (int) Math.min(size, (long) from + Math.max(0, limit));
+		for (int i = from; i < to; i++) {
+			consumer.accept(keys[i], values[i]);
+		}
+		return Math.max(0, to - from);
+	}
+
+	int capacity() {
+		return keys.length;
+	}
+
+	private int indexOf(long key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+}
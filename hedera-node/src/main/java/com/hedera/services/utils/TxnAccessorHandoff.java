@@ -0,0 +1,82 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.swirlds.common.Transaction;
+
+/**
+ * Hands off the {@link PlatformTxnAccessor} parsed for a platform txn during signature
+ * expansion to the consensus handling of that same txn, so its gRPC bytes are parsed
+ * just once per node.
+ *
+ * Accessors are keyed by the <i>identity</i> of their platform txn (the platform passes
+ * the same instance to {@code expandSignatures} and {@code handleTransaction}), and are
+ * only weakly reachable through the handoff; so a txn that never reaches consensus is
+ * simply dropped. The handoff is also bounded in size, in case the platform holds many
+ * expanded txns at once.
+ */
+public class TxnAccessorHandoff {
+	static final int DEFAULT_MAX_PENDING = 16_384;
+
+	private final Cache<Transaction, PlatformTxnAccessor> pending;
+
+	public TxnAccessorHandoff() {
+		this(DEFAULT_MAX_PENDING);
+	}
+
+	TxnAccessorHandoff(int maxPending) {
+		pending = CacheBuilder.newBuilder()
+				.weakKeys()
+				.maximumSize(maxPending)
+				.build();
+	}
+
+	/**
+	 * Makes the given accessor available to the next {@link TxnAccessorHandoff#accessorFor(Transaction)}
+	 * for its platform txn. (Callers should offer an accessor only once they are done with it, so
+	 * that any state it memoized is visible to the thread that takes it.)
+	 *
+	 * @param accessor the parsed accessor to hand off
+	 */
+	public void offer(PlatformTxnAccessor accessor) {
+		pending.put(accessor.getPlatformTxn(), accessor);
+	}
+
+	/**
+	 * Takes the accessor previously offered for the given platform txn, if it is still
+	 * present; or else parses a new one.
+	 *
+	 * @param platformTxn the txn of interest
+	 * @return an accessor for the txn
+	 * @throws InvalidProtocolBufferException if the txn contents are not a gRPC txn
+	 */
+	public PlatformTxnAccessor accessorFor(Transaction platformTxn) throws InvalidProtocolBufferException {
+		var accessor = pending.asMap().remove(platformTxn);
+		return (accessor != null) ? accessor : new PlatformTxnAccessor(platformTxn);
+	}
+
+	long numPending() {
+		return pending.size();
+	}
+}
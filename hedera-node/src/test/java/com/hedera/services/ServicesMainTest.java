@@ -22,6 +22,7 @@ package com.hedera.services;
 
 import com.hedera.services.context.CurrentPlatformStatus;
 import com.hedera.services.context.ServicesContext;
+import com.hedera.services.context.primitives.SignedStateViews;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.context.properties.Profile;
@@ -30,10 +31,12 @@ import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.FeeMultiplierSource;
 import com.hedera.services.grpc.GrpcServerManager;
+import com.hedera.services.grpc.NodeAdminServerManager;
 import com.hedera.services.ledger.accounts.BackingStore;
 import com.hedera.services.records.AccountRecordsHistorian;
 import com.hedera.services.state.exports.AccountsExporter;
 import com.hedera.services.state.exports.BalancesExporter;
+import com.hedera.services.state.expiry.ExpiryManager;
 import com.hedera.services.state.forensics.IssListener;
 import com.hedera.services.state.initialization.SystemAccountsCreator;
 import com.hedera.services.state.initialization.SystemFilesManager;
@@ -41,6 +44,7 @@ import com.hedera.services.state.logic.NetworkCtxManager;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleNetworkContext;
 import com.hedera.services.state.migration.StateMigrations;
+import com.hedera.services.state.validation.LedgerTally;
 import com.hedera.services.state.validation.LedgerValidator;
 import com.hedera.services.stats.ServicesStatsManager;
 import com.hedera.services.stream.RecordStreamManager;
@@ -105,6 +109,7 @@ public class ServicesMainTest {
 	ServicesContext ctx;
 	PropertySource properties;
 	LedgerValidator ledgerValidator;
+	ExpiryManager expiries;
 	AccountsExporter accountsExporter;
 	PropertySources propertySources;
 	BalancesExporter balancesExporter;
@@ -113,6 +118,7 @@ public class ServicesMainTest {
 	FeeMultiplierSource feeMultiplierSource;
 	ServicesStatsManager statsManager;
 	GrpcServerManager grpc;
+	NodeAdminServerManager adminServer;
 	NodeLocalProperties nodeLocalProps;
 	SystemFilesManager systemFilesManager;
 	SystemAccountsCreator systemAccountsCreator;
@@ -122,11 +128,13 @@ public class ServicesMainTest {
 	BackingStore<AccountID, MerkleAccount> backingAccounts;
 	RecordStreamManager recordStreamManager;
 	NetworkCtxManager networkCtxManager;
+	SignedStateViews signedStateViews;
 
 	@BeforeEach
 	private void setup() {
 		fees = mock(FeeCalculator.class);
 		grpc = mock(GrpcServerManager.class);
+		adminServer = mock(NodeAdminServerManager.class);
 		pause = mock(Pause.class);
 		accounts = mock(FCMap.class);
 		topics = mock(FCMap.class);
@@ -143,6 +151,7 @@ public class ServicesMainTest {
 		nodeLocalProps = mock(NodeLocalProperties.class);
 		recordsHistorian = mock(AccountRecordsHistorian.class);
 		ledgerValidator = mock(LedgerValidator.class);
+		expiries = mock(ExpiryManager.class);
 		accountsExporter = mock(AccountsExporter.class);
 		platformStatus = mock(CurrentPlatformStatus.class);
 		properties = mock(PropertySource.class);
@@ -154,14 +163,17 @@ public class ServicesMainTest {
 		networkCtx = mock(MerkleNetworkContext.class);
 		feeMultiplierSource = mock(FeeMultiplierSource.class);
 		networkCtxManager = mock(NetworkCtxManager.class);
+		signedStateViews = mock(SignedStateViews.class);
 
 		ctx = mock(ServicesContext.class);
 
 		given(nodeLocalProps.devListeningAccount()).willReturn("0.0.3");
 		given(nodeLocalProps.port()).willReturn(50211);
 		given(nodeLocalProps.tlsPort()).willReturn(50212);
+		given(nodeLocalProps.adminPort()).willReturn(50220);
 		given(ctx.fees()).willReturn(fees);
 		given(ctx.grpc()).willReturn(grpc);
+		given(ctx.nodeAdminServer()).willReturn(adminServer);
 		given(ctx.globalDynamicProperties()).willReturn(globalDynamicProperties);
 		given(ctx.pause()).willReturn(pause);
 		given(ctx.nodeLocalProperties()).willReturn(nodeLocalProps);
@@ -175,6 +187,7 @@ public class ServicesMainTest {
 		given(ctx.recordStreamManager()).willReturn(recordStreamManager);
 		given(ctx.platformStatus()).willReturn(platformStatus);
 		given(ctx.ledgerValidator()).willReturn(ledgerValidator);
+		given(ctx.expiries()).willReturn(expiries);
 		given(ctx.propertySources()).willReturn(propertySources);
 		given(ctx.properties()).willReturn(properties);
 		given(ctx.recordStreamManager()).willReturn(recordStreamManager);
@@ -190,7 +203,7 @@ public class ServicesMainTest {
 		given(ctx.networkCtx()).willReturn(networkCtx);
 		given(ctx.networkCtxManager()).willReturn(networkCtxManager);
 		given(ctx.feeMultiplierSource()).willReturn(feeMultiplierSource);
-		given(ledgerValidator.hasExpectedTotalBalance(any())).willReturn(true);
+		given(ctx.signedStateViews()).willReturn(signedStateViews);
 		given(properties.getIntProperty("timer.stats.dump.value")).willReturn(123);
 
 		subject = new ServicesMain();
@@ -211,6 +224,45 @@ public class ServicesMainTest {
 		verify(systemExits).fail(1);
 	}
 
+	@Test
+	public void failsFastOnInvalidLedgerState() {
+		willThrow(IllegalStateException.class).given(ledgerValidator).validate(accounts);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(systemExits).fail(1);
+	}
+
+	@Test
+	public void validatesLedgerFromStartupScanTallyIfPresent() {
+		// setup:
+		var tally = mock(LedgerTally.class);
+		given(expiries.lastLedgerTally()).willReturn(tally);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(ledgerValidator).validate(tally);
+		verify(ledgerValidator, never()).validate(accounts);
+	}
+
+	@Test
+	public void failsFastOnInvalidLedgerTally() {
+		// setup:
+		var tally = mock(LedgerTally.class);
+		given(expiries.lastLedgerTally()).willReturn(tally);
+		willThrow(IllegalStateException.class).given(ledgerValidator).validate(tally);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(systemExits).fail(1);
+	}
+
 	@Test
 	public void failsFastOnMissingNodeAccountIdIfNotSkippingExits() {
 		given(ctx.nodeAccount()).willReturn(null);
@@ -274,8 +326,7 @@ public class ServicesMainTest {
 		inOrder.verify(propertySources).assertSourcesArePresent();
 		inOrder.verify(networkCtxManager).loadObservableSysFilesIfNeeded();
 		inOrder.verify(stateMigrations).runAllFor(ctx);
-		inOrder.verify(ledgerValidator).assertIdsAreValid(accounts);
-		inOrder.verify(ledgerValidator).hasExpectedTotalBalance(accounts);
+		inOrder.verify(ledgerValidator).validate(accounts);
 		inOrder.verify(platform).setSleepAfterSync(0L);
 		inOrder.verify(platform).addSignedStateListener(any(IssListener.class));
 		inOrder.verify(statsManager).initializeFor(platform);
@@ -291,6 +342,7 @@ public class ServicesMainTest {
 
 		// then:
 		verify(grpc).start(intThat(i -> i == 50211), intThat(i -> i == 50212), any());
+		verify(adminServer).start(intThat(i -> i == 50220), any());
 	}
 
 	@Test
@@ -308,6 +360,7 @@ public class ServicesMainTest {
 
 		// then:
 		verify(grpc).start(intThat(i -> i == 50211), intThat(i -> i == 50212), any());
+		verify(adminServer).start(intThat(i -> i == 50220), any());
 	}
 
 	@Test
@@ -324,7 +377,7 @@ public class ServicesMainTest {
 		subject.init(null, new NodeId(false, NODE_ID));
 
 		// then:
-		verifyNoInteractions(grpc);
+		verifyNoInteractions(grpc, adminServer);
 	}
 
 	@Test
@@ -343,6 +396,7 @@ public class ServicesMainTest {
 
 		// then:
 		verify(grpc).start(intThat(i -> i == 50211), intThat(i -> i == 50212), any());
+		verify(adminServer).start(intThat(i -> i == 50220), any());
 	}
 
 	@Test
@@ -361,6 +415,26 @@ public class ServicesMainTest {
 
 		// then:
 		verify(grpc).start(intThat(i -> i == 50212), intThat(i -> i == 50213), any());
+		verify(adminServer).start(intThat(i -> i == 50221), any());
+	}
+
+	@Test
+	public void leavesAdminServerDisabledEvenWithOffsetPort() {
+		// setup:
+		Address address = mock(Address.class);
+
+		given(nodeLocalProps.activeProfile()).willReturn(Profile.DEV);
+		given(nodeLocalProps.adminPort()).willReturn(0);
+		given(address.getMemo()).willReturn("0.0.4");
+		given(address.getPortExternalIpv4()).willReturn(50001);
+		given(addressBook.getAddress(NODE_ID)).willReturn(address);
+		given(nodeLocalProps.devOnlyDefaultNodeListens()).willReturn(false);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(adminServer).start(intThat(i -> i == 0), any());
 	}
 
 	@Test
@@ -549,6 +623,20 @@ public class ServicesMainTest {
 		verify(balancesExporter).exportBalancesFrom(signedState, when);
 	}
 
+	@Test
+	public void updatesSignedStateViewsOnNewSignedState() {
+		// setup:
+		subject.ctx = ctx;
+		Instant when = Instant.now();
+		ServicesState signedState = mock(ServicesState.class);
+
+		// when:
+		subject.newSignedState(signedState, when, 1L);
+
+		// then:
+		verify(signedStateViews).updateFrom(signedState, when);
+	}
+
 	@Test
 	public void doesntExportBalancesIfPropertyNotSet() {
 		// setup:
@@ -23,12 +23,14 @@ package com.hedera.services;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.context.ServicesContext;
+import com.hedera.services.context.StartupPhases;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.crypto.SignatureStatus;
 import com.hedera.services.legacy.stream.RecordStream;
 import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.records.TxnIdRecentHistory;
 import com.hedera.services.sigs.factories.SigFactoryCreator;
 import com.hedera.services.sigs.order.HederaSigningOrder;
@@ -48,11 +50,14 @@ import com.hedera.services.state.merkle.MerkleTokenRelStatus;
 import com.hedera.services.state.merkle.MerkleTopic;
 import com.hedera.services.state.submerkle.ExchangeRates;
 import com.hedera.services.state.submerkle.SequenceNumber;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.store.tokens.TokenHolders;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
 import com.hedera.services.throttling.FunctionalityThrottling;
 import com.hedera.services.txns.ProcessLogic;
 import com.hedera.services.utils.SystemExits;
+import com.hedera.services.utils.TxnAccessorHandoff;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
@@ -62,7 +67,6 @@ import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.SignatureMap;
 import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hederahashgraph.api.proto.java.SignedTransaction;
-import com.hederahashgraph.api.proto.java.TransactionID;
 import com.swirlds.blob.BinaryObjectStore;
 import com.swirlds.common.Address;
 import com.swirlds.common.AddressBook;
@@ -119,6 +123,9 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyDouble;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.mock;
@@ -138,6 +145,7 @@ class ServicesStateTest {
 	BinaryObjectStore blobStore;
 	Instant now = Instant.now();
 	Transaction platformTxn;
+	TxnAccessorHandoff accessorHandoff;
 	Address address;
 	AddressBook book;
 	AddressBook bookCopy;
@@ -147,6 +155,8 @@ class ServicesStateTest {
 	ServicesContext ctx;
 	AccountRecordsHistorian historian;
 	ExpiryManager expiryManager;
+	TokenHolders tokenHolders;
+	MiscRunningAvgs runningAvgs;
 	FCMap<MerkleEntityId, MerkleTopic> topics;
 	FCMap<MerkleEntityId, MerkleAccount> accounts;
 	FCMap<MerkleBlobMeta, MerkleOptionalBlob> storage;
@@ -174,7 +184,7 @@ class ServicesStateTest {
 	SerializableDataOutputStream out;
 	SystemExits systemExits;
 	RecordStreamManager recordStreamManager;
-	Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	Map<TxnIdKey, TxnIdRecentHistory> txnHistories;
 	NetworkCtxManager networkCtxManager;
 
 	@Inject
@@ -216,10 +226,14 @@ class ServicesStateTest {
 		given(ctx.sigFactoryCreator()).willReturn(new SigFactoryCreator());
 		given(ctx.id()).willReturn(self);
 		given(ctx.logic()).willReturn(logic);
+		accessorHandoff = mock(TxnAccessorHandoff.class);
+		given(ctx.accessorHandoff()).willReturn(accessorHandoff);
 
 		historian = mock(AccountRecordsHistorian.class);
 		txnHistories = mock(Map.class);
 		expiryManager = mock(ExpiryManager.class);
+		tokenHolders = mock(TokenHolders.class);
+		runningAvgs = mock(MiscRunningAvgs.class);
 		recordStreamManager = mock(RecordStreamManager.class);
 		networkCtxManager = mock(NetworkCtxManager.class);
 
@@ -275,6 +289,8 @@ class ServicesStateTest {
 		given(ctx.recordsHistorian()).willReturn(historian);
 		given(ctx.txnHistories()).willReturn(txnHistories);
 		given(ctx.expiries()).willReturn(expiryManager);
+		given(ctx.tokenHolders()).willReturn(tokenHolders);
+		given(ctx.runningAvgs()).willReturn(runningAvgs);
 		given(ctx.propertySources()).willReturn(propertySources);
 		given(ctx.networkCtxManager()).willReturn(networkCtxManager);
 		given(ctx.recordStreamManager()).willReturn(recordStreamManager);
@@ -394,13 +410,16 @@ class ServicesStateTest {
 		// then:
 		inOrder.verify(ctx).setRecordsInitialHash(EMPTY_HASH);
 		inOrder.verify(ctx).update(subject);
-		inOrder.verify(ctx).rebuildBackingStoresIfPresent();
-		inOrder.verify(ctx).rebuildStoreViewsIfPresent();
 		inOrder.verify(historian).reviewExistingRecords();
 		inOrder.verify(expiryManager).restartEntitiesTracking();
 		inOrder.verify(networkCtxManager).setObservableFilesNotLoaded();
 		inOrder.verify(networkCtxManager).loadObservableSysFilesIfNeeded();
 		// and:
+		verify(ctx).rebuildBackingStoresIfPresent();
+		verify(ctx).rebuildStoreViewsIfPresent();
+		verify(tokenHolders).rebuildViews();
+		verify(runningAvgs).recordStartupPhaseMs(eq(StartupPhases.ALL_PHASES), anyDouble());
+		// and:
 		assertEquals(MERKLE_VERSION, subject.networkCtx().getStateVersion());
 	}
 
@@ -418,9 +437,10 @@ class ServicesStateTest {
 
 		// then:
 		inOrder.verify(ctx).update(subject);
-		inOrder.verify(ctx).rebuildBackingStoresIfPresent();
 		inOrder.verify(historian).reviewExistingRecords();
 		inOrder.verify(networkCtxManager, never()).loadObservableSysFilesIfNeeded();
+		// and:
+		verify(ctx).rebuildBackingStoresIfPresent();
 	}
 
 	@Test
@@ -780,6 +800,7 @@ class ServicesStateTest {
 		assertEquals(1, platformTxn.getSignatures().size());
 		assertEquals(mockPk, ByteString.copyFrom(platformTxn.getSignatures().get(0).getExpandedPublicKeyDirect()));
 		verify(ctx).sigFactoryCreator();
+		verify(accessorHandoff).offer(argThat(accessor -> accessor.getPlatformTxn() == platformTxn));
 	}
 
 	@Test
@@ -27,16 +27,22 @@ import com.hedera.services.config.FileNumbers;
 import com.hedera.services.context.domain.security.HapiOpPermissions;
 import com.hedera.services.context.domain.trackers.ConsensusStatusCounts;
 import com.hedera.services.context.domain.trackers.IssEventInfo;
+import com.hedera.services.context.primitives.SignedStateViews;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.SemanticVersions;
 import com.hedera.services.context.properties.StandardizedPropertySources;
+import com.hedera.services.contracts.execution.EvmProfiler;
+import com.hedera.services.contracts.execution.LocalCallExecutor;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
 import com.hedera.services.contracts.execution.TxnAwareSoliditySigsVerifier;
 import com.hedera.services.contracts.persistence.BlobStoragePersistence;
 import com.hedera.services.contracts.sources.BlobStorageSource;
+import com.hedera.services.contracts.sources.BytecodeCache;
+import com.hedera.services.contracts.sources.PagedStorageMap;
+import com.hedera.services.contracts.sources.SnapshotBytecodeCaches;
 import com.hedera.services.contracts.sources.LedgerAccountsSource;
 import com.hedera.services.fees.AwareHbarCentExchange;
 import com.hedera.services.fees.StandardExemptions;
@@ -54,12 +60,14 @@ import com.hedera.services.files.interceptors.TxnAwareRatesManager;
 import com.hedera.services.files.interceptors.ValidatingCallbackInterceptor;
 import com.hedera.services.files.store.FcBlobsBytesStore;
 import com.hedera.services.grpc.NettyGrpcServerManager;
+import com.hedera.services.grpc.NodeAdminServerManager;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.ContractController;
 import com.hedera.services.grpc.controllers.CryptoController;
 import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.services.grpc.controllers.FreezeController;
 import com.hedera.services.grpc.controllers.NetworkController;
+import com.hedera.services.grpc.controllers.NodeAdminController;
 import com.hedera.services.grpc.controllers.ScheduleController;
 import com.hedera.services.grpc.controllers.TokenController;
 import com.hedera.services.keys.CharacteristicsFactory;
@@ -74,12 +82,14 @@ import com.hedera.services.legacy.handler.SmartContractRequestHandler;
 import com.hedera.services.legacy.handler.TransactionHandler;
 import com.hedera.services.legacy.services.state.AwareProcessLogic;
 import com.hedera.services.queries.answering.AnswerFunctions;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.queries.answering.QueryResponseHelper;
 import com.hedera.services.queries.answering.StakedAnswerFlow;
 import com.hedera.services.queries.answering.ZeroStakeAnswerFlow;
 import com.hedera.services.queries.consensus.HcsAnswers;
 import com.hedera.services.queries.contract.ContractAnswers;
 import com.hedera.services.queries.crypto.CryptoAnswers;
+import com.hedera.services.queries.crypto.GetAccountBalancesAnswer;
 import com.hedera.services.queries.meta.MetaAnswers;
 import com.hedera.services.queries.schedule.ScheduleAnswers;
 import com.hedera.services.queries.token.TokenAnswers;
@@ -121,6 +131,7 @@ import com.hedera.services.stats.MiscSpeedometers;
 import com.hedera.services.stats.ServicesStatsManager;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.store.tokens.HederaTokenStore;
+import com.hedera.services.store.tokens.TokenHolders;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.stream.RecordStreamManager;
 import com.hedera.services.stream.RecordsRunningHashLeaf;
@@ -244,6 +255,11 @@ public class ServicesContextTest {
 		var tokensRef = subject.queryableTokens();
 		var tokenRelsRef = subject.queryableTokenAssociations();
 		var schedulesRef = subject.queryableSchedules();
+		// and:
+		var bytecodeCache = mock(BytecodeCache.class);
+		subject.setBytecodeCache(bytecodeCache);
+		var contractStorage = mock(PagedStorageMap.class);
+		subject.setContractStorage(contractStorage);
 
 		// when:
 		subject.update(newState);
@@ -263,6 +279,9 @@ public class ServicesContextTest {
 		assertSame(newTokens, subject.queryableTokens().get());
 		assertSame(newTokenRels, subject.queryableTokenAssociations().get());
 		assertSame(newSchedules, subject.queryableSchedules().get());
+		// and:
+		verify(bytecodeCache).invalidateAll();
+		verify(contractStorage).invalidateAll();
 	}
 
 	@Test
@@ -448,6 +467,8 @@ public class ServicesContextTest {
 		assertThat(ctx.storage(), instanceOf(FCMap.class));
 		assertThat(ctx.metaAnswers(), instanceOf(MetaAnswers.class));
 		assertThat(ctx.stateViews().get(), instanceOf(StateView.class));
+		assertThat(ctx.signedStateViews(), instanceOf(SignedStateViews.class));
+		assertThat(ctx.queryResponseCache(), instanceOf(QueryResponseCache.class));
 		assertThat(ctx.fileNums(), instanceOf(FileNumbers.class));
 		assertThat(ctx.accountNums(), instanceOf(AccountNumbers.class));
 		assertThat(ctx.usagePrices(), instanceOf(AwareFcfsUsagePrices.class));
@@ -458,13 +479,21 @@ public class ServicesContextTest {
 		assertThat(ctx.txnThrottling(), instanceOf(TransactionThrottling.class));
 		assertThat(ctx.accountSource(), instanceOf(LedgerAccountsSource.class));
 		assertThat(ctx.bytecodeDb(), instanceOf(BlobStorageSource.class));
+		assertThat(ctx.bytecodeCache(), instanceOf(BytecodeCache.class));
+		assertThat(ctx.snapshotBytecodeCaches(), instanceOf(SnapshotBytecodeCaches.class));
+		assertThat(ctx.localCallExecutor(), instanceOf(LocalCallExecutor.class));
+		assertThat(ctx.evmProfiler(), instanceOf(EvmProfiler.class));
 		assertThat(ctx.cryptoAnswers(), instanceOf(CryptoAnswers.class));
+		assertThat(ctx.accountBalancesAnswer(), instanceOf(GetAccountBalancesAnswer.class));
 		assertThat(ctx.tokenAnswers(), instanceOf(TokenAnswers.class));
 		assertThat(ctx.scheduleAnswers(), instanceOf(ScheduleAnswers.class));
 		assertThat(ctx.consensusGrpc(), instanceOf(ConsensusController.class));
 		assertThat(ctx.storagePersistence(), instanceOf(BlobStoragePersistence.class));
+		assertThat(ctx.contractStorage(), instanceOf(PagedStorageMap.class));
 		assertThat(ctx.filesGrpc(), instanceOf(FileController.class));
 		assertThat(ctx.networkGrpc(), instanceOf(NetworkController.class));
+		assertThat(ctx.nodeAdminGrpc(), instanceOf(NodeAdminController.class));
+		assertThat(ctx.nodeAdminServer(), instanceOf(NodeAdminServerManager.class));
 		assertThat(ctx.entityNums(), instanceOf(EntityNumbers.class));
 		assertThat(ctx.feeSchedulesManager(), instanceOf(FeeSchedulesManager.class));
 		assertThat(ctx.submissionFlow(), instanceOf(TxnHandlerSubmissionFlow.class));
@@ -504,6 +533,7 @@ public class ServicesContextTest {
 		assertThat(ctx.platformStatus(), instanceOf(ContextPlatformStatus.class));
 		assertThat(ctx.contractAnswers(), instanceOf(ContractAnswers.class));
 		assertThat(ctx.tokenStore(), instanceOf(HederaTokenStore.class));
+		assertThat(ctx.tokenHolders(), instanceOf(TokenHolders.class));
 		assertThat(ctx.globalDynamicProperties(), instanceOf(GlobalDynamicProperties.class));
 		assertThat(ctx.tokenGrpc(), instanceOf(TokenController.class));
 		assertThat(ctx.scheduleGrpc(), instanceOf(ScheduleController.class));
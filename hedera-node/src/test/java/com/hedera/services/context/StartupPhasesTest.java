@@ -0,0 +1,152 @@
+package com.hedera.services.context;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupPhasesTest {
+	StartupPhases subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new StartupPhases();
+	}
+
+	@Test
+	public void runsIndependentPhasesConcurrently() throws InterruptedException {
+		// setup:
+		var bothStarted = new CountDownLatch(2);
+		var executor = Executors.newFixedThreadPool(2);
+		Runnable rendezvous = () -> {
+			bothStarted.countDown();
+			try {
+				assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		};
+
+		// given:
+		subject.add("a", rendezvous).add("b", rendezvous);
+
+		// when:
+		subject.runOn(executor);
+
+		// then:
+		assertEquals(0, bothStarted.getCount());
+		assertTrue(subject.elapsedMs("a") >= 0);
+		assertTrue(subject.elapsedMs("b") >= 0);
+		// cleanup:
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void runsDependentsOnlyAfterPrerequisites() {
+		// setup:
+		List<String> finished = new CopyOnWriteArrayList<>();
+
+		// given:
+		subject.add("a", () -> finished.add("a"))
+				.add("b", () -> finished.add("b"))
+				.add("c", () -> finished.add("c"), "a", "b")
+				.add("d", () -> finished.add("d"), "c");
+
+		// when:
+		subject.runOn(ForkJoinPool.commonPool());
+
+		// then:
+		assertEquals(4, finished.size());
+		assertTrue(finished.indexOf("c") > finished.indexOf("a"));
+		assertTrue(finished.indexOf("c") > finished.indexOf("b"));
+		assertEquals("d", finished.get(3));
+	}
+
+	@Test
+	public void rethrowsFailureWithoutRunningDependents() {
+		// setup:
+		var failure = new IllegalStateException("Nope!");
+		var dependentRan = new AtomicBoolean(false);
+		var independentRan = new AtomicBoolean(false);
+
+		// given:
+		subject.add("a", () -> { throw failure; })
+				.add("b", () -> independentRan.set(true))
+				.add("c", () -> dependentRan.set(true), "a");
+
+		// when:
+		var thrown = assertThrows(IllegalStateException.class, () -> subject.runOn(ForkJoinPool.commonPool()));
+
+		// then:
+		assertSame(failure, thrown);
+		assertTrue(independentRan.get());
+		assertFalse(dependentRan.get());
+		assertEquals(-1, subject.elapsedMs("c"));
+	}
+
+	@Test
+	public void rejectsDuplicateOrUnknownPhases() {
+		// given:
+		subject.add("a", () -> {});
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.add("a", () -> {}));
+		assertThrows(IllegalArgumentException.class, () -> subject.add("b", () -> {}, "c"));
+		assertThrows(IllegalArgumentException.class, () -> subject.add(StartupPhases.ALL_PHASES, () -> {}));
+		assertEquals(-1, subject.elapsedMs("b"));
+	}
+
+	@Test
+	public void reportsEachPhaseAndTotalTimings() {
+		// setup:
+		Map<String, Double> timings = new ConcurrentHashMap<>();
+
+		// given:
+		subject = new StartupPhases(timings::put);
+		subject.add("a", () -> {}).add("b", () -> {}, "a");
+
+		// when:
+		subject.runOn(ForkJoinPool.commonPool());
+
+		// then:
+		assertEquals(Set.of("a", "b", StartupPhases.ALL_PHASES), timings.keySet());
+		assertEquals(subject.elapsedMs("a"), (double) timings.get("a"));
+		assertEquals(subject.elapsedMs("b"), (double) timings.get("b"));
+		assertTrue(timings.get(StartupPhases.ALL_PHASES) >= (double) timings.get("b"));
+	}
+}
@@ -0,0 +1,315 @@
+package com.hedera.services.context.primitives;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.hedera.services.context.properties.NodeLocalProperties;
+import com.hedera.services.queries.answering.QueryResponseCache;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleDiskFs;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.swirlds.common.merkle.MerkleNode;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.anyDouble;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class SignedStateViewsTest {
+	long maxStalenessMs = 5_000L;
+	Instant consensusTime = Instant.ofEpochSecond(1_234_567L);
+	Instant now;
+
+	StateView liveView;
+	ServicesState signedState;
+	QueryResponseCache responseCache;
+	MiscRunningAvgs runningAvgs;
+	MiscSpeedometers speedometers;
+	NodeLocalProperties properties;
+	FCMap<MerkleEntityId, MerkleAccount> signedAccounts;
+
+	SignedStateViews subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		now = consensusTime.plusMillis(1_000L);
+
+		liveView = mock(StateView.class);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		responseCache = mock(QueryResponseCache.class);
+		speedometers = mock(MiscSpeedometers.class);
+		signedState = signedStateWithMockChildren();
+		signedAccounts = signedState.accounts();
+		properties = mock(NodeLocalProperties.class);
+		given(properties.querySignedStateMaxStalenessMs()).willReturn(maxStalenessMs);
+
+		Supplier<StateView> liveViews = () -> liveView;
+		subject = new SignedStateViews(liveViews, responseCache, runningAvgs, speedometers, properties, () -> now);
+	}
+
+	@Test
+	public void usesLiveViewIfNoSignedStateYet() {
+		// when:
+		var view = subject.lease().view();
+
+		// then:
+		assertSame(liveView, view);
+		verify(speedometers).cycleSignedStateViewMisses();
+		verify(runningAvgs, never()).recordSignedStateViewStalenessMs(anyDouble());
+	}
+
+	@Test
+	public void usesReplicaOfFreshSignedState() {
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+
+		// when:
+		var view = subject.lease().view();
+
+		// then:
+		assertSame(subject.replicaView(), view);
+		assertSame(signedAccounts, view.accounts());
+		verify(speedometers).cycleSignedStateViewHits();
+		verify(runningAvgs).recordSignedStateViewStalenessMs(1_000.0);
+		// and:
+		childrenOf(signedState).forEach(child -> verify(child).incrementReferenceCount());
+	}
+
+	@Test
+	public void readsTokensFromReplicaNotWorkingState() {
+		// setup:
+		var id = TokenID.newBuilder().setTokenNum(1_234L).build();
+		var key = MerkleEntityId.fromTokenId(id);
+		var signedTokens = new FCMap<MerkleEntityId, MerkleToken>();
+		signedTokens.put(key, tokenWithSymbol("SIGNED"));
+		var workingTokens = signedTokens.copy();
+
+		given(signedState.tokens()).willReturn(signedTokens);
+		// and:
+		subject.updateFrom(signedState, consensusTime);
+
+		try (var lease = subject.lease()) {
+			// when:
+			var token = workingTokens.getForModify(key);
+			token.setSymbol("WORKING");
+			workingTokens.replace(key, token);
+
+			// then:
+			assertTrue(lease.view().tokenExists(id));
+			assertEquals("SIGNED", lease.view().tokenWith(id).get().symbol());
+		}
+	}
+
+	@Test
+	public void cachesTokenInfoAsOfReplica() {
+		// setup:
+		var id = TokenID.newBuilder().setTokenNum(1_234L).build();
+		var key = MerkleEntityId.fromTokenId(id);
+		var signedTokens = new FCMap<MerkleEntityId, MerkleToken>();
+		signedTokens.put(key, tokenWithSymbol("SIGNED"));
+		var workingTokens = signedTokens.copy();
+		var realCache = new QueryResponseCache(10, runningAvgs);
+		subject = new SignedStateViews(
+				() -> liveView, realCache, runningAvgs, speedometers, properties, () -> now);
+
+		given(signedState.tokens()).willReturn(signedTokens);
+		// and:
+		subject.updateFrom(signedState, consensusTime);
+
+		// when:
+		String firstSymbol;
+		try (var lease = subject.lease()) {
+			firstSymbol = lease.view().infoForToken(id).get().getSymbol();
+		}
+		// and:
+		var token = workingTokens.getForModify(key);
+		token.setSymbol("WORKING");
+		workingTokens.replace(key, token);
+		// and:
+		String secondSymbol;
+		try (var lease = subject.lease()) {
+			secondSymbol = lease.view().infoForToken(id).get().getSymbol();
+		}
+
+		// then:
+		assertEquals("SIGNED", firstSymbol);
+		assertEquals("SIGNED", secondSymbol);
+	}
+
+	@Test
+	public void swapsReplicaOnEachSignedState() {
+		// setup:
+		var nextSignedState = signedStateWithMockChildren();
+
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+		var firstView = subject.lease().view();
+
+		// when:
+		subject.updateFrom(nextSignedState, consensusTime.plusSeconds(1));
+		var secondView = subject.lease().view();
+
+		// then:
+		assertSame(signedAccounts, firstView.accounts());
+		assertSame(subject.replicaView(), secondView);
+		assertSame(nextSignedState.accounts(), secondView.accounts());
+		verify(runningAvgs).recordSignedStateViewStalenessMs(0.0);
+		verify(responseCache).pruneThrough(consensusTime);
+		verify(responseCache).pruneThrough(consensusTime.plusSeconds(1));
+	}
+
+	@Test
+	public void releasesReplacedReplicaOnlyOnceLastLeaseClosed() {
+		// setup:
+		var nextSignedState = signedStateWithMockChildren();
+		var finalSignedState = signedStateWithMockChildren();
+
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+		var lease = subject.lease();
+
+		// when:
+		subject.updateFrom(nextSignedState, consensusTime.plusSeconds(1));
+		lease.close();
+
+		// then:
+		assertEquals(1, subject.numRetiredReplicas());
+		childrenOf(signedState).forEach(child -> verify(child, never()).decrementReferenceCount());
+
+		// and when:
+		subject.updateFrom(finalSignedState, consensusTime.plusSeconds(2));
+
+		// then:
+		assertEquals(1, subject.numRetiredReplicas());
+		childrenOf(signedState).forEach(child -> verify(child).decrementReferenceCount());
+		childrenOf(nextSignedState).forEach(child -> verify(child, never()).decrementReferenceCount());
+	}
+
+	@Test
+	public void closingLeaseTwiceHasNoFurtherEffect() {
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+		var lease = subject.lease();
+		lease.close();
+		lease.close();
+
+		// when:
+		subject.updateFrom(signedStateWithMockChildren(), consensusTime.plusSeconds(1));
+		subject.updateFrom(signedStateWithMockChildren(), consensusTime.plusSeconds(2));
+
+		// then:
+		childrenOf(signedState).forEach(child -> verify(child).decrementReferenceCount());
+	}
+
+	@Test
+	public void usesLiveViewIfReplicaTooStale() {
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+		now = consensusTime.plusMillis(maxStalenessMs + 1);
+
+		// when:
+		var view = subject.lease().view();
+		subject.updateFrom(signedStateWithMockChildren(), consensusTime.plusSeconds(1));
+
+		// then:
+		assertSame(liveView, view);
+		verify(speedometers).cycleSignedStateViewMisses();
+		verify(speedometers, never()).cycleSignedStateViewHits();
+		// and:
+		childrenOf(signedState).forEach(child -> verify(child).decrementReferenceCount());
+	}
+
+	@Test
+	public void keepsNoReplicaIfDisabled() {
+		given(properties.querySignedStateMaxStalenessMs()).willReturn(0L);
+
+		// when:
+		subject.updateFrom(signedState, consensusTime);
+
+		// then:
+		assertNull(subject.replicaView());
+		assertSame(liveView, subject.lease().view());
+		verify(responseCache).pruneThrough(consensusTime);
+		childrenOf(signedState).forEach(child -> verify(child, never()).incrementReferenceCount());
+	}
+
+	@Test
+	public void releasesReplicaOnceDisabled() {
+		// given:
+		subject.updateFrom(signedState, consensusTime);
+		given(properties.querySignedStateMaxStalenessMs()).willReturn(0L);
+
+		// when:
+		subject.updateFrom(signedStateWithMockChildren(), consensusTime.plusSeconds(1));
+
+		// then:
+		assertNull(subject.replicaView());
+		assertEquals(0, subject.numRetiredReplicas());
+		childrenOf(signedState).forEach(child -> verify(child).decrementReferenceCount());
+	}
+
+	@SuppressWarnings("unchecked")
+	private ServicesState signedStateWithMockChildren() {
+		var state = mock(ServicesState.class);
+		given(state.topics()).willReturn(mock(FCMap.class));
+		given(state.accounts()).willReturn(mock(FCMap.class));
+		given(state.storage()).willReturn(mock(FCMap.class));
+		given(state.tokens()).willReturn(mock(FCMap.class));
+		given(state.tokenAssociations()).willReturn(mock(FCMap.class));
+		given(state.scheduleTxs()).willReturn(mock(FCMap.class));
+		given(state.diskFs()).willReturn(mock(MerkleDiskFs.class));
+		return state;
+	}
+
+	private List<MerkleNode> childrenOf(ServicesState state) {
+		return List.of(
+				state.topics(),
+				state.accounts(),
+				state.storage(),
+				state.tokens(),
+				state.tokenAssociations(),
+				state.scheduleTxs(),
+				state.diskFs());
+	}
+
+	private MerkleToken tokenWithSymbol(String symbol) {
+		return new MerkleToken(
+				Long.MAX_VALUE, 1_000L, 2, symbol, "Token", false, true, new EntityId(0, 0, 2));
+	}
+}
@@ -254,6 +254,13 @@ class StateViewTest {
 		assertFalse(subject.tokenExists(missingTokenId));
 	}
 
+	@Test
+	public void exposesContractMaps() {
+		// expect:
+		assertSame(bytecode, subject.contractBytecode());
+		assertSame(storage, subject.contractStorage());
+	}
+
 	@Test
 	public void scheduleExistsWorks() {
 		// expect:
@@ -97,6 +97,7 @@ class BootstrapPropertiesTest {
 			entry("files.softwareUpdateZip", 150L),
 			entry("grpc.port", 50211),
 			entry("grpc.tlsPort", 50212),
+			entry("grpc.adminPort", 50220),
 			entry("hedera.accountsExportPath", "data/onboard/exportedAccount.txt"),
 			entry("hedera.exportAccountsOnStartup", false),
 			entry("hedera.numReservedSystemEntities", 1_000L),
@@ -134,6 +135,18 @@ class BootstrapPropertiesTest {
 			entry("precheck.account.maxLookupRetries", 10),
 			entry("precheck.account.lookupRetryBackoffIncrementMs", 10),
 			entry("queries.blob.lookupRetries", 3),
+			entry("queries.signedState.maxStalenessMs", 5000L),
+			entry("queries.responseCache.maxEntries", 16384),
+			entry("queries.bulkBalances.maxAccounts", 10000),
+			entry("queries.bulkBalances.maxAccountsPerSec", 20000L),
+			entry("contracts.bytecodeCache.maxBytes", 67108864L),
+			entry("contracts.storageCache.maxBytes", 67108864L),
+			entry("contracts.localCall.deadlineMs", 2000L),
+			entry("contracts.localCall.maxConcurrent", 8),
+			entry("contracts.localCall.maxGasPerSec", 30000000L),
+			entry("contracts.profiler.isEnabled", false),
+			entry("contracts.profiler.ringSize", 1024),
+			entry("contracts.profiler.summaryPeriodSecs", 60L),
 			entry("tokens.maxPerAccount", 1_000),
 			entry("tokens.maxSymbolUtf8Bytes", 100),
 			entry("tokens.maxTokenNameUtf8Bytes",100),
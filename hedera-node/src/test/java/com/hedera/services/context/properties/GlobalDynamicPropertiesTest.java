@@ -98,6 +98,22 @@ class GlobalDynamicPropertiesTest {
 		assertEquals(29, subject.feesMinCongestionPeriod());
 	}
 
+	@Test
+	public void generationAdvancesWithEachReload() {
+		givenPropsWithSeed(1);
+
+		// given:
+		subject = new GlobalDynamicProperties(numbers, properties);
+		long initialGeneration = subject.generation();
+
+		// when:
+		subject.reload();
+
+		// then:
+		assertEquals(1L, initialGeneration);
+		assertEquals(2L, subject.generation());
+	}
+
 	@Test
 	public void reloadWorksAsExpected() {
 		givenPropsWithSeed(2);
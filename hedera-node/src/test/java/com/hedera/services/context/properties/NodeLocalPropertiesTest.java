@@ -54,6 +54,7 @@ class NodeLocalPropertiesTest {
 		// expect:
 		assertEquals(1, subject.port());
 		assertEquals(2, subject.tlsPort());
+		assertEquals(10, subject.adminPort());
 		assertEquals(3, subject.precheckLookupRetries());
 		assertEquals(4, subject.precheckLookupRetryBackoffMs());
 		assertEquals(TEST, subject.activeProfile());
@@ -65,6 +66,18 @@ class NodeLocalPropertiesTest {
 		assertTrue(subject.isRecordStreamEnabled());
 		assertEquals(12, subject.recordStreamQueueCapacity());
 		assertEquals(13, subject.queryBlobLookupRetries());
+		assertEquals(13 * 1_000L, subject.querySignedStateMaxStalenessMs());
+		assertEquals(13 * 100, subject.queryResponseCacheMaxEntries());
+		assertEquals(13 * 1_000, subject.queryBulkBalancesMaxAccounts());
+		assertEquals(13 * 2_000L, subject.queryBulkBalancesMaxAccountsPerSec());
+		assertEquals(13 * 1_024L, subject.contractsBytecodeCacheMaxBytes());
+		assertEquals(13 * 2_048L, subject.contractsStorageCacheMaxBytes());
+		assertEquals(13, subject.contractsLocalCallMaxConcurrent());
+		assertEquals(13 * 1_000_000L, subject.contractsLocalCallMaxGasPerSec());
+		assertEquals(13 * 100L, subject.contractsLocalCallDeadlineMs());
+		assertTrue(subject.isContractsProfilerEnabled());
+		assertEquals(13 * 64, subject.contractsProfilerRingSize());
+		assertEquals(13L, subject.contractsProfilerSummaryPeriodSecs());
 		assertEquals(14L, subject.nettyProdKeepAliveTime());
 		assertEquals("hedera1.crt", subject.nettyTlsCrtPath());
 		assertEquals("hedera2.key", subject.nettyTlsKeyPath());
@@ -91,6 +104,7 @@ class NodeLocalPropertiesTest {
 		// expect:
 		assertEquals(2, subject.port());
 		assertEquals(3, subject.tlsPort());
+		assertEquals(11, subject.adminPort());
 		assertEquals(4, subject.precheckLookupRetries());
 		assertEquals(5, subject.precheckLookupRetryBackoffMs());
 		assertEquals(DEV, subject.activeProfile());
@@ -102,6 +116,18 @@ class NodeLocalPropertiesTest {
 		assertFalse(subject.isRecordStreamEnabled());
 		assertEquals(13, subject.recordStreamQueueCapacity());
 		assertEquals(14, subject.queryBlobLookupRetries());
+		assertEquals(14 * 1_000L, subject.querySignedStateMaxStalenessMs());
+		assertEquals(14 * 100, subject.queryResponseCacheMaxEntries());
+		assertEquals(14 * 1_000, subject.queryBulkBalancesMaxAccounts());
+		assertEquals(14 * 2_000L, subject.queryBulkBalancesMaxAccountsPerSec());
+		assertEquals(14 * 1_024L, subject.contractsBytecodeCacheMaxBytes());
+		assertEquals(14 * 2_048L, subject.contractsStorageCacheMaxBytes());
+		assertEquals(14, subject.contractsLocalCallMaxConcurrent());
+		assertEquals(14 * 1_000_000L, subject.contractsLocalCallMaxGasPerSec());
+		assertEquals(14 * 100L, subject.contractsLocalCallDeadlineMs());
+		assertFalse(subject.isContractsProfilerEnabled());
+		assertEquals(14 * 64, subject.contractsProfilerRingSize());
+		assertEquals(14L, subject.contractsProfilerSummaryPeriodSecs());
 		assertEquals(15L, subject.nettyProdKeepAliveTime());
 		assertEquals("hedera2.crt", subject.nettyTlsCrtPath());
 		assertEquals("hedera3.key", subject.nettyTlsKeyPath());
@@ -121,6 +147,7 @@ class NodeLocalPropertiesTest {
 	private void givenPropsWithSeed(int i) {
 		given(properties.getIntProperty("grpc.port")).willReturn(i);
 		given(properties.getIntProperty("grpc.tlsPort")).willReturn(i + 1);
+		given(properties.getIntProperty("grpc.adminPort")).willReturn(i + 9);
 		given(properties.getIntProperty("precheck.account.maxLookupRetries")).willReturn(i + 2);
 		given(properties.getIntProperty("precheck.account.lookupRetryBackoffIncrementMs")).willReturn(i + 3);
 		given(properties.getProfileProperty("hedera.profiles.active")).willReturn(LEGACY_ENV_ORDER[(i + 4) % 3]);
@@ -132,6 +159,18 @@ class NodeLocalPropertiesTest {
 		given(properties.getBooleanProperty("hedera.recordStream.isEnabled")).willReturn(i % 2 == 1);
 		given(properties.getIntProperty("hedera.recordStream.queueCapacity")).willReturn(i + 11);
 		given(properties.getIntProperty("queries.blob.lookupRetries")).willReturn(i + 12);
+		given(properties.getLongProperty("queries.signedState.maxStalenessMs")).willReturn((i + 12) * 1_000L);
+		given(properties.getIntProperty("queries.responseCache.maxEntries")).willReturn((i + 12) * 100);
+		given(properties.getIntProperty("queries.bulkBalances.maxAccounts")).willReturn((i + 12) * 1_000);
+		given(properties.getLongProperty("queries.bulkBalances.maxAccountsPerSec")).willReturn((i + 12) * 2_000L);
+		given(properties.getLongProperty("contracts.bytecodeCache.maxBytes")).willReturn((i + 12) * 1_024L);
+		given(properties.getLongProperty("contracts.storageCache.maxBytes")).willReturn((i + 12) * 2_048L);
+		given(properties.getIntProperty("contracts.localCall.maxConcurrent")).willReturn(i + 12);
+		given(properties.getLongProperty("contracts.localCall.maxGasPerSec")).willReturn((i + 12) * 1_000_000L);
+		given(properties.getLongProperty("contracts.localCall.deadlineMs")).willReturn((i + 12) * 100L);
+		given(properties.getBooleanProperty("contracts.profiler.isEnabled")).willReturn(i % 2 == 1);
+		given(properties.getIntProperty("contracts.profiler.ringSize")).willReturn((i + 12) * 64);
+		given(properties.getLongProperty("contracts.profiler.summaryPeriodSecs")).willReturn(i + 12L);
 		given(properties.getLongProperty("netty.prod.keepAliveTime")).willReturn(i + 13L);
 		given(properties.getStringProperty("netty.tlsCrt.path")).willReturn("hedera" + i + ".crt");
 		given(properties.getStringProperty("netty.tlsKey.path")).willReturn("hedera" + (i + 1) + ".key");
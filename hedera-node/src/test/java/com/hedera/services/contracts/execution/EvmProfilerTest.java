@@ -0,0 +1,191 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.legacy.evm.SolidityExecutor;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.ContractID;
+import org.ethereum.datasource.StoragePersistence;
+import org.ethereum.vm.OpCode;
+import org.ethereum.vm.program.Program;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+class EvmProfilerTest {
+	int ringSize = 2;
+	long summaryPeriodSecs = 60L;
+	long[] now = { 0L };
+	byte[] address = "ADDRESS".getBytes();
+	byte[] storage = "STORAGE".getBytes();
+	ContractID a = IdUtils.asContract("0.0.1001");
+	ContractID b = IdUtils.asContract("0.0.1002");
+	ContractID c = IdUtils.asContract("0.0.1003");
+
+	Program parent, child;
+	SolidityExecutor executor;
+
+	EvmProfiler subject;
+
+	@BeforeEach
+	public void setup() {
+		parent = mock(Program.class);
+		child = mock(Program.class);
+		executor = mock(SolidityExecutor.class);
+
+		subject = new EvmProfiler(true, ringSize, summaryPeriodSecs, () -> now[0]);
+	}
+
+	@Test
+	public void chargesOpcodesExclusiveOfNestedCalls() {
+		// when:
+		at(0, () -> subject.beginExecution(executor));
+		at(1, () -> subject.startPlay(parent));
+		at(2, () -> subject.step(parent, OpCode.PUSH1));
+		at(5, () -> subject.step(parent, OpCode.CALL));
+		at(10, () -> subject.startPlay(child));
+		at(11, () -> subject.step(child, OpCode.SLOAD));
+		at(31, () -> subject.stopPlay(child));
+		at(40, () -> subject.step(parent, OpCode.STOP));
+		at(41, () -> subject.stopPlay(parent));
+		at(50, () -> subject.endExecution(a, 1_234L));
+
+		// then:
+		verify(executor).withVmHook(subject);
+		// and:
+		var nanos = subject.windowOpNanos();
+		assertEquals(3L, nanos[code(OpCode.PUSH1)]);
+		assertEquals(14L, nanos[code(OpCode.CALL)]);
+		assertEquals(20L, nanos[code(OpCode.SLOAD)]);
+		assertEquals(1L, nanos[code(OpCode.STOP)]);
+		assertEquals(1L, subject.windowOpCounts()[code(OpCode.SLOAD)]);
+		// and:
+		var profile = subject.recentExecutions().get(0);
+		assertEquals(a, profile.getContract());
+		assertEquals(1_234L, profile.getGasUsed());
+		assertEquals(50L, profile.getElapsedNanos());
+		assertEquals(4L, profile.getSteps());
+	}
+
+	@Test
+	public void ignoresHooksOutsideAnExecution() {
+		// when:
+		subject.startPlay(parent);
+		subject.step(parent, OpCode.PUSH1);
+		subject.stopPlay(parent);
+
+		// then:
+		assertArrayEquals(new long[EvmProfiler.NUM_OPCODES], subject.windowOpCounts());
+	}
+
+	@Test
+	public void keepsOnlyMostRecentExecutions() {
+		// when:
+		for (var contract : new ContractID[] { a, b, c }) {
+			subject.beginExecution(executor);
+			subject.endExecution(contract, 0L);
+		}
+
+		// then:
+		var recent = subject.recentExecutions();
+		assertEquals(2, recent.size());
+		assertEquals(b, recent.get(0).getContract());
+		assertEquals(c, recent.get(1).getContract());
+	}
+
+	@Test
+	public void summarizesAndResetsWindowOncePeriodElapses() {
+		// given:
+		at(0, () -> subject.beginExecution(executor));
+		at(0, () -> subject.startPlay(parent));
+		at(0, () -> subject.step(parent, OpCode.SLOAD));
+		at(5, () -> subject.stopPlay(parent));
+		at(5, () -> subject.endExecution(a, 0L));
+
+		// when:
+		var summary = subject.summary(summaryPeriodSecs * 1_000_000_000L);
+
+		// then:
+		assertTrue(summary.contains("1 executions"));
+		assertTrue(summary.contains("SLOAD (1 x 5ns)"));
+		assertTrue(summary.contains("0.0.1001 (1 x 5ns)"));
+
+		// and when:
+		at(summaryPeriodSecs * 1_000_000_000L, () -> subject.beginExecution(executor));
+		at(summaryPeriodSecs * 1_000_000_000L, () -> subject.endExecution(b, 0L));
+
+		// then:
+		assertEquals(0L, subject.windowOpCounts()[code(OpCode.SLOAD)]);
+		assertEquals(2, subject.recentExecutions().size());
+	}
+
+	@Test
+	public void timesStorageOnlyIfEnabled() {
+		// setup:
+		var delegate = mock(StoragePersistence.class);
+		given(delegate.get(address)).willAnswer(invocation -> {
+			now[0] += 7;
+			return storage;
+		});
+
+		// given:
+		var timed = subject.timing(delegate);
+
+		// when:
+		at(0, () -> subject.beginExecution(executor));
+		var loaded = timed.get(address);
+		timed.persist(address, storage, 1L, 2L);
+		timed.storageExist(address);
+		subject.endExecution(a, 0L);
+
+		// then:
+		assertSame(storage, loaded);
+		assertNotSame(delegate, timed);
+		verify(delegate).persist(address, storage, 1L, 2L);
+		verify(delegate).storageExist(address);
+		assertEquals(7L, subject.recentExecutions().get(0).getStorageNanos());
+		// and:
+		assertSame(delegate, new EvmProfiler(false, ringSize, summaryPeriodSecs).timing(delegate));
+	}
+
+	@Test
+	public void namesUnknownOpcodesInHex() {
+		// expect:
+		assertEquals("SLOAD", EvmProfiler.nameOf(code(OpCode.SLOAD)));
+		assertEquals("0xef", EvmProfiler.nameOf(0xef));
+	}
+
+	private void at(long nanos, Runnable action) {
+		now[0] = nanos;
+		action.run();
+	}
+
+	private static int code(OpCode op) {
+		return op.val() & 0xFF;
+	}
+}
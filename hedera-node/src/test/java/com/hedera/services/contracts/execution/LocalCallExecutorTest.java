@@ -0,0 +1,329 @@
+package com.hedera.services.contracts.execution;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.utils.EntityIdUtils;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
+import com.hederahashgraph.api.proto.java.ContractFunctionResult;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import org.ethereum.core.AccountState;
+import org.ethereum.datasource.DbSource;
+import org.ethereum.datasource.Source;
+import org.ethereum.datasource.StoragePersistence;
+import org.ethereum.db.ServicesRepositoryRoot;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spongycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+class LocalCallExecutorTest {
+	int maxConcurrent = 2;
+	int maxGas = 300_000;
+	long maxGasPerSec = 1_000_000L;
+	long deadlineMs = 1_000L;
+	long now = 1_234_567L;
+
+	StateView firstSnapshot, secondSnapshot;
+	AtomicReference<StateView> currentSnapshot;
+	List<StateViewLease> leasesTaken;
+	List<StateView> reposBuiltFor;
+	Function<StateView, Supplier<ServicesRepositoryRoot>> repoFactory;
+	LocalCallExecutor.RepoBoundLocalCaller delegate;
+	GlobalDynamicProperties dynamicProperties;
+	ExecutorService workers;
+
+	LocalCallExecutor subject;
+
+	@BeforeEach
+	public void setup() {
+		firstSnapshot = mock(StateView.class);
+		secondSnapshot = mock(StateView.class);
+		currentSnapshot = new AtomicReference<>(firstSnapshot);
+		leasesTaken = new ArrayList<>();
+		reposBuiltFor = new ArrayList<>();
+		repoFactory = snapshot -> {
+			reposBuiltFor.add(snapshot);
+			return () -> mock(ServicesRepositoryRoot.class);
+		};
+		delegate = (query, now, snapshot, repo) -> responseUsing(maxGas);
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.maxGas()).willReturn(maxGas);
+		workers = new ThreadPoolExecutor(
+				maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+
+		subject = subjectWith(delegate);
+	}
+
+	@AfterEach
+	public void cleanup() {
+		workers.shutdownNow();
+	}
+
+	@Test
+	public void reusesSourcesUntilSnapshotChangesButNeverRepository() throws Exception {
+		// setup:
+		List<StateView> snapshotsUsed = new ArrayList<>();
+		List<ServicesRepositoryRoot> reposUsed = new ArrayList<>();
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			snapshotsUsed.add(snapshot);
+			reposUsed.add(repo);
+			return responseUsing(0);
+		});
+
+		// when:
+		subject.perform(queryOffering(maxGas), now);
+		subject.perform(queryOffering(maxGas), now);
+		currentSnapshot.set(secondSnapshot);
+		subject.perform(queryOffering(maxGas), now);
+
+		// then:
+		assertEquals(List.of(firstSnapshot, secondSnapshot), reposBuiltFor);
+		assertEquals(List.of(firstSnapshot, firstSnapshot, secondSnapshot), snapshotsUsed);
+		assertNotSame(reposUsed.get(0), reposUsed.get(1));
+		assertEquals(1, subject.numIdleSources());
+	}
+
+	@Test
+	public void neverLetsOneCallsWritesReachTheNext() throws Exception {
+		// setup:
+		var contract = EntityIdUtils.asSolidityAddress(0, 0, 1_234);
+		var slot = DataWord.of(1);
+		var snapshotValue = DataWord.of(2);
+		var callValue = DataWord.of(3);
+		Source<byte[], AccountState> accounts = mock(Source.class);
+		DbSource<byte[]> bytecode = mock(DbSource.class);
+		var storage = new InMemoryStoragePersistence();
+		Supplier<ServicesRepositoryRoot> repos = () -> {
+			var repo = new ServicesRepositoryRoot(accounts, bytecode);
+			repo.setStoragePersistence(storage);
+			return repo;
+		};
+		List<DataWord> valuesSeen = new ArrayList<>();
+
+		given(accounts.get(any())).willAnswer(ignore -> new AccountState(BigInteger.ZERO, BigInteger.ZERO));
+		// and:
+		var seed = repos.get();
+		seed.addStorageRow(contract, slot, snapshotValue);
+		assertTrue(seed.flushStorageCacheIfTotalSizeLessThan(1024));
+		// and:
+		repoFactory = snapshot -> repos;
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			valuesSeen.add(repo.getStorageValue(contract, slot));
+			var tracking = repo.startTracking();
+			tracking.addStorageRow(contract, slot, callValue);
+			tracking.commit();
+			return responseUsing(0);
+		});
+
+		// when:
+		subject.perform(queryOffering(maxGas), now);
+		subject.perform(queryOffering(maxGas), now);
+
+		// then:
+		assertEquals(List.of(snapshotValue, snapshotValue), valuesSeen);
+	}
+
+	@Test
+	public void holdsSnapshotLeaseUntilCallCompletes() throws Exception {
+		// setup:
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			verify(leasesTaken.get(0), never()).close();
+			return responseUsing(0);
+		});
+
+		// when:
+		var response = subject.perform(queryOffering(maxGas), now);
+
+		// then:
+		assertEquals(OK, statusOf(response));
+		verify(leasesTaken.get(0)).close();
+	}
+
+	@Test
+	public void throttlesByOfferedGasCappedAtMax() throws Exception {
+		// expect:
+		for (int i = 0; i < 3; i++) {
+			assertEquals(OK, statusOf(subject.perform(queryOffering(2 * maxGas), now)));
+		}
+		assertEquals(BUSY, statusOf(subject.perform(queryOffering(maxGas), now)));
+	}
+
+	@Test
+	public void reclaimsUnusedGas() throws Exception {
+		// given:
+		subject = subjectWith((query, now, snapshot, repo) -> responseUsing(1_000));
+
+		// expect:
+		for (int i = 0; i < 10; i++) {
+			assertEquals(OK, statusOf(subject.perform(queryOffering(maxGas), now)));
+		}
+	}
+
+	@Test
+	public void answersBusyIfAllWorkersOccupied() throws Exception {
+		// setup:
+		var entered = new CountDownLatch(maxConcurrent);
+		var release = new CountDownLatch(1);
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			entered.countDown();
+			release.await();
+			return responseUsing(0);
+		});
+
+		// given:
+		List<CompletableFuture<ContractCallLocalResponse>> inFlight = new ArrayList<>();
+		for (int i = 0; i < maxConcurrent; i++) {
+			inFlight.add(CompletableFuture.supplyAsync(() -> uncheckedPerform(queryOffering(0))));
+		}
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+		// when:
+		var response = subject.perform(queryOffering(0), now);
+		release.countDown();
+
+		// then:
+		assertEquals(BUSY, statusOf(response));
+		for (var call : inFlight) {
+			assertEquals(OK, statusOf(call.get()));
+		}
+	}
+
+	@Test
+	public void answersBusyOnMissedDeadline() throws Exception {
+		// setup:
+		var release = new CountDownLatch(1);
+		deadlineMs = 10L;
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			release.await();
+			return responseUsing(0);
+		});
+
+		// when:
+		var response = subject.perform(queryOffering(0), now);
+		release.countDown();
+
+		// then:
+		assertEquals(BUSY, statusOf(response));
+	}
+
+	@Test
+	public void propagatesDelegateFailure() {
+		// given:
+		subject = subjectWith((query, now, snapshot, repo) -> {
+			throw new IllegalStateException("Boom!");
+		});
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.perform(queryOffering(0), now));
+	}
+
+	private LocalCallExecutor subjectWith(LocalCallExecutor.RepoBoundLocalCaller delegate) {
+		return new LocalCallExecutor(
+				maxConcurrent,
+				maxGasPerSec,
+				deadlineMs,
+				this::leaseCurrentSnapshot,
+				repoFactory,
+				delegate,
+				dynamicProperties,
+				workers,
+				() -> 0L);
+	}
+
+	private StateViewLease leaseCurrentSnapshot() {
+		var lease = mock(StateViewLease.class);
+		given(lease.view()).willReturn(currentSnapshot.get());
+		leasesTaken.add(lease);
+		return lease;
+	}
+
+	private ContractCallLocalResponse uncheckedPerform(ContractCallLocalQuery query) {
+		try {
+			return subject.perform(query, now);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private ContractCallLocalQuery queryOffering(long gas) {
+		return ContractCallLocalQuery.newBuilder().setGas(gas).build();
+	}
+
+	private ContractCallLocalResponse responseUsing(long gasUsed) {
+		return ContractCallLocalResponse.newBuilder()
+				.setFunctionResult(ContractFunctionResult.newBuilder().setGasUsed(gasUsed))
+				.build();
+	}
+
+	private static class InMemoryStoragePersistence implements StoragePersistence {
+		private final Map<String, byte[]> storage = new HashMap<>();
+
+		@Override
+		public boolean storageExist(byte[] address) {
+			return storage.containsKey(Hex.toHexString(address));
+		}
+
+		@Override
+		public void persist(byte[] address, byte[] cache, long expiry, long now) {
+			storage.put(Hex.toHexString(address), cache);
+		}
+
+		@Override
+		public byte[] get(byte[] address) {
+			return storage.get(Hex.toHexString(address));
+		}
+	}
+
+	private static ResponseCodeEnum statusOf(ContractCallLocalResponse response) {
+		return response.getHeader().getNodeTransactionPrecheckCode();
+	}
+}
@@ -168,6 +168,44 @@ class SolidityLifecycleTest {
 		Assertions.assertEquals(ResponseCodeEnum.SUCCESS, result.getValue());
 	}
 
+	@Test
+	public void profilesRunIfEnabled() {
+		// setup:
+		var profiler = mock(EvmProfiler.class);
+		InOrder inOrder = inOrder(profiler, root, executor);
+
+		given(profiler.isEnabled()).willReturn(true);
+		givenNoCreation();
+		// and:
+		subject = new SolidityLifecycle(properties, profiler);
+
+		// when:
+		subject.run(executor, root);
+
+		// then:
+		inOrder.verify(profiler).beginExecution(executor);
+		inOrder.verify(executor).init();
+		inOrder.verify(root).flush();
+		inOrder.verify(profiler).endExecution(expected.getContractID(), expected.getGasUsed());
+	}
+
+	@Test
+	public void doesNotProfilePureRuns() {
+		// setup:
+		var profiler = mock(EvmProfiler.class);
+
+		given(profiler.isEnabled()).willReturn(true);
+		givenNoCreation();
+		// and:
+		subject = new SolidityLifecycle(properties, profiler);
+
+		// when:
+		subject.runPure(maxResultSize, executor);
+
+		// then:
+		verify(profiler, never()).beginExecution(any());
+	}
+
 	@Test
 	public void errorsOutIfCannotPersist() {
 		givenNoCreation();
@@ -131,6 +131,20 @@ class AddressKeyedMapFactoryTest {
 		assertTrue(storageMap.entrySet().isEmpty());
 	}
 
+	@Test
+	public void pagedStorageProductFallsBackToLegacyLayout() {
+		// setup:
+		Map<String, byte[]> delegate = new HashMap<>();
+		delegate.put(("/2/d7"), "APRIORI".getBytes());
+
+		// given:
+		var storageMap = pagedStorageMapFrom(delegate);
+
+		// expect:
+		assertTrue(storageMap instanceof PagedStorageMap);
+		assertEquals("APRIORI", new String(storageMap.get(EntityIdUtils.asSolidityAddress(0, 2, 7))));
+	}
+
 	@Test
 	public void storageProductHasMapSemantics() {
 		// setup:
@@ -115,4 +115,27 @@ class BlobStorageSourceTest {
 		// then:
 		verify(blobDelegate).remove(argThat((byte[] bytes) -> Arrays.equals(address, bytes)));
 	}
+
+	@Test
+	public void consultsAndInvalidatesCacheIfPresent() {
+		// setup:
+		var cache = mock(BytecodeCache.class);
+		subject = new BlobStorageSource(blobDelegate, cache);
+
+		given(cache.getOrLoad(any(), any())).willReturn(storage);
+
+		// when:
+		byte[] stuff = subject.get(address);
+		subject.put(address, storage);
+		subject.delete(address);
+
+		// then:
+		assertArrayEquals(storage, stuff);
+		verify(cache).getOrLoad(argThat((byte[] bytes) -> Arrays.equals(address, bytes)), any());
+		verify(cache, times(2)).invalidate(argThat((byte[] bytes) -> Arrays.equals(address, bytes)));
+		// and:
+		verify(blobDelegate, never()).get(any());
+		verify(blobDelegate).put(any(), any());
+		verify(blobDelegate).remove(any());
+	}
 }
@@ -0,0 +1,169 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.utils.EntityIdUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+
+class BytecodeCacheTest {
+	byte[] a = EntityIdUtils.asSolidityAddress(0, 0, 1001);
+	byte[] b = EntityIdUtils.asSolidityAddress(0, 0, 1002);
+	byte[] aCode = "A-CODE".getBytes();
+	byte[] bCode = "B-CODE-LONGER".getBytes();
+
+	AtomicInteger loads;
+	Function<byte[], byte[]> loader;
+	MiscRunningAvgs runningAvgs;
+
+	BytecodeCache subject;
+
+	@BeforeEach
+	public void setup() {
+		loads = new AtomicInteger();
+		loader = address -> {
+			loads.incrementAndGet();
+			return address[19] == a[19] ? aCode : null;
+		};
+		runningAvgs = mock(MiscRunningAvgs.class);
+
+		subject = new BytecodeCache(1_024, runningAvgs);
+	}
+
+	@Test
+	public void loadsOnceAndThenHits() {
+		// when:
+		var first = subject.getOrLoad(a, loader);
+		var second = subject.getOrLoad(a, loader);
+
+		// then:
+		assertArrayEquals(aCode, first);
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(aCode.length, subject.bytesHeld());
+		// and:
+		verify(runningAvgs).recordBytecodeCacheHitRatio(0.0);
+		verify(runningAvgs).recordBytecodeCacheHitRatio(1.0);
+		verify(runningAvgs).recordBytecodeCacheBytes(aCode.length);
+	}
+
+	@Test
+	public void unmeteredCacheRecordsNoStats() {
+		// setup:
+		subject = BytecodeCache.unmetered(1_024);
+
+		// when:
+		subject.getOrLoad(a, loader);
+		subject.getOrLoad(a, loader);
+
+		// then:
+		assertEquals(1, loads.get());
+		verifyNoInteractions(runningAvgs);
+	}
+
+	@Test
+	public void doesNotCacheMissingCode() {
+		// when:
+		assertNull(subject.getOrLoad(b, loader));
+		assertNull(subject.getOrLoad(b, loader));
+
+		// then:
+		assertEquals(2, loads.get());
+		assertEquals(0, subject.bytesHeld());
+	}
+
+	@Test
+	public void invalidationForcesReload() {
+		// given:
+		subject.getOrLoad(a, loader);
+
+		// when:
+		subject.invalidate(a);
+		subject.getOrLoad(a, loader);
+		// and:
+		subject.invalidateAll();
+		subject.getOrLoad(a, loader);
+
+		// then:
+		assertEquals(3, loads.get());
+		assertEquals(aCode.length, subject.bytesHeld());
+	}
+
+	@Test
+	public void doesNotCacheCodeLoadedDuringInvalidation() {
+		// given:
+		Function<byte[], byte[]> racingLoader = address -> {
+			loads.incrementAndGet();
+			subject.invalidate(address);
+			return aCode;
+		};
+
+		// when:
+		subject.getOrLoad(a, racingLoader);
+		subject.getOrLoad(a, loader);
+
+		// then:
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void evictsBeyondMaxBytes() {
+		// setup:
+		subject = new BytecodeCache(aCode.length, runningAvgs);
+		Function<byte[], byte[]> anyLoader = address -> {
+			loads.incrementAndGet();
+			return address[19] == a[19] ? aCode : bCode;
+		};
+
+		// when:
+		subject.getOrLoad(a, anyLoader);
+		subject.getOrLoad(b, anyLoader);
+
+		// then:
+		assertEquals(0, subject.bytesHeld());
+	}
+
+	@Test
+	public void bypassesCacheIfDisabled() {
+		// given:
+		subject = new BytecodeCache(0, runningAvgs);
+
+		// when:
+		subject.getOrLoad(a, loader);
+		subject.getOrLoad(a, loader);
+
+		// then:
+		assertEquals(2, loads.get());
+		verify(runningAvgs, never()).recordBytecodeCacheHitRatio(0.0);
+	}
+}
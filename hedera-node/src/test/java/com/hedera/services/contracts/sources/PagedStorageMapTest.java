@@ -0,0 +1,347 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.contracts.persistence.BlobStoragePersistence;
+import com.hedera.services.utils.EntityIdUtils;
+import org.ethereum.core.AccountState;
+import org.ethereum.datasource.DbSource;
+import org.ethereum.datasource.Source;
+import org.ethereum.db.ServicesRepositoryRoot;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.hedera.services.contracts.sources.AddressKeyedMapFactory.storageMapFrom;
+import static com.hedera.services.contracts.sources.PagedStorageMap.MAX_PAGE_SIZE;
+import static com.hedera.services.contracts.sources.PagedStorageMap.MIN_PAGE_SIZE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class PagedStorageMapTest {
+	static final String MANIFEST_PATH = "/2/d1234/m";
+
+	byte[] address = EntityIdUtils.asSolidityAddress(0, 2, 1234);
+	byte[] otherAddress = EntityIdUtils.asSolidityAddress(0, 2, 1235);
+
+	List<String> putPaths = new ArrayList<>();
+	List<String> getPaths = new ArrayList<>();
+	Map<String, byte[]> store;
+
+	PagedStorageMap subject;
+
+	@BeforeEach
+	void setup() {
+		store = new HashMap<>() {
+			@Override
+			public byte[] put(String path, byte[] value) {
+				putPaths.add(path);
+				return super.put(path, value);
+			}
+
+			@Override
+			public byte[] get(Object path) {
+				getPaths.add((String) path);
+				return super.get(path);
+			}
+		};
+
+		subject = new PagedStorageMap(store, storageMapFrom(store));
+	}
+
+	@Test
+	void roundTripsMultiPageStorage() {
+		// given:
+		var storage = randomStorage(20 * 1_024);
+
+		// when:
+		subject.put(address, storage);
+
+		// then:
+		assertEquals(PagedStorageMap.pageEnds(storage).length + 1, putPaths.size());
+		assertTrue(putPaths.contains(MANIFEST_PATH));
+		// and:
+		assertTrue(subject.containsKey(address));
+		assertFalse(subject.containsKey(otherAddress));
+		assertArrayEquals(storage, subject.get(address));
+		assertNull(subject.get(otherAddress));
+	}
+
+	@Test
+	void cutsPagesWithinSizeBoundsAtContentDefinedOffsets() {
+		// given:
+		var storage = randomStorage(200_000);
+		var zeros = new byte[100_000];
+
+		// when:
+		var ends = PagedStorageMap.pageEnds(storage);
+		var zeroEnds = PagedStorageMap.pageEnds(zeros);
+
+		// then:
+		int start = 0;
+		for (int i = 0; i < ends.length - 1; i++) {
+			assertTrue(ends[i] - start >= MIN_PAGE_SIZE);
+			assertTrue(ends[i] - start <= MAX_PAGE_SIZE);
+			start = ends[i];
+		}
+		assertEquals(storage.length, ends[ends.length - 1]);
+		assertTrue(ends.length > storage.length / MAX_PAGE_SIZE);
+		// and:
+		assertEquals(MAX_PAGE_SIZE, zeroEnds[0]);
+		assertEquals(0, PagedStorageMap.pageEnds(new byte[0]).length);
+	}
+
+	@Test
+	void rewritesOnlyThePageAroundAnEditEvenIfItShiftsLaterBytes() {
+		// setup:
+		var storage = randomStorage(200_000);
+		subject.put(address, storage);
+		putPaths.clear();
+
+		// given:
+		var edited = storage.clone();
+		edited[100_000] ^= 1;
+		// and:
+		var grown = new byte[edited.length + 37];
+		System.arraycopy(edited, 0, grown, 0, 50_000);
+		System.arraycopy(edited, 50_000, grown, 50_037, edited.length - 50_000);
+
+		// when:
+		subject.put(address, edited);
+		subject.put(address, edited);
+
+		// then:
+		assertEquals(2, putPaths.size());
+		assertEquals(MANIFEST_PATH, putPaths.get(1));
+		assertArrayEquals(edited, subject.get(address));
+
+		// and when:
+		putPaths.clear();
+		subject.put(address, grown);
+
+		// then:
+		assertEquals(2, putPaths.size());
+		assertEquals(MANIFEST_PATH, putPaths.get(1));
+		assertArrayEquals(grown, subject.get(address));
+		assertEquals(PagedStorageMap.pageEnds(grown).length + 1, store.size());
+	}
+
+	@Test
+	void dropsPagesNoLongerListed() {
+		// setup:
+		subject.put(address, randomStorage(100_000));
+
+		// when:
+		subject.put(address, randomStorage(MIN_PAGE_SIZE / 2));
+
+		// then:
+		assertEquals(2, store.size());
+		assertArrayEquals(randomStorage(MIN_PAGE_SIZE / 2), subject.get(address));
+	}
+
+	@Test
+	void sharesIdenticalPages() {
+		// given:
+		var zeros = new byte[4 * MAX_PAGE_SIZE + 1];
+
+		// when:
+		subject.put(address, zeros);
+
+		// then:
+		assertEquals(3, store.size());
+		assertArrayEquals(zeros, subject.get(address));
+	}
+
+	@Test
+	void keepsEmptyStorage() {
+		// when:
+		subject.put(address, new byte[0]);
+
+		// then:
+		assertTrue(subject.containsKey(address));
+		assertArrayEquals(new byte[0], subject.get(address));
+	}
+
+	@Test
+	void failsOnMissingPage() {
+		// given:
+		subject.put(address, randomStorage(2 * MAX_PAGE_SIZE));
+		store.keySet().removeIf(path -> !path.equals(MANIFEST_PATH));
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.get(address));
+	}
+
+	@Test
+	void cachesAssembledStorageUntilInvalidated() {
+		// setup:
+		subject = new PagedStorageMap(store, storageMapFrom(store), 1_024 * 1_024);
+		var storage = randomStorage(20 * 1_024);
+
+		// given:
+		subject.put(address, storage);
+		getPaths.clear();
+
+		// when:
+		var cached = subject.get(address);
+
+		// then:
+		assertSame(storage, cached);
+		assertTrue(getPaths.isEmpty());
+
+		// and when:
+		subject.invalidateAll();
+		var reloaded = subject.get(address);
+		var reloadedAgain = subject.get(address);
+
+		// then:
+		assertArrayEquals(storage, reloaded);
+		assertSame(reloaded, reloadedAgain);
+		assertEquals(PagedStorageMap.pageEnds(storage).length + 1, getPaths.size());
+
+		// and when:
+		subject.remove(address);
+
+		// then:
+		assertNull(subject.get(address));
+	}
+
+	@Test
+	void readsLegacyBlobUntilFirstWrite() {
+		// setup:
+		var legacy = randomStorage(MIN_PAGE_SIZE + 1);
+		var updated = randomStorage(MIN_PAGE_SIZE + 2);
+
+		// given:
+		store.put("/2/d1234", legacy);
+
+		// expect:
+		assertTrue(subject.containsKey(address));
+		assertArrayEquals(legacy, subject.get(address));
+
+		// and when:
+		subject.put(address, updated);
+
+		// then:
+		assertFalse(store.containsKey("/2/d1234"));
+		assertArrayEquals(updated, subject.get(address));
+	}
+
+	@Test
+	void removeDropsAllPagesAndLegacyBlob() {
+		// given:
+		subject.put(address, randomStorage(3 * MAX_PAGE_SIZE));
+		store.put("/2/d1235", "LEGACY".getBytes());
+
+		// when:
+		subject.remove(address);
+		subject.remove(otherAddress);
+
+		// then:
+		assertTrue(store.isEmpty());
+	}
+
+	@Test
+	void entrySetIncludesBothLayouts() {
+		// given:
+		subject.put(address, "PAGED".getBytes());
+		store.put("/2/d1235", "LEGACY".getBytes());
+		store.put("/2/f1236", "IRRELEVANT".getBytes());
+
+		// when:
+		var entries = subject.entrySet();
+
+		// then:
+		assertEquals(2, entries.size());
+		for (var entry : entries) {
+			var expected = EntityIdUtils.accountParsedFromSolidityAddress(entry.getKey()).getAccountNum() == 1234L
+					? "PAGED"
+					: "LEGACY";
+			assertEquals(expected, new String(entry.getValue()));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void singleSstoreInRealRepositoryRewritesFewPages() {
+		// setup:
+		var contract = EntityIdUtils.asSolidityAddress(0, 2, 1234);
+		Source<byte[], AccountState> accounts = mock(Source.class);
+		DbSource<byte[]> bytecode = mock(DbSource.class);
+		AtomicReference<byte[]> persisted = new AtomicReference<>();
+		var persistence = new BlobStoragePersistence(subject) {
+			@Override
+			public void persist(byte[] address, byte[] cache, long expiry, long now) {
+				persisted.set(cache);
+				super.persist(address, cache, expiry, now);
+			}
+		};
+		Supplier<ServicesRepositoryRoot> repos = () -> {
+			var repo = new ServicesRepositoryRoot(accounts, bytecode);
+			repo.setStoragePersistence(persistence);
+			return repo;
+		};
+
+		given(accounts.get(any())).willAnswer(ignore -> new AccountState(BigInteger.ZERO, BigInteger.ZERO));
+		// and:
+		var seed = repos.get();
+		for (int i = 1; i <= 1_000; i++) {
+			seed.addStorageRow(contract, DataWord.of(i), DataWord.of(1_000_000L + i));
+		}
+		assertTrue(seed.flushStorageCacheIfTotalSizeLessThan(1_024 * 1_024));
+		int numPages = PagedStorageMap.pageEnds(persisted.get()).length;
+		putPaths.clear();
+
+		// when:
+		var repo = repos.get();
+		repo.addStorageRow(contract, DataWord.of(500), DataWord.of(123_456L));
+		assertTrue(repo.flushStorageCacheIfTotalSizeLessThan(1_024 * 1_024));
+
+		// then:
+		assertTrue(numPages >= 8);
+		assertTrue(putPaths.remove(MANIFEST_PATH));
+		assertTrue(putPaths.size() <= numPages / 4, "Rewrote " + putPaths.size() + " of " + numPages + " pages");
+		assertArrayEquals(persisted.get(), subject.get(contract));
+		assertEquals(DataWord.of(123_456L), repos.get().getStorageValue(contract, DataWord.of(500)));
+	}
+
+	private byte[] randomStorage(int n) {
+		var storage = new byte[n];
+		new Random(n).nextBytes(storage);
+		return storage;
+	}
+}
@@ -0,0 +1,122 @@
+package com.hedera.services.contracts.sources;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.utils.EntityIdUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.mock;
+
+class SnapshotBytecodeCachesTest {
+	Instant then = Instant.ofEpochSecond(1_234_567L);
+	Instant now = then.plusSeconds(1L);
+	byte[] a = EntityIdUtils.asSolidityAddress(0, 0, 1001);
+	byte[] oldCode = "OLD-CODE".getBytes();
+	byte[] newCode = "NEW-CODE".getBytes();
+
+	AtomicInteger loads;
+
+	SnapshotBytecodeCaches subject;
+
+	@BeforeEach
+	public void setup() {
+		loads = new AtomicInteger();
+
+		subject = new SnapshotBytecodeCaches(1_024);
+	}
+
+	@Test
+	public void sharesCacheOnlyWithinOneSignedState() {
+		// given:
+		var thenCache = subject.cacheAsOf(then);
+
+		// expect:
+		assertSame(thenCache, subject.cacheAsOf(then));
+		// and when:
+		var nowCache = subject.cacheAsOf(now);
+		// then:
+		assertNotSame(thenCache, nowCache);
+		assertSame(nowCache, subject.cacheAsOf(now));
+	}
+
+	@Test
+	public void neverCachesForOlderOrUntimedSnapshots() {
+		// given:
+		subject.cacheAsOf(now);
+
+		// when:
+		var olderCache = subject.cacheAsOf(then);
+		olderCache.getOrLoad(a, countingLoaderOf(oldCode));
+		olderCache.getOrLoad(a, countingLoaderOf(oldCode));
+		// and:
+		var untimedCache = subject.cacheAsOf(null);
+		untimedCache.getOrLoad(a, countingLoaderOf(oldCode));
+		untimedCache.getOrLoad(a, countingLoaderOf(oldCode));
+
+		// then:
+		assertEquals(4, loads.get());
+		assertNotSame(olderCache, subject.cacheAsOf(then));
+	}
+
+	@Test
+	public void snapshotLoadAfterInvalidationNeverReachesConsensus() {
+		// setup:
+		/* Both stores are keyed by the identity of the same address array. */
+		Map<byte[], byte[]> consensusBlobs = new HashMap<>();
+		consensusBlobs.put(a, oldCode);
+		Map<byte[], byte[]> snapshotBlobs = new HashMap<>(consensusBlobs);
+		var consensusCache = new BytecodeCache(1_024, mock(MiscRunningAvgs.class));
+		var consensusSource = new BlobStorageSource(consensusBlobs, consensusCache);
+
+		// given:
+		assertArrayEquals(oldCode, consensusSource.get(a));
+		// and:
+		consensusSource.put(a, newCode);
+
+		// when:
+		var snapshotSource = new BlobStorageSource(snapshotBlobs, subject.cacheAsOf(then));
+		var snapshotCode = snapshotSource.get(a);
+
+		// then:
+		assertArrayEquals(oldCode, snapshotCode);
+		assertArrayEquals(newCode, consensusSource.get(a));
+		assertArrayEquals(oldCode, snapshotSource.get(a));
+	}
+
+	private Function<byte[], byte[]> countingLoaderOf(byte[] code) {
+		return address -> {
+			loads.incrementAndGet();
+			return code;
+		};
+	}
+}
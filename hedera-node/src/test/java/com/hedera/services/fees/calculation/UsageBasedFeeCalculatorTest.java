@@ -21,9 +21,11 @@ package com.hedera.services.fees.calculation;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.FeeMultiplierSource;
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.stats.HapiOpCounters;
 import com.hedera.services.utils.SignedTxnAccessor;
 import com.hedera.test.factories.keys.KeyTree;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
@@ -35,6 +37,7 @@ import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
 import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TokenGetInfoQuery;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.exception.InvalidTxBodyException;
 import com.hederahashgraph.fee.FeeBuilder;
@@ -62,15 +65,21 @@ import static com.hedera.test.utils.IdUtils.asAccountString;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCreate;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
+import static com.hederahashgraph.api.proto.java.Query.QueryCase.TOKENGETINFO;
 import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
 import static com.hederahashgraph.fee.FeeBuilder.FEE_DIVISOR_FACTOR;
 import static com.hederahashgraph.fee.FeeBuilder.getTinybarsFromTinyCents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
 import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.willThrow;
 
@@ -92,6 +101,8 @@ class UsageBasedFeeCalculatorTest {
 	Timestamp at = Timestamp.newBuilder().setSeconds(1_234_567L).build();
 	HbarCentExchange exchange;
 	UsagePricesProvider usagePrices;
+	GlobalDynamicProperties dynamicProperties;
+	HapiOpCounters opCounters;
 	TxnResourceUsageEstimator correctOpEstimator;
 	TxnResourceUsageEstimator incorrectOpEstimator;
 	QueryResourceUsageEstimator correctQueryEstimator;
@@ -124,6 +135,9 @@ class UsageBasedFeeCalculatorTest {
 		accessor = new SignedTxnAccessor(signedTxn);
 		usagePrices = mock(UsagePricesProvider.class);
 		given(usagePrices.activePrices()).willReturn(currentPrices);
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.generation()).willReturn(1L);
+		opCounters = mock(HapiOpCounters.class);
 		correctOpEstimator = mock(TxnResourceUsageEstimator.class);
 		incorrectOpEstimator = mock(TxnResourceUsageEstimator.class);
 		correctQueryEstimator = mock(QueryResourceUsageEstimator.class);
@@ -135,6 +149,8 @@ class UsageBasedFeeCalculatorTest {
 				exchange,
 				usagePrices,
 				new NestedMultiplierSource(),
+				dynamicProperties,
+				opCounters,
 				List.of(incorrectQueryEstimator, correctQueryEstimator),
 				txnUsageEstimators);
 	}
@@ -383,6 +399,8 @@ class UsageBasedFeeCalculatorTest {
 		assertEquals(fees.getNodeFee(), expectedFees.getNodeFee());
 		assertEquals(fees.getNetworkFee(), expectedFees.getNetworkFee());
 		assertEquals(fees.getServiceFee(), expectedFees.getServiceFee());
+		// and:
+		verify(opCounters).countFeeEstimationNanos(eq(CryptoCreate), anyLong());
 	}
 
 	@Test
@@ -443,6 +461,135 @@ class UsageBasedFeeCalculatorTest {
 		assertEquals(fees.getServiceFee(), expectedFees.getServiceFee());
 	}
 
+	@Test
+	public void reusesStateIndependentUsageFromPrecheckAtConsensus() throws Exception {
+		// setup:
+		FeeObject expectedFees = FeeBuilder.getFeeObject(currentPrices, resourceUsage, currentRate);
+
+		givenStateIndependentEstimator();
+		given(exchange.rate(at)).willReturn(currentRate);
+		given(exchange.activeRate()).willReturn(currentRate);
+		given(usagePrices.pricesGiven(CryptoCreate, at)).willReturn(currentPrices);
+
+		// when:
+		var precheckFees = subject.estimateFee(accessor, payerKey, view, at);
+		var consensusFees = subject.computeFee(new SignedTxnAccessor(signedTxn), payerKey, view);
+
+		// then:
+		verify(correctOpEstimator, times(1)).usageGiven(any(), any(), any());
+		assertEquals(1L, subject.numCachedUsages());
+		// and:
+		assertEquals(expectedFees.getNodeFee(), precheckFees.getNodeFee());
+		assertEquals(expectedFees.getNodeFee(), consensusFees.getNodeFee());
+		assertEquals(expectedFees.getNetworkFee(), consensusFees.getNetworkFee());
+		assertEquals(expectedFees.getServiceFee(), consensusFees.getServiceFee());
+	}
+
+	@Test
+	public void recomputesStateIndependentUsageAfterPropertiesReload() throws Exception {
+		givenStateIndependentEstimator();
+		given(exchange.activeRate()).willReturn(currentRate);
+
+		// when:
+		subject.computeFee(accessor, payerKey, view);
+		given(dynamicProperties.generation()).willReturn(2L);
+		subject.computeFee(accessor, payerKey, view);
+
+		// then:
+		verify(correctOpEstimator, times(2)).usageGiven(any(), any(), any());
+	}
+
+	@Test
+	public void recomputesUsageForDifferentPayerKey() throws Exception {
+		givenStateIndependentEstimator();
+		given(exchange.activeRate()).willReturn(currentRate);
+
+		// when:
+		subject.computeFee(accessor, payerKey, view);
+		subject.computeFee(accessor, TxnHandlingScenario.MISC_ACCOUNT_KT.asJKey(), view);
+
+		// then:
+		verify(correctOpEstimator, times(2)).usageGiven(any(), any(), any());
+		assertEquals(2L, subject.numCachedUsages());
+	}
+
+	@Test
+	public void neverReusesStateDependentUsage() throws Exception {
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(txnUsageEstimators.apply(CryptoCreate)).willReturn(List.of(correctOpEstimator));
+		given(correctOpEstimator.usageGiven(any(), any(), any())).willReturn(resourceUsage);
+		given(exchange.activeRate()).willReturn(currentRate);
+
+		// when:
+		subject.computeFee(accessor, payerKey, view);
+		subject.computeFee(accessor, payerKey, view);
+
+		// then:
+		verify(correctOpEstimator, times(2)).usageGiven(any(), any(), any());
+		assertEquals(0L, subject.numCachedUsages());
+	}
+
+	@Test
+	public void indexesQueryEstimatorsByCase() {
+		// setup:
+		var tokenInfoEstimator = mock(QueryResourceUsageEstimator.class);
+		var shadowedEstimator = mock(QueryResourceUsageEstimator.class);
+
+		given(tokenInfoEstimator.applicableTo(any())).willAnswer(invocation ->
+				((Query) invocation.getArgument(0)).hasTokenGetInfo());
+		given(shadowedEstimator.applicableTo(any())).willReturn(true);
+
+		// when:
+		var index = UsageBasedFeeCalculator.indexByQueryCase(List.of(tokenInfoEstimator, shadowedEstimator));
+
+		// then:
+		assertSame(tokenInfoEstimator, index.get(TOKENGETINFO));
+		assertEquals(Query.QueryCase.values().length - 1, index.size());
+		index.forEach((queryCase, estimator) -> {
+			if (queryCase != TOKENGETINFO) {
+				assertSame(shadowedEstimator, estimator);
+			}
+		});
+	}
+
+	@Test
+	public void dispatchesIndexedQueryAndCountsEstimationTime() {
+		// setup:
+		var tokenInfoQuery = Query.newBuilder()
+				.setTokenGetInfo(TokenGetInfoQuery.getDefaultInstance())
+				.build();
+		var tokenInfoEstimator = mock(QueryResourceUsageEstimator.class);
+		FeeObject expectedFees = FeeBuilder.getFeeObject(currentPrices, resourceUsage, currentRate);
+
+		given(tokenInfoEstimator.applicableTo(any())).willAnswer(invocation ->
+				((Query) invocation.getArgument(0)).hasTokenGetInfo());
+		given(tokenInfoEstimator.usageGivenType(tokenInfoQuery, view, ANSWER_ONLY)).willReturn(resourceUsage);
+		given(exchange.rate(at)).willReturn(currentRate);
+		// and:
+		subject = new UsageBasedFeeCalculator(
+				exchange,
+				usagePrices,
+				new NestedMultiplierSource(),
+				dynamicProperties,
+				opCounters,
+				List.of(tokenInfoEstimator),
+				txnUsageEstimators);
+
+		// when:
+		FeeObject fees = subject.estimatePayment(tokenInfoQuery, currentPrices, view, at, ANSWER_ONLY);
+
+		// then:
+		assertEquals(expectedFees.getServiceFee(), fees.getServiceFee());
+		verify(opCounters).countFeeEstimationNanos(eq(TokenGetInfo), anyLong());
+	}
+
+	private void givenStateIndependentEstimator() throws InvalidTxBodyException {
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(correctOpEstimator.hasStateIndependentUsage()).willReturn(true);
+		given(txnUsageEstimators.apply(CryptoCreate)).willReturn(List.of(correctOpEstimator));
+		given(correctOpEstimator.usageGiven(any(), any(), any())).willReturn(resourceUsage);
+	}
+
 	private Function<SigValueObj, ArgumentMatcher<SigValueObj>> factory = expectedSigUsage -> sigUsage ->
 			expectedSigUsage.getSignatureSize() == sigUsage.getSignatureSize()
 					&& expectedSigUsage.getPayerAcctSigCount() == sigUsage.getPayerAcctSigCount()
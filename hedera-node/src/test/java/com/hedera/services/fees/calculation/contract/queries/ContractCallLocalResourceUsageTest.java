@@ -43,6 +43,7 @@ import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 
 import static com.hedera.test.utils.IdUtils.asContract;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
 import static com.hederahashgraph.api.proto.java.ResponseType.COST_ANSWER;
@@ -56,6 +57,8 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 class ContractCallLocalResourceUsageTest {
@@ -126,6 +129,56 @@ class ContractCallLocalResourceUsageTest {
 		assertEquals(expected, actualUsage3);
 	}
 
+	@Test
+	public void reusesResponseAlreadyCachedInQueryCtx() {
+		// setup:
+		var queryCtx = new HashMap<String, Object>();
+		var response = okResponse();
+		var expected = expectedUsage();
+
+		given(usageEstimator.getContractCallLocalFeeMatrices(
+				params.size(),
+				response.getFunctionResult(),
+				ANSWER_ONLY)).willReturn(nonGasUsage);
+		// and:
+		queryCtx.put(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY, response);
+
+		// when:
+		var actualUsage = subject.usageGiven(satisfiableAnswerOnly, view, queryCtx);
+
+		// then:
+		assertEquals(expected, actualUsage);
+		assertSame(response, queryCtx.get(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY));
+		verifyNoInteractions(delegate);
+	}
+
+	@Test
+	public void pricesThrottledCallAsEstimate() throws Exception {
+		// setup:
+		var queryCtx = new HashMap<String, Object>();
+		var busy = response(BUSY);
+		var estimateResponse = subject.dummyResponse(target);
+		var expected = expectedUsage();
+
+		given(delegate.perform(argThat(satisfiableAnswerOnly.getContractCallLocal()::equals), anyLong()))
+				.willReturn(busy);
+		given(usageEstimator.getContractCallLocalFeeMatrices(
+				params.size(),
+				estimateResponse.getFunctionResult(),
+				ANSWER_ONLY)).willReturn(nonGasUsage);
+
+		// when:
+		var actualUsage = subject.usageGiven(satisfiableAnswerOnly, view, queryCtx);
+
+		// then:
+		assertEquals(expected, actualUsage);
+		assertSame(busy, queryCtx.get(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY));
+		verify(usageEstimator, never()).getContractCallLocalFeeMatrices(
+				params.size(),
+				busy.getFunctionResult(),
+				ANSWER_ONLY);
+	}
+
 	@Test
 	public void treatsAnswerOnlyEstimateAsExpected() {
 		// setup:
@@ -85,6 +85,7 @@ class CryptoTransferResourceUsageTest {
 		// expect:
 		assertTrue(subject.applicableTo(cryptoTransferTxn));
 		assertFalse(subject.applicableTo(nonCryptoTransferTxn));
+		assertTrue(subject.hasStateIndependentUsage());
 	}
 
 	@Test
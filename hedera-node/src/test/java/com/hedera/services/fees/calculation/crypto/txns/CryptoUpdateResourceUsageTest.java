@@ -107,6 +107,7 @@ class CryptoUpdateResourceUsageTest {
 		// expect:
 		assertTrue(subject.applicableTo(cryptoUpdateTxn));
 		assertFalse(subject.applicableTo(nonCryptoUpdateTxn));
+		assertFalse(subject.hasStateIndependentUsage());
 	}
 
 	@Test
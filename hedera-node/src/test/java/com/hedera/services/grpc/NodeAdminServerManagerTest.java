@@ -0,0 +1,110 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.NettyServerBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.*;
+
+class NodeAdminServerManagerTest {
+	int port = 50220;
+	Server server;
+	Consumer<Thread> hookAdder;
+	Consumer<String> println;
+	NettyServerBuilder builder;
+	ServerServiceDefinition adminService;
+	Function<SocketAddress, NettyServerBuilder> builders;
+
+	NodeAdminServerManager subject;
+
+	@BeforeEach
+	private void setup() {
+		server = mock(Server.class);
+		adminService = mock(ServerServiceDefinition.class);
+		builder = mock(NettyServerBuilder.class);
+		given(builder.addService(any(ServerServiceDefinition.class))).willReturn(builder);
+		given(builder.build()).willReturn(server);
+		builders = mock(Function.class);
+		given(builders.apply(any())).willReturn(builder);
+		println = mock(Consumer.class);
+		hookAdder = mock(Consumer.class);
+
+		subject = new NodeAdminServerManager(hookAdder, adminService, builders);
+	}
+
+	@Test
+	public void bindsOnlyToLoopbackWithOnlyTheAdminService() throws Exception {
+		// setup:
+		ArgumentCaptor<SocketAddress> addressCaptor = ArgumentCaptor.forClass(SocketAddress.class);
+		ArgumentCaptor<Thread> hookCaptor = ArgumentCaptor.forClass(Thread.class);
+
+		// when:
+		subject.start(port, println);
+
+		// then:
+		verify(builders).apply(addressCaptor.capture());
+		var address = (InetSocketAddress) addressCaptor.getValue();
+		assertTrue(address.getAddress().isLoopbackAddress());
+		assertEquals(port, address.getPort());
+		// and:
+		verify(builder).addService(adminService);
+		verify(builder, never()).addService(any(BindableService.class));
+		verify(server).start();
+		// and:
+		verify(hookAdder).accept(hookCaptor.capture());
+		hookCaptor.getValue().run();
+		verify(server).shutdown();
+		verify(server).awaitTermination(anyLong(), any());
+	}
+
+	@Test
+	public void doesNothingIfDisabled() {
+		// when:
+		subject.start(0, println);
+
+		// then:
+		verifyNoInteractions(builders, hookAdder);
+	}
+
+	@Test
+	public void throwsIseOnProblem() throws Exception {
+		given(server.start()).willThrow(new IOException("Address in use"));
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.start(port, println));
+		verifyNoInteractions(hookAdder);
+	}
+}
@@ -0,0 +1,270 @@
+package com.hedera.services.grpc.controllers;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.queries.crypto.GetAccountBalancesAnswer;
+import com.hedera.services.store.tokens.TokenHolders;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceQuery;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceResponse;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hedera.test.utils.IdUtils.asToken;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class NodeAdminControllerTest {
+	int maxAccounts = 2;
+	CryptoGetAccountBalanceQuery op = CryptoGetAccountBalanceQuery.newBuilder()
+			.setAccountID(asAccount("0.0.1001"))
+			.build();
+	CryptoGetAccountBalanceResponse answer = CryptoGetAccountBalanceResponse.newBuilder()
+			.setAccountID(asAccount("0.0.1001"))
+			.build();
+
+	Metadata headers = new Metadata();
+	ServerCall<Object, Object> call;
+	ServerCallHandler<Object, Object> next;
+	TokenHolders tokenHolders;
+	GetAccountBalancesAnswer balancesAnswer;
+	StreamObserver<CryptoGetAccountBalanceResponse> observer;
+
+	NodeAdminController subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setup() {
+		call = mock(ServerCall.class);
+		next = mock(ServerCallHandler.class);
+		observer = mock(StreamObserver.class);
+		tokenHolders = mock(TokenHolders.class);
+		balancesAnswer = mock(GetAccountBalancesAnswer.class);
+		given(balancesAnswer.maxAccounts()).willReturn(maxAccounts);
+
+		subject = new NodeAdminController(balancesAnswer, tokenHolders);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void answersWholeBatchOnceRequestsComplete() {
+		given(balancesAnswer.answerFor(any(), any())).willAnswer(invocation -> {
+			Consumer<CryptoGetAccountBalanceResponse> consumer = invocation.getArgument(1);
+			consumer.accept(answer);
+			consumer.accept(answer);
+			return OK;
+		});
+
+		// given:
+		var requests = subject.getAccountBalances(observer);
+		requests.onNext(op);
+		requests.onNext(op);
+
+		// when:
+		verify(balancesAnswer, never()).answerFor(any(), any());
+		requests.onCompleted();
+
+		// then:
+		verify(balancesAnswer).answerFor(argThat(List.of(op, op)::equals), any());
+		verify(observer, times(2)).onNext(answer);
+		verify(observer).onCompleted();
+	}
+
+	@Test
+	void keepsOnlyEnoughRequestsToRejectOversizedBatch() {
+		given(balancesAnswer.answerFor(any(), any())).willReturn(BUSY);
+
+		// given:
+		var requests = subject.getAccountBalances(observer);
+		for (int i = 0; i < 5; i++) {
+			requests.onNext(op);
+		}
+
+		// when:
+		requests.onCompleted();
+
+		// then:
+		verify(balancesAnswer).answerFor(argThat(ops -> ops.size() == maxAccounts + 1), any());
+	}
+
+	@Test
+	void reportsUnansweredBatchInHeader() {
+		given(balancesAnswer.answerFor(any(), any())).willReturn(BUSY);
+		// and:
+		var captor = ArgumentCaptor.forClass(CryptoGetAccountBalanceResponse.class);
+
+		// when:
+		var requests = subject.getAccountBalances(observer);
+		requests.onNext(op);
+		requests.onCompleted();
+
+		// then:
+		verify(observer).onNext(captor.capture());
+		assertEquals(BUSY, captor.getValue().getHeader().getNodeTransactionPrecheckCode());
+		verify(observer).onCompleted();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void streamsPageOfTokenHoldersAfterGivenAccount() {
+		// setup:
+		TokenID token = asToken("0.0.1002");
+		AccountID after = asAccount("0.0.1000");
+		AccountAmount holding = AccountAmount.newBuilder().setAccountID(asAccount("0.0.1001")).setAmount(123L).build();
+		StreamObserver<AccountAmount> holdersObserver = mock(StreamObserver.class);
+
+		given(balancesAnswer.maxAccounts()).willReturn(2);
+		given(tokenHolders.holdersPage(token, after, 2)).willReturn(List.of(holding));
+		given(balancesAnswer.admit(1)).willReturn(OK);
+
+		// when:
+		subject.getTokenHolders(TokenTransferList.newBuilder()
+				.setToken(token)
+				.addTransfers(AccountAmount.newBuilder().setAccountID(after))
+				.build(), holdersObserver);
+
+		// then:
+		verify(balancesAnswer).admit(1);
+		verify(holdersObserver).onNext(holding);
+		verify(holdersObserver).onCompleted();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void streamsFirstPageOfTokenHoldersIfNoAccountGiven() {
+		// setup:
+		TokenID token = asToken("0.0.1002");
+		StreamObserver<AccountAmount> holdersObserver = mock(StreamObserver.class);
+
+		given(balancesAnswer.maxAccounts()).willReturn(2);
+		given(tokenHolders.holdersPage(token, null, 2)).willReturn(List.of());
+		given(balancesAnswer.admit(0)).willReturn(OK);
+
+		// when:
+		subject.getTokenHolders(TokenTransferList.newBuilder().setToken(token).build(), holdersObserver);
+
+		// then:
+		verify(tokenHolders).holdersPage(token, null, 2);
+		verify(holdersObserver, never()).onNext(any());
+		verify(holdersObserver).onCompleted();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void refusesTokenHoldersIfThrottled() {
+		// setup:
+		TokenID token = asToken("0.0.1002");
+		AccountAmount holding = AccountAmount.newBuilder().setAccountID(asAccount("0.0.1001")).setAmount(123L).build();
+		StreamObserver<AccountAmount> holdersObserver = mock(StreamObserver.class);
+		ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+
+		given(balancesAnswer.maxAccounts()).willReturn(3);
+		given(tokenHolders.holdersPage(token, null, 3)).willReturn(List.of(holding, holding, holding));
+		given(balancesAnswer.admit(3)).willReturn(BUSY);
+
+		// when:
+		subject.getTokenHolders(TokenTransferList.newBuilder().setToken(token).build(), holdersObserver);
+
+		// then:
+		verify(holdersObserver, never()).onNext(any());
+		verify(holdersObserver).onError(captor.capture());
+		var status = Status.fromThrowable(captor.getValue());
+		assertEquals(Status.Code.RESOURCE_EXHAUSTED, status.getCode());
+		assertEquals(BUSY.name(), status.getDescription());
+		verify(holdersObserver, never()).onCompleted();
+	}
+
+	@Test
+	void startsCallsFromLocalCallers() {
+		given(call.getAttributes()).willReturn(attributesWith(new InetSocketAddress("127.0.0.1", 50211)));
+
+		// when:
+		subject.interceptCall(call, headers, next);
+
+		// then:
+		verify(next).startCall(call, headers);
+		verify(call, never()).close(any(), any());
+	}
+
+	@Test
+	void refusesCallsFromRemoteCallers() {
+		given(call.getAttributes()).willReturn(attributesWith(new InetSocketAddress("10.0.0.1", 50211)));
+
+		// when:
+		var listener = subject.interceptCall(call, headers, next);
+
+		// then:
+		assertNotNull(listener);
+		verify(next, never()).startCall(any(), any());
+		verify(call).close(argThat(status -> status.getCode() == Status.Code.PERMISSION_DENIED), any());
+	}
+
+	@Test
+	void refusesCallsWithUnknownCaller() {
+		given(call.getAttributes()).willReturn(Attributes.EMPTY);
+
+		// when:
+		subject.interceptCall(call, headers, next);
+
+		// then:
+		verify(next, never()).startCall(any(), any());
+	}
+
+	@Test
+	void definesAdminMethods() {
+		// when:
+		var definition = subject.serviceDefinition();
+
+		// then:
+		assertEquals(NodeAdminController.SERVICE_NAME, definition.getServiceDescriptor().getName());
+		assertNotNull(definition.getMethod(NodeAdminController.GET_ACCOUNT_BALANCES.getFullMethodName()));
+		assertNotNull(definition.getMethod(NodeAdminController.GET_TOKEN_HOLDERS.getFullMethodName()));
+	}
+
+	private Attributes attributesWith(InetSocketAddress remote) {
+		return Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, remote).build();
+	}
+}
@@ -106,6 +106,26 @@ public class HederaLedgerTest extends BaseHederaLedgerTest {
 		assertTrue(fakeGenesis == subject.get(genesis));
 	}
 
+	@Test
+	public void adjustsUnboxedBalancesIfLedgerIsNumKeyed() {
+		// setup:
+		var numKeyedLedger = mock(NumKeyedAccountsLedger.class);
+
+		given(numKeyedLedger.get(genesis, IS_DELETED)).willReturn(false);
+		given(numKeyedLedger.getBalance(genesis)).willReturn(GENESIS_BALANCE);
+		// and:
+		subject = new HederaLedger(tokenStore, ids, creator, historian, numKeyedLedger);
+
+		// when:
+		subject.adjustBalance(genesis, -1L);
+
+		// then:
+		assertEquals(GENESIS_BALANCE, subject.getBalance(genesis));
+		verify(numKeyedLedger).setBalance(genesis, GENESIS_BALANCE - 1L);
+		verify(numKeyedLedger, never()).get(genesis, BALANCE);
+		verify(numKeyedLedger, never()).set(any(), any(), any());
+	}
+
 	@Test
 	public void delegatesExists() {
 		// given:
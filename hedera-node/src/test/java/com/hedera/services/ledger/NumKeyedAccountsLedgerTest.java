@@ -0,0 +1,319 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.exceptions.MissingAccountException;
+import com.hedera.services.ledger.accounts.BackingStore;
+import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.function.Consumer;
+
+import static com.hedera.services.ledger.properties.AccountProperty.BALANCE;
+import static com.hedera.services.ledger.properties.AccountProperty.IS_DELETED;
+import static com.hedera.services.ledger.properties.AccountProperty.MEMO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+class NumKeyedAccountsLedgerTest {
+	AccountID a = IdUtils.asAccount("0.0.2");
+	AccountID b = IdUtils.asAccount("0.0.3");
+	MerkleAccount aAccount;
+	BackingStore<AccountID, MerkleAccount> backingAccounts;
+
+	NumKeyedAccountsLedger subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	private void setup() throws Exception {
+		aAccount = new MerkleAccount();
+		aAccount.setBalance(1_000L);
+		aAccount.setMemo("Original");
+
+		backingAccounts = mock(BackingStore.class);
+		given(backingAccounts.contains(a)).willReturn(true);
+		given(backingAccounts.getRef(a)).willReturn(aAccount);
+
+		subject = new NumKeyedAccountsLedger(MerkleAccount::new, backingAccounts, new ChangeSummaryManager<>(), 2);
+	}
+
+	@Test
+	void getsPendingValuesIncludingUnboxedBalance() {
+		// given:
+		subject.begin();
+
+		// when:
+		subject.set(a, BALANCE, 123L);
+		subject.set(a, MEMO, "Changed");
+
+		// then:
+		assertEquals(123L, subject.get(a, BALANCE));
+		assertEquals("Changed", subject.get(a, MEMO));
+		assertEquals(false, subject.get(a, IS_DELETED));
+	}
+
+	@Test
+	void readsAndWritesBalancesWithoutBoxing() {
+		// setup:
+		given(backingAccounts.contains(b)).willReturn(false);
+
+		// given:
+		subject.begin();
+		subject.create(b);
+
+		// expect:
+		assertEquals(1_000L, subject.getBalance(a));
+		assertEquals(0L, subject.getBalance(b));
+
+		// when:
+		subject.setBalance(a, 123L);
+		subject.setBalance(b, 456L);
+
+		// then:
+		assertEquals(123L, subject.getBalance(a));
+		assertEquals(123L, subject.get(a, BALANCE));
+		assertEquals(456L, subject.getBalance(b));
+		// and:
+		subject.set(a, BALANCE, 789L);
+		assertEquals(789L, subject.getBalance(a));
+		// and:
+		subject.commit();
+		assertEquals(789L, aAccount.getBalance());
+		// and:
+		assertThrows(IllegalStateException.class, () -> subject.setBalance(a, 1L));
+		assertThrows(MissingAccountException.class, () -> subject.getBalance(IdUtils.asAccount("0.0.666")));
+	}
+
+	@Test
+	void commitsInGivenKeyOrder() {
+		// setup:
+		MerkleAccount bAccount = new MerkleAccount();
+		InOrder inOrder = inOrder(backingAccounts);
+
+		given(backingAccounts.contains(b)).willReturn(true);
+		given(backingAccounts.getRef(b)).willReturn(bAccount);
+
+		// given:
+		subject.setKeyComparator(HederaLedger.ACCOUNT_ID_COMPARATOR.reversed());
+		subject.begin();
+		subject.setBalance(a, 1L);
+		subject.setBalance(b, 2L);
+
+		// when:
+		subject.commit();
+
+		// then:
+		inOrder.verify(backingAccounts).put(b, bAccount);
+		inOrder.verify(backingAccounts).put(a, aAccount);
+	}
+
+	@Test
+	void commitPersistsChangesAndResetsSlots() {
+		// given:
+		subject.begin();
+		subject.set(a, BALANCE, 123L);
+		subject.set(a, MEMO, "Changed");
+
+		// when:
+		subject.commit();
+
+		// then:
+		verify(backingAccounts).put(a, aAccount);
+		verify(backingAccounts).flushMutableRefs();
+		assertEquals(123L, aAccount.getBalance());
+		assertEquals("Changed", aAccount.getMemo());
+		assertEquals(0, subject.slotsUsed);
+		assertEquals(-1, subject.slotOf(a));
+		assertFalse(subject.isInTransaction());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void commitNotifiesObserverOfChangedAndDestroyedAccountsAfterFlush() {
+		// setup:
+		Consumer<AccountID> observer = mock(Consumer.class);
+		InOrder inOrder = inOrder(backingAccounts, observer);
+
+		// given:
+		subject.setCommitObserver(observer);
+		given(backingAccounts.contains(b)).willReturn(true);
+		subject.begin();
+		subject.set(a, BALANCE, 123L);
+		subject.destroy(b);
+
+		// when:
+		subject.commit();
+
+		// then:
+		inOrder.verify(backingAccounts).flushMutableRefs();
+		inOrder.verify(observer).accept(a);
+		inOrder.verify(observer).accept(b);
+	}
+
+	@Test
+	void rollbackDropsChanges() {
+		// given:
+		subject.begin();
+		subject.set(a, BALANCE, 123L);
+
+		// when:
+		subject.rollback();
+
+		// then:
+		verify(backingAccounts, never()).put(any(), any());
+		verify(backingAccounts).flushMutableRefs();
+		assertEquals(1_000L, aAccount.getBalance());
+		assertEquals(0, subject.slotsUsed);
+	}
+
+	@Test
+	void growsBeyondInitialCapacityAndCommitsInNumOrder() {
+		// setup:
+		int n = 50;
+		InOrder inOrder = inOrder(backingAccounts);
+
+		// when:
+		subject.begin();
+		for (int i = n; i > 0; i--) {
+			subject.create(IdUtils.asAccount("0.0." + (1_000 + i)));
+		}
+		subject.commit();
+
+		// then:
+		for (int i = 1; i <= n; i++) {
+			var id = IdUtils.asAccount("0.0." + (1_000 + i));
+			inOrder.verify(backingAccounts).put(argThat(id::equals), any());
+		}
+	}
+
+	@Test
+	void distinguishesSameNumInDifferentRealms() {
+		// setup:
+		var otherRealmA = IdUtils.asAccount("0.1.2");
+
+		// given:
+		subject.begin();
+		subject.create(otherRealmA);
+
+		// when:
+		subject.set(otherRealmA, MEMO, "Elsewhere");
+
+		// then:
+		assertEquals("Elsewhere", subject.get(otherRealmA, MEMO));
+		assertEquals("Original", subject.get(a, MEMO));
+		assertTrue(subject.existsPending(otherRealmA));
+		assertFalse(subject.existsPending(a));
+	}
+
+	@Test
+	void destroyedAccountsAreRemovedAfterPuts() {
+		// setup:
+		InOrder inOrder = inOrder(backingAccounts);
+
+		// given:
+		subject.begin();
+		subject.create(b);
+		subject.destroy(a);
+
+		// when:
+		subject.commit();
+
+		// then:
+		inOrder.verify(backingAccounts).put(argThat(b::equals), any());
+		inOrder.verify(backingAccounts).remove(a);
+	}
+
+	@Test
+	void existsIfNotMissingAndNotDestroyed() {
+		// given:
+		subject.begin();
+		subject.create(b);
+		subject.destroy(a);
+
+		// expect:
+		assertFalse(subject.exists(a));
+		assertTrue(subject.exists(b));
+		assertThrows(MissingAccountException.class, () -> subject.get(a, MEMO));
+	}
+
+	@Test
+	void rejectsDuplicateCreation() {
+		// given:
+		subject.begin();
+		subject.create(b);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.create(a));
+		assertThrows(IllegalArgumentException.class, () -> subject.create(b));
+	}
+
+	@Test
+	void throwsIfNotInTransaction() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.set(a, MEMO, "Nope"));
+		assertThrows(IllegalStateException.class, () -> subject.create(b));
+		assertThrows(IllegalStateException.class, () -> subject.destroy(a));
+		assertThrows(IllegalStateException.class, () -> subject.commit());
+		assertThrows(IllegalStateException.class, () -> subject.rollback());
+	}
+
+	@Test
+	void requiresManualRollbackIfCommitFails() {
+		willThrow(IllegalStateException.class).given(backingAccounts).put(any(), any());
+
+		// when:
+		subject.begin();
+		subject.set(a, MEMO, "Changed");
+
+		// then:
+		assertThrows(IllegalStateException.class, () -> subject.commit());
+		assertTrue(subject.isInTransaction());
+	}
+
+	@Test
+	void describesChangeSet() {
+		// given:
+		subject.begin();
+		subject.set(a, BALANCE, 123L);
+		subject.create(b);
+		subject.destroy(b);
+
+		// expect:
+		assertEquals(
+				"{0.0.2: [BALANCE -> 123], *NEW -> DEAD* 0.0.3: []}",
+				subject.changeSetSoFar());
+	}
+}
@@ -32,6 +32,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
@@ -407,6 +408,27 @@ public class TransactionalLedgerTest {
 		verify(backingAccounts).remove(3L);
 	}
 
+	@Test
+	public void notifiesCommitObserverOfEveryChangedOrDestroyedKeyOnce() {
+		// setup:
+		List<Long> observed = new ArrayList<>();
+
+		// given:
+		subject.setCommitObserver(observed::add);
+		subject.begin();
+
+		// when:
+		subject.set(1L, OBJ, things[0]);
+		subject.create(2L);
+		subject.create(3L);
+		subject.destroy(3L);
+		// and:
+		subject.commit();
+
+		// then:
+		assertEquals(List.of(1L, 2L, 3L), observed.stream().sorted().collect(toList()));
+	}
+
 	@Test
 	public void reflectsUnchangedAccountIfNoChanges() {
 		// expect:
@@ -188,6 +188,30 @@ class BackingTokenRelsTest {
 		verify(rels, times(1)).getForModify(any());
 	}
 
+	@Test
+	public void packsRelsInDefaultShardAndRealm() {
+		// setup:
+		var d = asAccount("0.0.1001");
+		var dt = asToken("0.0.1002");
+		var dKey = fromAccountTokenRel(d, dt);
+		var dValue = new MerkleTokenRelStatus(aBalance, aFrozen, aKyc);
+
+		// given:
+		rels.put(dKey, dValue);
+
+		// when:
+		subject.rebuildFromSources();
+
+		// then:
+		assertTrue(subject.contains(asTokenRel(d, dt)));
+		assertFalse(subject.contains(asTokenRel(asAccount("0.0.1002"), dt)));
+		assertEquals(2, subject.existingRels.numUnpackable());
+		assertEquals(3, subject.existingRels.size());
+		// and:
+		assertEquals(asTokenRel(d, dt), BackingTokenRels.unpacked(BackingTokenRels.packed(asTokenRel(d, dt))));
+		assertTrue(subject.idsFootprintBytes() > 0);
+	}
+
 	@Test
 	public void irrelevantMethodsNotSupported() {
 		// expect:
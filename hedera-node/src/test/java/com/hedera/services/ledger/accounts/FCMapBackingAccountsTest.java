@@ -104,7 +104,8 @@ class FCMapBackingAccountsTest {
 	@Test
 	public void containsDelegatesToKnownActive() {
 		// setup:
-		subject.existingAccounts = Set.of(a, b);
+		subject.existingAccounts.add(a);
+		subject.existingAccounts.add(b);
 
 		// expect:
 		assertTrue(subject.contains(a));
@@ -219,7 +220,7 @@ class FCMapBackingAccountsTest {
 	@Test
 	public void ensuresAllRefsAreReplaced() {
 		// setup:
-		subject.existingAccounts = Set.of(a, b, c, d);
+		Set.of(a, b, c, d).forEach(subject.existingAccounts::add);
 		// and:
 		InOrder inOrder = inOrder(map);
 
@@ -249,10 +250,47 @@ class FCMapBackingAccountsTest {
 		// setup:
 		var s = Set.of(a, b, c, d);
 		// given:
-		subject.existingAccounts = s;
+		s.forEach(subject.existingAccounts::add);
+
+		// expect:
+		assertEquals(s, subject.idSet());
+	}
+
+	@Test
+	public void tracksUnpackableIdsSeparately() {
+		// setup:
+		var hugeNum = asAccount("0.0." + (1L << FCMapBackingAccounts.NUM_BITS));
+		var hugeShard = asAccount((1L << FCMapBackingAccounts.SHARD_BITS) + ".0.1");
+
+		// when:
+		subject.put(hugeNum, aValue);
+		subject.put(hugeShard, bValue);
+		subject.put(a, cValue);
+
+		// then:
+		assertTrue(subject.contains(hugeNum));
+		assertTrue(subject.contains(hugeShard));
+		assertFalse(subject.contains(asAccount("0.0.0")));
+		assertEquals(2, subject.existingAccounts.numUnpackable());
+		assertEquals(Set.of(hugeNum, hugeShard, a), subject.idSet());
+		// and:
+		assertTrue(subject.idsFootprintBytes() > 0);
+	}
+
+	@Test
+	public void packingRoundTrips() {
+		// setup:
+		var maxed = AccountID.newBuilder()
+				.setShardNum((1L << FCMapBackingAccounts.SHARD_BITS) - 1)
+				.setRealmNum((1L << FCMapBackingAccounts.REALM_BITS) - 1)
+				.setAccountNum((1L << FCMapBackingAccounts.NUM_BITS) - 1)
+				.build();
 
 		// expect:
-		assertSame(s, subject.idSet());
+		assertEquals(a, FCMapBackingAccounts.unpacked(FCMapBackingAccounts.packed(a)));
+		assertEquals(maxed, FCMapBackingAccounts.unpacked(FCMapBackingAccounts.packed(maxed)));
+		assertTrue(FCMapBackingAccounts.packed(maxed) >= 0);
+		assertEquals(PackedIdSet.UNPACKABLE, FCMapBackingAccounts.packed(-1, 0, 1));
 	}
 
 	@Test
@@ -30,6 +30,7 @@ import com.hedera.services.ledger.HederaLedger;
 import com.hedera.services.ledger.accounts.BackingStore;
 import com.hedera.services.legacy.handler.SmartContractRequestHandler;
 import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.records.TxnIdRecentHistory;
 import com.hedera.services.security.ops.SystemOpAuthorization;
 import com.hedera.services.security.ops.SystemOpPolicies;
@@ -43,6 +44,7 @@ import com.hedera.services.stream.RecordStreamObject;
 import com.hedera.services.txns.TransitionLogicLookup;
 import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.PlatformTxnAccessor;
+import com.hedera.services.utils.TxnAccessorHandoff;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
@@ -107,7 +109,7 @@ class AwareProcessLogicTest {
 		final MiscSpeedometers speedometers = mock(MiscSpeedometers.class);
 		final FeeCalculator fees = mock(FeeCalculator.class);
 		final TxnIdRecentHistory recentHistory = mock(TxnIdRecentHistory.class);
-		final Map<TransactionID, TxnIdRecentHistory> histories = mock(Map.class);
+		final Map<TxnIdKey, TxnIdRecentHistory> histories = mock(Map.class);
 		final BackingStore<AccountID, MerkleAccount> backingAccounts = mock(BackingStore.class);
 		final AccountID accountID = mock(AccountID.class);
 		final OptionValidator validator = mock(OptionValidator.class);
@@ -152,6 +154,7 @@ class AwareProcessLogicTest {
 		given(ctx.transitionLogic()).willReturn(lookup);
 		given(ctx.hfs()).willReturn(hfs);
 		given(ctx.contracts()).willReturn(contracts);
+		given(ctx.accessorHandoff()).willReturn(new TxnAccessorHandoff());
 
 		given(txnCtx.accessor()).willReturn(txnAccessor);
 		given(txnCtx.submittingNodeAccount()).willReturn(accountID);
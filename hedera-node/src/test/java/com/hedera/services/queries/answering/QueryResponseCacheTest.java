@@ -0,0 +1,224 @@
+package com.hedera.services.queries.answering;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TokenID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetAccountBalance;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGetInfo;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TransactionGetReceipt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class QueryResponseCacheTest {
+	Instant then = Instant.ofEpochSecond(1_234_567L, 890);
+	AccountID account = IdUtils.asAccount("0.0.1234");
+	TokenID token = IdUtils.asToken("0.0.5678");
+
+	AtomicInteger computations = new AtomicInteger();
+	MiscRunningAvgs runningAvgs;
+
+	QueryResponseCache subject;
+
+	@BeforeEach
+	public void setup() {
+		runningAvgs = mock(MiscRunningAvgs.class);
+
+		subject = new QueryResponseCache(16, runningAvgs);
+	}
+
+	@Test
+	public void cachesStateDerivedAnswerUntilInvalidated() {
+		// when:
+		var first = subject.getOrCompute(CryptoGetAccountBalance, account, then, this::nextAnswer);
+		var second = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(1), this::nextAnswer);
+		// and:
+		subject.invalidateAccount(account, then.plusSeconds(2));
+		var third = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(2), this::nextAnswer);
+		var fourth = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(3), this::nextAnswer);
+
+		// then:
+		assertEquals("1", first);
+		assertEquals("1", second);
+		assertEquals("2", third);
+		assertEquals("2", fourth);
+		// and:
+		verify(runningAvgs, times(2)).recordBalanceResponseCacheHitRatio(1.0);
+		verify(runningAvgs, times(2)).recordBalanceResponseCacheHitRatio(0.0);
+	}
+
+	@Test
+	public void doesNotCacheAnswerFromStateOlderThanLastModification() {
+		// given:
+		subject.invalidateToken(token, then);
+
+		// when:
+		var staleFirst = subject.getOrCompute(TokenGetInfo, token, then.minusNanos(1), this::nextAnswer);
+		var staleSecond = subject.getOrCompute(TokenGetInfo, token, then.minusNanos(1), this::nextAnswer);
+		var fresh = subject.getOrCompute(TokenGetInfo, token, then, this::nextAnswer);
+		var cached = subject.getOrCompute(TokenGetInfo, token, then, this::nextAnswer);
+
+		// then:
+		assertEquals("1", staleFirst);
+		assertEquals("2", staleSecond);
+		assertEquals("3", fresh);
+		assertEquals("3", cached);
+		verify(runningAvgs).recordTokenInfoResponseCacheHitRatio(1.0);
+	}
+
+	@Test
+	public void neverCachesNullAnswers() {
+		// when:
+		var first = subject.getOrCompute(TokenGetInfo, token, then, () -> null);
+		var second = subject.getOrCompute(TokenGetInfo, token, then, this::nextAnswer);
+
+		// then:
+		assertNull(first);
+		assertEquals("1", second);
+	}
+
+	@Test
+	public void sourceValidatedAnswersTrackSourceIdentity() {
+		// setup:
+		var source = new Object();
+		var nextSource = new Object();
+
+		// when:
+		var first = subject.getOrCompute(TransactionGetReceipt, account, source, ignore -> nextAnswer());
+		var second = subject.getOrCompute(TransactionGetReceipt, account, source, ignore -> nextAnswer());
+		var third = subject.getOrCompute(TransactionGetReceipt, account, nextSource, ignore -> nextAnswer());
+
+		// then:
+		assertEquals("1", first);
+		assertEquals("1", second);
+		assertEquals("2", third);
+		verify(runningAvgs).recordReceiptResponseCacheHitRatio(1.0);
+		verify(runningAvgs, times(2)).recordReceiptResponseCacheHitRatio(0.0);
+	}
+
+	@Test
+	public void resetDropsAnswersAndRejectsOlderStates() {
+		// given:
+		subject.getOrCompute(CryptoGetAccountBalance, account, then, this::nextAnswer);
+
+		// when:
+		subject.reset(then.plusSeconds(1));
+		var stale = subject.getOrCompute(CryptoGetAccountBalance, account, then, this::nextAnswer);
+		var fresh = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(1), this::nextAnswer);
+		var cached = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(2), this::nextAnswer);
+
+		// then:
+		assertEquals("2", stale);
+		assertEquals("3", fresh);
+		assertEquals("3", cached);
+	}
+
+	@Test
+	public void invalidationsDoNotEvictHotAnswers() {
+		// given:
+		subject.getOrCompute(TokenGetInfo, token, then, this::nextAnswer);
+
+		// when:
+		for (int i = 0; i < 10 * 16; i++) {
+			subject.invalidateAccount(IdUtils.asAccount("0.0." + (2_000 + i)), then.plusSeconds(1));
+		}
+		var hot = subject.getOrCompute(TokenGetInfo, token, then.plusSeconds(2), this::nextAnswer);
+		// and:
+		var cold = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(2), this::nextAnswer);
+		var coldAgain = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(2), this::nextAnswer);
+
+		// then:
+		assertEquals("1", hot);
+		assertEquals("2", cold);
+		assertEquals("2", coldAgain);
+		assertEquals(2, subject.size());
+		verify(runningAvgs).recordTokenInfoResponseCacheHitRatio(1.0);
+		verify(runningAvgs).recordBalanceResponseCacheHitRatio(1.0);
+	}
+
+	@Test
+	public void pruningForgetsModificationsIncludedInSignedState() {
+		// given:
+		subject.invalidateAccount(account, then);
+		subject.invalidateToken(token, then.plusSeconds(2));
+
+		// when:
+		subject.pruneThrough(then.plusSeconds(1));
+
+		// then:
+		assertEquals(1, subject.numTrackedModifications());
+		// and:
+		var stale = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusNanos(1), this::nextAnswer);
+		var fresh = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(1), this::nextAnswer);
+		var cached = subject.getOrCompute(CryptoGetAccountBalance, account, then.plusSeconds(1), this::nextAnswer);
+		var staleToken = subject.getOrCompute(TokenGetInfo, token, then.plusSeconds(1), this::nextAnswer);
+		var staleTokenAgain = subject.getOrCompute(TokenGetInfo, token, then.plusSeconds(1), this::nextAnswer);
+
+		// then:
+		assertEquals("1", stale);
+		assertEquals("2", fresh);
+		assertEquals("2", cached);
+		assertEquals("3", staleToken);
+		assertEquals("4", staleTokenAgain);
+	}
+
+	@Test
+	public void disabledCacheAlwaysComputes() {
+		// setup:
+		subject = new QueryResponseCache(0, runningAvgs);
+
+		// when:
+		subject.invalidateAccount(account, then);
+		subject.pruneThrough(then);
+		var first = subject.getOrCompute(CryptoGetAccountBalance, account, then, this::nextAnswer);
+		var second = subject.getOrCompute(CryptoGetAccountBalance, account, then, this::nextAnswer);
+		var third = subject.getOrCompute(TransactionGetReceipt, account, this, ignore -> nextAnswer());
+
+		// then:
+		assertEquals("1", first);
+		assertEquals("2", second);
+		assertEquals("3", third);
+		assertEquals(0, subject.size());
+		assertEquals(0, subject.numTrackedModifications());
+	}
+
+	@Test
+	public void nanosOfOrdersInstants() {
+		// expect:
+		assertEquals(Long.MIN_VALUE, QueryResponseCache.nanosOf(null));
+		assertEquals(1_234_567_000_000_890L, QueryResponseCache.nanosOf(then));
+	}
+
+	private String nextAnswer() {
+		return String.valueOf(computations.incrementAndGet());
+	}
+}
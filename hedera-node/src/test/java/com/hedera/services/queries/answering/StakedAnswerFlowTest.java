@@ -20,18 +20,25 @@ package com.hedera.services.queries.answering;
  * ‍
  */
 
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCallLocal;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetStakers;
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.calculation.UsagePricesProvider;
 import com.hedera.services.queries.AnswerService;
+import com.hedera.services.queries.contract.ContractCallLocalAnswer;
 import com.hedera.services.throttling.FunctionalityThrottling;
 import com.hedera.services.txns.submission.PlatformSubmissionManager;
+import com.hedera.services.txns.validation.OptionValidator;
 import com.hedera.services.utils.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallLocalResponse;
 import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.QueryHeader;
 import com.hederahashgraph.api.proto.java.Response;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.Transaction;
@@ -44,6 +51,7 @@ import com.swirlds.common.Platform;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -81,7 +89,8 @@ class StakedAnswerFlowTest {
 	FeeCalculator fees;
 	TransactionHandler legacyHandler;
 	StateView view;
-	Supplier<StateView> stateViews;
+	StateViewLease lease;
+	Supplier<StateViewLease> stateViews;
 	UsagePricesProvider resourceCosts;
 	FunctionalityThrottling throttles;
 	PlatformSubmissionManager submissionManager;
@@ -99,7 +108,9 @@ class StakedAnswerFlowTest {
 		view = mock(StateView.class);
 		throttles = mock(FunctionalityThrottling.class);
 		legacyHandler = mock(TransactionHandler.class);
-		stateViews = () -> view;
+		lease = mock(StateViewLease.class);
+		given(lease.view()).willReturn(view);
+		stateViews = () -> lease;
 		resourceCosts = mock(UsagePricesProvider.class);
 		usagePrices = mock(FeeData.class);
 		submissionManager = mock(PlatformSubmissionManager.class);
@@ -141,6 +152,19 @@ class StakedAnswerFlowTest {
 	}
 
 
+	@Test
+	public void closesLeaseOnceAnswered() {
+		given(service.canonicalFunction()).willReturn(function);
+		given(throttles.shouldThrottle(function)).willReturn(true);
+		given(service.responseGiven(query, view, BUSY)).willReturn(response);
+
+		// when:
+		subject.satisfyUsing(service, query);
+
+		// then:
+		verify(lease).close();
+	}
+
 	@Test
 	public void throttlesIfAppropriate() {
 		given(service.canonicalFunction()).willReturn(function);
@@ -352,6 +376,49 @@ class StakedAnswerFlowTest {
 		verify(service, times(2)).requiresNodePayment(query);
 	}
 
+	@Test
+	public void neverSubmitsPaymentForThrottledLocalCall() throws Exception {
+		// setup:
+		var localCaller = mock(ContractCallLocalAnswer.LegacyLocalCaller.class);
+		var validator = mock(OptionValidator.class);
+		var localCall = new ContractCallLocalAnswer(localCaller, validator);
+		var busy = ContractCallLocalResponse.newBuilder()
+				.setHeader(localCall.answerOnlyHeader(BUSY))
+				.build();
+		var localCallQuery = Query.newBuilder()
+				.setContractCallLocal(ContractCallLocalQuery.newBuilder()
+						.setHeader(QueryHeader.newBuilder()
+								.setPayment(userTxn)
+								.setResponseType(ANSWER_ONLY)))
+				.build();
+
+		given(legacyHandler.validateQuery(localCallQuery, true)).willReturn(OK);
+		given(validator.queryableContractStatus(any(), any())).willReturn(OK);
+		given(resourceCosts.pricesGiven(ContractCallLocal, at)).willReturn(usagePrices);
+		// and:
+		given(fees.computePayment(
+				argThat(localCallQuery::equals),
+				argThat(usagePrices::equals),
+				argThat(view::equals),
+				argThat(at::equals),
+				any())).willAnswer(invocation -> {
+					Map<String, Object> queryCtx = invocation.getArgument(4);
+					queryCtx.put(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY, busy);
+					return costs;
+				});
+
+		// when:
+		Response actual = subject.satisfyUsing(localCall, localCallQuery);
+
+		// then:
+		assertEquals(BUSY, actual.getContractCallLocal().getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(0L, actual.getContractCallLocal().getHeader().getCost());
+		// and:
+		verify(legacyHandler, never()).validateTransactionPreConsensus(any(), anyBoolean());
+		verify(submissionManager, never()).trySubmission(any());
+		verify(localCaller, never()).perform(any(), anyLong());
+	}
+
 	@Test
 	public void recoversFromPtce() throws Exception {
 		given(legacyHandler.validateQuery(query, true)).willReturn(OK);
@@ -21,6 +21,7 @@ package com.hedera.services.queries.answering;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
 import com.hedera.services.legacy.handler.TransactionHandler;
 import com.hedera.services.queries.AnswerService;
 import com.hedera.services.throttling.FunctionalityThrottling;
@@ -48,7 +49,8 @@ class ZeroStakeAnswerFlowTest {
 
 	TransactionHandler legacyHandler;
 	StateView view;
-	Supplier<StateView> stateViews;
+	StateViewLease lease;
+	Supplier<StateViewLease> stateViews;
 	FunctionalityThrottling throttles;
 
 	Query query = Query.getDefaultInstance();
@@ -62,7 +64,9 @@ class ZeroStakeAnswerFlowTest {
 		view = mock(StateView.class);
 		throttles = mock(FunctionalityThrottling.class);
 		legacyHandler = mock(TransactionHandler.class);
-		stateViews = () -> view;
+		lease = mock(StateViewLease.class);
+		given(lease.view()).willReturn(view);
+		stateViews = () -> lease;
 
 		service = mock(AnswerService.class);
 		response = mock(Response.class);
@@ -95,6 +99,19 @@ class ZeroStakeAnswerFlowTest {
 		assertEquals(response, actual);
 	}
 
+	@Test
+	public void closesLeaseOnceAnswered() {
+		given(service.canonicalFunction()).willReturn(function);
+		given(throttles.shouldThrottle(function)).willReturn(true);
+		given(service.responseGiven(query, view, BUSY)).willReturn(response);
+
+		// when:
+		subject.satisfyUsing(service, query);
+
+		// then:
+		verify(lease).close();
+	}
+
 	@Test
 	public void throttlesIfAppropriate() {
 		given(service.canonicalFunction()).willReturn(function);
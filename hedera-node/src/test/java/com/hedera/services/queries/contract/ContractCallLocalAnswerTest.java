@@ -47,6 +47,7 @@ import java.util.Map;
 
 import static com.hedera.test.factories.scenarios.TxnHandlingScenario.COMPLEX_KEY_ACCOUNT_KT;
 import static com.hedera.test.utils.TxnUtils.payerSponsoredTransfer;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_DELETED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_EXECUTION_EXCEPTION;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.CONTRACT_NEGATIVE_GAS;
@@ -199,6 +200,25 @@ class ContractCallLocalAnswerTest {
 		verify(delegate, never()).perform(any(), anyLong());
 	}
 
+	@Test
+	public void recognizesThrottledCallInCtx() {
+		// setup:
+		Map<String, Object> queryCtx = new HashMap<>();
+
+		// expect:
+		assertFalse(subject.isThrottledGiven(queryCtx));
+
+		// and when:
+		queryCtx.put(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY, response(CONTRACT_EXECUTION_EXCEPTION));
+		// then:
+		assertFalse(subject.isThrottledGiven(queryCtx));
+
+		// and when:
+		queryCtx.put(ContractCallLocalAnswer.CONTRACT_CALL_LOCAL_CTX_KEY, response(BUSY));
+		// then:
+		assertTrue(subject.isThrottledGiven(queryCtx));
+	}
+
 	@Test
 	public void getsCallResponseWhenNoCtx() throws Throwable {
 		// setup:
@@ -23,10 +23,12 @@ package com.hedera.services.queries.crypto;
 import com.hedera.services.context.primitives.StateView;
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.services.store.tokens.TokenStore;
 import com.hedera.services.txns.validation.OptionValidator;
@@ -46,6 +48,7 @@ import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 
 import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
@@ -63,6 +66,8 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_NOT_A
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.RESULT_SIZE_LIMIT_EXCEEDED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
@@ -294,6 +299,56 @@ public class GetAccountBalanceAnswerTest {
 		assertEquals(id, response.getCryptogetAccountBalance().getAccountID());
 	}
 
+	@Test
+	public void answersOpWithStandaloneValidity() {
+		// setup:
+		AccountID id = asAccount(accountIdLit);
+		CryptoGetAccountBalanceQuery op = CryptoGetAccountBalanceQuery.newBuilder()
+				.setAccountID(id)
+				.build();
+
+		given(optionValidator.queryableAccountStatus(id, accounts)).willReturn(ACCOUNT_DELETED);
+
+		// when:
+		Response response = subject.answerFor(op, view);
+
+		// then:
+		assertEquals(
+				ACCOUNT_DELETED,
+				response.getCryptogetAccountBalance().getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(id, response.getCryptogetAccountBalance().getAccountID());
+	}
+
+	@Test
+	public void answersFromResponseCacheUntilAccountIsModified() {
+		// setup:
+		AccountID id = asAccount(accountIdLit);
+		Instant asOf = Instant.ofEpochSecond(1_234_567L);
+		var responseCache = new QueryResponseCache(16, mock(MiscRunningAvgs.class));
+		view.withResponseCache(responseCache, asOf);
+
+		// given:
+		CryptoGetAccountBalanceQuery op = CryptoGetAccountBalanceQuery.newBuilder()
+				.setAccountID(id)
+				.build();
+		Query query = Query.newBuilder().setCryptogetAccountBalance(op).build();
+
+		// when:
+		Response first = subject.responseGiven(query, view, OK);
+		Response second = subject.responseGiven(query, view, OK);
+		// and:
+		responseCache.invalidateAccount(id, asOf.plusNanos(1));
+		Response third = subject.responseGiven(query, view, OK);
+		Response fourth = subject.responseGiven(query, view, OK);
+
+		// then:
+		assertSame(first, second);
+		assertEquals(first, third);
+		assertNotSame(first, third);
+		assertNotSame(third, fourth);
+		assertEquals(balance, fourth.getCryptogetAccountBalance().getBalance());
+	}
+
 	@Test
 	public void recognizesFunction() {
 		// expect:
@@ -0,0 +1,147 @@
+package com.hedera.services.queries.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.primitives.StateViewLease;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceQuery;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceResponse;
+import com.hederahashgraph.api.proto.java.Response;
+import com.hederahashgraph.api.proto.java.ResponseHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_DELETED;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.RESULT_SIZE_LIMIT_EXCEEDED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class GetAccountBalancesAnswerTest {
+	int maxAccounts = 4;
+	long maxAccountsPerSec = 5L;
+	AccountID a = asAccount("0.0.1001");
+	AccountID b = asAccount("0.0.1002");
+	AccountID c = asAccount("0.0.1004");
+
+	StateView view;
+	StateViewLease lease;
+	GetAccountBalanceAnswer balanceAnswer;
+	List<CryptoGetAccountBalanceResponse> answers = new ArrayList<>();
+
+	GetAccountBalancesAnswer subject;
+
+	@BeforeEach
+	void setup() {
+		view = mock(StateView.class);
+		lease = mock(StateViewLease.class);
+		given(lease.view()).willReturn(view);
+		balanceAnswer = mock(GetAccountBalanceAnswer.class);
+		given(balanceAnswer.answerFor(any(CryptoGetAccountBalanceQuery.class), any())).willAnswer(invocation -> {
+			CryptoGetAccountBalanceQuery op = invocation.getArgument(0);
+			var validity = op.getAccountID().equals(b) ? ACCOUNT_DELETED : OK;
+			return Response.newBuilder()
+					.setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+							.setAccountID(op.getAccountID())
+							.setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(validity)))
+					.build();
+		});
+
+		subject = new GetAccountBalancesAnswer(maxAccounts, maxAccountsPerSec, () -> lease, balanceAnswer, () -> 0L);
+	}
+
+	@Test
+	void answersAllQueriesFromOneLeasedView() {
+		// when:
+		var status = subject.answerFor(opsFor(a, b, c), answers::add);
+
+		// then:
+		assertEquals(OK, status);
+		verify(balanceAnswer, times(3)).answerFor(any(CryptoGetAccountBalanceQuery.class), any());
+		verify(lease).close();
+		// and:
+		assertEquals(3, answers.size());
+		assertEquals(a, answers.get(0).getAccountID());
+		assertEquals(OK, answers.get(0).getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(b, answers.get(1).getAccountID());
+		assertEquals(ACCOUNT_DELETED, answers.get(1).getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(c, answers.get(2).getAccountID());
+	}
+
+	@Test
+	void chargesThrottleForEveryAccountInBatch() {
+		// expect:
+		assertEquals(OK, subject.answerFor(opsFor(a, b, c), answers::add));
+		assertEquals(BUSY, subject.answerFor(opsFor(a, b, c), answers::add));
+		assertEquals(OK, subject.answerFor(opsFor(a, b), answers::add));
+		assertEquals(BUSY, subject.answerFor(opsFor(a), answers::add));
+		// and:
+		assertEquals(5, answers.size());
+	}
+
+	@Test
+	void rejectsOversizedBatchesWithoutCharging() {
+		// expect:
+		assertEquals(RESULT_SIZE_LIMIT_EXCEEDED, subject.answerFor(opsFor(a, b, c, a, b), answers::add));
+		assertTrue(answers.isEmpty());
+		verify(lease, never()).view();
+		// and:
+		assertEquals(OK, subject.answerFor(opsFor(a, b, c, a), answers::add));
+	}
+
+	@Test
+	void admissionSharesBucketWithBatches() {
+		// expect:
+		assertEquals(RESULT_SIZE_LIMIT_EXCEEDED, subject.admit(maxAccounts + 1));
+		assertEquals(OK, subject.admit(3));
+		assertEquals(BUSY, subject.answerFor(opsFor(a, b, c), answers::add));
+		assertEquals(OK, subject.answerFor(opsFor(a, b), answers::add));
+		assertEquals(BUSY, subject.admit(1));
+	}
+
+	@Test
+	void answersEmptyBatch() {
+		// expect:
+		assertEquals(OK, subject.answerFor(Collections.emptyList(), answers::add));
+		assertTrue(answers.isEmpty());
+		assertEquals(maxAccounts, subject.maxAccounts());
+	}
+
+	private List<CryptoGetAccountBalanceQuery> opsFor(AccountID... ids) {
+		List<CryptoGetAccountBalanceQuery> ops = new ArrayList<>();
+		for (var id : ids) {
+			ops.add(CryptoGetAccountBalanceQuery.newBuilder().setAccountID(id).build());
+		}
+		return ops;
+	}
+}
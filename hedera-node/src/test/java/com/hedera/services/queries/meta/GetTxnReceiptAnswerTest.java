@@ -21,7 +21,10 @@ package com.hedera.services.queries.meta;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.queries.answering.QueryResponseCache;
 import com.hedera.services.records.RecordCache;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
 import com.hederahashgraph.api.proto.java.QueryHeader;
@@ -32,6 +35,7 @@ import com.hederahashgraph.api.proto.java.TransactionGetReceiptQuery;
 import com.hederahashgraph.api.proto.java.TransactionGetReceiptResponse;
 import com.hederahashgraph.api.proto.java.TransactionID;
 import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +44,8 @@ import java.util.List;
 import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.*;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.*;
@@ -62,6 +68,8 @@ class GetTxnReceiptAnswerTest {
 
 	StateView view;
 	RecordCache recordCache;
+	MiscRunningAvgs runningAvgs;
+	QueryResponseCache responseCache;
 
 	GetTxnReceiptAnswer subject;
 
@@ -69,8 +77,47 @@ class GetTxnReceiptAnswerTest {
 	private void setup() {
 		view = null;
 		recordCache = mock(RecordCache.class);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		responseCache = new QueryResponseCache(16, runningAvgs);
 
-		subject = new GetTxnReceiptAnswer(recordCache);
+		subject = new GetTxnReceiptAnswer(recordCache, responseCache);
+	}
+
+	@Test
+	public void reusesResponseForSamePriorityRecord() {
+		// setup:
+		Query sensibleQuery = queryWith(validTxnId);
+		var priorityRecord = ExpirableTxnRecord.fromGprc(TransactionRecord.newBuilder()
+				.setTransactionID(validTxnId)
+				.setReceipt(receipt)
+				.build());
+		var nextPriorityRecord = ExpirableTxnRecord.fromGprc(TransactionRecord.newBuilder()
+				.setTransactionID(validTxnId)
+				.setReceipt(receipt)
+				.build());
+
+		given(recordCache.getPriorityExpirableRecord(validTxnId))
+				.willReturn(priorityRecord)
+				.willReturn(priorityRecord)
+				.willReturn(nextPriorityRecord);
+
+		// when:
+		Response first = subject.responseGiven(sensibleQuery, view, OK, 0L);
+		Response second = subject.responseGiven(sensibleQuery, view, OK, 0L);
+		Response third = subject.responseGiven(sensibleQuery, view, OK, 0L);
+
+		// then:
+		TransactionGetReceiptResponse opResponse = first.getTransactionGetReceipt();
+		assertEquals(OK, opResponse.getHeader().getNodeTransactionPrecheckCode());
+		assertEquals(ANSWER_ONLY, opResponse.getHeader().getResponseType());
+		assertEquals(receipt.getStatus(), opResponse.getReceipt().getStatus());
+		// and:
+		assertSame(first, second);
+		assertNotSame(second, third);
+		assertEquals(first, third);
+		verify(runningAvgs, times(2)).recordReceiptResponseCacheHitRatio(0.0);
+		verify(runningAvgs).recordReceiptResponseCacheHitRatio(1.0);
+		verify(recordCache, never()).getPriorityReceipt(any());
 	}
 
 	@Test
@@ -24,7 +24,6 @@ import com.google.common.cache.Cache;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.context.ServicesContext;
 import com.hedera.services.state.expiry.ExpiringCreations;
-import com.hedera.services.state.expiry.MonotonicFullQueueExpiries;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.services.utils.TriggeredTxnAccessor;
@@ -108,7 +107,7 @@ class RecordCacheTest {
 	private ExpiringCreations creator;
 	private ServicesContext ctx;
 	private Cache<TransactionID, Boolean> receiptCache;
-	private Map<TransactionID, TxnIdRecentHistory> histories;
+	private Map<TxnIdKey, TxnIdRecentHistory> histories;
 
 	private RecordCache subject;
 
@@ -117,60 +116,18 @@ class RecordCacheTest {
 		creator = mock(ExpiringCreations.class);
 		ctx = mock(ServicesContext.class);
 		given(ctx.creator()).willReturn(creator);
-		histories = (Map<TransactionID, TxnIdRecentHistory>)mock(Map.class);
+		histories = (Map<TxnIdKey, TxnIdRecentHistory>)mock(Map.class);
 		receiptCache = (Cache<TransactionID, Boolean>)mock(Cache.class);
 		subject = new RecordCache(ctx, receiptCache, histories);
 	}
 
-	@Test
-	public void resetsHistoriesIfRequested() {
-		subject.recordExpiries = mock(MonotonicFullQueueExpiries.class);
-
-		// when:
-		subject.reset();
-
-		// then:
-		verify(subject.recordExpiries).reset();
-	}
-
-	@Test
-	public void expiresOtherForgottenHistory() {
-		// setup:
-		subject = new RecordCache(ctx, receiptCache, new HashMap<>());
-
-		// given:
-		record.setExpiry(someExpiry);
-		subject.setPostConsensus(txnIdA, SUCCESS, record);
-		subject.trackForExpiry(record);
-
-		// when:
-		subject.forgetAnyOtherExpiredHistory(someExpiry + 1);
-
-		// then:
-		assertFalse(subject.isReceiptPresent(txnIdA));
-	}
-
-	@Test
-	public void tracksExpiringTxnIds() {
-		// setup:
-		subject.recordExpiries = mock(MonotonicFullQueueExpiries.class);
-		// and:
-		record.setExpiry(someExpiry);
-
-		// when:
-		subject.trackForExpiry(record);
-
-		// then:
-		verify(subject.recordExpiries).track(txnIdA, someExpiry);
-	}
-
 	@Test
 	public void getsReceiptWithKnownStatusPostConsensus() {
 		// setup:
 		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
 
 		given(history.priorityRecord()).willReturn(record);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// expect:
 		assertEquals(knownReceipt, subject.getPriorityReceipt(txnIdA));
@@ -183,7 +140,7 @@ class RecordCacheTest {
 		var duplicateRecords = List.of(ExpirableTxnRecord.fromGprc(aRecord));
 
 		given(history.duplicateRecords()).willReturn(duplicateRecords);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// when:
 		var actual = subject.getDuplicateRecords(txnIdA);
@@ -205,7 +162,7 @@ class RecordCacheTest {
 		var duplicateRecords = List.of(ExpirableTxnRecord.fromGprc(aRecord));
 
 		given(history.duplicateRecords()).willReturn(duplicateRecords);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// when:
 		var duplicateReceipts = subject.getDuplicateReceipts(txnIdA);
@@ -222,7 +179,7 @@ class RecordCacheTest {
 
 	@Test
 	public void getsReceiptWithUnknownStatusPreconsensus() {
-		given(histories.get(txnIdA)).willReturn(null);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(null);
 		given(receiptCache.getIfPresent(txnIdA)).willReturn(Boolean.TRUE);
 
 		// expect:
@@ -235,7 +192,7 @@ class RecordCacheTest {
 		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
 
 		given(history.priorityRecord()).willReturn(null);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// expect:
 		assertEquals(unknownReceipt, subject.getPriorityReceipt(txnIdA));
@@ -249,7 +206,7 @@ class RecordCacheTest {
 
 	@Test
 	public void getsNullRecordWhenPreconsensus() {
-		given(histories.get(txnIdA)).willReturn(null);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(null);
 
 		// expect:
 		assertNull(subject.getPriorityRecord(txnIdA));
@@ -261,7 +218,7 @@ class RecordCacheTest {
 		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
 
 		given(history.priorityRecord()).willReturn(null);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// expect:
 		assertNull(subject.getPriorityRecord(txnIdA));
@@ -273,7 +230,7 @@ class RecordCacheTest {
 		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
 
 		given(history.priorityRecord()).willReturn(record);
-		given(histories.get(txnIdA)).willReturn(history);
+		given(histories.get(TxnIdKey.from(txnIdA))).willReturn(history);
 
 		// expect:
 		assertEquals(aRecord, subject.getPriorityRecord(txnIdA));
@@ -293,7 +250,7 @@ class RecordCacheTest {
 		// setup:
 		TxnIdRecentHistory history = mock(TxnIdRecentHistory.class);
 
-		given(histories.computeIfAbsent(argThat(txnIdA::equals), any())).willReturn(history);
+		given(histories.computeIfAbsent(argThat(TxnIdKey.from(txnIdA)::equals), any())).willReturn(history);
 
 		// when:
 		subject.setPostConsensus(
@@ -324,7 +281,7 @@ class RecordCacheTest {
 		// and:
 		AccountID effectivePayer = IdUtils.asAccount("0.0.3");
 
-		given(histories.computeIfAbsent(argThat(txnId::equals), any())).willReturn(history);
+		given(histories.computeIfAbsent(argThat(TxnIdKey.from(txnId)::equals), any())).willReturn(history);
 
 		// given:
 		PlatformTxnAccessor accessor = uncheckedAccessorFor(platformTxn);
@@ -371,7 +328,7 @@ class RecordCacheTest {
 		AccountID effectivePayer = IdUtils.asAccount("0.0.3");
 		ScheduleID effectiveScheduleID = IdUtils.asSchedule("0.0.123");
 
-		given(histories.computeIfAbsent(argThat(txnId::equals), any())).willReturn(history);
+		given(histories.computeIfAbsent(argThat(TxnIdKey.from(txnId)::equals), any())).willReturn(history);
 
 		// given:
 		TxnAccessor accessor = new TriggeredTxnAccessor(signedTxn.toByteArray(), effectivePayer, effectiveScheduleID);
@@ -404,13 +361,13 @@ class RecordCacheTest {
 
 	@Test
 	public void usesHistoryThenCacheToTestReceiptPresence() {
-		given(histories.containsKey(txnIdA)).willReturn(true);
+		given(histories.containsKey(TxnIdKey.from(txnIdA))).willReturn(true);
 		given(receiptCache.getIfPresent(txnIdA)).willReturn(null);
 		// and:
-		given(histories.containsKey(txnIdB)).willReturn(false);
+		given(histories.containsKey(TxnIdKey.from(txnIdB))).willReturn(false);
 		given(receiptCache.getIfPresent(txnIdB)).willReturn(RecordCache.MARKER);
 		// and:
-		given(histories.containsKey(txnIdC)).willReturn(false);
+		given(histories.containsKey(TxnIdKey.from(txnIdC))).willReturn(false);
 		given(receiptCache.getIfPresent(txnIdC)).willReturn(null);
 
 		// when:
@@ -0,0 +1,108 @@
+package com.hedera.services.records;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.submerkle.TxnId;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TxnIdKeyTest {
+	TransactionID grpc = TransactionID.newBuilder()
+			.setAccountID(IdUtils.asAccount("1.2.3"))
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(999_999_999))
+			.setScheduled(true)
+			.build();
+
+	@Test
+	public void encodesAllFields() {
+		// given:
+		var subject = TxnIdKey.from(grpc);
+
+		// expect:
+		assertEquals(3L, subject.getPayerNum());
+		assertEquals(1_234_567L, subject.getValidStartSecs());
+		assertEquals(999_999_999, subject.getValidStartNanos());
+		assertTrue(subject.isScheduled());
+		// and:
+		assertEquals(
+				"TxnIdKey{payer=1.2.3, validStart=1234567.999999999, scheduled=true}",
+				subject.toString());
+	}
+
+	@Test
+	public void agreesWithGrpcAndSubmerkleForms() {
+		// given:
+		var fromGrpc = TxnIdKey.from(grpc);
+		var fromSubmerkle = TxnIdKey.from(TxnId.fromGrpc(grpc));
+
+		// expect:
+		assertEquals(fromGrpc, fromSubmerkle);
+		assertEquals(fromGrpc.hashCode(), fromSubmerkle.hashCode());
+		assertEquals(fromGrpc, fromGrpc);
+	}
+
+	@Test
+	public void distinguishesEveryField() {
+		// given:
+		var subject = TxnIdKey.from(grpc);
+
+		// expect:
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder().setScheduled(false).build()));
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder().setAccountID(IdUtils.asAccount("1.2.4")).build()));
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder().setAccountID(IdUtils.asAccount("1.3.3")).build()));
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder().setAccountID(IdUtils.asAccount("2.2.3")).build()));
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder()
+				.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(1))
+				.build()));
+		assertNotEquals(subject, TxnIdKey.from(grpc.toBuilder()
+				.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_568L).setNanos(999_999_999))
+				.build()));
+		// and:
+		assertFalse(subject.equals(null));
+		assertFalse(subject.equals(grpc));
+	}
+
+	@Test
+	public void neverAliasesOutOfRangeNanos() {
+		// given:
+		var huge = TxnIdKey.from(withNanos(Integer.MAX_VALUE));
+		var negative = TxnIdKey.from(withNanos(-1));
+
+		// expect:
+		assertNotEquals(huge, negative);
+		assertEquals(Integer.MAX_VALUE, huge.getValidStartNanos());
+		assertEquals(-1, negative.getValidStartNanos());
+		assertTrue(negative.isScheduled());
+	}
+
+	private TransactionID withNanos(int nanos) {
+		return grpc.toBuilder()
+				.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(nanos))
+				.build();
+	}
+}
@@ -30,7 +30,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static com.hedera.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
 import static com.hedera.services.txns.diligence.DuplicateClassification.DUPLICATE;
@@ -43,6 +45,7 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.mock;
 
@@ -59,18 +62,22 @@ class TxnIdRecentHistoryTest {
 	@Test
 	public void getsMemory() {
 		// given:
-		subject.classifiableRecords = List.of(mock(ExpirableTxnRecord.class));
+		subject.classifiableRecords = new ExpirableTxnRecord[] { mock(ExpirableTxnRecord.class) };
+		subject.numClassifiable = 1;
 		// expect:
 		assertFalse(subject.isForgotten());
 
 		// and given:
 		subject.classifiableRecords = null;
-		subject.unclassifiableRecords = List.of(mock(ExpirableTxnRecord.class));
+		subject.numClassifiable = 0;
+		subject.unclassifiableRecords = new ExpirableTxnRecord[] { mock(ExpirableTxnRecord.class) };
+		subject.numUnclassifiable = 1;
 		// expect:
 		assertFalse(subject.isForgotten());
 
 		// and given:
 		subject.unclassifiableRecords = null;
+		subject.numUnclassifiable = 0;
 		// expect:
 		assertTrue(subject.isForgotten());
 	}
@@ -116,14 +123,14 @@ class TxnIdRecentHistoryTest {
 						memoIdentifying(3, 5, DUPLICATE_TRANSACTION),
 						memoIdentifying(1, 2, DUPLICATE_TRANSACTION),
 						memoIdentifying(2, 4, DUPLICATE_TRANSACTION)
-				), subject.classifiableRecords.stream().map(sr -> sr.getMemo()).collect(toList()));
+				), memosOf(subject.classifiableRecords, subject.numClassifiable));
 		// and:
 		assertEquals(
 				List.of(
 						memoIdentifying(1, 0, INVALID_PAYER_SIGNATURE),
 						memoIdentifying(1, 6, INVALID_PAYER_SIGNATURE),
 						memoIdentifying(2, 7, INVALID_NODE_ACCOUNT)
-				), subject.unclassifiableRecords.stream().map(sr -> sr.getMemo()).collect(toList()));
+				), memosOf(subject.unclassifiableRecords, subject.numUnclassifiable));
 		// and:
 		assertNull(subject.memory);
 	}
@@ -180,13 +187,56 @@ class TxnIdRecentHistoryTest {
 		assertEquals(
 				List.of(
 						memoIdentifying(3, 5, DUPLICATE_TRANSACTION)
-				), subject.classifiableRecords.stream().map(sr -> sr.getMemo()).collect(toList()));
+				), memosOf(subject.classifiableRecords, subject.numClassifiable));
 		// and:
 		assertEquals(
 				List.of(
 						memoIdentifying(1, 6, INVALID_PAYER_SIGNATURE),
 						memoIdentifying(2, 7, INVALID_NODE_ACCOUNT)
-				), subject.unclassifiableRecords.stream().map(sr -> sr.getMemo()).collect(toList()));
+				), memosOf(subject.unclassifiableRecords, subject.numUnclassifiable));
+	}
+
+	@Test
+	public void forgettingKeepsDistinctMemberCountAcrossExpiry() {
+		// given:
+		subject.observe(recordOf(1, 1, SUCCESS), SUCCESS);
+		subject.observe(recordOf(1, 2, DUPLICATE_TRANSACTION), DUPLICATE_TRANSACTION);
+		subject.observe(recordOf(2, 3, DUPLICATE_TRANSACTION), DUPLICATE_TRANSACTION);
+
+		// when:
+		subject.forgetExpiredAt(expiryAtOffset(1));
+
+		// then:
+		assertEquals(2, subject.numDuplicates);
+		assertEquals(NODE_DUPLICATE, subject.currentDuplicityFor(1));
+		assertEquals(NODE_DUPLICATE, subject.currentDuplicityFor(2));
+		assertEquals(DUPLICATE, subject.currentDuplicityFor(3));
+
+		// and when:
+		subject.observe(recordOf(3, 4, DUPLICATE_TRANSACTION), DUPLICATE_TRANSACTION);
+
+		// then:
+		assertEquals(3, subject.numDuplicates);
+		assertEquals(
+				List.of(
+						memoIdentifying(2, 3, DUPLICATE_TRANSACTION),
+						memoIdentifying(1, 2, DUPLICATE_TRANSACTION),
+						memoIdentifying(3, 4, DUPLICATE_TRANSACTION)
+				), memosOf(subject.classifiableRecords, subject.numClassifiable));
+	}
+
+	@Test
+	public void scansSurvivorsUpToDistinctMemberCount() {
+		givenSomeWellKnownHistory();
+
+		// when:
+		subject.forgetExpiredAt(expiryAtOffset(3));
+
+		// then:
+		assertEquals(3, subject.numDuplicates);
+		assertEquals(NODE_DUPLICATE, subject.currentDuplicityFor(3));
+		assertEquals(NODE_DUPLICATE, subject.currentDuplicityFor(2));
+		assertThrows(NoSuchElementException.class, () -> subject.currentDuplicityFor(1));
 	}
 
 	@Test
@@ -275,6 +325,10 @@ class TxnIdRecentHistoryTest {
 		return now.getEpochSecond() + 1 + l;
 	}
 
+	private List<String> memosOf(ExpirableTxnRecord[] records, int n) {
+		return Arrays.stream(records, 0, n).map(ExpirableTxnRecord::getMemo).collect(toList());
+	}
+
 	private String memoIdentifying(long submittingMember, long consensusOffsetSecs, ResponseCodeEnum status) {
 		return String.format("%d submitted @ %d past -> %s", submittingMember, consensusOffsetSecs, status);
 	}
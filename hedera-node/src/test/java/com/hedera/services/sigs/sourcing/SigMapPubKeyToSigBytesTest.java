@@ -29,6 +29,8 @@ import com.hedera.test.factories.keys.OverlappingKeyGenerator;
 import com.hedera.test.factories.sigs.SigFactory;
 import com.hedera.test.factories.sigs.SigMapGenerator;
 import com.hederahashgraph.api.proto.java.Key;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
 import com.swirlds.common.crypto.SignatureType;
@@ -41,6 +43,7 @@ import static com.hedera.test.factories.keys.NodeFactory.*;
 import static com.hedera.test.factories.txns.SystemDeleteFactory.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SigMapPubKeyToSigBytesTest {
@@ -106,6 +109,103 @@ public class SigMapPubKeyToSigBytesTest {
 		});
 	}
 
+	@Test
+	public void resolvesNestedPrefixesByLongestUniqueMatch() throws Exception {
+		// given:
+		var sigMap = SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 3, 5 }, "B"))
+				.addSigPair(pairWith(new byte[] { 2, 2, 2, 2 }, "C"))
+				.build();
+		var subject = new SigMapPubKeyToSigBytes(sigMap);
+
+		// expect:
+		assertArrayEquals("A".getBytes(), subject.sigBytesFor(new byte[] { 1, 2, 9 }));
+		assertArrayEquals("B".getBytes(), subject.sigBytesFor(new byte[] { 1, 3, 5, 7 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { 1, 3, 4 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { 2, 2 }));
+	}
+
+	@Test
+	public void rejectsPrefixesNestedInOneAnother() {
+		// given:
+		var subject = new SigMapPubKeyToSigBytes(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "B"))
+				.build());
+		// and:
+		var repeated = new SigMapPubKeyToSigBytes(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "B"))
+				.build());
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.sigBytesFor(new byte[] { 1, 2, 3 }));
+		assertThrows(KeyPrefixMismatchException.class, () -> repeated.sigBytesFor(new byte[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void emptyPrefixMatchesEveryKey() throws Exception {
+		// given:
+		var subject = new SigMapPubKeyToSigBytes(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[0], "A"))
+				.build());
+
+		// expect:
+		assertArrayEquals("A".getBytes(), subject.sigBytesFor(new byte[] { 7, 7, 7 }));
+	}
+
+	@Test
+	public void indexedLookupsAgreeWithScannedLookups() throws Exception {
+		// given:
+		var subject = new SigMapPubKeyToSigBytes(withFillers(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 3, 5 }, "B"))
+				.addSigPair(pairWith(new byte[] { (byte) 0xFF, 2, 2, 2 }, "C"))));
+
+		// expect:
+		assertArrayEquals("A".getBytes(), subject.sigBytesFor(new byte[] { 1, 2, 9 }));
+		assertArrayEquals("B".getBytes(), subject.sigBytesFor(new byte[] { 1, 3, 5, 7 }));
+		assertArrayEquals("C".getBytes(), subject.sigBytesFor(new byte[] { (byte) 0xFF, 2, 2, 2, 0 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { 1, 3, 4 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { (byte) 0xFF, 2 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[0]));
+	}
+
+	@Test
+	public void indexedLookupsRejectAmbiguousPrefixes() {
+		// given:
+		var nested = new SigMapPubKeyToSigBytes(withFillers(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "B"))));
+		// and:
+		var repeated = new SigMapPubKeyToSigBytes(withFillers(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "A"))
+				.addSigPair(pairWith(new byte[] { 1, 2 }, "B"))));
+		// and:
+		var everything = new SigMapPubKeyToSigBytes(withFillers(SignatureMap.newBuilder()
+				.addSigPair(pairWith(new byte[0], "A"))));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> nested.sigBytesFor(new byte[] { 1, 2, 3 }));
+		assertThrows(KeyPrefixMismatchException.class, () -> repeated.sigBytesFor(new byte[] { 1, 2, 3 }));
+		assertThrows(KeyPrefixMismatchException.class, () -> everything.sigBytesFor(new byte[] { 9, 9, 2, 7 }));
+	}
+
+	private SignatureMap withFillers(SignatureMap.Builder sigMap) {
+		for (int i = 0; i < SigMapPubKeyToSigBytes.MAX_PAIRS_TO_SCAN; i++) {
+			sigMap.addSigPair(pairWith(new byte[] { 9, 9, (byte) (2 * i + 2) }, "filler"));
+		}
+		return sigMap.build();
+	}
+
+	private SignaturePair pairWith(byte[] prefix, String sig) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setEd25519(ByteString.copyFromUtf8(sig))
+				.build();
+	}
+
 	private void lookupsMatch(KeyTree kt, KeyFactory factory, byte[] data, PubKeyToSigBytes subject) throws Exception {
 		AtomicReference<Exception> thrown = new AtomicReference<>();
 		kt.traverseLeaves(leaf -> {
@@ -0,0 +1,167 @@
+package com.hedera.services.sigs.verification;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.sigs.factories.PlatformSigFactory;
+import com.hedera.services.stats.MiscSpeedometers;
+import com.swirlds.common.crypto.TransactionSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hedera.test.factories.sigs.SyncVerifiers.ALWAYS_VALID;
+import static com.hedera.test.factories.sigs.SyncVerifiers.NEVER_VALID;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.UNKNOWN;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+class CachingSyncVerifierTest {
+	byte[] data = "SOMETHING".getBytes();
+	byte[] otherData = "SOMETHING ELSE".getBytes();
+
+	AtomicInteger numDelegated;
+	MiscSpeedometers speedometers;
+
+	CachingSyncVerifier subject;
+
+	@BeforeEach
+	void setUp() {
+		numDelegated = new AtomicInteger(0);
+		speedometers = mock(MiscSpeedometers.class);
+
+		subject = new CachingSyncVerifier(sigs -> {
+			numDelegated.addAndGet(sigs.size());
+			ALWAYS_VALID.verifySync(sigs);
+		}, speedometers, 16);
+	}
+
+	@Test
+	void reusesOutcomesForIdenticalMaterial() {
+		// given:
+		var first = sigsFor(data, "A", "B");
+		subject.verifySync(first);
+
+		// when:
+		var second = sigsFor(data, "B", "C", "A");
+		subject.verifySync(second);
+
+		// then:
+		assertEquals(3, numDelegated.get());
+		second.forEach(sig -> assertEquals(VALID, sig.getSignatureStatus()));
+		// and:
+		verify(speedometers).cycleSigCacheHits(0);
+		verify(speedometers).cycleSigCacheMisses(2);
+		verify(speedometers).cycleSigCacheHits(2);
+		verify(speedometers).cycleSigCacheMisses(1);
+	}
+
+	@Test
+	void distinguishesMessages() {
+		// given:
+		subject.verifySync(sigsFor(data, "A"));
+
+		// when:
+		subject.verifySync(sigsFor(otherData, "A"));
+
+		// then:
+		assertEquals(2, numDelegated.get());
+		assertEquals(2, subject.numCached());
+	}
+
+	@Test
+	void keysOnCopiedMaterialNotContentsBuffer() {
+		// setup:
+		var sig = PlatformSigFactory.createEd25519("A-pk".getBytes(), "A-sig".getBytes(), data);
+		var contents = sig.getContentsDirect();
+		var material = new CachingSyncVerifier.SigMaterial(sig);
+
+		// when:
+		contents[sig.getMessageOffset()]++;
+
+		// then:
+		assertNotEquals(material, new CachingSyncVerifier.SigMaterial(sig));
+		// and when:
+		contents[sig.getMessageOffset()]--;
+
+		// then:
+		assertEquals(material, new CachingSyncVerifier.SigMaterial(sig));
+		assertEquals(material.hashCode(), new CachingSyncVerifier.SigMaterial(sig).hashCode());
+	}
+
+	@Test
+	void distinguishesPubKeyAndSigBoundary() {
+		// given:
+		var one = PlatformSigFactory.createEd25519("AB".getBytes(), "C".getBytes(), data);
+		var other = PlatformSigFactory.createEd25519("A".getBytes(), "BC".getBytes(), data);
+
+		// expect:
+		assertNotEquals(new CachingSyncVerifier.SigMaterial(one), new CachingSyncVerifier.SigMaterial(other));
+	}
+
+	@Test
+	void reusesObservedAsyncOutcomesIncludingInvalid() {
+		// setup:
+		var verified = sigsFor(data, "A", "B");
+		NEVER_VALID.verifySync(verified);
+
+		// given:
+		subject.observeVerified(verified);
+
+		// when:
+		var fresh = sigsFor(data, "A", "B");
+		subject.verifySync(fresh);
+
+		// then:
+		assertEquals(0, numDelegated.get());
+		fresh.forEach(sig -> assertEquals(INVALID, sig.getSignatureStatus()));
+	}
+
+	@Test
+	void ignoresUnknownOutcomes() {
+		// given:
+		var unverified = sigsFor(data, "A");
+
+		// when:
+		subject.observeVerified(unverified);
+
+		// then:
+		assertEquals(UNKNOWN, unverified.get(0).getSignatureStatus());
+		assertEquals(0, subject.numCached());
+	}
+
+	private List<TransactionSignature> sigsFor(byte[] message, String... keys) {
+		List<TransactionSignature> sigs = new ArrayList<>();
+		for (var key : keys) {
+			sigs.add(PlatformSigFactory.createEd25519(
+					(key + "-pk").getBytes(),
+					(key + "-sig").getBytes(),
+					message));
+		}
+		return sigs;
+	}
+}
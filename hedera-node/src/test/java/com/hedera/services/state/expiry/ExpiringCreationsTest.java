@@ -23,7 +23,7 @@ package com.hedera.services.state.expiry;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.ledger.HederaLedger;
-import com.hedera.services.records.RecordCache;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.state.serdes.DomainSerdesTest;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.test.utils.IdUtils;
@@ -46,7 +46,6 @@ class ExpiringCreationsTest {
 	AccountID effPayer = IdUtils.asAccount("0.0.13257");
 	TransactionRecord record = DomainSerdesTest.recordOne().asGrpc();
 
-	RecordCache recordCache;
 	HederaLedger ledger;
 	ExpiryManager expiries;
 	PropertySource properties;
@@ -59,13 +58,11 @@ class ExpiringCreationsTest {
 		ledger = mock(HederaLedger.class);
 		expiries = mock(ExpiryManager.class);
 		properties = mock(PropertySource.class);
-		recordCache = mock(RecordCache.class);
 		dynamicProperties = mock(GlobalDynamicProperties.class);
 		given(dynamicProperties.shouldKeepRecordsInState()).willReturn(true);
 		given(dynamicProperties.cacheRecordsTtl()).willReturn(cacheTtl);
 
 		subject = new ExpiringCreations(expiries, dynamicProperties);
-		subject.setRecordCache(recordCache);
 		subject.setLedger(ledger);
 	}
 
@@ -95,7 +92,7 @@ class ExpiringCreationsTest {
 
 		// then:
 		verify(ledger, never()).addRecord(any(), any());
-		verify(recordCache).trackForExpiry(expected);
+		verify(expiries).trackHistory(TxnIdKey.from(expected.getTxnId()), expectedExpiry);
 		// and:
 		verify(expiries, never()).trackRecord(effPayer, expectedExpiry);
 		// and:
@@ -22,7 +22,7 @@ package com.hedera.services.state.expiry;
 
 import com.hedera.services.ledger.HederaLedger;
 import com.hedera.services.legacy.core.jproto.TxnReceipt;
-import com.hedera.services.records.RecordCache;
+import com.hedera.services.records.TxnIdKey;
 import com.hedera.services.records.TxnIdRecentHistory;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
@@ -31,6 +31,8 @@ import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.state.submerkle.RichInstant;
 import com.hedera.services.state.submerkle.TxnId;
+import com.hedera.services.state.validation.LedgerTally;
+import com.hedera.services.stats.MiscRunningAvgs;
 import com.hedera.services.store.schedule.ScheduleStore;
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -48,14 +50,18 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.BDDMockito.given;
@@ -66,6 +72,7 @@ import static org.mockito.Mockito.times;
 
 class ExpiryManagerTest {
 	long a = 13257, b = 75231;
+	Supplier<LedgerTally> ledgerTallies;
 	long[] aPayer = { 55 };
 	long[] bPayer = { 33 };
 
@@ -76,13 +83,13 @@ class ExpiryManagerTest {
 	Consumer<EntityId> entityIdConsumer;
 	Pair<Long, Consumer<EntityId>> expiringEntity;
 
-	RecordCache recordCache;
 	HederaLedger ledger;
 	FCMap<MerkleEntityId, MerkleAccount> accounts;
 	FCMap<MerkleEntityId, MerkleSchedule> schedules;
-	Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	Map<TxnIdKey, TxnIdRecentHistory> txnHistories;
 
 	ScheduleStore scheduleStore;
+	MiscRunningAvgs runningAvgs;
 
 	ExpiryManager subject;
 
@@ -91,9 +98,10 @@ class ExpiryManagerTest {
 		accounts = new FCMap<>();
 		schedules = new FCMap<>();
 		txnHistories = new HashMap<>();
-		recordCache = mock(RecordCache.class);
 
 		scheduleStore = mock(ScheduleStore.class);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		ledgerTallies = () -> new LedgerTally(id -> id.getNum() == b ? "Bad account" : null);
 
 		ledger = mock(HederaLedger.class);
 
@@ -102,7 +110,7 @@ class ExpiryManagerTest {
 		given(expiringEntity.getKey()).willReturn(schedule.getScheduleNum());
 		given(expiringEntity.getValue()).willReturn(entityIdConsumer);
 
-		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, schedules);
+		subject = new ExpiryManager(txnHistories, scheduleStore, schedules, runningAvgs, ledgerTallies);
 	}
 
 	@Test
@@ -124,7 +132,8 @@ class ExpiryManagerTest {
 				longThat(l -> l == 33),
 				any());
 		// and:
-		verify(recordCache).forgetAnyOtherExpiredHistory(33);
+		assertTrue(subject.expiries.hasExpiringAt(55));
+		assertFalse(subject.expiries.hasExpiringAt(54));
 	}
 
 	@Test
@@ -135,12 +144,54 @@ class ExpiryManagerTest {
 		subject.restartEntitiesTracking();
 
 		// when:
-		subject.purgeExpiredEntitiesAt(expiry);
+		subject.purgeExpiredRecordsAt(expiry, ledger);
 
 		// then:
 		verify(scheduleStore).expire(entityId);
 		// and:
-		assertTrue(subject.entityExpiries.allExpiries.isEmpty());
+		assertEquals(0, subject.expiries.size());
+		assertEquals(1, subject.numFreeHandles);
+		assertNull(subject.payloads[0]);
+	}
+
+	@Test
+	public void purgesTrackedHistoryAsExpected() {
+		// setup:
+		var txnId = TxnIdKey.from(txnIdOf(a));
+		var history = mock(TxnIdRecentHistory.class);
+		txnHistories.put(txnId, history);
+		given(history.isForgotten()).willReturn(true);
+
+		// given:
+		subject.trackHistory(txnId, expiry);
+
+		// when:
+		subject.purgeExpiredRecordsAt(expiry - 1, ledger);
+		// and:
+		assertTrue(txnHistories.containsKey(txnId));
+		subject.purgeExpiredRecordsAt(expiry, ledger);
+
+		// then:
+		verify(history).forgetExpiredAt(expiry);
+		assertFalse(txnHistories.containsKey(txnId));
+		// and:
+		assertEquals(0, subject.expiries.size());
+		assertEquals(1, subject.numFreeHandles);
+	}
+
+	@Test
+	public void reusesReleasedHandles() {
+		// given:
+		subject.trackHistory(txnIdOf(a).toGrpc(), expiry);
+		subject.purgeExpiredRecordsAt(expiry, ledger);
+
+		// when:
+		subject.trackHistory(txnIdOf(b).toGrpc(), expiry + 1);
+
+		// then:
+		assertEquals(1, subject.handlesUsed);
+		assertEquals(0, subject.numFreeHandles);
+		assertEquals(txnIdOf(b).toGrpc(), subject.payloads[0]);
 	}
 
 	private AccountID asAccount(long num) {
@@ -155,7 +206,7 @@ class ExpiryManagerTest {
 		txnHistories = mock(Map.class);
 
 		// given:
-		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, schedules);
+		subject = new ExpiryManager(txnHistories, scheduleStore, schedules, runningAvgs, ledgerTallies);
 		// and:
 		subject.trackRecord(payer, oldExpiry);
 		// and:
@@ -167,13 +218,10 @@ class ExpiryManagerTest {
 		subject.restartTrackingFrom(accounts);
 
 		// then:
-		verify(recordCache).reset();
 		verify(txnHistories).clear();
-		assertEquals(expiry, subject.payerExpiries.now);
-		assertEquals(1, subject.payerExpiries.allExpiries.size());
-		var expiryEvent = subject.payerExpiries.allExpiries.getFirst();
-		assertEquals(2, expiryEvent.getId());
-		assertEquals(expiry, expiryEvent.getExpiry());
+		assertEquals(1, subject.expiries.size());
+		assertFalse(subject.expiries.hasExpiringAt(expiry - 1));
+		assertEquals(2, subject.expiries.expireNextNumAt(expiry));
 	}
 
 	@Test
@@ -185,22 +233,40 @@ class ExpiryManagerTest {
 		subject.restartTrackingFrom(accounts);
 
 		// then:
-		var e1 = subject.payerExpiries.allExpiries.poll();
-		assertEquals(b, e1.getId());
-		assertEquals(33, e1.getExpiry());
-		var e2 = subject.payerExpiries.allExpiries.poll();
-		assertEquals(a, e2.getId());
-		assertEquals(55, e2.getExpiry());
+		assertFalse(subject.expiries.hasExpiringAt(32));
+		assertEquals(b, subject.expiries.expireNextNumAt(33));
+		assertFalse(subject.expiries.hasExpiringAt(54));
+		assertEquals(a, subject.expiries.expireNextNumAt(55));
 		// and:
-		assertTrue(subject.payerExpiries.allExpiries.isEmpty());
+		assertEquals(0, subject.expiries.size());
 		// and:
 		long[] allPayerTs = Stream.of(aPayer, bPayer)
 				.flatMap(a -> Arrays.stream(a).boxed())
 				.mapToLong(Long::valueOf)
 				.toArray();
-		assertTrue(Arrays.stream(allPayerTs).mapToObj(t -> txnIdOf(t).toGrpc()).allMatch(txnHistories::containsKey));
+		assertTrue(Arrays.stream(allPayerTs).mapToObj(t -> TxnIdKey.from(txnIdOf(t))).allMatch(txnHistories::containsKey));
 		// and:
 		assertTrue(txnHistories.values().stream().noneMatch(TxnIdRecentHistory::isStagePending));
+		// and:
+		verify(runningAvgs).recordExpiryRestartMs(anyDouble());
+	}
+
+	@Test
+	public void talliesLedgerInSameScan() throws Exception {
+		// given:
+		assertNull(subject.lastLedgerTally());
+		// and:
+		givenAccount(a, aPayer);
+		givenAccount(b, bPayer);
+		accounts.get(new MerkleEntityId(0, 0, a)).setBalance(123L);
+
+		// when:
+		subject.restartTrackingFrom(accounts);
+
+		// then:
+		var tally = subject.lastLedgerTally();
+		assertEquals(123L, tally.total());
+		assertEquals("Bad account", tally.problem());
 	}
 
 	@Test
@@ -211,11 +277,33 @@ class ExpiryManagerTest {
 		subject.restartEntitiesTracking();
 
 		// then:
-		var e = subject.entityExpiries.allExpiries.poll();
-		assertEquals(schedule.getScheduleNum(), e.getId().getKey());
-		assertEquals(expiry, e.getExpiry());
+		assertFalse(subject.expiries.hasExpiringAt(expiry - 1));
+		var e = subject.expiries.expireNextNumAt(expiry);
+		assertEquals(ExpiryManager.EXPIRING_ENTITY, e >>> ExpiryManager.KIND_SHIFT);
+		var entity = (Pair<Long, Consumer<EntityId>>) subject.payloads[(int) (e & ExpiryManager.PAYLOAD_MASK)];
+		assertEquals(schedule.getScheduleNum(), entity.getKey());
 		// and:
-		assertTrue(subject.entityExpiries.allExpiries.isEmpty());
+		assertEquals(0, subject.expiries.size());
+	}
+
+	@Test
+	public void restartsEntitiesTrackingWithUnpackableNumsInOrder() {
+		// setup:
+		long hugeNum = 1L << 40;
+
+		givenSchedule(hugeNum);
+		givenSchedule(schedule.getScheduleNum());
+
+		// when:
+		subject.restartEntitiesTracking();
+
+		// then:
+		var first = (Pair<Long, Consumer<EntityId>>)
+				subject.payloads[(int) (subject.expiries.expireNextNumAt(expiry) & ExpiryManager.PAYLOAD_MASK)];
+		var second = (Pair<Long, Consumer<EntityId>>)
+				subject.payloads[(int) (subject.expiries.expireNextNumAt(expiry) & ExpiryManager.PAYLOAD_MASK)];
+		assertEquals(schedule.getScheduleNum(), first.getKey());
+		assertEquals(hugeNum, second.getKey());
 	}
 
 	private void givenAccount(long num, long[] payerExpiries) {
@@ -239,7 +327,7 @@ class ExpiryManagerTest {
 		// given:
 		var c = 13258L;
 		var rec = withExpiry(c);
-		var txnId = txnIdOf(c).toGrpc();
+		var txnId = TxnIdKey.from(txnIdOf(c));
 		// and:
 		subject.sharedNow = c;
 		// and:
@@ -261,7 +349,7 @@ class ExpiryManagerTest {
 		// given:
 		var c = 13258L;
 		var rec = withExpiry(c);
-		var txnId = txnIdOf(c).toGrpc();
+		var txnId = TxnIdKey.from(txnIdOf(c));
 		// and:
 		subject.sharedNow = c;
 		// and:
@@ -281,7 +369,7 @@ class ExpiryManagerTest {
 		// given:
 		var c = 13258L;
 		var rec = withExpiry(c);
-		var txnId = txnIdOf(c).toGrpc();
+		var txnId = TxnIdKey.from(txnIdOf(c));
 		// and:
 		subject.sharedNow = c;
 		txnHistories.remove(txnId);
@@ -298,7 +386,7 @@ class ExpiryManagerTest {
 		// and:
 		var history = mock(TxnIdRecentHistory.class);
 
-		txnHistories.put(txnIdOf(givenPayerNum).toGrpc(), history);
+		txnHistories.put(TxnIdKey.from(txnIdOf(givenPayerNum)), history);
 
 		// when:
 		subject.stage(rec);
@@ -326,8 +414,8 @@ class ExpiryManagerTest {
 	}
 
 	private ExpirableTxnRecord withExpiry(long t) {
-		var grpcTxn = txnIdOf(t).toGrpc();
-		txnHistories.put(grpcTxn, mock(TxnIdRecentHistory.class));
+		var key = TxnIdKey.from(txnIdOf(t));
+		txnHistories.put(key, mock(TxnIdRecentHistory.class));
 		var r = new ExpirableTxnRecord(
 				TxnReceipt.fromGrpc(TransactionReceipt.newBuilder().setStatus(SUCCESS).build()),
 				"NOPE".getBytes(),
@@ -351,24 +439,25 @@ class ExpiryManagerTest {
 	@Test
 	public void addsExpectedExpiryForPayer() {
 		// setup:
-		subject.payerExpiries = (MonotonicFullQueueExpiries<Long>) mock(MonotonicFullQueueExpiries.class);
+		subject.expiries = mock(TimerWheelExpiries.class);
 
 		// when:
 		subject.trackRecord(payer, expiry);
 
 		// then:
-		verify(subject.payerExpiries).track(Long.valueOf(13257), expiry);
+		verify(subject.expiries).trackNum(13257L, expiry);
 	}
 
 	@Test
 	public void addsExpectedExpiringEntity() {
 		// setup:
-		subject.entityExpiries = (MonotonicFullQueueExpiries<Pair<Long, Consumer<EntityId>>>) mock(MonotonicFullQueueExpiries.class);
+		subject.expiries = mock(TimerWheelExpiries.class);
 
 		// when:
 		subject.trackEntity(expiringEntity, expiry);
 
 		// then:
-		verify(subject.entityExpiries).track(expiringEntity, expiry);
+		verify(subject.expiries).trackNum(ExpiryManager.tagged(ExpiryManager.EXPIRING_ENTITY, 0), expiry);
+		assertSame(expiringEntity, subject.payloads[0]);
 	}
 }
@@ -0,0 +1,203 @@
+package com.hedera.services.state.expiry;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.core.jproto.TxnReceipt;
+import com.hedera.services.records.TxnIdKey;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.state.submerkle.RichInstant;
+import com.hedera.services.state.submerkle.TxnId;
+import com.hedera.services.state.validation.LedgerTally;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayerRecordsScanTest {
+	FCMap<MerkleEntityId, MerkleAccount> accounts;
+
+	PayerRecordsScan subject;
+
+	@BeforeEach
+	public void setup() {
+		accounts = new FCMap<>();
+
+		subject = new PayerRecordsScan(ForkJoinPool.commonPool(), 2);
+	}
+
+	@Test
+	public void mergesPartitionRunsInExpiryThenNumOrder() {
+		// setup:
+		List<long[]> expiries = new ArrayList<>();
+		List<TxnIdKey> txnIds = new ArrayList<>();
+
+		// given:
+		givenAccount(5, 100, 100, 300);
+		givenAccount(3, 200);
+		givenAccount(4, 100);
+		givenAccount(1, 300, 400);
+		givenAccount(2);
+
+		// when:
+		subject.scan(
+				accounts,
+				(txnId, record) -> txnIds.add(txnId),
+				(num, expiry) -> expiries.add(new long[] { num, expiry }));
+
+		// then:
+		assertEquals(3, subject.numPartitions);
+		assertEquals(6, subject.numExpiries);
+		assertEquals(7, txnIds.size());
+		// and:
+		long[][] expected = { { 4, 100 }, { 5, 100 }, { 3, 200 }, { 1, 300 }, { 5, 300 }, { 1, 400 } };
+		assertEquals(expected.length, expiries.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i][0], expiries.get(i)[0]);
+			assertEquals(expected[i][1], expiries.get(i)[1]);
+		}
+	}
+
+	@Test
+	public void mergesUnpackableExpiriesIntoGlobalOrder() {
+		// setup:
+		long hugeNum = 1L << 40;
+		long hugeExpiry = 1L << 33;
+		List<long[]> expiries = new ArrayList<>();
+
+		// given:
+		givenAccount(hugeNum, 50, 100, hugeExpiry);
+		givenAccount(1, 100, hugeExpiry);
+		givenAccount(2, 75);
+
+		// when:
+		subject.scan(accounts, (txnId, record) -> {}, (num, expiry) -> expiries.add(new long[] { num, expiry }));
+
+		// then:
+		assertEquals(6, subject.numExpiries);
+		long[][] expected = {
+				{ hugeNum, 50 }, { 2, 75 }, { 1, 100 }, { hugeNum, 100 }, { 1, hugeExpiry }, { hugeNum, hugeExpiry }
+		};
+		assertEquals(expected.length, expiries.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i][0], expiries.get(i)[0]);
+			assertEquals(expected[i][1], expiries.get(i)[1]);
+		}
+	}
+
+	@Test
+	public void mergesOutliersBeforeAndAfterEveryRun() {
+		// setup:
+		List<long[]> merged = new ArrayList<>();
+		List<long[]> outliers = new ArrayList<>(List.of(
+				new long[] { 1, 1L << 32 },
+				new long[] { -1, 7 },
+				new long[] { 3, -1 }));
+		long[] run = { PayerRecordsScan.packed(2, 7), PayerRecordsScan.packed(1, 9) };
+
+		// when:
+		int n = PayerRecordsScan.merge(List.of(run, new long[0]), new int[] { 2, 0 }, outliers, (num, expiry) ->
+				merged.add(new long[] { num, expiry }));
+
+		// then:
+		assertEquals(5, n);
+		long[][] expected = { { 3, -1 }, { -1, 7 }, { 2, 7 }, { 1, 9 }, { 1, 1L << 32 } };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i][0], merged.get(i)[0]);
+			assertEquals(expected[i][1], merged.get(i)[1]);
+		}
+	}
+
+	@Test
+	public void talliesEveryAccountAcrossPartitions() throws Exception {
+		// setup:
+		var tally = new LedgerTally(id -> id.getNum() == 3 ? "Bad account 3" : null);
+
+		// given:
+		for (long num = 1; num <= 5; num++) {
+			givenAccount(num, 100 * num);
+			accounts.get(new MerkleEntityId(0, 0, num)).setBalance(num);
+		}
+
+		// when:
+		subject.scan(accounts, (txnId, record) -> {}, (num, expiry) -> {}, tally);
+
+		// then:
+		assertEquals(3, subject.numPartitions);
+		assertEquals(15L, tally.total());
+		assertEquals("Bad account 3", tally.problem());
+	}
+
+	@Test
+	public void packingRoundTripsAndSortsAsExpected() {
+		// given:
+		long a = PayerRecordsScan.packed(0xFFFF_FFFFL, 1_600_000_000L);
+		long b = PayerRecordsScan.packed(1, 3_000_000_000L);
+
+		// expect:
+		assertEquals(0xFFFF_FFFFL, PayerRecordsScan.numOf(a));
+		assertEquals(1_600_000_000L, PayerRecordsScan.expiryOf(a));
+		assertEquals(3_000_000_000L, PayerRecordsScan.expiryOf(b));
+		assertTrue(a < b);
+		// and:
+		assertFalse(PayerRecordsScan.isPackable(-1, 1));
+		assertFalse(PayerRecordsScan.isPackable(1, 1L << 32));
+	}
+
+	private void givenAccount(long num, long... recordExpiries) {
+		var account = new MerkleAccount();
+		for (long expiry : recordExpiries) {
+			account.records().offer(recordWith(num, expiry));
+		}
+		accounts.put(new MerkleEntityId(0, 0, num), account);
+	}
+
+	private ExpirableTxnRecord recordWith(long payer, long expiry) {
+		var txnId = TransactionID.newBuilder()
+				.setAccountID(IdUtils.asAccount(String.format("0.0.%d", payer)))
+				.build();
+		var record = new ExpirableTxnRecord(
+				TxnReceipt.fromGrpc(TransactionReceipt.newBuilder().setStatus(SUCCESS).build()),
+				"NOPE".getBytes(),
+				TxnId.fromGrpc(txnId),
+				RichInstant.fromJava(Instant.now()),
+				null,
+				0,
+				null,
+				null,
+				null);
+		record.setExpiry(expiry);
+		return record;
+	}
+}
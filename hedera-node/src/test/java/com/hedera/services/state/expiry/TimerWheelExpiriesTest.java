@@ -0,0 +1,203 @@
+package com.hedera.services.state.expiry;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hedera.services.state.expiry.TimerWheelExpiries.NUM_WINDOWS;
+import static com.hedera.services.state.expiry.TimerWheelExpiries.SECONDS_PER_WINDOW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelExpiriesTest {
+	long k1 = 1, k2 = 2, k3 = 3;
+	long now = 1_234_567L;
+	long expiry1 = now + 50, expiry2 = now + 100, expiry3 = now + 1000;
+
+	TimerWheelExpiries subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new TimerWheelExpiries();
+		subject.hasExpiringAt(now);
+	}
+
+	@Test
+	public void behavesWithValidOps() {
+		// given:
+		subject.track(k1, expiry1);
+		subject.track(k2, expiry2);
+		subject.track(k3, expiry3);
+
+		// expect:
+		assertTrue(subject.hasExpiringAt(expiry1 + 1));
+		assertFalse(subject.hasExpiringAt(expiry1 - 1));
+
+		// when:
+		var firstExpired = subject.expireNextAt(expiry1);
+		var secondExpired = subject.expireNextAt(expiry2);
+
+		// then:
+		assertEquals(k1, firstExpired);
+		assertEquals(k2, secondExpired);
+		// and:
+		assertEquals(1, subject.size());
+		assertFalse(subject.hasExpiringAt(expiry2));
+		assertTrue(subject.hasExpiringAt(expiry3));
+	}
+
+	@Test
+	public void acceptsNonMonotonicExpiries() {
+		// given:
+		subject.track(k3, expiry3);
+		subject.track(k2, expiry2);
+		subject.track(k1, expiry1);
+
+		// expect:
+		assertEquals(k1, subject.expireNextNumAt(expiry3));
+		assertEquals(k2, subject.expireNextNumAt(expiry3));
+		assertEquals(k3, subject.expireNextNumAt(expiry3));
+	}
+
+	@Test
+	public void treatsPastExpiriesAsDue() {
+		// given:
+		subject.trackNum(k1, now - 10);
+
+		// expect:
+		assertTrue(subject.hasExpiringAt(now));
+		assertEquals(k1, subject.expireNextNumAt(now));
+	}
+
+	@Test
+	public void keepsTrackingOrderWithinSecondAcrossLevels() {
+		// setup:
+		long farExpiry = now + 3 * SECONDS_PER_WINDOW;
+		List<Long> expired = new ArrayList<>();
+
+		// given:
+		subject.trackNum(k1, farExpiry);
+		subject.trackNum(k2, farExpiry);
+		subject.hasExpiringAt(farExpiry - 10);
+		subject.trackNum(k3, farExpiry);
+
+		// when:
+		int n = subject.expireAllAt(farExpiry, expired::add);
+
+		// then:
+		assertEquals(3, n);
+		assertEquals(List.of(k1, k2, k3), expired);
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	public void keepsTrackingOrderWithinSecondAcrossCascadeBoundaries() {
+		// setup:
+		long veryFarExpiry = now + (NUM_WINDOWS + 3L) * SECONDS_PER_WINDOW;
+		long k4 = 4, k5 = 5;
+		List<Long> expired = new ArrayList<>();
+
+		// given:
+		subject.trackNum(k1, veryFarExpiry);
+		// and when the overflow cascades to the window level:
+		subject.hasExpiringAt(now + 3 * SECONDS_PER_WINDOW);
+		subject.trackNum(k2, veryFarExpiry);
+		// and when the window cascades to the seconds level:
+		subject.hasExpiringAt(veryFarExpiry - SECONDS_PER_WINDOW);
+		subject.trackNum(k3, veryFarExpiry);
+		// and when the second is reached:
+		subject.hasExpiringAt(veryFarExpiry - 1);
+		subject.trackNum(k4, veryFarExpiry);
+		subject.trackNum(k5, veryFarExpiry);
+
+		// when:
+		subject.expireAllAt(veryFarExpiry, expired::add);
+
+		// then:
+		assertEquals(List.of(k1, k2, k3, k4, k5), expired);
+	}
+
+	@Test
+	public void cascadesFromOverflow() {
+		// setup:
+		long veryFarExpiry = now + (NUM_WINDOWS + 3L) * SECONDS_PER_WINDOW;
+
+		// given:
+		subject.trackNum(k1, veryFarExpiry);
+		subject.trackNum(k2, now + 1);
+
+		// expect:
+		assertEquals(1, subject.numInOverflow);
+		assertEquals(k2, subject.expireNextNumAt(now + 1));
+		// and when:
+		assertFalse(subject.hasExpiringAt(veryFarExpiry - 1));
+		assertEquals(0, subject.numInOverflow);
+		assertEquals(k1, subject.expireNextNumAt(veryFarExpiry));
+	}
+
+	@Test
+	public void jumpsStraightToOverflowIfNothingNearer() {
+		// given:
+		subject = new TimerWheelExpiries();
+		subject.trackNum(k1, now);
+
+		// expect:
+		assertEquals(1, subject.numInOverflow);
+		assertTrue(subject.hasExpiringAt(now));
+		assertEquals(now, subject.cursor);
+	}
+
+	@Test
+	public void throwsOnExpiringEmpty() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.expireNextAt(now));
+	}
+
+	@Test
+	public void throwsOnExpiringPrematurely() {
+		// given:
+		subject.trackNum(k1, expiry1);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.expireNextNumAt(expiry1 - 1));
+	}
+
+	@Test
+	public void resetWorks() {
+		// given:
+		subject.trackNum(k1, expiry1);
+		subject.trackNum(k2, expiry3 + (NUM_WINDOWS + 3L) * SECONDS_PER_WINDOW);
+
+		// when:
+		subject.reset();
+
+		// then:
+		assertEquals(0, subject.size());
+		assertEquals(0L, subject.cursor);
+		assertFalse(subject.hasExpiringAt(expiry1));
+	}
+}
@@ -0,0 +1,105 @@
+package com.hedera.services.state.exports;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.stream.proto.SingleAccountBalances;
+import com.hedera.services.stream.proto.TokenUnitBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hedera.test.utils.IdUtils.asToken;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BalancesSnapshotTest {
+	BalancesSnapshot subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new BalancesSnapshot(1);
+	}
+
+	@Test
+	public void sortsRowsLikeAccountIds() {
+		// given:
+		subject.addAccount(0, 0, 1002, 1);
+		subject.addAccount(1, 0, 3, 2);
+		subject.addAccount(0, 0, 3, 3);
+		subject.addAccount(0, 1, 3, 4);
+		subject.addAccount(0, 0, 2, 5);
+
+		// expect:
+		assertEquals(5, subject.size());
+		assertArrayEquals(new int[] { 4, 2, 3, 1, 0 }, subject.sortedRows());
+	}
+
+	@Test
+	public void keepsTokenBalancesWithTheirAccounts() {
+		// setup:
+		var builder = SingleAccountBalances.newBuilder();
+
+		// given:
+		subject.addAccount(0, 0, 1002, 100);
+		subject.addTokenBalance(0, 0, 1004, 10);
+		subject.addTokenBalance(0, 0, 1005, 20);
+		subject.addAccount(0, 0, 1001, 200);
+		subject.addAccount(0, 0, 1003, 300);
+		subject.addTokenBalance(0, 0, 1004, 30);
+
+		// when:
+		var rows = subject.sortedRows();
+
+		// then:
+		assertEquals(
+				SingleAccountBalances.newBuilder()
+						.setAccountID(asAccount("0.0.1001"))
+						.setHbarBalance(200)
+						.build(),
+				subject.balancesAt(rows[0], builder));
+		assertEquals(
+				SingleAccountBalances.newBuilder()
+						.setAccountID(asAccount("0.0.1002"))
+						.setHbarBalance(100)
+						.addTokenUnitBalances(unitBalance("0.0.1004", 10))
+						.addTokenUnitBalances(unitBalance("0.0.1005", 20))
+						.build(),
+				subject.balancesAt(rows[1], builder));
+		assertEquals(
+				SingleAccountBalances.newBuilder()
+						.setAccountID(asAccount("0.0.1003"))
+						.setHbarBalance(300)
+						.addTokenUnitBalances(unitBalance("0.0.1004", 30))
+						.build(),
+				subject.balancesAt(rows[2], builder));
+	}
+
+	@Test
+	public void rejectsTokenBalanceWithoutAccount() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.addTokenBalance(0, 0, 1004, 10));
+	}
+
+	private TokenUnitBalance unitBalance(String token, long balance) {
+		return TokenUnitBalance.newBuilder().setTokenId(asToken(token)).setBalance(balance).build();
+	}
+}
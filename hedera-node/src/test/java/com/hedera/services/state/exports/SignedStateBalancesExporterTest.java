@@ -25,19 +25,24 @@ import com.hedera.services.config.MockGlobalDynamicProps;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.exceptions.NegativeAccountBalanceException;
+import com.hedera.services.legacy.proto.utils.CommonUtils;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityAssociation;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleToken;
 import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
 import com.hedera.services.stream.proto.AllAccountBalances;
 import com.hedera.services.stream.proto.SingleAccountBalances;
 import com.hedera.services.stream.proto.TokenUnitBalance;
+import com.hedera.services.utils.SystemExits;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
 import com.hedera.test.factories.accounts.MerkleAccountFactory;
 import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.TokenID;
 import com.swirlds.common.Address;
 import com.swirlds.common.AddressBook;
@@ -62,10 +67,11 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.UnaryOperator;
 
 import static com.hedera.services.state.exports.SignedStateBalancesExporter.GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL;
-import static com.hedera.services.state.exports.SignedStateBalancesExporter.SINGLE_ACCOUNT_BALANCES_COMPARATOR;
 import static com.hedera.services.state.exports.SignedStateBalancesExporter.b64Encode;
 import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
 import static com.hedera.services.state.merkle.MerkleEntityId.fromAccountId;
@@ -73,16 +79,18 @@ import static com.hedera.services.state.merkle.MerkleEntityId.fromTokenId;
 import static com.hedera.test.utils.IdUtils.asAccount;
 import static com.hedera.test.utils.IdUtils.asToken;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(LogCaptureExtension.class)
@@ -112,7 +120,6 @@ class SignedStateBalancesExporterTest {
 	long secondNonNodeDeletedTokenBalance = 100;
 
 	byte[] sig = "not-really-a-sig".getBytes();
-	byte[] fileHash = "not-really-a-hash".getBytes();
 
 	MerkleAccount thisNodeAccount, anotherNodeAccount, firstNonNodeAccount, secondNonNodeAccount, deletedAccount;
 
@@ -126,8 +133,10 @@ class SignedStateBalancesExporterTest {
 	PropertySource properties;
 	UnaryOperator<byte[]> signer;
 	SigFileWriter sigFileWriter;
-	FileHashReader hashReader;
 	DirectoryAssurance assurance;
+	MiscRunningAvgs runningAvgs;
+	MiscSpeedometers speedometers;
+	SystemExits systemExits;
 
 	@Inject
 	private LogCaptor logCaptor;
@@ -165,6 +174,10 @@ class SignedStateBalancesExporterTest {
 		tokenRels.put(
 				fromAccountTokenRel(secondNonNode, theDeletedToken),
 				new MerkleTokenRelStatus(secondNonNodeDeletedTokenBalance, false, true));
+		/* As children of a signed state, the maps are already referenced once */
+		accounts.incrementReferenceCount();
+		tokens.incrementReferenceCount();
+		tokenRels.incrementReferenceCount();
 
 		assurance = mock(DirectoryAssurance.class);
 
@@ -189,13 +202,14 @@ class SignedStateBalancesExporterTest {
 		given(state.addressBook()).willReturn(book);
 
 		signer = mock(UnaryOperator.class);
-		given(signer.apply(fileHash)).willReturn(sig);
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		given(signer.apply(any())).willReturn(sig);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		speedometers = mock(MiscSpeedometers.class);
+		systemExits = mock(SystemExits.class);
+		subject = exporterWith(dynamicProperties);
 
 		sigFileWriter = mock(SigFileWriter.class);
-		hashReader = mock(FileHashReader.class);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 	}
 
 	@Test
@@ -207,7 +221,7 @@ class SignedStateBalancesExporterTest {
 				return "not/a/real/location";
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = exporterWith(otherDynamicProperties);
 
 		// given:
 		subject.directories = assurance;
@@ -225,7 +239,7 @@ class SignedStateBalancesExporterTest {
 		// setup:
 		var loc = expectedExportLoc();
 
-		given(hashReader.readHash(loc)).willThrow(IllegalStateException.class);
+		given(signer.apply(any())).willThrow(IllegalStateException.class);
 
 		// when:
 		subject.exportProto = false;
@@ -278,15 +292,13 @@ class SignedStateBalancesExporterTest {
 		tokens.put(new MerkleEntityId(0, 0, 1001), token);
 		tokens.put(new MerkleEntityId(0, 0, 1002), token);
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 		given(properties.getLongProperty("ledger.totalTinyBarFloat"))
 				.willReturn(5000000000000000000L);
-		given(signer.apply(fileHash)).willReturn(sig);
+		given(signer.apply(any())).willReturn(sig);
 		// and:
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = exporterWith(dynamicProperties);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 
 		// when:
 		subject.exportProto = false;
@@ -302,7 +314,7 @@ class SignedStateBalancesExporterTest {
 		assertEquals("0,0,2,4999999999999999920,CggKAxjpBxCaBQoICgMY6gcQvAM=", lines.get(4));
 		assertEquals("0,0,3,80,CggKAxjqBxDNAg==", lines.get(5));
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		assertThat(logCaptor.debugLogs(), contains(desiredDebugMsg));
 
@@ -318,7 +330,6 @@ class SignedStateBalancesExporterTest {
 		var loc = expectedExportLoc();
 		var desiredDebugMsg = String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, loc + "_sig");
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 
 		// when:
@@ -343,7 +354,7 @@ class SignedStateBalancesExporterTest {
 					entry.getTokenUnitBalancesList().size() > 0 ? b64Encode(entry) : ""), lines.get(i + 3));
 		}
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		assertThat(logCaptor.debugLogs(), contains(desiredDebugMsg));
 
@@ -360,9 +371,8 @@ class SignedStateBalancesExporterTest {
 				return false;
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = exporterWith(otherDynamicProperties);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 
 		// when:
 		subject.exportProto = false;
@@ -396,7 +406,6 @@ class SignedStateBalancesExporterTest {
 		var loc = expectedExportLoc(true);
 		var desiredDebugMsg = String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, loc + "_sig");
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 
 		// when:
@@ -424,7 +433,7 @@ class SignedStateBalancesExporterTest {
 		}
 
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		assertThat(logCaptor.debugLogs(), contains(desiredDebugMsg));
 
@@ -441,7 +450,7 @@ class SignedStateBalancesExporterTest {
 				return "not/a/real/location";
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = exporterWith(otherDynamicProperties);
 
 		// given:
 		subject.directories = assurance;
@@ -460,8 +469,6 @@ class SignedStateBalancesExporterTest {
 		// setup:
 		var loc = expectedExportLoc(true);
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
-
 		// when: Pretend the .csv file is a corrupted .pb file
 		subject.exportProto = false;
 		subject.exportBalancesFrom(state, now);
@@ -522,22 +529,76 @@ class SignedStateBalancesExporterTest {
 	}
 
 	@Test
-	public void testSingleAccountBalancingSort() {
-		// given:
-		List<SingleAccountBalances> expectedBalances = theExpectedBalances();
-		List<SingleAccountBalances> sorted = new ArrayList<>();
-		sorted.addAll(expectedBalances);
+	public void streamsProtoIdenticalToInMemoryMessage() throws IOException {
+		// setup:
+		var loc = expectedExportLoc(true);
+		var csvLoc = expectedExportLoc();
+		List<SingleAccountBalances> expectedBalances = new ArrayList<>(theExpectedBalances());
+		for (int i = 0; i < 2 * SignedStateBalancesExporter.BATCH_SIZE + 3; i++) {
+			var id = asAccount(String.format("0.0.%d", 2_000 + i));
+			accounts.put(fromAccountId(id), MerkleAccountFactory.newAccount().get());
+			expectedBalances.add(SingleAccountBalances.newBuilder().setAccountID(id).build());
+		}
+		// and:
+		var writers = Executors.newFixedThreadPool(SignedStateBalancesExporter.NUM_WRITER_THREADS);
+		subject.writerExecutor = writers;
+
+		// when:
+		subject.exportBalancesFrom(state, now);
 
-		SingleAccountBalances singleAccountBalances = sorted.remove(0);
-		sorted.add(singleAccountBalances);
+		// then:
+		var expected = AllAccountBalances.newBuilder()
+				.setConsensusTimestamp(Timestamp.newBuilder()
+						.setSeconds(now.getEpochSecond())
+						.setNanos(now.getNano()))
+				.addAllAllAccounts(expectedBalances)
+				.build();
+		assertArrayEquals(expected.toByteArray(), Files.readAllBytes(Paths.get(loc)));
+		assertEquals(expectedBalances.size() + 3, Files.readAllLines(Paths.get(csvLoc)).size());
+		// and:
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
+		verify(sigFileWriter).writeSigFile(csvLoc, sig, sha384Of(csvLoc));
 
-		assertNotEquals(expectedBalances, sorted);
-		// when
-		sorted.sort(SINGLE_ACCOUNT_BALANCES_COMPARATOR);
+		// cleanup:
+		writers.shutdown();
+		new File(loc).delete();
+		new File(csvLoc).delete();
+	}
+
+	@Test
+	public void skipsExportIfPreviousStillPending() {
+		// setup:
+		var desiredWarning = String.format(SignedStateBalancesExporter.SKIPPED_EXPORT_WARN_MSG_TPL, now);
+		subject.exportExecutor = ignore -> {
+			throw new RejectedExecutionException();
+		};
+
+		// when:
+		subject.exportBalancesFrom(state, now);
 
 		// then:
-		assertEquals(expectedBalances, sorted);
+		verify(speedometers).cycleSkippedBalancesExports();
+		assertThat(logCaptor.warnLogs(), hasItem(desiredWarning));
+		assertFalse(new File(expectedExportLoc()).exists());
+	}
+
+	@Test
+	public void recordsStageLatencies() {
+		// setup:
+		var loc = expectedExportLoc();
+		var protoLoc = expectedExportLoc(true);
 
+		// when:
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		verify(runningAvgs).recordBalancesSnapshotMs(anyDouble());
+		verify(runningAvgs).recordBalancesWriteMs(anyDouble());
+		verify(runningAvgs).recordBalancesSignMs(anyDouble());
+
+		// cleanup:
+		new File(loc).delete();
+		new File(protoLoc).delete();
 	}
 
 	@Test
@@ -553,7 +614,12 @@ class SignedStateBalancesExporterTest {
 
 		// then:
 		assertEquals(ledgerFloat, summary.getTotalFloat().longValue());
-		assertEquals(expectedBalances, summary.getOrderedBalances());
+		var snapshot = summary.getSnapshot();
+		List<SingleAccountBalances> actualBalances = new ArrayList<>();
+		for (int row : snapshot.sortedRows()) {
+			actualBalances.add(snapshot.balancesAt(row, SingleAccountBalances.newBuilder()));
+		}
+		assertEquals(expectedBalances, actualBalances);
 		// and:
 		assertThat(logCaptor.warnLogs(), contains(desiredWarning));
 	}
@@ -599,13 +665,75 @@ class SignedStateBalancesExporterTest {
 	}
 
 	@Test
-	public void throwsOnUnexpectedTotalFloat() throws NegativeAccountBalanceException {
+	public void exitsOnUnexpectedTotalFloat() throws NegativeAccountBalanceException {
+		// setup:
+		var desiredError = String.format(
+				SignedStateBalancesExporter.INVALID_FLOAT_ERROR_MSG_TPL, now, ledgerFloat + 1, ledgerFloat);
+
 		// given:
 		anotherNodeAccount.setBalance(anotherNodeBalance + 1);
 
+		// when:
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		verify(systemExits).fail(1);
+		assertThat(logCaptor.errorLogs(), contains(desiredError));
+		assertFalse(new File(expectedExportLoc()).exists());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void retainsMapsUntilSummarizedOffCallingThread() {
+		// setup:
+		FCMap<MerkleEntityId, MerkleToken> retainedTokens = mock(FCMap.class);
+		FCMap<MerkleEntityId, MerkleAccount> retainedAccounts = mock(FCMap.class);
+		FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> retainedRels = mock(FCMap.class);
+		List<Runnable> handedOff = new ArrayList<>();
+		subject.exportExecutor = handedOff::add;
+
+		given(state.tokens()).willReturn(retainedTokens);
+		given(state.accounts()).willReturn(retainedAccounts);
+		given(state.tokenAssociations()).willReturn(retainedRels);
+
+		// when:
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		verify(retainedAccounts, never()).entrySet();
+		verify(retainedAccounts).incrementReferenceCount();
+		verify(retainedTokens).incrementReferenceCount();
+		verify(retainedRels).incrementReferenceCount();
+		verify(retainedAccounts, never()).decrementReferenceCount();
+
+		// and when:
+		handedOff.get(0).run();
+
 		// then:
-		assertThrows(IllegalStateException.class,
-				() -> subject.exportBalancesFrom(state, now));
+		verify(retainedAccounts).entrySet();
+		verify(retainedAccounts).decrementReferenceCount();
+		verify(retainedTokens).decrementReferenceCount();
+		verify(retainedRels).decrementReferenceCount();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void releasesMapsOfSkippedExport() {
+		// setup:
+		FCMap<MerkleEntityId, MerkleAccount> retainedAccounts = mock(FCMap.class);
+		subject.exportExecutor = ignore -> {
+			throw new RejectedExecutionException();
+		};
+
+		given(state.accounts()).willReturn(retainedAccounts);
+
+		// when:
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		verify(retainedAccounts).incrementReferenceCount();
+		verify(retainedAccounts).decrementReferenceCount();
+		verify(retainedAccounts, never()).entrySet();
 	}
 
 	@Test
@@ -638,13 +766,13 @@ class SignedStateBalancesExporterTest {
 	public void exportsWhenPeriodSecsHaveElapsed() {
 		Instant startTime = Instant.parse("2021-03-11T10:59:59.0Z");
 
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = exporterWith(dynamicProperties);
 		assertFalse(subject.isTimeToExport(startTime));
 		assertEquals(startTime, subject.periodBegin);
 		assertTrue(subject.isTimeToExport(startTime.plusSeconds(1)));
 		assertEquals(startTime.plusSeconds(1), subject.periodBegin);
 
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = exporterWith(dynamicProperties);
 		assertFalse(subject.isTimeToExport(startTime));
 		assertTrue(subject.isTimeToExport(startTime.plusSeconds(2)));
 		assertEquals(startTime.plusSeconds(2), subject.periodBegin);
@@ -663,7 +791,7 @@ class SignedStateBalancesExporterTest {
 		assertTrue(subject.isTimeToExport(anEternityLater));
 		assertEquals(anEternityLater, subject.periodBegin);
 
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = exporterWith(dynamicProperties);
 		startTime = Instant.parse("2021-03-11T10:59:59.0Z");
 		assertFalse(subject.isTimeToExport(startTime));
 	}
@@ -676,6 +804,18 @@ class SignedStateBalancesExporterTest {
 				.forEach(File::delete);
 	}
 
+	private SignedStateBalancesExporter exporterWith(GlobalDynamicProperties props) {
+		var exporter = new SignedStateBalancesExporter(properties, signer, props, runningAvgs, speedometers);
+		exporter.exportExecutor = Runnable::run;
+		exporter.writerExecutor = Runnable::run;
+		exporter.systemExits = systemExits;
+		return exporter;
+	}
+
+	static byte[] sha384Of(String loc) throws IOException {
+		return CommonUtils.noThrowSha384HashOf(Files.readAllBytes(Paths.get(loc)));
+	}
+
 	static Optional<AllAccountBalances> importBalanceProtoFile(String protoLoc) {
 		try {
 			FileInputStream fin = new FileInputStream(protoLoc);
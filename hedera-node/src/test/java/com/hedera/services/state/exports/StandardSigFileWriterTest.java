@@ -21,6 +21,7 @@ package com.hedera.services.state.exports;
  */
 
 import com.google.common.primitives.Ints;
+import com.hedera.services.legacy.proto.utils.CommonUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -40,7 +41,6 @@ class StandardSigFileWriterTest {
 	String toSign = "src/test/resources/bootstrap/standard.properties";
 	String cannotSign = "src/test/resources/oops/bootstrap/not-so-standard.properties";
 	byte[] pretendSig = "not-really-a-sig-at-all".getBytes();
-	FileHashReader hashReader = new Sha384HashReader();
 
 	SigFileWriter subject = new StandardSigFileWriter();
 
@@ -54,7 +54,7 @@ class StandardSigFileWriterTest {
 	@Test
 	public void writesExpectedFile() throws Exception {
 		// setup:
-		var hash = hashReader.readHash(toSign);
+		var hash = CommonUtils.noThrowSha384HashOf(Files.readAllBytes(Paths.get(toSign)));
 
 		// given:
 		var expectedWritten = legacy(toSign, pretendSig, hash);
@@ -63,6 +63,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -295,6 +296,7 @@ public class MerkleScheduleTest {
 		assertEquals(subject, other);
 		// and:
 		assertEquals(subject.hashCode(), other.hashCode());
+		assertEquals(subject.contentHash(), other.contentHash());
 	}
 
 	@Test
@@ -312,6 +314,7 @@ public class MerkleScheduleTest {
 		assertNotEquals(subject, other);
 		// and:
 		assertNotEquals(subject.hashCode(), other.hashCode());
+		assertNotEquals(subject.contentHash(), other.contentHash());
 	}
 
 	@Test
@@ -329,6 +332,7 @@ public class MerkleScheduleTest {
 		assertNotEquals(subject, other);
 		// and:
 		assertNotEquals(subject.hashCode(), other.hashCode());
+		assertNotEquals(subject.contentHash(), other.contentHash());
 	}
 
 	@Test
@@ -346,6 +350,7 @@ public class MerkleScheduleTest {
 		assertNotEquals(subject, other);
 		// and:
 		assertNotEquals(subject.hashCode(), other.hashCode());
+		assertNotEquals(subject.contentHash(), other.contentHash());
 	}
 
 	@Test
@@ -433,31 +438,72 @@ public class MerkleScheduleTest {
 	}
 
 	@Test
-	public void cavWorks() {
-		// setup:
-		subject.markDeleted(resolutionTime);
-		subject.markExecuted(resolutionTime);
-		subject.witnessValidEd25519Signature(tpk);
+	public void contentHashIsFixedSizeAndCached() {
+		// given:
+		var hash = subject.contentHash();
+
+		// expect:
+		assertEquals(48, hash.size());
+		assertSame(hash, subject.contentHash());
+		assertSame(hash, subject.copy().contentHash());
+	}
+
+	@Test
+	public void contentHashTracksMemoChanges() {
+		// given:
+		var hash = subject.contentHash();
+
+		// when:
+		subject.setMemo(otherEntityMemo);
+
+		// then:
+		assertNotEquals(hash, subject.contentHash());
+	}
+
+	@Test
+	public void contentHashDistinguishesAbsentFromEmptyMemo() {
+		// given:
+		other = MerkleSchedule.from(bodyBytes, expiry);
+
+		// when:
+		subject.setMemo(null);
+		other.setMemo("");
 
+		// then:
+		assertNotEquals(subject.contentHash(), other.contentHash());
+	}
+
+	@Test
+	public void notaryIsIndependentOfWitnessOrder() {
 		// given:
-		var cavSubject = subject.toContentAddressableView();
+		subject.witnessValidEd25519Signature(tpk);
+		subject.witnessValidEd25519Signature(spk);
+		subject.witnessValidEd25519Signature(fpk);
 
 		// expect:
-		assertFalse(cavSubject.isDeleted());
-		assertFalse(cavSubject.isExecuted());
-		assertFalse(cavSubject.hasValidEd25519Signature(tpk));
+		assertTrue(subject.hasValidEd25519Signature(fpk.clone()));
+		assertTrue(subject.hasValidEd25519Signature(spk.clone()));
+		assertTrue(subject.hasValidEd25519Signature(tpk.clone()));
+		assertFalse(subject.hasValidEd25519Signature("fourthPretendKey".getBytes()));
+		assertFalse(subject.witnessValidEd25519Signature(spk.clone()));
 		// and:
-		assertNotEquals(subject.toString(), cavSubject.toString());
-		assertTrue(cavSubject.signatories().isEmpty());
-		// and:
-		assertNull(cavSubject.payer());
-		assertEquals(0L, cavSubject.expiry());
-		assertNull(cavSubject.schedulingAccount());
-		assertEquals(entityMemo, cavSubject.memo().get());
-		assertEquals(TxnHandlingScenario.TOKEN_ADMIN_KT.asKey(), cavSubject.grpcAdminKey());
-		assertNull(cavSubject.schedulingTXValidStart());
-		assertEquals(scheduledTxn, cavSubject.scheduledTxn());
-		assertNull(cavSubject.bodyBytes());
+		assertEquals(List.of(tpk, spk, fpk), subject.signatories());
+	}
+
+	@Test
+	public void copyDoesNotSeeLaterWitnesses() {
+		// given:
+		subject.witnessValidEd25519Signature(fpk);
+		var copySubject = subject.copy();
+
+		// when:
+		copySubject.witnessValidEd25519Signature(spk);
+
+		// then:
+		assertFalse(subject.hasValidEd25519Signature(spk));
+		assertEquals(1, subject.signatories().size());
+		assertTrue(copySubject.hasValidEd25519Signature(fpk));
+		assertTrue(copySubject.hasValidEd25519Signature(spk));
 	}
 
 	private String signatoriesToString() {
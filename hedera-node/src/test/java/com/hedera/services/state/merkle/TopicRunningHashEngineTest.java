@@ -0,0 +1,171 @@
+package com.hedera.services.state.merkle;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicRunningHashEngineTest {
+	TopicRunningHashEngine subject = new TopicRunningHashEngine();
+
+	@Test
+	public void matchesGoldenVectors() {
+		// setup:
+		byte[] ascending = new byte[48];
+		for (int i = 0; i < ascending.length; i++) {
+			ascending[i] = (byte) i;
+		}
+		byte[] big = new byte[6144];
+		for (int i = 0; i < big.length; i++) {
+			big[i] = (byte) (i * 31);
+		}
+		byte[] longPrev = new byte[300];
+		Arrays.fill(longPrev, (byte) 0x5a);
+
+		// expect:
+		assertEquals(
+				"3b7ce41918442ecfcbf61d9436e3dd6ec3e8e7c58ad1dbf54f2294865008dd27964a9aa051156305f61c2aeab0041db2",
+				Hex.encodeHexString(subject.nextRunningHash(
+						new byte[48], 3,
+						0, 0, 2,
+						0, 0, 1001,
+						1_600_000_000L, 123, 1,
+						"Hello, HCS!".getBytes(StandardCharsets.UTF_8))));
+		assertEquals(
+				"436ac59c74e88462783d7018f8b0b8ba59b558eacf9f19ecaf5d7aad9226201242aec0e627dbc3016e63fd61d30f9d04",
+				Hex.encodeHexString(subject.nextRunningHash(
+						ascending, 3,
+						1, 2, 98765,
+						1, 2, 43210,
+						1_617_000_000L, 999_999_999, Long.MAX_VALUE,
+						big)));
+		assertEquals(
+				"ccf634ae0dbfd91d3bc7017c6c9bb7932afd398235b343dd6ee0cb8abc9c811a27d8c26cb2effa4bd9c53d75c548c0b1",
+				Hex.encodeHexString(subject.nextRunningHash(
+						longPrev, 3,
+						0, 0, 0,
+						0, 0, 0,
+						0, 0, 0,
+						new byte[0])));
+	}
+
+	@Test
+	public void agreesWithObjectStreamReferenceOnRandomInputs() throws Exception {
+		// setup:
+		var r = new SplittableRandom(1_234_567L);
+
+		for (int i = 0; i < 500; i++) {
+			// given:
+			byte[] prev = new byte[r.nextInt(10) == 0 ? r.nextInt(1024) : 48];
+			byte[] message = new byte[r.nextInt(4096)];
+			fill(r, prev);
+			fill(r, message);
+			long[] longs = new long[9];
+			for (int j = 0; j < longs.length; j++) {
+				longs[j] = r.nextLong();
+			}
+			int nanos = r.nextInt(1_000_000_000);
+
+			// when:
+			var actual = subject.nextRunningHash(
+					prev, longs[0],
+					longs[1], longs[2], longs[3],
+					longs[4], longs[5], longs[6],
+					longs[7], nanos, longs[8],
+					message);
+
+			// then:
+			assertArrayEquals(legacyRunningHash(prev, longs, nanos, message), actual);
+		}
+	}
+
+	@Test
+	public void growsBufferForLongPreviousHashes() {
+		// given:
+		int initialCapacity = subject.bufferCapacity();
+
+		// when:
+		subject.nextRunningHash(
+				new byte[4 * initialCapacity], 3,
+				0, 0, 2,
+				0, 0, 1001,
+				1_600_000_000L, 0, 1,
+				new byte[0]);
+
+		// then:
+		assertTrue(subject.bufferCapacity() > 4 * initialCapacity);
+	}
+
+	@Test
+	public void currentIsThreadConfined() throws Exception {
+		// given:
+		var here = TopicRunningHashEngine.current();
+
+		// when:
+		var there = CompletableFuture.supplyAsync(TopicRunningHashEngine::current).get();
+
+		// then:
+		assertSame(here, TopicRunningHashEngine.current());
+		assertNotSame(here, there);
+	}
+
+	private static void fill(SplittableRandom r, byte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) r.nextInt(256);
+		}
+	}
+
+	private static byte[] legacyRunningHash(
+			byte[] prev,
+			long[] longs,
+			int nanos,
+			byte[] message
+	) throws IOException, NoSuchAlgorithmException {
+		var boas = new ByteArrayOutputStream();
+		try (var out = new ObjectOutputStream(boas)) {
+			out.writeObject(prev);
+			for (int i = 0; i < 8; i++) {
+				out.writeLong(longs[i]);
+			}
+			out.writeInt(nanos);
+			out.writeLong(longs[8]);
+			out.writeObject(MessageDigest.getInstance("SHA-384").digest(message));
+			out.flush();
+			return MessageDigest.getInstance("SHA-384").digest(boas.toByteArray());
+		}
+	}
+}
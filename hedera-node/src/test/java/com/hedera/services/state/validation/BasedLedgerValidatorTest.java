@@ -32,9 +32,10 @@ import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static com.hedera.services.state.submerkle.EntityId.MISSING_ENTITY_ID;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
@@ -71,7 +72,7 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(50L));
 
 		// expect:
-		assertTrue(subject.hasExpectedTotalBalance(accounts));
+		assertDoesNotThrow(() -> subject.validate(accounts));
 	}
 
 	@Test
@@ -81,7 +82,7 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(51L));
 
 		// expect:
-		assertFalse(subject.hasExpectedTotalBalance(accounts));
+		assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
 	}
 
 	@Test
@@ -90,7 +91,7 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm, 3L), expectedWith(100L));
 
 		// expect:
-		assertDoesNotThrow(() -> subject.assertIdsAreValid(accounts));
+		assertDoesNotThrow(() -> subject.validate(accounts));
 	}
 
 	@Test
@@ -101,7 +102,7 @@ class BasedLedgerValidatorTest {
 				expectedWith(dynamicProperties.maxAccountNum()));
 
 		// expect:
-		assertThrows(IllegalStateException.class, () -> subject.assertIdsAreValid(accounts));
+		assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
 	}
 
 	@Test
@@ -110,7 +111,7 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm, 0L), expectedWith(100L));
 
 		// expect:
-		assertThrows(IllegalStateException.class, () -> subject.assertIdsAreValid(accounts));
+		assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
 	}
 
 	@Test
@@ -121,7 +122,7 @@ class BasedLedgerValidatorTest {
 				expectedWith(100L));
 
 		// expect:
-		assertThrows(IllegalStateException.class, () -> subject.assertIdsAreValid(accounts));
+		assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
 	}
 
 	@Test
@@ -130,7 +131,61 @@ class BasedLedgerValidatorTest {
 		accounts.put(new MerkleEntityId(shard, realm - 1, 3L), expectedWith(100L));
 
 		// expect:
-		assertThrows(IllegalStateException.class, () -> subject.assertIdsAreValid(accounts));
+		assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
+	}
+
+	@Test
+	public void validatesTallyFromAnotherScan() throws NegativeAccountBalanceException {
+		// setup:
+		var goodTally = subject.newTally();
+		var badTally = subject.newTally();
+
+		// given:
+		goodTally.add(new MerkleEntityId(shard, realm, 1L), expectedWith(60L));
+		goodTally.add(new MerkleEntityId(shard, realm, 2L), expectedWith(40L));
+		// and:
+		badTally.add(new MerkleEntityId(shard, realm - 1, 1L), expectedWith(100L));
+
+		// expect:
+		assertDoesNotThrow(() -> subject.validate(goodTally));
+		var e = assertThrows(IllegalStateException.class, () -> subject.validate(badTally));
+		assertTrue(e.getMessage().contains("Invalid realm"));
+	}
+
+	@Test
+	public void validatesAcrossPartitions() throws NegativeAccountBalanceException {
+		// setup:
+		subject = new BasedLedgerValidator(hederaNums, properties, dynamicProperties, ForkJoinPool.commonPool(), 2);
+
+		// given:
+		for (long num = 1; num <= 5; num++) {
+			accounts.put(new MerkleEntityId(shard, realm, num), expectedWith(20L));
+		}
+
+		// expect:
+		assertDoesNotThrow(() -> subject.validate(accounts));
+		// and when:
+		accounts.put(new MerkleEntityId(shard, realm, 6L), expectedWith(1L));
+		var e = assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
+		// then:
+		assertTrue(e.getMessage().contains("101"));
+	}
+
+	@Test
+	public void reportsBadIdBeforeBadFloat() throws NegativeAccountBalanceException {
+		// setup:
+		subject = new BasedLedgerValidator(hederaNums, properties, dynamicProperties, ForkJoinPool.commonPool(), 2);
+
+		// given:
+		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(1L));
+		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(1L));
+		accounts.put(new MerkleEntityId(shard, realm, 0L), expectedWith(1L));
+
+		// when:
+		var e = assertThrows(IllegalStateException.class, () -> subject.validate(accounts));
+
+		// then:
+		assertTrue(e.getMessage().startsWith("Invalid num"));
 	}
 
 	private MerkleAccount expectedWith(long balance) throws NegativeAccountBalanceException {
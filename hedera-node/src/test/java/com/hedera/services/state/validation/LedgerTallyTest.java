@@ -0,0 +1,82 @@
+package com.hedera.services.state.validation;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.exceptions.NegativeAccountBalanceException;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LedgerTallyTest {
+	MerkleEntityId good = new MerkleEntityId(0, 0, 2);
+	MerkleEntityId firstBad = new MerkleEntityId(0, 0, 0);
+	MerkleEntityId secondBad = new MerkleEntityId(1, 0, 2);
+
+	LedgerTally subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new LedgerTally(id -> id.equals(good) ? null : ("Bad " + id.toAbbrevString()));
+	}
+
+	@Test
+	public void keepsFirstProblemAndSumsBalances() throws NegativeAccountBalanceException {
+		// when:
+		subject.add(good, withBalance(1L));
+		subject.add(firstBad, withBalance(2L));
+		subject.add(secondBad, withBalance(3L));
+
+		// then:
+		assertEquals(6L, subject.total());
+		assertEquals("Bad " + firstBad.toAbbrevString(), subject.problem());
+	}
+
+	@Test
+	public void mergesLaterTallyInOrder() throws NegativeAccountBalanceException {
+		// given:
+		var earlier = subject.fresh();
+		var later = subject.fresh();
+		// and:
+		earlier.add(good, withBalance(1L));
+		later.add(secondBad, withBalance(2L));
+
+		// when:
+		subject.addAll(earlier);
+		// then:
+		assertNull(subject.problem());
+
+		// and when:
+		subject.addAll(later);
+		// then:
+		assertEquals(3L, subject.total());
+		assertEquals("Bad " + secondBad.toAbbrevString(), subject.problem());
+	}
+
+	private MerkleAccount withBalance(long balance) throws NegativeAccountBalanceException {
+		var account = new MerkleAccount();
+		account.setBalance(balance);
+		return account;
+	}
+}
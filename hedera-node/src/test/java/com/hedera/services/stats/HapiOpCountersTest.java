@@ -96,6 +96,10 @@ class HapiOpCountersTest {
 		assertFalse(subject.submittedTxns.containsKey(NONE));
 		assertFalse(subject.answeredQueries.containsKey(NONE));
 		assertFalse(subject.handledTxns.containsKey(NONE));
+		// and:
+		assertTrue(subject.feeEstimationNanos.containsKey(CryptoTransfer));
+		assertTrue(subject.feeEstimationNanos.containsKey(TokenGetInfo));
+		assertFalse(subject.feeEstimationNanos.containsKey(NONE));
 	}
 
 	@Test
@@ -106,6 +110,7 @@ class HapiOpCountersTest {
 		StatEntry transferHdl = mock(StatEntry.class);
 		StatEntry tokenInfoRcv = mock(StatEntry.class);
 		StatEntry tokenInfoAns = mock(StatEntry.class);
+		StatEntry transferFeeEst = mock(StatEntry.class);
 		// and:
 		var xferRcvName = String.format(ServicesStatsConfig.COUNTER_RECEIVED_NAME_TPL, "CryptoTransfer");
 		var xferSubName = String.format(ServicesStatsConfig.COUNTER_SUBMITTED_NAME_TPL, "CryptoTransfer");
@@ -120,6 +125,9 @@ class HapiOpCountersTest {
 		// and:
 		var infoRcvDesc = String.format(ServicesStatsConfig.COUNTER_RECEIVED_DESC_TPL, "TokenGetInfo");
 		var infoAnsDesc = String.format(ServicesStatsConfig.COUNTER_ANSWERED_DESC_TPL, "TokenGetInfo");
+		// and:
+		var xferFeeEstName = String.format(ServicesStatsConfig.COUNTER_FEE_ESTIMATION_NAME_TPL, "CryptoTransfer");
+		var xferFeeEstDesc = String.format(ServicesStatsConfig.COUNTER_FEE_ESTIMATION_DESC_TPL, "CryptoTransfer");
 
 		given(factory.from(
 				argThat(xferRcvName::equals),
@@ -142,6 +150,10 @@ class HapiOpCountersTest {
 				argThat(infoAnsName::equals),
 				argThat(infoAnsDesc::equals),
 				any())).willReturn(tokenInfoAns);
+		given(factory.from(
+				argThat(xferFeeEstName::equals),
+				argThat(xferFeeEstDesc::equals),
+				any())).willReturn(transferFeeEst);
 
 		// when:
 		subject.registerWith(platform);
@@ -152,6 +164,7 @@ class HapiOpCountersTest {
 		verify(platform).addAppStatEntry(transferHdl);
 		verify(platform).addAppStatEntry(tokenInfoRcv);
 		verify(platform).addAppStatEntry(tokenInfoAns);
+		verify(platform).addAppStatEntry(transferFeeEst);
 	}
 
 	@Test
@@ -206,6 +219,9 @@ class HapiOpCountersTest {
 		subject.countReceived(TokenGetInfo);
 		subject.countAnswered(TokenGetInfo);
 		subject.countAnswered(TokenGetInfo);
+		// and:
+		subject.countFeeEstimationNanos(CryptoTransfer, 1_500L);
+		subject.countFeeEstimationNanos(CryptoTransfer, 2_500L);
 
 		// then
 		assertEquals(3L, subject.receivedSoFar(CryptoTransfer));
@@ -214,6 +230,9 @@ class HapiOpCountersTest {
 		// and:
 		assertEquals(3L, subject.receivedSoFar(TokenGetInfo));
 		assertEquals(2L, subject.answeredSoFar(TokenGetInfo));
+		// and:
+		assertEquals(4L, subject.feeEstimationMicrosSoFar(CryptoTransfer));
+		assertEquals(0L, subject.feeEstimationMicrosSoFar(TokenGetInfo));
 	}
 
 	@Test
@@ -223,10 +242,12 @@ class HapiOpCountersTest {
 		assertDoesNotThrow(() -> subject.countSubmitted(NONE));
 		assertDoesNotThrow(() -> subject.countHandled(NONE));
 		assertDoesNotThrow(() -> subject.countAnswered(NONE));
+		assertDoesNotThrow(() -> subject.countFeeEstimationNanos(NONE, 1_000L));
 		// and:
 		assertEquals(0L, subject.receivedSoFar(NONE));
 		assertEquals(0L, subject.submittedSoFar(NONE));
 		assertEquals(0L, subject.handledSoFar(NONE));
 		assertEquals(0L, subject.answeredSoFar(NONE));
+		assertEquals(0L, subject.feeEstimationMicrosSoFar(NONE));
 	}
 }
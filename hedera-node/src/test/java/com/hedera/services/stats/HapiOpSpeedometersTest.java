@@ -97,6 +97,11 @@ class HapiOpSpeedometersTest {
 		assertTrue(subject.lastAnsweredQueriesCount.containsKey(TokenGetInfo));
 		assertFalse(subject.lastSubmittedTxnsCount.containsKey(TokenGetInfo));
 		assertFalse(subject.lastHandledTxnsCount.containsKey(TokenGetInfo));
+		// and:
+		assertTrue(subject.feeEstimationTime.containsKey(CryptoTransfer));
+		assertTrue(subject.feeEstimationTime.containsKey(TokenGetInfo));
+		assertTrue(subject.lastFeeEstimationMicros.containsKey(CryptoTransfer));
+		assertTrue(subject.lastFeeEstimationMicros.containsKey(TokenGetInfo));
 	}
 
 	@Test
@@ -107,6 +112,7 @@ class HapiOpSpeedometersTest {
 		StatEntry transferHdl = mock(StatEntry.class);
 		StatEntry tokenInfoRcv = mock(StatEntry.class);
 		StatEntry tokenInfoAns = mock(StatEntry.class);
+		StatEntry tokenInfoFeeEst = mock(StatEntry.class);
 		// and:
 		var xferRcvName = String.format(ServicesStatsConfig.SPEEDOMETER_RECEIVED_NAME_TPL, "CryptoTransfer");
 		var xferSubName = String.format(ServicesStatsConfig.SPEEDOMETER_SUBMITTED_NAME_TPL, "CryptoTransfer");
@@ -121,6 +127,9 @@ class HapiOpSpeedometersTest {
 		// and:
 		var infoRcvDesc = String.format(ServicesStatsConfig.SPEEDOMETER_RECEIVED_DESC_TPL, "TokenGetInfo");
 		var infoAnsDesc = String.format(ServicesStatsConfig.SPEEDOMETER_ANSWERED_DESC_TPL, "TokenGetInfo");
+		// and:
+		var infoFeeEstName = String.format(ServicesStatsConfig.SPEEDOMETER_FEE_ESTIMATION_NAME_TPL, "TokenGetInfo");
+		var infoFeeEstDesc = String.format(ServicesStatsConfig.SPEEDOMETER_FEE_ESTIMATION_DESC_TPL, "TokenGetInfo");
 
 		given(factory.from(
 				argThat(xferRcvName::equals),
@@ -143,6 +152,10 @@ class HapiOpSpeedometersTest {
 				argThat(infoAnsName::equals),
 				argThat(infoAnsDesc::equals),
 				any())).willReturn(tokenInfoAns);
+		given(factory.from(
+				argThat(infoFeeEstName::equals),
+				argThat(infoFeeEstDesc::equals),
+				any())).willReturn(tokenInfoFeeEst);
 
 		// when:
 		subject.registerWith(platform);
@@ -153,6 +166,7 @@ class HapiOpSpeedometersTest {
 		verify(platform).addAppStatEntry(transferHdl);
 		verify(platform).addAppStatEntry(tokenInfoRcv);
 		verify(platform).addAppStatEntry(tokenInfoAns);
+		verify(platform).addAppStatEntry(tokenInfoFeeEst);
 	}
 
 	@Test
@@ -164,24 +178,28 @@ class HapiOpSpeedometersTest {
 		// and:
 		subject.lastReceivedOpsCount.put(TokenGetInfo, 4L);
 		subject.lastAnsweredQueriesCount.put(TokenGetInfo, 5L);
+		subject.lastFeeEstimationMicros.put(CryptoTransfer, 6L);
 		// and:
 		StatsSpeedometer xferReceived = mock(StatsSpeedometer.class);
 		StatsSpeedometer xferSubmitted = mock(StatsSpeedometer.class);
 		StatsSpeedometer xferHandled = mock(StatsSpeedometer.class);
 		StatsSpeedometer infoReceived = mock(StatsSpeedometer.class);
 		StatsSpeedometer infoAnswered = mock(StatsSpeedometer.class);
+		StatsSpeedometer xferFeeEstimation = mock(StatsSpeedometer.class);
 
 		given(counters.receivedSoFar(CryptoTransfer)).willReturn(2L);
 		given(counters.submittedSoFar(CryptoTransfer)).willReturn(4L);
 		given(counters.handledSoFar(CryptoTransfer)).willReturn(6L);
 		given(counters.receivedSoFar(TokenGetInfo)).willReturn(8L);
 		given(counters.answeredSoFar(TokenGetInfo)).willReturn(10L);
+		given(counters.feeEstimationMicrosSoFar(CryptoTransfer)).willReturn(12L);
 		// and:
 		subject.receivedOps.put(CryptoTransfer, xferReceived);
 		subject.submittedTxns.put(CryptoTransfer, xferSubmitted);
 		subject.handledTxns.put(CryptoTransfer, xferHandled);
 		subject.receivedOps.put(TokenGetInfo, infoReceived);
 		subject.answeredQueries.put(TokenGetInfo, infoAnswered);
+		subject.feeEstimationTime.put(CryptoTransfer, xferFeeEstimation);
 
 		// when:
 		subject.updateAll();
@@ -192,11 +210,13 @@ class HapiOpSpeedometersTest {
 		assertEquals(6L, subject.lastHandledTxnsCount.get(CryptoTransfer));
 		assertEquals(8L, subject.lastReceivedOpsCount.get(TokenGetInfo));
 		assertEquals(10L, subject.lastAnsweredQueriesCount.get(TokenGetInfo));
+		assertEquals(12L, subject.lastFeeEstimationMicros.get(CryptoTransfer));
 		// and:
 		verify(xferReceived).update(1);
 		verify(xferSubmitted).update(2);
 		verify(xferHandled).update(3);
 		verify(infoReceived).update(4);
 		verify(infoAnswered).update(5);
+		verify(xferFeeEstimation).update(6);
 	}
 }
@@ -27,8 +27,10 @@ import com.swirlds.platform.StatsRunningAverage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.verify;
 
@@ -59,6 +61,18 @@ class MiscRunningAvgsTest {
 		StatEntry waitMs = mock(StatEntry.class);
 		StatEntry queueSizes = mock(StatEntry.class);
 		StatEntry submitSizes = mock(StatEntry.class);
+		StatEntry restartMs = mock(StatEntry.class);
+		StatEntry snapshotMs = mock(StatEntry.class);
+		StatEntry writeMs = mock(StatEntry.class);
+		StatEntry signMs = mock(StatEntry.class);
+		StatEntry stallMs = mock(StatEntry.class);
+		StatEntry batchSizes = mock(StatEntry.class);
+		StatEntry stalenessMs = mock(StatEntry.class);
+		StatEntry balanceHits = mock(StatEntry.class);
+		StatEntry tokenInfoHits = mock(StatEntry.class);
+		StatEntry receiptHits = mock(StatEntry.class);
+		StatEntry bytecodeHits = mock(StatEntry.class);
+		StatEntry bytecodeBytes = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscRunningAvgs.Names.ACCOUNT_LOOKUP_RETRIES::equals),
@@ -76,6 +90,54 @@ class MiscRunningAvgsTest {
 				argThat(MiscRunningAvgs.Names.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(MiscRunningAvgs.Descriptions.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(subject.handledSubmitMessageSize::equals))).willReturn(submitSizes);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.EXPIRY_RESTART_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.EXPIRY_RESTART_MS::equals),
+				argThat(subject.expiryRestartMs::equals))).willReturn(restartMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BALANCES_SNAPSHOT_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.BALANCES_SNAPSHOT_MS::equals),
+				argThat(subject.balancesSnapshotMs::equals))).willReturn(snapshotMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BALANCES_WRITE_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.BALANCES_WRITE_MS::equals),
+				argThat(subject.balancesWriteMs::equals))).willReturn(writeMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BALANCES_SIGN_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.BALANCES_SIGN_MS::equals),
+				argThat(subject.balancesSignMs::equals))).willReturn(signMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.RECORD_STREAM_STALL_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.RECORD_STREAM_STALL_MS::equals),
+				argThat(subject.recordStreamStallMs::equals))).willReturn(stallMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.RECORD_STREAM_BATCH_SIZE::equals),
+				argThat(MiscRunningAvgs.Descriptions.RECORD_STREAM_BATCH_SIZE::equals),
+				argThat(subject.recordStreamBatchSize::equals))).willReturn(batchSizes);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.SIGNED_STATE_VIEW_STALENESS_MS::equals),
+				argThat(MiscRunningAvgs.Descriptions.SIGNED_STATE_VIEW_STALENESS_MS::equals),
+				argThat(subject.signedStateViewStalenessMs::equals))).willReturn(stalenessMs);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BALANCE_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.BALANCE_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(subject.balanceResponseCacheHitRatio::equals))).willReturn(balanceHits);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.TOKEN_INFO_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(subject.tokenInfoResponseCacheHitRatio::equals))).willReturn(tokenInfoHits);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.RECEIPT_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.RECEIPT_RESPONSE_CACHE_HIT_RATIO::equals),
+				argThat(subject.receiptResponseCacheHitRatio::equals))).willReturn(receiptHits);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(subject.bytecodeCacheHitRatio::equals))).willReturn(bytecodeHits);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_BYTES::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_BYTES::equals),
+				argThat(subject.bytecodeCacheBytes::equals))).willReturn(bytecodeBytes);
 
 		// when:
 		subject.registerWith(platform);
@@ -85,6 +147,18 @@ class MiscRunningAvgsTest {
 		verify(platform).addAppStatEntry(waitMs);
 		verify(platform).addAppStatEntry(queueSizes);
 		verify(platform).addAppStatEntry(submitSizes);
+		verify(platform).addAppStatEntry(restartMs);
+		verify(platform).addAppStatEntry(snapshotMs);
+		verify(platform).addAppStatEntry(writeMs);
+		verify(platform).addAppStatEntry(signMs);
+		verify(platform).addAppStatEntry(stallMs);
+		verify(platform).addAppStatEntry(batchSizes);
+		verify(platform).addAppStatEntry(stalenessMs);
+		verify(platform).addAppStatEntry(balanceHits);
+		verify(platform).addAppStatEntry(tokenInfoHits);
+		verify(platform).addAppStatEntry(receiptHits);
+		verify(platform).addAppStatEntry(bytecodeHits);
+		verify(platform).addAppStatEntry(bytecodeBytes);
 	}
 
 	@Test
@@ -94,22 +168,104 @@ class MiscRunningAvgsTest {
 		StatsRunningAverage waitMs = mock(StatsRunningAverage.class);
 		StatsRunningAverage queueSize = mock(StatsRunningAverage.class);
 		StatsRunningAverage submitSizes = mock(StatsRunningAverage.class);
+		StatsRunningAverage restartMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage snapshotMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage writeMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage signMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage stallMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage batchSizes = mock(StatsRunningAverage.class);
+		StatsRunningAverage stalenessMs = mock(StatsRunningAverage.class);
+		StatsRunningAverage balanceHits = mock(StatsRunningAverage.class);
+		StatsRunningAverage tokenInfoHits = mock(StatsRunningAverage.class);
+		StatsRunningAverage receiptHits = mock(StatsRunningAverage.class);
+		StatsRunningAverage bytecodeHits = mock(StatsRunningAverage.class);
+		StatsRunningAverage bytecodeBytes = mock(StatsRunningAverage.class);
 		// and:
 		subject.accountLookupRetries = retries;
 		subject.accountRetryWaitMs = waitMs;
 		subject.handledSubmitMessageSize = submitSizes;
 		subject.writeQueueSizeRecordStream = queueSize;
+		subject.expiryRestartMs = restartMs;
+		subject.balancesSnapshotMs = snapshotMs;
+		subject.balancesWriteMs = writeMs;
+		subject.balancesSignMs = signMs;
+		subject.recordStreamStallMs = stallMs;
+		subject.recordStreamBatchSize = batchSizes;
+		subject.signedStateViewStalenessMs = stalenessMs;
+		subject.balanceResponseCacheHitRatio = balanceHits;
+		subject.tokenInfoResponseCacheHitRatio = tokenInfoHits;
+		subject.receiptResponseCacheHitRatio = receiptHits;
+		subject.bytecodeCacheHitRatio = bytecodeHits;
+		subject.bytecodeCacheBytes = bytecodeBytes;
 
 		// when:
 		subject.recordAccountLookupRetries(1);
 		subject.recordAccountRetryWaitMs(2.0);
 		subject.recordHandledSubmitMessageSize(3);
 		subject.writeQueueSizeRecordStream(4);
+		subject.recordExpiryRestartMs(5.0);
+		subject.recordBalancesSnapshotMs(6.0);
+		subject.recordBalancesWriteMs(7.0);
+		subject.recordBalancesSignMs(8.0);
+		subject.recordRecordStreamStallMs(9.0);
+		subject.recordRecordStreamBatchSize(10);
+		subject.recordSignedStateViewStalenessMs(11.0);
+		subject.recordBalanceResponseCacheHitRatio(1.0);
+		subject.recordTokenInfoResponseCacheHitRatio(0.0);
+		subject.recordReceiptResponseCacheHitRatio(1.0);
+		subject.recordBytecodeCacheHitRatio(0.0);
+		subject.recordBytecodeCacheBytes(12);
 
 		// then:
 		verify(retries).recordValue(1.0);
 		verify(waitMs).recordValue(2.0);
 		verify(submitSizes).recordValue(3.0);
 		verify(queueSize).recordValue(4.0);
+		verify(restartMs).recordValue(5.0);
+		verify(snapshotMs).recordValue(6.0);
+		verify(writeMs).recordValue(7.0);
+		verify(signMs).recordValue(8.0);
+		verify(stallMs).recordValue(9.0);
+		verify(batchSizes).recordValue(10.0);
+		verify(stalenessMs).recordValue(11.0);
+		verify(balanceHits).recordValue(1.0);
+		verify(tokenInfoHits).recordValue(0.0);
+		verify(receiptHits).recordValue(1.0);
+		verify(bytecodeHits).recordValue(0.0);
+		verify(bytecodeBytes).recordValue(12.0);
+	}
+
+	@Test
+	public void recordsAndRegistersStartupPhasesInNameOrder() {
+		// setup:
+		StatsRunningAverage payerRecordsMs = mock(StatsRunningAverage.class);
+		StatEntry payerRecords = mock(StatEntry.class);
+		StatEntry tokenHolders = mock(StatEntry.class);
+		// and:
+		subject.startupPhaseMs.put("payerRecords", payerRecordsMs);
+
+		// when:
+		subject.recordStartupPhaseMs("tokenHolders", 1.0);
+		subject.recordStartupPhaseMs("payerRecords", 2.0);
+		// and:
+		var tokenHoldersMs = subject.startupPhaseMs.get("tokenHolders");
+		given(factory.from(
+				"startupTokenHoldersMs",
+				MiscRunningAvgs.Descriptions.startupPhaseMs("tokenHolders"),
+				tokenHoldersMs)).willReturn(tokenHolders);
+		given(factory.from(
+				"startupPayerRecordsMs",
+				MiscRunningAvgs.Descriptions.startupPhaseMs("payerRecords"),
+				payerRecordsMs)).willReturn(payerRecords);
+		// and:
+		subject.registerWith(platform);
+
+		// then:
+		verify(payerRecordsMs).recordValue(2.0);
+		assertNotNull(tokenHoldersMs);
+		// and:
+		var inOrder = inOrder(platform);
+		inOrder.verify(platform).addAppStatEntry(payerRecords);
+		inOrder.verify(platform).addAppStatEntry(tokenHolders);
 	}
 }
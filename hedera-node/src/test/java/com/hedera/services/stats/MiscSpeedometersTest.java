@@ -60,6 +60,12 @@ class MiscSpeedometersTest {
 		StatEntry async = mock(StatEntry.class);
 		StatEntry retries = mock(StatEntry.class);
 		StatEntry rejections = mock(StatEntry.class);
+		StatEntry hits = mock(StatEntry.class);
+		StatEntry misses = mock(StatEntry.class);
+		StatEntry skips = mock(StatEntry.class);
+		StatEntry streamBytes = mock(StatEntry.class);
+		StatEntry viewHits = mock(StatEntry.class);
+		StatEntry viewMisses = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscSpeedometers.Names.SYNC_VERIFICATIONS::equals),
@@ -77,6 +83,30 @@ class MiscSpeedometersTest {
 				argThat(MiscSpeedometers.Names.PLATFORM_TXN_REJECTIONS::equals),
 				argThat(MiscSpeedometers.Descriptions.PLATFORM_TXN_REJECTIONS::equals),
 				any())).willReturn(rejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIG_CACHE_HITS::equals),
+				argThat(MiscSpeedometers.Descriptions.SIG_CACHE_HITS::equals),
+				any())).willReturn(hits);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIG_CACHE_MISSES::equals),
+				argThat(MiscSpeedometers.Descriptions.SIG_CACHE_MISSES::equals),
+				any())).willReturn(misses);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SKIPPED_BALANCES_EXPORTS::equals),
+				argThat(MiscSpeedometers.Descriptions.SKIPPED_BALANCES_EXPORTS::equals),
+				any())).willReturn(skips);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.RECORD_STREAM_BYTES::equals),
+				argThat(MiscSpeedometers.Descriptions.RECORD_STREAM_BYTES::equals),
+				any())).willReturn(streamBytes);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIGNED_STATE_VIEW_HITS::equals),
+				argThat(MiscSpeedometers.Descriptions.SIGNED_STATE_VIEW_HITS::equals),
+				any())).willReturn(viewHits);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIGNED_STATE_VIEW_MISSES::equals),
+				argThat(MiscSpeedometers.Descriptions.SIGNED_STATE_VIEW_MISSES::equals),
+				any())).willReturn(viewMisses);
 
 		// when:
 		subject.registerWith(platform);
@@ -86,6 +116,12 @@ class MiscSpeedometersTest {
 		verify(platform).addAppStatEntry(sync);
 		verify(platform).addAppStatEntry(async);
 		verify(platform).addAppStatEntry(rejections);
+		verify(platform).addAppStatEntry(hits);
+		verify(platform).addAppStatEntry(misses);
+		verify(platform).addAppStatEntry(skips);
+		verify(platform).addAppStatEntry(streamBytes);
+		verify(platform).addAppStatEntry(viewHits);
+		verify(platform).addAppStatEntry(viewMisses);
 	}
 
 	@Test
@@ -95,22 +131,46 @@ class MiscSpeedometersTest {
 		StatsSpeedometer sync = mock(StatsSpeedometer.class);
 		StatsSpeedometer async = mock(StatsSpeedometer.class);
 		StatsSpeedometer rejections = mock(StatsSpeedometer.class);
+		StatsSpeedometer hits = mock(StatsSpeedometer.class);
+		StatsSpeedometer misses = mock(StatsSpeedometer.class);
+		StatsSpeedometer skips = mock(StatsSpeedometer.class);
+		StatsSpeedometer streamBytes = mock(StatsSpeedometer.class);
+		StatsSpeedometer viewHits = mock(StatsSpeedometer.class);
+		StatsSpeedometer viewMisses = mock(StatsSpeedometer.class);
 		// and:
 		subject.accountLookupRetries = retries;
 		subject.syncVerifications = sync;
 		subject.platformTxnRejections = rejections;
 		subject.asyncVerifications = async;
+		subject.sigCacheHits = hits;
+		subject.sigCacheMisses = misses;
+		subject.skippedBalancesExports = skips;
+		subject.recordStreamBytes = streamBytes;
+		subject.signedStateViewHits = viewHits;
+		subject.signedStateViewMisses = viewMisses;
 
 		// when:
 		subject.cycleAccountLookupRetries();
 		subject.cycleAsyncVerifications();
 		subject.cycleSyncVerifications();
 		subject.cyclePlatformTxnRejections();
+		subject.cycleSigCacheHits(3);
+		subject.cycleSigCacheMisses(2);
+		subject.cycleSkippedBalancesExports();
+		subject.cycleRecordStreamBytes(1024L);
+		subject.cycleSignedStateViewHits();
+		subject.cycleSignedStateViewMisses();
 
 		// then:
 		verify(retries).update(1.0);
 		verify(rejections).update(1.0);
 		verify(sync).update(1.0);
 		verify(async).update(1.0);
+		verify(hits).update(3.0);
+		verify(misses).update(2.0);
+		verify(skips).update(1.0);
+		verify(streamBytes).update(1024.0);
+		verify(viewHits).update(1.0);
+		verify(viewMisses).update(1.0);
 	}
 }
@@ -25,6 +25,7 @@ import com.hedera.services.utils.Pause;
 import com.hedera.services.utils.SleepingPause;
 import com.swirlds.common.NodeId;
 import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.verify;
@@ -69,7 +71,8 @@ class ServicesStatsManagerTest {
 		properties = mock(NodeLocalProperties.class);
 		given(properties.statsHapiOpsSpeedometerUpdateIntervalMs()).willReturn(updateIntervalMs);
 
-		subject = new ServicesStatsManager(counters, runningAvgs, miscSpeedometers, speedometers, properties);
+		subject = new ServicesStatsManager(
+				counters, runningAvgs, miscSpeedometers, speedometers, properties, () -> 4096L);
 	}
 
 
@@ -88,6 +91,7 @@ class ServicesStatsManagerTest {
 		// setup:
 		Thread thread = mock(Thread.class);
 		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		ArgumentCaptor<StatEntry> statCaptor = ArgumentCaptor.forClass(StatEntry.class);
 
 		given(pause.forMs(anyLong())).willReturn(true);
 		given(threads.apply(captor.capture())).willReturn(thread);
@@ -100,8 +104,12 @@ class ServicesStatsManagerTest {
 		verify(speedometers).registerWith(platform);
 		verify(miscSpeedometers).registerWith(platform);
 		verify(runningAvgs).registerWith(platform);
+		verify(platform).addAppStatEntry(statCaptor.capture());
 		verify(platform).appStatInit();
 		// and:
+		assertEquals(ServicesStatsManager.IDS_FOOTPRINT_STAT_NAME, statCaptor.getValue().name);
+		assertEquals(4L, statCaptor.getValue().supplier.get());
+		// and:
 		verify(thread).start();
 		verify(thread).setName(String.format(ServicesStatsManager.SPEEDOMETER_UPDATE_THREAD_NAME_TPL, 123L));
 		// and when:
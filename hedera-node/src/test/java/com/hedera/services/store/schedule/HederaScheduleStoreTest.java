@@ -20,6 +20,7 @@ package com.hedera.services.store.schedule;
  * ‍
  */
 
+import com.google.protobuf.ByteString;
 import com.hedera.services.context.TransactionContext;
 import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.ledger.HederaLedger;
@@ -42,13 +43,12 @@ import com.swirlds.fcmap.FCMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static com.hedera.services.ledger.properties.AccountProperty.IS_DELETED;
@@ -69,13 +69,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class HederaScheduleStoreTest {
@@ -108,6 +106,7 @@ public class HederaScheduleStoreTest {
 	EntityId entitySchedulingAccount = fromGrpcAccountId(schedulingAccount);
 
 	long expectedExpiry = 1_234_567L;
+	ByteString contentHash = ByteString.copyFrom(new byte[48]);
 
 	HederaScheduleStore subject;
 
@@ -166,20 +165,21 @@ public class HederaScheduleStoreTest {
 				entitySchedulingAccount.toGrpcAccountId(),
 				schedulingTXValidStart.toGrpc());
 		var expected = MerkleSchedule.from(parentTxn.toByteArray(), 0L);
-		ArgumentCaptor<BiConsumer<MerkleEntityId, MerkleSchedule>> captor = forClass(BiConsumer.class);
+		var other = MerkleSchedule.from(MerkleScheduleTest.scheduleCreateTxnWith(
+				asKeyUnchecked(adminJKey),
+				"Some other memo",
+				entityPayer.toGrpcAccountId(),
+				entitySchedulingAccount.toGrpcAccountId(),
+				schedulingTXValidStart.toGrpc()).toByteArray(), 0L);
 		// and:
-		var expectedKey = expected.toContentAddressableView();
-
-		// when:
-		subject.rebuildViews();
+		var expectedKey = expected.contentHash();
 
-		// then:
-		verify(schedules, times(2)).forEach(captor.capture());
+		given(schedules.entrySet()).willReturn(Map.of(fromScheduleId(created), expected).entrySet());
 		// and:
-		BiConsumer<MerkleEntityId, MerkleSchedule> visitor = captor.getAllValues().get(1);
+		subject.getExtantSchedules().put(other.contentHash(), fromScheduleId(created));
 
-		// and when:
-		visitor.accept(fromScheduleId(created), expected);
+		// when:
+		subject.rebuildViews();
 
 		// then:
 		var extant = subject.getExtantSchedules();
@@ -202,15 +202,14 @@ public class HederaScheduleStoreTest {
 		subject.pendingId = created;
 		subject.pendingCreation = schedule;
 
-		given(schedule.toContentAddressableView()).willReturn(schedule);
+		given(schedule.contentHash()).willReturn(contentHash);
 
 		// when:
 		subject.commitCreation();
 
 		// then:
-		verify(schedule).toContentAddressableView();
 		verify(schedules).put(fromScheduleId(created), schedule);
-		assertTrue(subject.getExtantSchedules().containsKey(schedule));
+		assertEquals(fromScheduleId(created), subject.getExtantSchedules().get(contentHash));
 		// and:
 		assertSame(subject.pendingId, HederaScheduleStore.NO_PENDING_ID);
 		assertNull(subject.pendingCreation);
@@ -466,10 +465,9 @@ public class HederaScheduleStoreTest {
 				entitySchedulingAccount.toGrpcAccountId(),
 				schedulingTXValidStart.toGrpc());
 		var candSchedule = MerkleSchedule.from(parentTxn.toByteArray(), expectedExpiry);
-		var cav = candSchedule.toContentAddressableView();
 
 		// given:
-		subject.getExtantSchedules().put(cav, fromScheduleId(created));
+		subject.getExtantSchedules().put(candSchedule.contentHash(), fromScheduleId(created));
 
 		// when:
 		var scheduleIdPair = subject.lookupSchedule(parentTxn.toByteArray());
@@ -631,7 +629,8 @@ public class HederaScheduleStoreTest {
 	@Test
 	void expiresAsExpected() {
 		// setup:
-		subject.getExtantSchedules().put(schedule, fromScheduleId(created));
+		given(schedule.contentHash()).willReturn(contentHash);
+		subject.getExtantSchedules().put(contentHash, fromScheduleId(created));
 
 		// when:
 		subject.expire(EntityId.fromGrpcScheduleId(created));
@@ -639,7 +638,7 @@ public class HederaScheduleStoreTest {
 		// then:
 		verify(schedules).remove(fromScheduleId(created));
 		// and:
-		assertFalse(subject.getExtantSchedules().containsKey(schedule));
+		assertFalse(subject.getExtantSchedules().containsKey(contentHash));
 	}
 
 	@Test
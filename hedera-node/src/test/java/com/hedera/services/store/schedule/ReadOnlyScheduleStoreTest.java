@@ -0,0 +1,87 @@
+package com.hedera.services.store.schedule;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleSchedule;
+import com.hederahashgraph.api.proto.java.ScheduleID;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.store.schedule.ScheduleStore.MISSING_SCHEDULE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+
+class ReadOnlyScheduleStoreTest {
+	ScheduleID known = ScheduleID.newBuilder().setScheduleNum(1_234L).build();
+	ScheduleID unknown = ScheduleID.newBuilder().setScheduleNum(4_321L).build();
+	MerkleSchedule schedule;
+	FCMap<MerkleEntityId, MerkleSchedule> schedules;
+
+	ReadOnlyScheduleStore subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		schedule = mock(MerkleSchedule.class);
+		schedules = mock(FCMap.class);
+		given(schedules.containsKey(MerkleEntityId.fromScheduleId(known))).willReturn(true);
+		given(schedules.get(MerkleEntityId.fromScheduleId(known))).willReturn(schedule);
+
+		subject = new ReadOnlyScheduleStore(() -> schedules);
+	}
+
+	@Test
+	public void looksUpSchedules() {
+		// expect:
+		assertTrue(subject.exists(known));
+		assertFalse(subject.exists(unknown));
+		assertEquals(known, subject.resolve(known));
+		assertSame(MISSING_SCHEDULE, subject.resolve(unknown));
+		assertSame(schedule, subject.get(known));
+		assertThrows(IllegalArgumentException.class, () -> subject.get(unknown));
+		assertFalse(subject.isCreationPending());
+	}
+
+	@Test
+	public void neverChangesSchedules() {
+		// expect:
+		assertThrows(UnsupportedOperationException.class, () -> subject.apply(known, s -> s.markDeleted(null)));
+		assertThrows(UnsupportedOperationException.class, () -> subject.delete(known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.markAsExecuted(known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.expire(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.createProvisionally(null, null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.lookupSchedule(new byte[0]));
+		assertThrows(UnsupportedOperationException.class, subject::commitCreation);
+		assertThrows(UnsupportedOperationException.class, subject::rollbackCreation);
+		assertThrows(UnsupportedOperationException.class, () -> subject.setHederaLedger(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.setAccountsLedger(null));
+		// and:
+		verifyNoInteractions(schedules);
+	}
+}
@@ -1625,6 +1625,30 @@ class HederaTokenStoreTest {
 		verify(tokenRelsLedger).set(treasuryMisc, TOKEN_BALANCE, treasuryBalance - 1);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void notifiesCommitObserverOfModifiedAndCreatedTokens() {
+		// setup:
+		Consumer<TokenID> observer = mock(Consumer.class);
+		InOrder inOrder = Mockito.inOrder(tokens, observer);
+
+		// given:
+		subject.setCommitObserver(observer);
+
+		// when:
+		subject.apply(misc, token -> {});
+		// and:
+		subject.pendingId = created;
+		subject.pendingCreation = token;
+		subject.commitCreation();
+
+		// then:
+		inOrder.verify(tokens).replace(fromTokenId(misc), modifiableToken);
+		inOrder.verify(observer).accept(misc);
+		inOrder.verify(tokens).put(fromTokenId(created), token);
+		inOrder.verify(observer).accept(created);
+	}
+
 	@Test
 	public void rollbackReclaimsIdAndClears() {
 		// setup:
@@ -0,0 +1,98 @@
+package com.hedera.services.store.tokens;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.merkle.MerkleToken;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.services.store.tokens.TokenStore.MISSING_TOKEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+
+class ReadOnlyTokenStoreTest {
+	TokenID known = TokenID.newBuilder().setTokenNum(1_234L).build();
+	TokenID unknown = TokenID.newBuilder().setTokenNum(4_321L).build();
+	MerkleToken token;
+	FCMap<MerkleEntityId, MerkleToken> tokens;
+
+	ReadOnlyTokenStore subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		token = mock(MerkleToken.class);
+		tokens = mock(FCMap.class);
+		given(tokens.containsKey(MerkleEntityId.fromTokenId(known))).willReturn(true);
+		given(tokens.get(MerkleEntityId.fromTokenId(known))).willReturn(token);
+
+		subject = new ReadOnlyTokenStore(() -> tokens);
+	}
+
+	@Test
+	public void looksUpTokens() {
+		// expect:
+		assertTrue(subject.exists(known));
+		assertFalse(subject.exists(unknown));
+		assertEquals(known, subject.resolve(known));
+		assertSame(MISSING_TOKEN, subject.resolve(unknown));
+		assertSame(token, subject.get(known));
+		assertThrows(IllegalArgumentException.class, () -> subject.get(unknown));
+		assertFalse(subject.isCreationPending());
+	}
+
+	@Test
+	public void neverChangesTokens() {
+		// expect:
+		assertThrows(UnsupportedOperationException.class, () -> subject.apply(known, t -> t.setSymbol("NOPE")));
+		assertThrows(UnsupportedOperationException.class, () -> subject.delete(known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.mint(known, 1L));
+		assertThrows(UnsupportedOperationException.class, () -> subject.burn(known, 1L));
+		assertThrows(UnsupportedOperationException.class, () -> subject.wipe(null, known, 1L, false));
+		assertThrows(UnsupportedOperationException.class, () -> subject.freeze(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.unfreeze(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.grantKyc(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.revokeKyc(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.associate(null, null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.dissociate(null, null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.adjustBalance(null, known, 1L));
+		assertThrows(UnsupportedOperationException.class, () -> subject.update(null, 0L));
+		assertThrows(UnsupportedOperationException.class, () -> subject.createProvisionally(null, null, 0L));
+		assertThrows(UnsupportedOperationException.class, subject::commitCreation);
+		assertThrows(UnsupportedOperationException.class, subject::rollbackCreation);
+		assertThrows(UnsupportedOperationException.class, () -> subject.isKnownTreasury(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.associationExists(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.isTreasuryForToken(null, known));
+		assertThrows(UnsupportedOperationException.class, () -> subject.setHederaLedger(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.setAccountsLedger(null));
+		// and:
+		verifyNoInteractions(tokens);
+	}
+}
@@ -0,0 +1,205 @@
+package com.hedera.services.store.tokens;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+import com.hedera.services.state.merkle.MerkleEntityAssociation;
+import com.hedera.services.state.merkle.MerkleTokenRelStatus;
+import com.hedera.test.utils.IdUtils;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.swirlds.fcmap.FCMap;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hedera.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenHoldersTest {
+	TokenID aToken = IdUtils.asToken("0.0.1001");
+	TokenID bToken = IdUtils.asToken("0.0.1002");
+	TokenID cToken = IdUtils.asToken("0.0.1003");
+	AccountID x = IdUtils.asAccount("0.0.3");
+	AccountID y = IdUtils.asAccount("0.0.20");
+	AccountID z = IdUtils.asAccount("0.0.100");
+	AccountID w = IdUtils.asAccount("1.0.5");
+	AccountID unpackable = IdUtils.asAccount("0.0.1099511627776");
+
+	FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations;
+
+	TokenHolders subject;
+
+	@BeforeEach
+	void setup() {
+		tokenAssociations = new FCMap<>();
+		givenRel(z, aToken, 300);
+		givenRel(w, aToken, 400);
+		givenRel(x, aToken, 100);
+		givenRel(y, aToken, 200);
+		givenRel(x, bToken, 1);
+
+		subject = new TokenHolders(() -> tokenAssociations);
+	}
+
+	@Test
+	void isEmptyUntilRebuilt() {
+		// expect:
+		assertEquals(0, subject.numHolders(aToken));
+
+		// and when:
+		subject.rebuildViews();
+
+		// then:
+		assertEquals(4, subject.numHolders(aToken));
+		assertEquals(1, subject.numHolders(bToken));
+		assertEquals(0, subject.numHolders(cToken));
+	}
+
+	@Test
+	void pagesHoldersInPackedIdOrder() {
+		// given:
+		subject.rebuildViews();
+
+		// expect:
+		assertEquals(
+				List.of(holding(x, 100), holding(y, 200), holding(z, 300), holding(w, 400)),
+				holdersOf(aToken));
+		assertTrue(holdersOf(cToken).isEmpty());
+	}
+
+	@Test
+	void pagesUnpackableHoldersLast() {
+		// setup:
+		givenRel(unpackable, bToken, 2);
+
+		// given:
+		subject.rebuildViews();
+
+		// when:
+		subject.onCommitted(Pair.of(unpackable, bToken));
+
+		// then:
+		assertEquals(List.of(holding(x, 1), holding(unpackable, 2)), holdersOf(bToken));
+
+		// and when:
+		tokenAssociations.remove(fromAccountTokenRel(unpackable, bToken));
+		subject.onCommitted(Pair.of(unpackable, bToken));
+
+		// then:
+		assertEquals(List.of(holding(x, 1)), holdersOf(bToken));
+	}
+
+	@Test
+	void pagesStartJustAfterGivenAccount() {
+		// setup:
+		var otherUnpackable = IdUtils.asAccount("0.0.1099511627777");
+		givenRel(unpackable, aToken, 500);
+		givenRel(otherUnpackable, aToken, 600);
+
+		// given:
+		subject.rebuildViews();
+
+		// expect:
+		assertEquals(List.of(holding(x, 100), holding(y, 200)), subject.holdersPage(aToken, null, 2));
+		assertEquals(List.of(holding(z, 300), holding(w, 400)), subject.holdersPage(aToken, y, 2));
+		assertEquals(List.of(holding(z, 300)), subject.holdersPage(aToken, IdUtils.asAccount("0.0.50"), 1));
+		assertEquals(List.of(holding(unpackable, 500), holding(otherUnpackable, 600)),
+				subject.holdersPage(aToken, w, 2));
+		assertEquals(List.of(holding(otherUnpackable, 600)), subject.holdersPage(aToken, unpackable, 2));
+		assertEquals(List.of(), subject.holdersPage(aToken, otherUnpackable, 2));
+		assertEquals(List.of(), subject.holdersPage(aToken, null, 0));
+		assertEquals(List.of(), subject.holdersPage(cToken, null, 2));
+		assertEquals(6, subject.numHolders(aToken));
+	}
+
+	@Test
+	void rebuildReplacesIndexOnlyOnceComplete() {
+		// setup:
+		AtomicReference<List<AccountAmount>> seenDuringRebuild = new AtomicReference<>();
+		subject = new TokenHolders(() -> {
+			seenDuringRebuild.set(holdersOf(aToken));
+			return tokenAssociations;
+		});
+
+		// given:
+		subject.rebuildViews();
+		tokenAssociations.remove(fromAccountTokenRel(x, aToken));
+
+		// when:
+		subject.rebuildViews();
+
+		// then:
+		assertEquals(
+				List.of(holding(x, 100), holding(y, 200), holding(z, 300), holding(w, 400)),
+				seenDuringRebuild.get());
+		assertEquals(List.of(holding(y, 200), holding(z, 300), holding(w, 400)), holdersOf(aToken));
+	}
+
+	@Test
+	void tracksCommittedRelationships() {
+		// given:
+		subject.rebuildViews();
+		tokenAssociations.replace(fromAccountTokenRel(x, aToken), new MerkleTokenRelStatus(99, false, true));
+		tokenAssociations.remove(fromAccountTokenRel(y, aToken));
+		givenRel(y, bToken, 2);
+
+		// when:
+		subject.onCommitted(Pair.of(x, aToken));
+		subject.onCommitted(Pair.of(y, aToken));
+		subject.onCommitted(Pair.of(y, bToken));
+		subject.onCommitted(Pair.of(z, cToken));
+
+		// then:
+		assertEquals(List.of(holding(x, 99), holding(z, 300), holding(w, 400)), holdersOf(aToken));
+		assertEquals(List.of(holding(x, 1), holding(y, 2)), holdersOf(bToken));
+		assertEquals(0, subject.numHolders(cToken));
+	}
+
+	@Test
+	void rebuildDropsStaleHolders() {
+		// given:
+		subject.rebuildViews();
+		tokenAssociations.remove(fromAccountTokenRel(x, bToken));
+
+		// when:
+		subject.rebuildViews();
+
+		// then:
+		assertEquals(0, subject.numHolders(bToken));
+		assertEquals(4, subject.numHolders(aToken));
+	}
+
+	private List<AccountAmount> holdersOf(TokenID token) {
+		return subject.holdersPage(token, null, Integer.MAX_VALUE);
+	}
+
+	private void givenRel(AccountID account, TokenID token, long balance) {
+		tokenAssociations.put(fromAccountTokenRel(account, token), new MerkleTokenRelStatus(balance, false, true));
+	}
+
+	private AccountAmount holding(AccountID account, long balance) {
+		return AccountAmount.newBuilder().setAccountID(account).setAmount(balance).build();
+	}
+}
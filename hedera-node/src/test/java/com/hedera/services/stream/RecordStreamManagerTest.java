@@ -22,6 +22,7 @@ package com.hedera.services.stream;
 
 import com.hedera.services.context.properties.NodeLocalProperties;
 import com.hedera.services.stats.MiscRunningAvgs;
+import com.hedera.services.stats.MiscSpeedometers;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
 import com.hedera.test.extensions.LoggingSubject;
@@ -31,13 +32,19 @@ import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.stream.MultiStream;
 import com.swirlds.common.stream.QueueThread;
 import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 
 import javax.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
@@ -45,10 +52,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +74,7 @@ public class RecordStreamManagerTest {
 	private static final Platform platform = mock(Platform.class);
 
 	private static final MiscRunningAvgs runningAvgsMock = mock(MiscRunningAvgs.class);
+	private static final MiscSpeedometers speedometersMock = mock(MiscSpeedometers.class);
 
 	private static final long recordsLogPeriod = 5;
 	private static final int recordStreamQueueCapacity = 100;
@@ -74,7 +92,7 @@ public class RecordStreamManagerTest {
 	private static final MultiStream<RecordStreamObject> multiStreamMock = mock(MultiStream.class);
 	private static final QueueThread<RecordStreamObject> writeQueueThreadMock = mock(QueueThread.class);
 	private static final RecordStreamManager RECORD_STREAM_MANAGER = new RecordStreamManager(
-			multiStreamMock, writeQueueThreadMock, runningAvgsMock);
+			multiStreamMock, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
 
 	private static NodeLocalProperties disabledProps;
 	private static NodeLocalProperties enabledProps;
@@ -96,17 +114,33 @@ public class RecordStreamManagerTest {
 		disableStreamingInstance = new RecordStreamManager(
 				platform,
 				runningAvgsMock,
+				speedometersMock,
 				disabledProps,
 				recordStreamDir,
 				INITIAL_RANDOM_HASH);
 		enableStreamingInstance = new RecordStreamManager(
 				platform,
 				runningAvgsMock,
+				speedometersMock,
 				enabledProps,
 				recordStreamDir,
 				INITIAL_RANDOM_HASH);
 	}
 
+	@AfterAll
+	public static void closeAll() {
+		RECORD_STREAM_MANAGER.close();
+		disableStreamingInstance.close();
+		enableStreamingInstance.close();
+	}
+
+	@AfterEach
+	public void closeSubject() {
+		if (recordStreamManager != null) {
+			recordStreamManager.close();
+		}
+	}
+
 	private static void configProps(NodeLocalProperties props) {
 		given(props.recordLogDir()).willThrow(IllegalStateException.class);
 		given(props.recordLogPeriod()).willReturn(recordsLogPeriod);
@@ -140,7 +174,7 @@ public class RecordStreamManagerTest {
 	@Test
 	public void addRecordStreamObjectTest() throws InterruptedException {
 		recordStreamManager = new RecordStreamManager(
-				multiStreamMock, writeQueueThreadMock, runningAvgsMock);
+				multiStreamMock, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
 		assertFalse(recordStreamManager.getInFreeze(),
 				"inFreeze should be false after initialization");
 		final int recordsNum = 10;
@@ -148,7 +182,7 @@ public class RecordStreamManagerTest {
 			RecordStreamObject recordStreamObject = mock(RecordStreamObject.class);
 			when(writeQueueThreadMock.getQueueSize()).thenReturn(i);
 			recordStreamManager.addRecordStreamObject(recordStreamObject);
-			verify(multiStreamMock).add(recordStreamObject);
+			verify(multiStreamMock, timeout(1_000)).add(recordStreamObject);
 			verify(runningAvgsMock).writeQueueSizeRecordStream(i);
 			// multiStream should not be closed after adding it
 			verify(multiStreamMock, never()).close();
@@ -173,6 +207,59 @@ public class RecordStreamManagerTest {
 		verify(runningAvgsMock).writeQueueSizeRecordStream(recordsNum);
 	}
 
+	@Test
+	public void feedsInOrderAndRecordsBatchStats() throws InterruptedException {
+		// setup:
+		MultiStream<RecordStreamObject> multiStream = mock(MultiStream.class);
+		MiscRunningAvgs runningAvgs = mock(MiscRunningAvgs.class);
+		MiscSpeedometers speedometers = mock(MiscSpeedometers.class);
+		CountDownLatch firstAddStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstAdd = new CountDownLatch(1);
+		RecordStreamObject first = mock(RecordStreamObject.class);
+		RecordStreamObject second = mock(RecordStreamObject.class);
+		RecordStreamObject third = mock(RecordStreamObject.class);
+		given(first.serializeContents()).willReturn(10);
+		given(second.serializeContents()).willReturn(20);
+		given(third.serializeContents()).willReturn(30);
+		willAnswer(invocation -> {
+			firstAddStarted.countDown();
+			releaseFirstAdd.await();
+			return null;
+		}).given(multiStream).add(first);
+		// and:
+		recordStreamManager = new RecordStreamManager(
+				multiStream, writeQueueThreadMock, runningAvgs, speedometers, 1);
+		InOrder inOrder = inOrder(multiStream);
+
+		// when:
+		recordStreamManager.addRecordStreamObject(first);
+		assertTrue(firstAddStarted.await(1, TimeUnit.SECONDS));
+		recordStreamManager.addRecordStreamObject(second);
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException ignore) {
+			}
+			releaseFirstAdd.countDown();
+		});
+		releaser.start();
+		// and the handoff queue is full, so this blocks until the feeder takes second:
+		recordStreamManager.addRecordStreamObject(third);
+		// and:
+		recordStreamManager.setInFreeze(true);
+
+		// then:
+		inOrder.verify(multiStream).add(first);
+		inOrder.verify(multiStream).add(second);
+		inOrder.verify(multiStream).add(third);
+		inOrder.verify(multiStream).close();
+		// and:
+		verify(runningAvgs).recordRecordStreamStallMs(anyDouble());
+		verify(runningAvgs, atLeastOnce()).recordRecordStreamBatchSize(anyInt());
+		verify(speedometers).cycleRecordStreamBytes(10L);
+		assertEquals(0, recordStreamManager.getHandoffQueueSize());
+	}
+
 	@ParameterizedTest
 	@ValueSource(booleans = { true, false })
 	public void setStartWriteAtCompleteWindowTest(boolean startWriteAtCompleteWindow) {
@@ -184,7 +271,8 @@ public class RecordStreamManagerTest {
 	@Test
 	public void setInFreezeTest() {
 		MultiStream<RecordStreamObject> multiStreamMock = mock(MultiStream.class);
-		recordStreamManager = new RecordStreamManager(multiStreamMock, writeQueueThreadMock, runningAvgsMock);
+		recordStreamManager = new RecordStreamManager(
+				multiStreamMock, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
 
 		recordStreamManager.setInFreeze(false);
 		assertFalse(recordStreamManager.getInFreeze());
@@ -199,4 +287,100 @@ public class RecordStreamManagerTest {
 				"RecordStream inFreeze is set to be false",
 				"RecordStream inFreeze is set to be true"));
 	}
+
+	@Test
+	public void retriesObjectInterruptedMidBatch() throws InterruptedException {
+		// setup:
+		MultiStream<RecordStreamObject> multiStream = mock(MultiStream.class);
+		RecordStreamObject first = mock(RecordStreamObject.class);
+		RecordStreamObject second = mock(RecordStreamObject.class);
+		willThrow(InterruptedException.class).willAnswer(invocation -> null).given(multiStream).add(first);
+		// and:
+		recordStreamManager = new RecordStreamManager(
+				multiStream, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
+
+		// when:
+		recordStreamManager.addRecordStreamObject(first);
+		recordStreamManager.addRecordStreamObject(second);
+		recordStreamManager.setInFreeze(true);
+
+		// then:
+		verify(multiStream, times(2)).add(first);
+		verify(multiStream).add(second);
+		assertTrue(recordStreamManager.isFeederRunning());
+	}
+
+	@Test
+	public void rethrowsRejectionOnNextAdd() throws InterruptedException {
+		// setup:
+		MultiStream<RecordStreamObject> multiStream = mock(MultiStream.class);
+		RecordStreamObject first = mock(RecordStreamObject.class);
+		RecordStreamObject second = mock(RecordStreamObject.class);
+		willThrow(IllegalArgumentException.class).given(multiStream).add(first);
+		// and:
+		recordStreamManager = new RecordStreamManager(
+				multiStream, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
+
+		// given:
+		recordStreamManager.addRecordStreamObject(first);
+		recordStreamManager.setInitialHash(INITIAL_RANDOM_HASH);
+
+		// expect:
+		var failure = assertThrows(IllegalStateException.class,
+				() -> recordStreamManager.addRecordStreamObject(second));
+		assertTrue(failure.getCause() instanceof IllegalArgumentException);
+		// and the failure is only reported once:
+		recordStreamManager.addRecordStreamObject(second);
+		verify(multiStream, timeout(1_000)).add(second);
+	}
+
+	@Test
+	public void freezeDoesNotWaitForStoppedFeeder() throws InterruptedException {
+		// setup:
+		MultiStream<RecordStreamObject> multiStream = mock(MultiStream.class);
+		RecordStreamObject first = mock(RecordStreamObject.class);
+		RecordStreamObject second = mock(RecordStreamObject.class);
+		CountDownLatch releaseFirstAdd = new CountDownLatch(1);
+		willAnswer(invocation -> {
+			releaseFirstAdd.await();
+			throw new StackOverflowError();
+		}).given(multiStream).add(first);
+		// and:
+		recordStreamManager = new RecordStreamManager(
+				multiStream, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
+
+		// given:
+		recordStreamManager.addRecordStreamObject(first);
+		recordStreamManager.addRecordStreamObject(second);
+		releaseFirstAdd.countDown();
+
+		// expect:
+		assertTimeoutPreemptively(Duration.ofSeconds(1), () -> recordStreamManager.setInFreeze(true));
+		verify(multiStream, never()).add(second);
+		assertFalse(recordStreamManager.isFeederRunning());
+		assertThat(logCaptor.errorLogs(), contains(
+				"Record stream feeder stopped with 2 handed-off objects not passed on",
+				"Record stream feeder stopped with 2 handed-off objects not passed on"));
+	}
+
+	@Test
+	public void closeStopsFeederAfterPassingOnHandedOff() throws InterruptedException {
+		// setup:
+		MultiStream<RecordStreamObject> multiStream = mock(MultiStream.class);
+		RecordStreamObject first = mock(RecordStreamObject.class);
+		// and:
+		recordStreamManager = new RecordStreamManager(
+				multiStream, writeQueueThreadMock, runningAvgsMock, speedometersMock, recordStreamQueueCapacity);
+
+		// given:
+		recordStreamManager.addRecordStreamObject(first);
+
+		// when:
+		recordStreamManager.close();
+
+		// then:
+		verify(multiStream).add(first);
+		assertFalse(recordStreamManager.isFeederRunning());
+		assertThrows(IllegalStateException.class, () -> recordStreamManager.addRecordStreamObject(first));
+	}
 }
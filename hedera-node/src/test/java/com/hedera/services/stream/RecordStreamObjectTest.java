@@ -40,6 +40,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.Instant;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -129,6 +130,34 @@ public class RecordStreamObjectTest {
 		}
 	}
 
+	@Test
+	public void memoizedContentsSerializeIdentically() throws IOException {
+		// setup:
+		var subject = getRecordStreamObject();
+		var expectedLength = subject.getTransactionRecord().toByteArray().length
+				+ subject.getTransaction().toByteArray().length;
+
+		// given:
+		var unmemoized = serialized(subject);
+
+		// when:
+		var length = subject.serializeContents();
+
+		// then:
+		assertEquals(expectedLength, length);
+		assertEquals(expectedLength, subject.serializeContents());
+		assertArrayEquals(unmemoized, serialized(subject));
+	}
+
+	private static byte[] serialized(RecordStreamObject subject) throws IOException {
+		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			 SerializableDataOutputStream out = new SerializableDataOutputStream(byteArrayOutputStream)) {
+			subject.serialize(out);
+			out.flush();
+			return byteArrayOutputStream.toByteArray();
+		}
+	}
+
 	private static RecordStreamObject getRecordStreamObject() {
 		final Instant consensusTimestamp = Instant.now();
 		final AccountID.Builder accountID = AccountID.newBuilder().setAccountNum(3);
@@ -0,0 +1,115 @@
+package com.hedera.services.throttling;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.throttles.DeterministicThrottle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtomicBucketThrottleTest {
+	long now = 1_234_567_890L;
+	int tps = 10, burstPeriod = 2;
+
+	AtomicBucketThrottle subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = AtomicBucketThrottle.from(DeterministicThrottle.withTpsAndBurstPeriodNamed(tps, burstPeriod, "A"));
+	}
+
+	@Test
+	void derivesRateAndBurstFromDeterministicThrottle() {
+		// expect:
+		assertEquals("A", subject.name());
+		assertEquals(tps * 1_000L, subject.mtps());
+		assertEquals(burstPeriod * 1_000_000_000L, subject.burstNanos());
+	}
+
+	@Test
+	void supportsRatesTooHighForDeterministicThrottle() {
+		// given:
+		var gasBucket = AtomicBucketThrottle.withTps("gas", 3_000_000L, 1_000_000_000L);
+
+		// expect:
+		for (int i = 0; i < 10; i++) {
+			assertTrue(gasBucket.allow(300_000, now));
+		}
+		assertFalse(gasBucket.allow(1, now));
+		assertTrue(gasBucket.allow(300_000, now + 100_000_000L));
+	}
+
+	@Test
+	void allowsExactlyBurstCapacityAtOneInstant() {
+		// when:
+		for (int i = 0; i < tps * burstPeriod; i++) {
+			assertTrue(subject.allow(1, now));
+		}
+
+		// then:
+		assertFalse(subject.allow(1, now));
+	}
+
+	@Test
+	void leaksCapacityAsTimePasses() {
+		// given:
+		assertTrue(subject.allow(tps * burstPeriod, now));
+		assertFalse(subject.allow(1, now));
+
+		// expect:
+		assertFalse(subject.allow(1, now + 99_999_999L));
+		assertTrue(subject.allow(1, now + 100_000_000L));
+		assertFalse(subject.allow(1, now + 100_000_000L));
+	}
+
+	@Test
+	void reclaimsAllowedCapacity() {
+		// given:
+		assertTrue(subject.allow(tps * burstPeriod, now));
+
+		// when:
+		subject.reclaim(2);
+
+		// then:
+		assertTrue(subject.allow(2, now));
+		assertFalse(subject.allow(1, now));
+	}
+
+	@Test
+	void staleClockReadingIsOnlyMoreConservative() {
+		// given:
+		assertTrue(subject.allow(tps * burstPeriod, now));
+
+		// expect:
+		assertFalse(subject.allow(1, now - 1_000_000_000L));
+		assertTrue(subject.allow(1, now + 100_000_000L));
+	}
+
+	@Test
+	void neverAllowsMoreThanCapacity() {
+		// expect:
+		assertFalse(subject.allow(tps * burstPeriod + 1, now));
+		assertTrue(subject.allow(tps * burstPeriod, now));
+	}
+}
@@ -20,61 +20,148 @@ package com.hedera.services.throttling;
  * ‍
  */
 
-import com.hedera.services.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.hedera.test.utils.SerdeUtils;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
 import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.verify;
 
-@ExtendWith(MockitoExtension.class)
 class HapiThrottlingTest {
-	@Mock
-	TimedFunctionalityThrottling delegate;
+	int n = 2;
+	long now = 1_234_567_890L;
 
 	HapiThrottling subject;
 
 	@BeforeEach
 	void setUp() {
-		subject = new HapiThrottling(delegate);
+		subject = new HapiThrottling(() -> n, () -> now);
+	}
+
+	@Test
+	void throttlesEverythingUntilBuilt() {
+		// expect:
+		assertTrue(subject.shouldThrottle(CryptoTransfer));
 	}
 
 	@Test
-	void delegatesWithSomeInstant() {
-		given(delegate.shouldThrottle(any(), any())).willReturn(true);
+	void throttlesUnmentionedOperations() throws IOException {
+		// given:
+		subject.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
+
+		// expect:
+		assertTrue(subject.shouldThrottle(TokenBurn));
+	}
 
+	@Test
+	void sharesBucketsAcrossOperations() throws IOException {
 		// when:
-		var ans = subject.shouldThrottle(CryptoTransfer);
+		subject.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
 
 		// then:
-		assertTrue(ans);
-		verify(delegate).shouldThrottle(eq(CryptoTransfer), any());
+		var contractCallReqs = subject.functionReqs.get(ContractCall).throttles();
+		var transferReqs = subject.functionReqs.get(CryptoTransfer).throttles();
+		assertEquals(2, contractCallReqs.length);
+		assertEquals(1, transferReqs.length);
+		assertSame(contractCallReqs[0], transferReqs[0]);
+		assertEquals("A", transferReqs[0].name());
+		assertEquals("B", contractCallReqs[1].name());
 	}
 
 	@Test
-	void unsupportedMethodsThrow() {
-		// expect:
-		assertThrows(UnsupportedOperationException.class, () -> subject.activeThrottlesFor(null));
-		assertThrows(UnsupportedOperationException.class, () -> subject.allActiveThrottles());
+	void reclaimsPassedReqsWhenAnyFails() throws IOException {
+		// setup:
+		var reference = new HapiThrottling(() -> n, () -> now);
+		reference.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
+		int transfersAllowed = numAllowed(reference, CryptoTransfer);
+
+		// given:
+		subject.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
+
+		// when:
+		int contractCallsAllowed = numAllowed(subject, ContractCall);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(subject.shouldThrottle(ContractCall));
+		}
+
+		// then:
+		assertEquals(10, contractCallsAllowed);
+		int transfersLeft = numAllowed(subject, CryptoTransfer);
+		assertTrue(transfersLeft > 0);
+		assertTrue(transfersLeft < transfersAllowed);
+		// and when:
+		now += 1_000_000_000L;
+		// then:
+		assertFalse(subject.shouldThrottle(ContractCall));
 	}
 
 	@Test
-	void delegatesRebuild() {
+	void concurrentDecisionsNeverExceedCapacity() throws IOException, InterruptedException {
 		// setup:
-		ThrottleDefinitions defs = new ThrottleDefinitions();
+		int threads = 8;
+		var reference = new HapiThrottling(() -> n, () -> now);
+		reference.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
+		int expected = numAllowed(reference, CryptoTransfer);
+		// and:
+		AtomicInteger allowed = new AtomicInteger(0);
+		var start = new CountDownLatch(1);
+		var done = new CountDownLatch(threads);
+		ExecutorService exec = Executors.newFixedThreadPool(threads);
+
+		// given:
+		subject.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
 
 		// when:
-		subject.rebuildFor(defs);
+		for (int i = 0; i < threads; i++) {
+			exec.execute(() -> {
+				try {
+					start.await();
+					for (int j = 0; j < expected; j++) {
+						if (!subject.shouldThrottle(CryptoTransfer)) {
+							allowed.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		start.countDown();
+		done.await(10, TimeUnit.SECONDS);
+		exec.shutdown();
 
 		// then:
-		verify(delegate).rebuildFor(defs);
+		assertEquals(expected, allowed.get());
+	}
+
+	@Test
+	void unsupportedMethodsThrow() {
+		// expect:
+		assertThrows(UnsupportedOperationException.class, () -> subject.activeThrottlesFor(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.allActiveThrottles());
+	}
+
+	private int numAllowed(HapiThrottling throttling, HederaFunctionality function) {
+		int allowed = 0;
+		while (!throttling.shouldThrottle(function)) {
+			allowed++;
+		}
+		return allowed;
 	}
 }
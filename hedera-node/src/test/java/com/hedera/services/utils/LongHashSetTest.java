@@ -0,0 +1,116 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+	LongHashSet subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new LongHashSet();
+	}
+
+	@Test
+	public void addsContainsAndRemovesIncludingZero() {
+		// expect:
+		assertTrue(subject.add(0L));
+		assertTrue(subject.add(-1L));
+		assertTrue(subject.add(Long.MAX_VALUE));
+		assertFalse(subject.add(0L));
+		assertFalse(subject.add(-1L));
+		// and:
+		assertEquals(3, subject.size());
+		assertTrue(subject.contains(0L));
+		assertTrue(subject.contains(Long.MAX_VALUE));
+		assertFalse(subject.contains(1L));
+		// and:
+		assertTrue(subject.remove(0L));
+		assertFalse(subject.remove(0L));
+		assertFalse(subject.remove(1L));
+		assertEquals(2, subject.size());
+		assertFalse(subject.contains(0L));
+	}
+
+	@Test
+	public void agreesWithBoxedSetUnderRandomOps() {
+		// setup:
+		var r = new Random(8_675_309L);
+		Set<Long> expected = new HashSet<>();
+
+		for (int i = 0; i < 100_000; i++) {
+			long v = r.nextInt(4096);
+			if (r.nextInt(3) == 0) {
+				assertEquals(expected.remove(v), subject.remove(v));
+			} else {
+				assertEquals(expected.add(v), subject.add(v));
+			}
+		}
+
+		// then:
+		assertEquals(expected.size(), subject.size());
+		for (long v = 0; v < 4096; v++) {
+			assertEquals(expected.contains(v), subject.contains(v));
+		}
+		// and:
+		Set<Long> actual = new HashSet<>();
+		subject.forEach(actual::add);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void growsAndKeepsCapacityOnClear() {
+		// given:
+		for (long v = 1; v <= 1_000; v++) {
+			subject.add(v);
+		}
+		int capacity = subject.capacity();
+
+		// when:
+		subject.clear();
+
+		// then:
+		assertEquals(0, subject.size());
+		assertEquals(capacity, subject.capacity());
+		assertFalse(subject.contains(1L));
+		assertEquals(16L + 8L * capacity, subject.footprintBytes());
+	}
+
+	@Test
+	public void presizesAsRequested() {
+		// when:
+		subject.ensureCapacity(1_000);
+
+		// then:
+		assertEquals(2048, subject.capacity());
+		assertEquals(LongHashSet.MIN_CAPACITY, new LongHashSet(0).capacity());
+	}
+}
@@ -147,6 +147,15 @@ class MerkleEntityIdUtilsTest {
 		}
 	}
 
+	@Test
+	public void prettyPrintsContractIds() {
+		// given:
+		ContractID id = ContractID.newBuilder().setShardNum(1).setRealmNum(2).setContractNum(3).build();
+
+		// expect:
+		assertEquals("1.2.3", EntityIdUtils.readableId(id));
+	}
+
 	@Test
 	public void prettyPrintsScheduleIds() {
 		// given:
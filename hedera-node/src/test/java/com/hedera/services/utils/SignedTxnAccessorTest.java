@@ -21,6 +21,7 @@ package com.hedera.services.utils;
  */
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.services.legacy.proto.utils.CommonUtils;
 import com.hederahashgraph.api.proto.java.Duration;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class SignedTxnAccessorTest {
 	SignatureMap expectedMap = SignatureMap.newBuilder()
@@ -114,6 +116,58 @@ public class SignedTxnAccessorTest {
 		assertEquals(expectedMap, accessor.getSigMap());
 	}
 
+	@Test
+	public void aliasesOriginalBytesAndMemoizesLazyParts() throws Exception {
+		// setup:
+		TransactionBody body = TransactionBody.newBuilder()
+				.setMemo("Hi!")
+				.build();
+		SignedTransaction signedTransaction = SignedTransaction.newBuilder()
+				.setBodyBytes(body.toByteString())
+				.setSigMap(expectedMap)
+				.build();
+		byte[] bytes = Transaction.newBuilder()
+				.setSignedTransactionBytes(signedTransaction.toByteString())
+				.build()
+				.toByteArray();
+
+		// given:
+		var accessor = new SignedTxnAccessor(bytes);
+		// and:
+		var pubKeyPrefix = accessor.getSigMap().getSigPair(0).getPubKeyPrefix();
+		var hash = accessor.getHash();
+		var txnBytes = accessor.getTxnBytes();
+
+		// when:
+		int at = indexOf(bytes, "f".getBytes()[0]);
+		bytes[at] = (byte)'g';
+
+		// then:
+		assertEquals("g", pubKeyPrefix.toStringUtf8());
+		assertSame(hash, accessor.getHash());
+		assertSame(txnBytes, accessor.getTxnBytes());
+		assertArrayEquals(body.toByteArray(), txnBytes);
+		assertArrayEquals(CommonUtils.noThrowSha384HashOf(signedTransaction.toByteArray()), hash.toByteArray());
+	}
+
+	@Test
+	public void rejectsTrailingEndGroupTag() {
+		// given:
+		byte[] bytes = { 0x0c };
+
+		// expect:
+		Assertions.assertThrows(InvalidProtocolBufferException.class, () -> new SignedTxnAccessor(bytes));
+	}
+
+	private int indexOf(byte[] bytes, byte b) {
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] == b) {
+				return i;
+			}
+		}
+		throw new AssertionError("Missing byte " + b);
+	}
+
 	@Test
 	void throwsOnUnsupportedCallToGetScheduleRef() {
 		// given:
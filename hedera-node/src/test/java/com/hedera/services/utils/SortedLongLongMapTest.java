@@ -0,0 +1,123 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedLongLongMapTest {
+	SortedLongLongMap subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new SortedLongLongMap();
+	}
+
+	@Test
+	public void putsGetsAndRemovesInKeyOrder() {
+		// expect:
+		assertTrue(subject.put(5L, 50L));
+		assertTrue(subject.put(-1L, 10L));
+		assertTrue(subject.put(Long.MAX_VALUE, 70L));
+		assertFalse(subject.put(5L, 55L));
+		// and:
+		assertEquals(3, subject.size());
+		assertEquals(55L, subject.getOrDefault(5L, -1L));
+		assertEquals(-1L, subject.getOrDefault(6L, -1L));
+		assertEquals(List.of(-1L, 10L, 5L, 55L, Long.MAX_VALUE, 70L), entries(Long.MIN_VALUE, 10));
+		// and:
+		assertTrue(subject.remove(5L));
+		assertFalse(subject.remove(5L));
+		assertEquals(List.of(-1L, 10L, Long.MAX_VALUE, 70L), entries(Long.MIN_VALUE, 10));
+	}
+
+	@Test
+	public void pagesAfterPresentOrAbsentKeys() {
+		// given:
+		for (long k = 10; k <= 50; k += 10) {
+			subject.put(k, k + 1);
+		}
+
+		// expect:
+		assertEquals(List.of(10L, 11L, 20L, 21L), firstEntries(2));
+		assertEquals(List.of(30L, 31L, 40L, 41L), entries(20L, 2));
+		assertEquals(List.of(30L, 31L, 40L, 41L), entries(25L, 2));
+		assertEquals(List.of(50L, 51L), entries(40L, 2));
+		assertEquals(List.of(), entries(50L, 2));
+		assertEquals(List.of(), entries(10L, 0));
+		assertEquals(List.of(), firstEntries(-1));
+		assertEquals(5, subject.forEach(Integer.MAX_VALUE, (k, v) -> {}));
+	}
+
+	@Test
+	public void growsAndMatchesTreeMapUnderRandomUpdates() {
+		// setup:
+		var random = new Random(42);
+		var expected = new TreeMap<Long, Long>();
+
+		for (int i = 0; i < 10_000; i++) {
+			long k = random.nextInt(500);
+			if (random.nextInt(4) == 0) {
+				assertEquals(expected.remove(k) != null, subject.remove(k));
+			} else {
+				long v = random.nextLong();
+				assertEquals(expected.put(k, v) == null, subject.put(k, v));
+			}
+		}
+
+		// expect:
+		List<Long> expectedEntries = new ArrayList<>();
+		expected.forEach((k, v) -> {
+			expectedEntries.add(k);
+			expectedEntries.add(v);
+		});
+		assertEquals(expected.size(), subject.size());
+		assertEquals(expectedEntries, firstEntries(Integer.MAX_VALUE));
+		assertTrue(subject.capacity() >= SortedLongLongMap.MIN_CAPACITY);
+	}
+
+	private List<Long> firstEntries(int limit) {
+		List<Long> entries = new ArrayList<>();
+		subject.forEach(limit, (k, v) -> {
+			entries.add(k);
+			entries.add(v);
+		});
+		return entries;
+	}
+
+	private List<Long> entries(long after, int limit) {
+		List<Long> entries = new ArrayList<>();
+		subject.forEachAfter(after, limit, (k, v) -> {
+			entries.add(k);
+			entries.add(v);
+		});
+		return entries;
+	}
+}
@@ -0,0 +1,111 @@
+package com.hedera.services.utils;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TxnAccessorHandoffTest {
+	TransactionBody someTxn = TransactionBody.newBuilder()
+			.setTransactionID(TransactionID.newBuilder().setAccountID(asAccount("0.0.2")))
+			.setMemo("Hi!")
+			.build();
+	byte[] contents = Transaction.newBuilder()
+			.setBodyBytes(someTxn.toByteString())
+			.build()
+			.toByteArray();
+
+	TxnAccessorHandoff subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new TxnAccessorHandoff(2);
+	}
+
+	@Test
+	public void takesOfferedAccessorOnlyOnce() throws InvalidProtocolBufferException {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction(contents);
+		var offered = new PlatformTxnAccessor(platformTxn);
+
+		// given:
+		subject.offer(offered);
+
+		// when:
+		var first = subject.accessorFor(platformTxn);
+		var second = subject.accessorFor(platformTxn);
+
+		// then:
+		assertSame(offered, first);
+		assertNotSame(offered, second);
+		assertEquals(someTxn, second.getTxn());
+		assertEquals(0, subject.numPending());
+	}
+
+	@Test
+	public void keysByPlatformTxnIdentity() throws InvalidProtocolBufferException {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction(contents);
+		var twinTxn = new com.swirlds.common.Transaction(contents.clone());
+		var offered = new PlatformTxnAccessor(platformTxn);
+
+		// given:
+		subject.offer(offered);
+
+		// when:
+		var twinAccessor = subject.accessorFor(twinTxn);
+
+		// then:
+		assertNotSame(offered, twinAccessor);
+		assertSame(twinTxn, twinAccessor.getPlatformTxn());
+		assertEquals(1, subject.numPending());
+	}
+
+	@Test
+	public void staysBounded() throws InvalidProtocolBufferException {
+		// when:
+		for (int i = 0; i < 5; i++) {
+			subject.offer(new PlatformTxnAccessor(new com.swirlds.common.Transaction(contents)));
+		}
+
+		// then:
+		assertEquals(2, subject.numPending());
+	}
+
+	@Test
+	public void propagatesParseFailures() {
+		// given:
+		var platformTxn = new com.swirlds.common.Transaction("Jabberwocky".getBytes());
+
+		// expect:
+		assertThrows(InvalidProtocolBufferException.class, () -> subject.accessorFor(platformTxn));
+	}
+}
@@ -54,8 +54,11 @@ import com.hedera.services.fees.calculation.file.txns.SystemUndeleteFileResource
 import com.hedera.services.fees.calculation.system.txns.FreezeResourceUsage;
 import com.hedera.services.queries.answering.AnswerFunctions;
 import com.hedera.services.records.RecordCache;
+import com.hedera.services.stats.CounterFactory;
+import com.hedera.services.stats.HapiOpCounters;
 import com.hedera.services.usage.crypto.CryptoOpsUsage;
 import com.hedera.services.usage.file.FileOpsUsage;
+import com.hedera.services.utils.MiscUtils;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.fee.CryptoFeeBuilder;
 import com.hederahashgraph.fee.FileFeeBuilder;
@@ -115,6 +118,8 @@ public enum TestFeesFactory {
 				exchange,
 				TEST_USAGE_PRICES,
 				MULTIPLIER_SOURCE,
+				new MockGlobalDynamicProps(),
+				new HapiOpCounters(new CounterFactory() { }, null, null, MiscUtils::baseStatNameOf),
 				List.of(
 						/* Meta */
 						new GetTxnRecordResourceUsage(recordCache, answerFunctions, cryptoFees),
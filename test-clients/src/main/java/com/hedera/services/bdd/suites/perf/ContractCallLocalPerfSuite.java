@@ -34,7 +34,12 @@ import java.util.List;
 
 import static com.hedera.services.bdd.spec.HapiApiSpec.*;
 import static com.hedera.services.bdd.spec.transactions.TxnVerbs.contractCreate;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoCreate;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoTransfer;
 import static com.hedera.services.bdd.spec.transactions.TxnVerbs.fileCreate;
+import static com.hedera.services.bdd.spec.transactions.crypto.HapiCryptoTransfer.tinyBarsFromTo;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
 public class ContractCallLocalPerfSuite extends HapiApiSuite {
 	private static final Logger log = LogManager.getLogger(ContractCallLocalPerfSuite.class);
@@ -49,7 +54,8 @@ public class ContractCallLocalPerfSuite extends HapiApiSuite {
 	@Override
 	protected List<HapiApiSpec> getSpecsInSuite() {
 		return List.of(
-				contractCallLocalPerf()
+				contractCallLocalPerf(),
+				contractCallLocalPerfUnderTransferLoad()
 		);
 	}
 
@@ -90,6 +96,46 @@ public class ContractCallLocalPerfSuite extends HapiApiSuite {
 				);
 	}
 
+	/* Local calls now run on a bounded pool of workers against the latest signed state, so
+	their throughput should hold up while the handle thread is busy with transfers. */
+	HapiApiSpec contractCallLocalPerfUnderTransferLoad() {
+		final int NUM_CALLS = 1_000;
+		final int NUM_TRANSFERS = 5_000;
+
+		return defaultHapiSpec("ContractCallLocalPerfUnderTransferLoad")
+				.given(
+						fileCreate("bytecode").path(ContractResources.BALANCE_LOOKUP_BYTECODE_PATH),
+						contractCreate("contract").bytecode("bytecode").balance(1_000L),
+						cryptoCreate("sender").balance(1_000_000_000L),
+						cryptoCreate("receiver").balance(0L),
+						contractCallLocal(
+								"contract",
+								ContractResources.BALANCE_LOOKUP_ABI,
+								spec -> new Object[] {
+										spec.registry().getContractId("contract").getContractNum()
+								}).recordNodePaymentAs("cost")
+				).when(
+						UtilVerbs.startThroughputObs("contractCallLocalUnderLoad")
+				).then(
+						UtilVerbs.inParallel(
+								UtilVerbs.inParallel(asOpArray(NUM_TRANSFERS, ignore ->
+										cryptoTransfer(tinyBarsFromTo("sender", "receiver", 1L))
+												.noLogging()
+												.deferStatusResolution()
+												.hasAnyStatusAtAll())),
+								UtilVerbs.inParallel(asOpArray(NUM_CALLS, ignore ->
+										contractCallLocal(
+												"contract",
+												ContractResources.BALANCE_LOOKUP_ABI,
+												spec -> new Object[] {
+														spec.registry().getContractId("contract").getContractNum()
+												})
+												.nodePayment(spec -> spec.registry().getAmount("cost"))
+												.hasAnswerOnlyPrecheckFrom(OK, BUSY)))),
+						UtilVerbs.finishThroughputObs("contractCallLocalUnderLoad")
+				);
+	}
+
 	@Override
 	protected Logger getResultsLogger() {
 		return log;